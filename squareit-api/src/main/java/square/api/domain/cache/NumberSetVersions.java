@@ -0,0 +1,50 @@
+package square.api.domain.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In memory version of the number set of each user, the ETag of the number and count endpoints of squareit-app and
+ * squareit-reactive. A version is bumped when a number of the user is saved or deleted, once the change is visible to
+ * the other requests.
+ */
+public class NumberSetVersions {
+
+  // ETags of an earlier run of the application never match.
+  private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+  private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+
+  /**
+   * Bumps the version of the number set of a user.
+   *
+   * @param userId user id
+   */
+  public void bump(final long userId) {
+    versions.merge(userId, 1L, Long::sum);
+  }
+
+  /**
+   * Version of the number set of a user. Read before the numbers are queried, a concurrent change then gives a newer
+   * version than the one of the response.
+   *
+   * @param userId user id
+   * @return version
+   */
+  public long getVersion(final long userId) {
+    return versions.getOrDefault(userId, 0L);
+  }
+
+  /**
+   * ETag of a version of the number set of a user as seen with a token. The token is part of every response, so a
+   * response is only unchanged while the token is.
+   *
+   * @param userId  user id
+   * @param version version of the number set
+   * @param token   token of the response
+   * @return weak ETag
+   */
+  public String etag(final long userId, final long version, final String token) {
+    return "W/\"" + epoch + "-" + userId + "-" + version + "-" + Integer.toHexString(token.hashCode()) + "\"";
+  }
+}
@@ -0,0 +1,11 @@
+package square.api.domain.constants;
+
+public enum BatchOperationType {
+
+  SAVE_NUMBER,
+  DELETE_NUMBER,
+  GET_NUMBER,
+  COUNT_NUMBERS,
+  GET_USER_NUMBERS
+
+}
@@ -15,10 +15,14 @@ public class Constraint {
 
   public static final int MAX_PASSWORD_DB = 60;
   public static final int MAX_MIN_TOKEN = 36;
+  // Hours a token stays valid after its last refresh, in squareit-app and squareit-reactive.
+  public static final int TOKEN_VALID_FOR_2_HOURS = 2;
 
   public static final int MIN_USERNAME = 2;
   public static final int MIN_EMAIL = 6;
   public static final int MIN_PASSWORD = 8;
   public static final int MIN_PASSWORD_SPECIAL_CHARACTER = 1;
 
+  public static final int MAX_BATCH_OPERATIONS = 25;
+
 }
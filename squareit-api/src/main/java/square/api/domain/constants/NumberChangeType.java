@@ -0,0 +1,8 @@
+package square.api.domain.constants;
+
+public enum NumberChangeType {
+
+  SAVED,
+  DELETED
+
+}
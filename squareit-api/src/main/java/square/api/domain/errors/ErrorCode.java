@@ -36,6 +36,7 @@ public enum ErrorCode {
   EMAIL_LENGTH_MISMATCH,
   EMAIL_ALREADY_EXISTS,
   EMAIL_NULL_OR_EMPTY,
+  EMAIL_RESEND_LIMIT_EXCEEDED,
 
   VALIDATION_ERROR_REQUEST_PARAM,
 
@@ -43,7 +44,10 @@ public enum ErrorCode {
 
   NUMBER_LENGTH_MISMATCH,
   NUMBER_NOT_FOUND,
-  NUMBER_NULL;
+  NUMBER_NULL,
+
+  SERVER_BUSY,
+  SERVER_TIMEOUT;
 
   @JsonCreator
   public static ErrorCode forValue(String value) {
@@ -4,4 +4,6 @@ public interface HeadersDefinition {
 
   String BREAD_CRUMB_ID = "breadcrumbId";
 
+  String AUTH_TOKEN = "X-Auth-Token";
+
 }
@@ -0,0 +1,93 @@
+package square.api.domain.models.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import javax.validation.constraints.NotNull;
+
+import square.api.domain.constants.BatchOperationType;
+import square.api.domain.util.JsonUtil;
+
+/**
+ * One operation of a batch. SAVE_NUMBER needs the number, DELETE_NUMBER and GET_NUMBER the numberId and
+ * GET_USER_NUMBERS the indexPage. COUNT_NUMBERS needs none.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(builder = BatchOperation.Builder.class)
+public class BatchOperation {
+
+  @NotNull(message = "Batch operation type may not be null")
+  private final BatchOperationType type;
+
+  private final Long numberId;
+
+  private final Long number;
+
+  private final Long indexPage;
+
+  private BatchOperation(Builder builder) {
+    type = builder.type;
+    numberId = builder.numberId;
+    number = builder.number;
+    indexPage = builder.indexPage;
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public BatchOperationType getType() {
+    return type;
+  }
+
+  public Long getNumberId() {
+    return numberId;
+  }
+
+  public Long getNumber() {
+    return number;
+  }
+
+  public Long getIndexPage() {
+    return indexPage;
+  }
+
+  @Override
+  public String toString() {
+    return JsonUtil.writeObjectAsString(this);
+  }
+
+  public static final class Builder {
+    private BatchOperationType type;
+    private Long numberId;
+    private Long number;
+    private Long indexPage;
+
+    private Builder() {
+    }
+
+    public Builder withType(BatchOperationType val) {
+      type = val;
+      return this;
+    }
+
+    public Builder withNumberId(Long val) {
+      numberId = val;
+      return this;
+    }
+
+    public Builder withNumber(Long val) {
+      number = val;
+      return this;
+    }
+
+    public Builder withIndexPage(Long val) {
+      indexPage = val;
+      return this;
+    }
+
+    public BatchOperation build() {
+      return new BatchOperation(this);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package square.api.domain.models.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.List;
+
+import square.api.domain.constants.BatchOperationType;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.util.JsonUtil;
+
+/**
+ * Result of one operation of a batch, with the http status the operation would have had on its own endpoint. The
+ * numbers have no token, the token of the batch is the one of the BatchResponse.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(builder = BatchOperationResult.Builder.class)
+public class BatchOperationResult {
+
+  private final BatchOperationType type;
+  private final int status;
+  private final NumberDto number;
+  private final List<NumberDto> numbers;
+  private final Long count;
+  private final ErrorInfo error;
+
+  private BatchOperationResult(Builder builder) {
+    type = builder.type;
+    status = builder.status;
+    number = builder.number;
+    numbers = builder.numbers;
+    count = builder.count;
+    error = builder.error;
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public BatchOperationType getType() {
+    return type;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public NumberDto getNumber() {
+    return number;
+  }
+
+  public List<NumberDto> getNumbers() {
+    return numbers;
+  }
+
+  public Long getCount() {
+    return count;
+  }
+
+  public ErrorInfo getError() {
+    return error;
+  }
+
+  @Override
+  public String toString() {
+    return JsonUtil.writeObjectAsString(this);
+  }
+
+  public static final class Builder {
+    private BatchOperationType type;
+    private int status;
+    private NumberDto number;
+    private List<NumberDto> numbers;
+    private Long count;
+    private ErrorInfo error;
+
+    private Builder() {
+    }
+
+    public Builder withType(BatchOperationType val) {
+      type = val;
+      return this;
+    }
+
+    public Builder withStatus(int val) {
+      status = val;
+      return this;
+    }
+
+    public Builder withNumber(NumberDto val) {
+      number = val;
+      return this;
+    }
+
+    public Builder withNumbers(List<NumberDto> val) {
+      numbers = val;
+      return this;
+    }
+
+    public Builder withCount(Long val) {
+      count = val;
+      return this;
+    }
+
+    public Builder withError(ErrorInfo val) {
+      error = val;
+      return this;
+    }
+
+    public BatchOperationResult build() {
+      return new BatchOperationResult(this);
+    }
+  }
+}
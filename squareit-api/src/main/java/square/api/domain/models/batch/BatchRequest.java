@@ -0,0 +1,75 @@
+package square.api.domain.models.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import square.api.domain.constants.Constraint;
+import square.api.domain.util.JsonUtil;
+
+/**
+ * Operations on the numbers of one user, executed in order under one authentication.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(builder = BatchRequest.Builder.class)
+public class BatchRequest {
+
+  @NotEmpty(message = "Batch token may not be null or empty")
+  @Size(max = Constraint.MAX_MIN_TOKEN, min = Constraint.MAX_MIN_TOKEN, message = "Token must be 36 characters")
+  private final String token;
+
+  @Valid
+  @NotEmpty(message = "Batch operations may not be null or empty")
+  @Size(max = Constraint.MAX_BATCH_OPERATIONS,
+      message = "Batch may at most have " + Constraint.MAX_BATCH_OPERATIONS + " operations")
+  private final List<BatchOperation> operations;
+
+  private BatchRequest(Builder builder) {
+    token = builder.token;
+    operations = builder.operations;
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public String getToken() {
+    return token;
+  }
+
+  public List<BatchOperation> getOperations() {
+    return operations;
+  }
+
+  @Override
+  public String toString() {
+    return JsonUtil.writeObjectAsString(this);
+  }
+
+  public static final class Builder {
+    private String token;
+    private List<BatchOperation> operations;
+
+    private Builder() {
+    }
+
+    public Builder withToken(String val) {
+      token = val;
+      return this;
+    }
+
+    public Builder withOperations(List<BatchOperation> val) {
+      operations = val;
+      return this;
+    }
+
+    public BatchRequest build() {
+      return new BatchRequest(this);
+    }
+  }
+}
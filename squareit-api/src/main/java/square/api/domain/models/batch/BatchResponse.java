@@ -0,0 +1,63 @@
+package square.api.domain.models.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.List;
+
+import square.api.domain.util.JsonUtil;
+
+/**
+ * Results of a batch in the order of its operations, and the token for the next request.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(builder = BatchResponse.Builder.class)
+public class BatchResponse {
+
+  private final List<BatchOperationResult> results;
+  private final String token;
+
+  private BatchResponse(Builder builder) {
+    results = builder.results;
+    token = builder.token;
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public List<BatchOperationResult> getResults() {
+    return results;
+  }
+
+  public String getToken() {
+    return token;
+  }
+
+  @Override
+  public String toString() {
+    return JsonUtil.writeObjectAsString(this);
+  }
+
+  public static final class Builder {
+    private List<BatchOperationResult> results;
+    private String token;
+
+    private Builder() {
+    }
+
+    public Builder withResults(List<BatchOperationResult> val) {
+      results = val;
+      return this;
+    }
+
+    public Builder withToken(String val) {
+      token = val;
+      return this;
+    }
+
+    public BatchResponse build() {
+      return new BatchResponse(this);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package square.api.domain.models.number;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import square.api.domain.constants.NumberChangeType;
+import square.api.domain.util.JsonUtil;
+
+/**
+ * Data of a number change event of the number change stream. The number of a deleted number is not sent, the numbers
+ * have no token: the stream does not rotate the token.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(builder = NumberChangeDto.Builder.class)
+public class NumberChangeDto {
+
+  private final NumberChangeType type;
+
+  private final long numberId;
+
+  private final NumberDto number;
+
+  private NumberChangeDto(Builder builder) {
+    type = builder.type;
+    numberId = builder.numberId;
+    number = builder.number;
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public NumberChangeType getType() {
+    return type;
+  }
+
+  public long getNumberId() {
+    return numberId;
+  }
+
+  public NumberDto getNumber() {
+    return number;
+  }
+
+  @Override
+  public String toString() {
+    return JsonUtil.writeObjectAsString(this);
+  }
+
+  public static final class Builder {
+    private NumberChangeType type;
+    private long numberId;
+    private NumberDto number;
+
+    private Builder() {
+    }
+
+    public Builder withType(NumberChangeType val) {
+      type = val;
+      return this;
+    }
+
+    public Builder withNumberId(long val) {
+      numberId = val;
+      return this;
+    }
+
+    public Builder withNumber(NumberDto val) {
+      number = val;
+      return this;
+    }
+
+    public NumberChangeDto build() {
+      return new NumberChangeDto(this);
+    }
+  }
+}
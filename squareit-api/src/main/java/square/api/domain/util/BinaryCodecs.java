@@ -0,0 +1,46 @@
+package square.api.domain.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile and CBOR, the binary formats of the api models besides json. Field names are written once per document and
+ * numbers as binary values, so lists of numbers and error payloads are smaller and faster to read. The application and
+ * its clients use the same converters, both built on the mappers of {@link JsonUtil}.
+ */
+public class BinaryCodecs {
+
+  public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+  public static final String CBOR_VALUE = "application/cbor";
+
+  public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+  public static final MediaType CBOR = MediaType.valueOf(CBOR_VALUE);
+
+  private BinaryCodecs() {
+    throw new IllegalStateException("BinaryCodecs :: Cannot be instantiated");
+  }
+
+  public static MappingJackson2SmileHttpMessageConverter smileConverter() {
+    return new MappingJackson2SmileHttpMessageConverter(JsonUtil.getSmileMapper());
+  }
+
+  public static MappingJackson2CborHttpMessageConverter cborConverter() {
+    return new MappingJackson2CborHttpMessageConverter(JsonUtil.getCborMapper());
+  }
+
+  /**
+   * Converters of both formats, e.g. for the message converters of a RestTemplate.
+   *
+   * @return Smile and CBOR converters
+   */
+  public static List<HttpMessageConverter<?>> httpMessageConverters() {
+    return Arrays.asList(smileConverter(), cborConverter());
+  }
+}
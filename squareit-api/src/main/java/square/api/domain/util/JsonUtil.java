@@ -3,33 +3,97 @@ package square.api.domain.util;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * The one json configuration of SquareIt. {@link #configure} applies the settings and modules to a mapper builder, the
+ * one of this class and the one Spring Boot builds for the http message conversion. The mapper of toString() leaves
+ * null fields out, the http formats write them. Readers and writers are immutable and cached per type, so the
+ * serializers and deserializers of a type are looked up once. The Smile and CBOR mappers of the binary formats have
+ * the http configuration, only the encoding differs.
+ */
 public class JsonUtil {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JsonUtil.class);
 
   private static final ObjectMapper MAPPER;
 
+  private static final ObjectMapper SMILE_MAPPER;
+
+  private static final ObjectMapper CBOR_MAPPER;
+
+  private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+  private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
   private JsonUtil() {
     throw new IllegalStateException("JsonUtil :: Cannot be instantiated");
   }
 
   static {
-    MAPPER = new ObjectMapper();
-    MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-    MAPPER.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    MAPPER.registerModule(new JavaTimeModule());
+    MAPPER = configure(Jackson2ObjectMapperBuilder.json()).serializationInclusion(JsonInclude.Include.NON_NULL)
+        .build();
+    SMILE_MAPPER = configure(Jackson2ObjectMapperBuilder.smile()).build();
+    CBOR_MAPPER = configure(Jackson2ObjectMapperBuilder.cbor()).build();
+  }
+
+  /**
+   * Settings and modules of the SquareIt mappers. Null inclusion is left to the caller. The module classes are kept
+   * apart from the module instances Spring Boot installs, so neither replaces the other.
+   *
+   * @param builder mapper builder
+   * @return the builder
+   */
+  @SuppressWarnings("unchecked")
+  public static Jackson2ObjectMapperBuilder configure(final Jackson2ObjectMapperBuilder builder) {
+    return builder
+        .featuresToDisable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
+            SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        // Generated accessors instead of reflection for getters, setters and fields.
+        .modulesToInstall(JavaTimeModule.class, AfterburnerModule.class);
+  }
+
+  public static ObjectMapper getSmileMapper() {
+    return SMILE_MAPPER;
+  }
+
+  public static ObjectMapper getCborMapper() {
+    return CBOR_MAPPER;
+  }
+
+  /**
+   * Cached reader of a type.
+   *
+   * @param type type
+   * @return reader
+   */
+  public static ObjectReader readerFor(final Class<?> type) {
+    return READERS.computeIfAbsent(type, MAPPER::readerFor);
   }
 
-  public static ObjectMapper getJsonMapper() {
-    return MAPPER;
+  /**
+   * Cached writer of a type.
+   *
+   * @param type type
+   * @return writer
+   */
+  public static ObjectWriter writerFor(final Class<?> type) {
+    return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
   }
 
   /**
@@ -40,10 +104,33 @@ public class JsonUtil {
    */
   public static String writeObjectAsString(final Object object) {
     try {
-      return getJsonMapper().writeValueAsString(object);
+      return object == null ? "null" : writerFor(object.getClass()).writeValueAsString(object);
     } catch (JsonProcessingException ex) {
       LOGGER.error("-- JsonUtil :: Unable to write object to string --", ex);
       return ex.getMessage();
     }
   }
+
+  /**
+   * Object as a json tree, e.g. to mask fields before it is written.
+   *
+   * @param object dto
+   * @return a new tree
+   */
+  public static JsonNode toTree(final Object object) {
+    return MAPPER.valueToTree(object);
+  }
+
+  /**
+   * Read object from a string.
+   *
+   * @param json json
+   * @param type type
+   * @param <T>  type
+   * @return object
+   * @throws IOException when the json cannot be read as the type
+   */
+  public static <T> T readObject(final String json, final Class<T> type) throws IOException {
+    return readerFor(type).readValue(json);
+  }
 }
@@ -0,0 +1,157 @@
+package square.api.domain.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Log arguments rendered when the log event is written, not when the log call is made. A disabled level costs one
+ * allocation instead of a json serialization. The rendering is truncated, and passwords and tokens are masked. The
+ * message of an exception is rendered with the tokens in it masked.
+ *
+ * <p>Usage: {@code LOGGER.info("Number request: {}", LogArg.of(request))}.
+ */
+public final class LogArg {
+
+  static final int MAX_LENGTH = 512;
+
+  static final int TOKEN_PREFIX = 4;
+
+  private static final String TRUNCATED = "...(truncated)";
+
+  private static final String MODEL_PACKAGE = "square.api.domain.";
+
+  private static final String MASK = "****";
+
+  private static final List<String> SECRET_FIELDS = Collections.unmodifiableList(Arrays.asList(
+      "password", "confirmPassword"));
+
+  private static final List<String> TOKEN_FIELDS = Collections.unmodifiableList(Arrays.asList(
+      "token"));
+
+  // Tokens are random UUIDs. A fixed length pattern, no backtracking.
+  private static final Pattern UUID_TOKEN = Pattern.compile(
+      "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+  private final Object value;
+
+  private final boolean token;
+
+  private LogArg(final Object value, final boolean token) {
+    this.value = value;
+    this.token = token;
+  }
+
+  /**
+   * Api model, entity, exception or collection of them, rendered when logged.
+   *
+   * @param value value
+   * @return log argument
+   */
+  public static LogArg of(final Object value) {
+    return new LogArg(value, false);
+  }
+
+  /**
+   * Token, masked when logged.
+   *
+   * @param token token
+   * @return log argument
+   */
+  public static LogArg token(final String token) {
+    return new LogArg(token, true);
+  }
+
+  /**
+   * Masks a token down to its first characters.
+   *
+   * @param token token
+   * @return masked token
+   */
+  public static String maskToken(final String token) {
+    if (token == null) {
+      return null;
+    }
+    return token.length() <= TOKEN_PREFIX ? MASK : token.substring(0, TOKEN_PREFIX) + MASK;
+  }
+
+  @Override
+  public String toString() {
+    if (token) {
+      return String.valueOf(maskToken((String) value));
+    }
+
+    final StringBuilder builder = new StringBuilder();
+    if (value instanceof Collection) {
+      final Collection<?> values = (Collection<?>) value;
+      builder.append('(').append(values.size()).append(" items)[");
+      final Iterator<?> iterator = values.iterator();
+      while (iterator.hasNext() && builder.length() <= MAX_LENGTH) {
+        render(iterator.next(), builder);
+        if (iterator.hasNext()) {
+          builder.append(", ");
+        }
+      }
+      builder.append(']');
+    } else {
+      render(value, builder);
+    }
+
+    if (builder.length() > MAX_LENGTH) {
+      builder.setLength(MAX_LENGTH);
+      builder.append(TRUNCATED);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Api models are rendered as json without their secrets. Exceptions by their toString() with the tokens masked, the
+   * messages of the error handling include the token of the call. Other values, such as entities, by their own
+   * toString(), which never serializes associations.
+   */
+  private static void render(final Object value, final StringBuilder builder) {
+    if (value instanceof Throwable) {
+      maskTokens(value.toString(), builder);
+      return;
+    }
+
+    if (value == null || !value.getClass().getName().startsWith(MODEL_PACKAGE)) {
+      builder.append(value);
+      return;
+    }
+
+    final JsonNode node = JsonUtil.toTree(value);
+    if (node instanceof ObjectNode) {
+      final ObjectNode object = (ObjectNode) node;
+      for (final String field : SECRET_FIELDS) {
+        if (object.hasNonNull(field)) {
+          object.put(field, MASK);
+        }
+      }
+      for (final String field : TOKEN_FIELDS) {
+        if (object.hasNonNull(field)) {
+          object.put(field, maskToken(object.get(field).asText()));
+        }
+      }
+    }
+    builder.append(node);
+  }
+
+  private static void maskTokens(final String text, final StringBuilder builder) {
+    final Matcher matcher = UUID_TOKEN.matcher(text);
+    int end = 0;
+
+    while (matcher.find()) {
+      builder.append(text, end, matcher.start()).append(maskToken(matcher.group()));
+      end = matcher.end();
+    }
+    builder.append(text, end, text.length());
+  }
+}
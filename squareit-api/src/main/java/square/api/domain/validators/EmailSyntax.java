@@ -0,0 +1,238 @@
+package square.api.domain.validators;
+
+/**
+ * Email syntax check in one pass over the characters, no backtracking. Accepts the same strings as the former
+ * RFC 5322 style pattern of EmailValidator:
+ *
+ * <ul>
+ * <li>Local part: dot-atom of lowercase atext, or a quoted string with quoted pairs.</li>
+ * <li>Domain: two or more labels of lowercase letters, digits and inner hyphens, or an address literal of three IPv4
+ * octets and a last octet or a tag with content, e.g. [1.2.3.4] or [1.2.3.tag:content].</li>
+ * </ul>
+ *
+ * <p>Only ASCII, without NUL. Letters are lowercase only, as in the pattern.
+ */
+public class EmailSyntax {
+
+  private static final boolean[] ATEXT = new boolean[128];
+
+  private static final boolean[] QTEXT = new boolean[128];
+
+  private static final boolean[] QUOTED_PAIR = new boolean[128];
+
+  private static final boolean[] DTEXT = new boolean[128];
+
+  static {
+    mark(ATEXT, 'a', 'z');
+    mark(ATEXT, '0', '9');
+    for (final char c : "!#$%&'*+/=?^_`{|}~-".toCharArray()) {
+      ATEXT[c] = true;
+    }
+
+    // Control characters without tab, line feed and carriage return, then the printable characters.
+    mark(QTEXT, 0x01, 0x08);
+    mark(QTEXT, 0x0b, 0x0c);
+    mark(QTEXT, 0x0e, 0x1f);
+    mark(DTEXT, 0x01, 0x08);
+    mark(DTEXT, 0x0b, 0x0c);
+    mark(DTEXT, 0x0e, 0x1f);
+
+    // Quoted string: no space, quote or backslash.
+    QTEXT[0x21] = true;
+    mark(QTEXT, 0x23, 0x5b);
+    mark(QTEXT, 0x5d, 0x7f);
+
+    // Address literal content: all printable characters, a backslash too.
+    mark(DTEXT, 0x21, 0x7f);
+
+    // Escaped character after a backslash: tab and space too.
+    mark(QUOTED_PAIR, 0x01, 0x09);
+    mark(QUOTED_PAIR, 0x0b, 0x0c);
+    mark(QUOTED_PAIR, 0x0e, 0x7f);
+  }
+
+  private EmailSyntax() {
+    throw new IllegalStateException("EmailSyntax :: Cannot be instantiated");
+  }
+
+  /**
+   * Checks the syntax of an email, without length limits.
+   *
+   * @param email email
+   * @return true if the whole email is valid
+   */
+  public static boolean isValid(final CharSequence email) {
+    final int at = localPartEnd(email);
+    if (at < 0) {
+      return false;
+    }
+
+    final int domain = at + 1;
+    if (domain < email.length() && email.charAt(domain) == '[') {
+      return isAddressLiteral(email, domain + 1);
+    }
+    return isDomainName(email, domain);
+  }
+
+  /**
+   * Index of the @ after the local part, or -1.
+   */
+  private static int localPartEnd(final CharSequence email) {
+    final int length = email.length();
+    int i = 0;
+
+    if (length > 0 && email.charAt(0) == '"') {
+      i = 1;
+      while (true) {
+        if (i >= length) {
+          return -1;
+        }
+
+        final char c = email.charAt(i);
+        if (c == '"') {
+          i++;
+          break;
+        } else if (c == '\\') {
+          if (i + 1 >= length || !is(QUOTED_PAIR, email.charAt(i + 1))) {
+            return -1;
+          }
+          i += 2;
+        } else if (is(QTEXT, c)) {
+          i++;
+        } else {
+          return -1;
+        }
+      }
+    } else {
+      boolean atomExpected = true;
+      while (i < length) {
+        final char c = email.charAt(i);
+        if (is(ATEXT, c)) {
+          atomExpected = false;
+        } else if (c == '.' && !atomExpected) {
+          atomExpected = true;
+        } else {
+          break;
+        }
+        i++;
+      }
+
+      // Empty, or ends with a dot.
+      if (atomExpected) {
+        return -1;
+      }
+    }
+
+    return i < length && email.charAt(i) == '@' ? i : -1;
+  }
+
+  private static boolean isDomainName(final CharSequence email, final int start) {
+    final int length = email.length();
+    int labelStart = start;
+    int labels = 0;
+
+    for (int i = start; i <= length; i++) {
+      if (i == length || email.charAt(i) == '.') {
+        if (!isLabel(email, labelStart, i)) {
+          return false;
+        }
+        labels++;
+        labelStart = i + 1;
+      }
+    }
+
+    return labels >= 2;
+  }
+
+  private static boolean isLabel(final CharSequence email, final int start, final int end) {
+    if (start >= end || !isLowerAlphanumeric(email.charAt(start)) || !isLowerAlphanumeric(email.charAt(end - 1))) {
+      return false;
+    }
+
+    for (int i = start + 1; i < end - 1; i++) {
+      final char c = email.charAt(i);
+      if (!isLowerAlphanumeric(c) && c != '-') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * From the character after [ up to the closing ], the last character of the email.
+   */
+  private static boolean isAddressLiteral(final CharSequence email, final int start) {
+    final int end = email.length() - 1;
+    if (end < start || email.charAt(end) != ']') {
+      return false;
+    }
+
+    int i = start;
+    for (int octet = 0; octet < 3; octet++) {
+      final int dot = octetEnd(email, i, end);
+      if (dot < 0 || dot == end || email.charAt(dot) != '.') {
+        return false;
+      }
+      i = dot + 1;
+    }
+
+    return octetEnd(email, i, end) == end || isTaggedContent(email, i, end);
+  }
+
+  /**
+   * Index after one to three digits of at most 255, or -1. Leading zeros are allowed, e.g. 007.
+   */
+  private static int octetEnd(final CharSequence email, final int start, final int end) {
+    int value = 0;
+    int i = start;
+
+    while (i < end && i - start < 3 && isDigit(email.charAt(i))) {
+      value = value * 10 + email.charAt(i) - '0';
+      i++;
+    }
+
+    return i == start || value > 255 ? -1 : i;
+  }
+
+  /**
+   * Tag of lowercase letters, digits and hyphens, not ending with a hyphen, a colon and at least one character of
+   * content. A tab or space in the content must follow a backslash.
+   */
+  private static boolean isTaggedContent(final CharSequence email, final int start, final int end) {
+    int colon = start;
+    while (colon < end && (isLowerAlphanumeric(email.charAt(colon)) || email.charAt(colon) == '-')) {
+      colon++;
+    }
+
+    if (colon == start || colon + 1 >= end || email.charAt(colon) != ':' || email.charAt(colon - 1) == '-') {
+      return false;
+    }
+
+    for (int i = colon + 1; i < end; i++) {
+      final char c = email.charAt(i);
+      final boolean escaped = (c == '\t' || c == ' ') && i > colon + 1 && email.charAt(i - 1) == '\\';
+      if (!is(DTEXT, c) && !escaped) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean is(final boolean[] table, final char c) {
+    return c < table.length && table[c];
+  }
+
+  private static boolean isLowerAlphanumeric(final char c) {
+    return c >= 'a' && c <= 'z' || isDigit(c);
+  }
+
+  private static boolean isDigit(final char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static void mark(final boolean[] table, final int from, final int to) {
+    for (int c = from; c <= to; c++) {
+      table[c] = true;
+    }
+  }
+}
@@ -1,7 +1,5 @@
 package square.api.domain.validators;
 
-import java.util.regex.Pattern;
-
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
@@ -14,14 +12,6 @@ public class EmailValidator implements ConstraintValidator<ValidateEmail, String
 
   private static final Logger LOGGER = LoggerFactory.getLogger(EmailValidator.class);
 
-  private static final String EMAIL_PATTERN = "(?:[a-z0-9!#$%&'*+/=?^_`{|}~-]+(?:\\.[a-z0-9!#$%&'*+/=?^_`{|}~-]+)*"
-      + "|\"(?:[\\x01-\\x08\\x0b\\x0c\\x0e-\\x1f\\x21\\x23-\\x5b\\x5d-\\x7f]|\\\\[\\x01-\\x09\\x0b\\x0c\\x0e-\\x7f"
-      + "])*\")@(?:(?:[a-z0-9](?:[a-z0-9-]*[a-z0-9])?\\.)+[a-z0-9](?:[a-z0-9-]*[a-z0-9])?|\\[(?:(?:25[0-5]|2[0-4]["
-      + "0-9]|[01]?[0-9][0-9]?)\\.){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?|[a-z0-9-]*[a-z0-9]:(?:[\\x01-\\x08\\"
-      + "x0b\\x0c\\x0e-\\x1f\\x21-\\x5a\\x53-\\x7f]|\\\\[\\x01-\\x09\\x0b\\x0c\\x0e-\\x7f])+)])";
-
-  private Pattern emailPattern = Pattern.compile(EMAIL_PATTERN);
-
   private boolean validateEmail(final String email, final ConstraintValidatorContext context) {
     LOGGER.info(">> EmailValidator >>");
 
@@ -48,7 +38,7 @@ public class EmailValidator implements ConstraintValidator<ValidateEmail, String
       return false;
     }
 
-    if (!emailPattern.matcher(email).matches()) {
+    if (!EmailSyntax.isValid(email)) {
       LOGGER.debug("-- UsernameValidator :: Email does not follow pattern restrictions --");
       context.buildConstraintViolationWithTemplate("Email does not follow pattern restrictions")
           .addConstraintViolation();
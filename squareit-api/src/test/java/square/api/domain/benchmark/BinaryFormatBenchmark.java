@@ -0,0 +1,145 @@
+package square.api.domain.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.util.JsonUtil;
+
+/**
+ * Encoding and decoding of a full getUserNumbers page and of an error payload in json, Smile and CBOR, with the
+ * http configuration of JsonUtil. BinaryFormatBenchmarkTest reports the payload sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+  static final int PAGE_SIZE = 25;
+
+  private static final TypeReference<List<NumberDto>> NUMBER_PAGE = new TypeReference<List<NumberDto>>() {
+  };
+
+  @Param({"json", "smile", "cbor"})
+  private String format;
+
+  private ObjectWriter pageWriter;
+  private ObjectReader pageReader;
+  private ObjectWriter errorWriter;
+  private ObjectReader errorReader;
+
+  private List<NumberDto> page;
+  private ErrorInfo errorInfo;
+
+  private byte[] pageBytes;
+  private byte[] errorBytes;
+
+  /**
+   * Writers and readers of the format, the payloads and their encoding.
+   *
+   * @throws IOException when a payload cannot be written
+   */
+  @Setup
+  public void setUp() throws IOException {
+    final ObjectMapper mapper = mapper(format);
+    pageWriter = mapper.writerFor(NUMBER_PAGE);
+    pageReader = mapper.readerFor(NUMBER_PAGE);
+    errorWriter = mapper.writerFor(ErrorInfo.class);
+    errorReader = mapper.readerFor(ErrorInfo.class);
+
+    page = numberPage();
+    errorInfo = errorInfo();
+
+    pageBytes = pageWriter.writeValueAsBytes(page);
+    errorBytes = errorWriter.writeValueAsBytes(errorInfo);
+  }
+
+  @Benchmark
+  public byte[] encodeNumberPage() throws IOException {
+    return pageWriter.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public List<NumberDto> decodeNumberPage() throws IOException {
+    return pageReader.readValue(pageBytes);
+  }
+
+  @Benchmark
+  public byte[] encodeErrorInfo() throws IOException {
+    return errorWriter.writeValueAsBytes(errorInfo);
+  }
+
+  @Benchmark
+  public ErrorInfo decodeErrorInfo() throws IOException {
+    return errorReader.readValue(errorBytes);
+  }
+
+  static ObjectMapper mapper(final String format) {
+    switch (format) {
+      case "smile":
+        return JsonUtil.getSmileMapper();
+      case "cbor":
+        return JsonUtil.getCborMapper();
+      default:
+        // As the http message conversion builds it.
+        return JsonUtil.configure(Jackson2ObjectMapperBuilder.json()).build();
+    }
+  }
+
+  /**
+   * A full page, every number with the rotated token of the response.
+   *
+   * @return numbers
+   */
+  static List<NumberDto> numberPage() {
+    final String token = UUID.randomUUID().toString();
+    final List<NumberDto> numbers = new ArrayList<>();
+
+    for (long i = 1; i <= PAGE_SIZE; i++) {
+      final long number = 1_000_000L + i * 7_919L;
+      numbers.add(NumberDto.newBuilder()
+          .withNumberId(100_000L + i)
+          .withNumber(number)
+          .withNumberSquared(number * number)
+          .withToken(token)
+          .build());
+    }
+
+    return numbers;
+  }
+
+  static ErrorInfo errorInfo() {
+    return ErrorInfo.newErrorInfo()
+        .withErrorCode(ErrorCode.NUMBER_NOT_FOUND)
+        .withErrorDescription("Number with id = '100001' does not exist")
+        .withReferenceId(UUID.randomUUID().toString())
+        .build();
+  }
+}
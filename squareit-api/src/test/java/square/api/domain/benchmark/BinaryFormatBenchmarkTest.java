@@ -0,0 +1,40 @@
+package square.api.domain.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs BinaryFormatBenchmark and reports the payload size of each format, of the page and of the error payload.
+ */
+public class BinaryFormatBenchmarkTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BinaryFormatBenchmarkTest.class);
+
+  // Long running. Run manually.
+  @Ignore
+  @Test
+  public void binaryFormat_Benchmark_JsonSmileAndCbor() throws RunnerException, IOException {
+    for (final String format : new String[]{"json", "smile", "cbor"}) {
+      final ObjectMapper mapper = BinaryFormatBenchmark.mapper(format);
+      LOGGER.info("-- BinaryFormatBenchmarkTest :: {} :: page of {} numbers: {} bytes, error: {} bytes --", format,
+          BinaryFormatBenchmark.PAGE_SIZE, mapper.writeValueAsBytes(BinaryFormatBenchmark.numberPage()).length,
+          mapper.writeValueAsBytes(BinaryFormatBenchmark.errorInfo()).length);
+    }
+
+    new Runner(new OptionsBuilder()
+        .include(BinaryFormatBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
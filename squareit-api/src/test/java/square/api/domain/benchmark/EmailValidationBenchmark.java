@@ -0,0 +1,67 @@
+package square.api.domain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import square.api.domain.utils.TestEmails;
+import square.api.domain.validators.EmailSyntax;
+
+/**
+ * Email syntax check of the former pattern and of EmailSyntax, for a plain email, a quoted local part with an address
+ * literal, an invalid email and a backtracking input of 40 characters. On Java 8 the pattern needs seconds for the
+ * backtracking input at the 50 characters of Constraint.MAX_EMAIL; Java 9+ caches the failed positions of that loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailValidationBenchmark {
+
+  @Param({"plain", "literal", "invalid", "backtracking"})
+  private String input;
+
+  private String email;
+
+  /**
+   * Email of the input.
+   */
+  @Setup
+  public void setUp() {
+    switch (input) {
+      case "plain":
+        email = "hans.larsson@mail.larsson.com";
+        break;
+      case "literal":
+        email = "\"hans\\\"larsson\"@[192.168.0.1]";
+        break;
+      case "invalid":
+        email = "hans.larsson@mail.larsson.com.";
+        break;
+      default:
+        email = TestEmails.backtracking(40);
+    }
+  }
+
+  @Benchmark
+  public boolean pattern() {
+    return TestEmails.FORMER_PATTERN.matcher(email).matches();
+  }
+
+  @Benchmark
+  public boolean emailSyntax() {
+    return EmailSyntax.isValid(email);
+  }
+}
@@ -0,0 +1,25 @@
+package square.api.domain.benchmark;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs EmailValidationBenchmark. Run it with Java 8, the runtime of the project, to see the backtracking of the
+ * former pattern.
+ */
+public class EmailValidationBenchmarkTest {
+
+  // Long running. Run manually.
+  @Ignore
+  @Test
+  public void emailValidation_Benchmark_PatternAgainstEmailSyntax() throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(EmailValidationBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
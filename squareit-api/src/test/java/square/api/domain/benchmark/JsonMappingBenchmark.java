@@ -0,0 +1,206 @@
+package square.api.domain.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.models.number.CreateNumberRequest;
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.models.user.CreateUserRequest;
+import square.api.domain.models.user.UserDto;
+import square.api.domain.util.JsonUtil;
+import square.api.domain.utils.TestObjects;
+
+/**
+ * Serialization and deserialization of every api model with the shared mapper. The builder based deserialization of
+ * CreateNumberRequest and NumberDto is compared with a direct path that streams the fields into the builder, and the
+ * shared mapper with a plain mapper without cached readers, writers or Afterburner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonMappingBenchmark {
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  private final ObjectMapper plainMapper = new ObjectMapper();
+
+  private CreateNumberRequest createNumberRequest;
+  private NumberDto numberDto;
+  private CreateUserRequest createUserRequest;
+  private UserDto userDto;
+  private GenericMessageResponse genericMessageResponse;
+  private ErrorInfo errorInfo;
+
+  private String createNumberRequestJson;
+  private String numberDtoJson;
+  private String createUserRequestJson;
+  private String userDtoJson;
+  private String genericMessageResponseJson;
+  private String errorInfoJson;
+
+  /**
+   * Models and their json.
+   */
+  @Setup
+  public void setUp() {
+    createNumberRequest = TestObjects.createCorrectNumberRequestBuilder().build();
+    numberDto = TestObjects.createCorrectNumberDtoBuilder().build();
+    createUserRequest = TestObjects.createCorrectUserRequestBuilder().build();
+    userDto = TestObjects.createCorrectUserDtoBuilder().build();
+    genericMessageResponse = TestObjects.createCorrectGenericMessageResponse();
+    errorInfo = ErrorInfo.newErrorInfo()
+        .withErrorCode(ErrorCode.NUMBER_NOT_FOUND)
+        .withErrorDescription("Number not found")
+        .withReferenceId("reference")
+        .build();
+
+    createNumberRequestJson = JsonUtil.writeObjectAsString(createNumberRequest);
+    numberDtoJson = JsonUtil.writeObjectAsString(numberDto);
+    createUserRequestJson = JsonUtil.writeObjectAsString(createUserRequest);
+    userDtoJson = JsonUtil.writeObjectAsString(userDto);
+    genericMessageResponseJson = JsonUtil.writeObjectAsString(genericMessageResponse);
+    errorInfoJson = JsonUtil.writeObjectAsString(errorInfo);
+  }
+
+  @Benchmark
+  public String serializeCreateNumberRequest() {
+    return JsonUtil.writeObjectAsString(createNumberRequest);
+  }
+
+  @Benchmark
+  public String serializeNumberDto() {
+    return JsonUtil.writeObjectAsString(numberDto);
+  }
+
+  @Benchmark
+  public String serializeNumberDtoPlainMapper() throws IOException {
+    return plainMapper.writeValueAsString(numberDto);
+  }
+
+  @Benchmark
+  public String serializeCreateUserRequest() {
+    return JsonUtil.writeObjectAsString(createUserRequest);
+  }
+
+  @Benchmark
+  public String serializeUserDto() {
+    return JsonUtil.writeObjectAsString(userDto);
+  }
+
+  @Benchmark
+  public String serializeGenericMessageResponse() {
+    return JsonUtil.writeObjectAsString(genericMessageResponse);
+  }
+
+  @Benchmark
+  public String serializeErrorInfo() {
+    return JsonUtil.writeObjectAsString(errorInfo);
+  }
+
+  @Benchmark
+  public CreateNumberRequest deserializeCreateNumberRequest() throws IOException {
+    return JsonUtil.readObject(createNumberRequestJson, CreateNumberRequest.class);
+  }
+
+  @Benchmark
+  public CreateNumberRequest deserializeCreateNumberRequestDirect() throws IOException {
+    final CreateNumberRequest.Builder builder = CreateNumberRequest.newBuilder();
+
+    try (JsonParser parser = jsonFactory.createParser(createNumberRequestJson)) {
+      parser.nextToken();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        final JsonToken value = parser.nextToken();
+        if ("numberId".equals(field)) {
+          builder.withNumberId(value == JsonToken.VALUE_NULL ? null : parser.getLongValue());
+        } else if ("number".equals(field)) {
+          builder.withNumber(value == JsonToken.VALUE_NULL ? null : parser.getLongValue());
+        } else if ("token".equals(field)) {
+          builder.withToken(parser.getValueAsString());
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    return builder.build();
+  }
+
+  @Benchmark
+  public NumberDto deserializeNumberDto() throws IOException {
+    return JsonUtil.readObject(numberDtoJson, NumberDto.class);
+  }
+
+  @Benchmark
+  public NumberDto deserializeNumberDtoPlainMapper() throws IOException {
+    return plainMapper.readValue(numberDtoJson, NumberDto.class);
+  }
+
+  @Benchmark
+  public NumberDto deserializeNumberDtoDirect() throws IOException {
+    final NumberDto.Builder builder = NumberDto.newBuilder();
+
+    try (JsonParser parser = jsonFactory.createParser(numberDtoJson)) {
+      parser.nextToken();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        parser.nextToken();
+        if ("numberId".equals(field)) {
+          builder.withNumberId(parser.getLongValue());
+        } else if ("number".equals(field)) {
+          builder.withNumber(parser.getLongValue());
+        } else if ("numberSquared".equals(field)) {
+          builder.withNumberSquared(parser.getLongValue());
+        } else if ("token".equals(field)) {
+          builder.withToken(parser.getValueAsString());
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    return builder.build();
+  }
+
+  @Benchmark
+  public CreateUserRequest deserializeCreateUserRequest() throws IOException {
+    return JsonUtil.readObject(createUserRequestJson, CreateUserRequest.class);
+  }
+
+  @Benchmark
+  public UserDto deserializeUserDto() throws IOException {
+    return JsonUtil.readObject(userDtoJson, UserDto.class);
+  }
+
+  @Benchmark
+  public GenericMessageResponse deserializeGenericMessageResponse() throws IOException {
+    return JsonUtil.readObject(genericMessageResponseJson, GenericMessageResponse.class);
+  }
+
+  @Benchmark
+  public ErrorInfo deserializeErrorInfo() throws IOException {
+    return JsonUtil.readObject(errorInfoJson, ErrorInfo.class);
+  }
+}
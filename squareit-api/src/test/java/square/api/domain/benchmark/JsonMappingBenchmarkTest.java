@@ -0,0 +1,24 @@
+package square.api.domain.benchmark;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs JsonMappingBenchmark. Compare the results before and after a change of the json configuration or of a model.
+ */
+public class JsonMappingBenchmarkTest {
+
+  // Long running. Run manually.
+  @Ignore
+  @Test
+  public void jsonMapping_Benchmark_SerializeAndDeserialize() throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(JsonMappingBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
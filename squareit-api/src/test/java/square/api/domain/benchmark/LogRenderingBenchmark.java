@@ -0,0 +1,104 @@
+package square.api.domain.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.slf4j.LoggerFactory;
+
+import square.api.domain.models.number.CreateNumberRequest;
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.util.LogArg;
+import square.api.domain.utils.TestObjects;
+
+/**
+ * Cost of the payload logging of one saveNumber request, the request and the response model, with the logger at INFO
+ * and at WARN. Eager is the former toString() call at the log statement, lazy the LogArg rendering. The appender
+ * formats every event and writes it to a discarding stream, so an enabled level pays the full rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogRenderingBenchmark {
+
+  @Param({"INFO", "WARN"})
+  private String level;
+
+  private Logger logger;
+
+  private CreateNumberRequest request;
+
+  private NumberDto numberDto;
+
+  private String token;
+
+  /**
+   * Logger with a discarding appender at the benchmarked level.
+   */
+  @Setup
+  public void setUp() {
+    final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    final PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(context);
+    encoder.setPattern("%d %-5level [%thread] %logger{36} - %msg%n");
+    encoder.start();
+
+    final OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+    appender.setContext(context);
+    appender.setEncoder(encoder);
+    appender.setOutputStream(new OutputStream() {
+      @Override
+      public void write(final int b) {
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) {
+      }
+    });
+    appender.start();
+
+    logger = context.getLogger(LogRenderingBenchmark.class);
+    logger.detachAndStopAllAppenders();
+    logger.addAppender(appender);
+    logger.setAdditive(false);
+    logger.setLevel(Level.toLevel(level));
+
+    request = TestObjects.createCorrectNumberRequestBuilder().build();
+    numberDto = TestObjects.createCorrectNumberDtoBuilder().build();
+    token = numberDto.getToken();
+  }
+
+  @Benchmark
+  public void eager() {
+    logger.info("Number request: {}", request.toString());
+    logger.info("Number: {}, with token: {}", numberDto.toString(), token);
+  }
+
+  @Benchmark
+  public void lazy() {
+    logger.info("Number request: {}", LogArg.of(request));
+    logger.info("Number: {}, with token: {}", LogArg.of(numberDto), LogArg.token(token));
+  }
+}
@@ -0,0 +1,25 @@
+package square.api.domain.benchmark;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs LogRenderingBenchmark. The difference between eager and lazy at WARN is the cost saved per request when INFO
+ * is turned off.
+ */
+public class LogRenderingBenchmarkTest {
+
+  // Long running. Run manually.
+  @Ignore
+  @Test
+  public void logRendering_Benchmark_InfoEnabledAndDisabled() throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(LogRenderingBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
@@ -0,0 +1,90 @@
+package square.api.domain.models.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import square.api.domain.constants.BatchOperationType;
+import square.api.domain.constants.Constraint;
+import square.api.domain.util.JsonUtil;
+import square.api.domain.utils.TestObjects;
+
+public class BatchRequestTest {
+
+  private Validator validator;
+
+  private BatchRequest.Builder request;
+
+  /**
+   * Setup.
+   */
+  @Before
+  public void setUp() {
+    validator = Validation.buildDefaultValidatorFactory().getValidator();
+    request = BatchRequest.newBuilder()
+        .withToken(TestObjects.createCorrectNumberRequestBuilder().build().getToken())
+        .withOperations(Collections.singletonList(BatchOperation.newBuilder()
+            .withType(BatchOperationType.SAVE_NUMBER)
+            .withNumber(3L)
+            .build()));
+  }
+
+  @Test
+  public void batchRequest_ShouldWork_CreateCompleteObjectWithCorrectValues() {
+    Assertions.assertThat(validator.validate(request.build())).isEmpty();
+  }
+
+  @Test
+  public void batchRequest_ShouldWork_UnMarshallObject() throws IOException {
+    final BatchRequest batchRequest = request.build();
+
+    final BatchRequest readValue = JsonUtil.readObject(batchRequest.toString(), BatchRequest.class);
+
+    Assertions.assertThat(readValue.getToken()).isEqualTo(batchRequest.getToken());
+    Assertions.assertThat(readValue.getOperations()).hasSize(1);
+    Assertions.assertThat(readValue.getOperations().get(0).getType()).isEqualTo(BatchOperationType.SAVE_NUMBER);
+    Assertions.assertThat(readValue.getOperations().get(0).getNumber()).isEqualTo(3L);
+  }
+
+  @Test
+  public void batchRequest_ShouldFail_OperationsEmpty() {
+    request.withOperations(Collections.emptyList());
+    final Set<ConstraintViolation<BatchRequest>> violations = validator.validate(request.build());
+
+    Assertions.assertThat(violations).extracting(ConstraintViolation::getMessage)
+        .containsExactly("Batch operations may not be null or empty");
+  }
+
+  @Test
+  public void batchRequest_ShouldFail_TooManyOperations() {
+    final List<BatchOperation> operations = new ArrayList<>();
+    for (int i = 0; i <= Constraint.MAX_BATCH_OPERATIONS; i++) {
+      operations.add(BatchOperation.newBuilder().withType(BatchOperationType.COUNT_NUMBERS).build());
+    }
+    request.withOperations(operations);
+    final Set<ConstraintViolation<BatchRequest>> violations = validator.validate(request.build());
+
+    Assertions.assertThat(violations).extracting(ConstraintViolation::getMessage)
+        .containsExactly("Batch may at most have " + Constraint.MAX_BATCH_OPERATIONS + " operations");
+  }
+
+  @Test
+  public void batchRequest_ShouldFail_OperationTypeNull() {
+    request.withOperations(Collections.singletonList(BatchOperation.newBuilder().withNumber(3L).build()));
+    final Set<ConstraintViolation<BatchRequest>> violations = validator.validate(request.build());
+
+    Assertions.assertThat(violations).extracting(ConstraintViolation::getMessage)
+        .containsExactly("Batch operation type may not be null");
+  }
+}
@@ -16,6 +16,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -57,7 +58,7 @@ public class CreateNumberRequestTest {
   public void createNumberRequest_ShouldWork_UnMarshallObject() throws IOException {
     final CreateNumberRequest createNumberRequest = request.build();
 
-    final CreateNumberRequest readValue = JsonUtil.getJsonMapper()
+    final CreateNumberRequest readValue = JsonUtil.configure(Jackson2ObjectMapperBuilder.json()).build()
         .setVisibility(VisibilityChecker.Std.defaultInstance().withFieldVisibility(JsonAutoDetect.Visibility.ANY))
         .readValue(createNumberRequest.toString(), CreateNumberRequest.class);
 
@@ -16,6 +16,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -55,7 +56,7 @@ public class NumberDtoTest {
   public void numberDto_ShouldWork_UnMarshallObject() throws IOException {
     final NumberDto numberDto = request.build();
 
-    final NumberDto readValue = JsonUtil.getJsonMapper()
+    final NumberDto readValue = JsonUtil.configure(Jackson2ObjectMapperBuilder.json()).build()
         .setVisibility(VisibilityChecker.Std.defaultInstance().withFieldVisibility(JsonAutoDetect.Visibility.ANY))
         .readValue(numberDto.toString(), NumberDto.class);
 
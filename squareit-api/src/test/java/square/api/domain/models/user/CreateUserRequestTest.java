@@ -16,6 +16,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -60,7 +61,7 @@ public class CreateUserRequestTest {
   public void createUserRequest_ShouldWork_UnMarshallObject() throws IOException {
     final CreateUserRequest createUserRequest = request.build();
 
-    final CreateUserRequest readValue = JsonUtil.getJsonMapper()
+    final CreateUserRequest readValue = JsonUtil.configure(Jackson2ObjectMapperBuilder.json()).build()
         .setVisibility(VisibilityChecker.Std.defaultInstance().withFieldVisibility(JsonAutoDetect.Visibility.ANY))
         .readValue(createUserRequest.toString(), CreateUserRequest.class);
 
@@ -1,16 +1,26 @@
 package square.api.domain.util;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 
+import org.assertj.core.api.Assertions;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.utils.TestObjects;
+
 @ActiveProfiles({"dev"})
 @RunWith(SpringJUnit4ClassRunner.class)
 public class JsonUtilTest {
@@ -23,4 +33,56 @@ public class JsonUtilTest {
     constructor.setAccessible(true);
     constructor.newInstance();
   }
+
+  @Test
+  public void jsonUtil_ShouldWork_ReadersAndWritersAreCachedPerType() {
+    Assertions.assertThat(JsonUtil.readerFor(NumberDto.class)).isSameAs(JsonUtil.readerFor(NumberDto.class));
+    Assertions.assertThat(JsonUtil.writerFor(NumberDto.class)).isSameAs(JsonUtil.writerFor(NumberDto.class));
+  }
+
+  @Test
+  public void configure_ShouldWork_AfterburnerIsRegistered() {
+    Assertions.assertThat(JsonUtil.configure(Jackson2ObjectMapperBuilder.json()).build().getRegisteredModuleIds())
+        .contains("com.fasterxml.jackson.module.afterburner.AfterburnerModule");
+  }
+
+  @Test
+  public void configure_ShouldWork_HttpFormatWritesNullFieldsToStringLeavesThemOut() throws IOException {
+    final NumberDto numberDto = TestObjects.createCorrectNumberDtoBuilder().withToken(null).build();
+    final ObjectMapper httpMapper = JsonUtil.configure(Jackson2ObjectMapperBuilder.json()).build();
+
+    final JsonNode http = httpMapper.readTree(httpMapper.writeValueAsString(numberDto));
+    Assertions.assertThat(http.has("token")).isTrue();
+    Assertions.assertThat(http.get("token").isNull()).isTrue();
+    Assertions.assertThat(httpMapper.readTree(JsonUtil.writeObjectAsString(numberDto)).has("token")).isFalse();
+  }
+
+  @Test
+  public void jsonUtil_ShouldWork_ReadWrittenObject() throws IOException {
+    final NumberDto numberDto = TestObjects.createCorrectNumberDtoBuilder().build();
+
+    final NumberDto readValue = JsonUtil.readObject(JsonUtil.writeObjectAsString(numberDto), NumberDto.class);
+
+    Assertions.assertThat(readValue.getNumberId()).isEqualTo(numberDto.getNumberId());
+    Assertions.assertThat(readValue.getNumber()).isEqualTo(numberDto.getNumber());
+    Assertions.assertThat(readValue.getNumberSquared()).isEqualTo(numberDto.getNumberSquared());
+    Assertions.assertThat(readValue.getToken()).isEqualTo(numberDto.getToken());
+  }
+
+  @Test
+  public void jsonUtil_ShouldWork_SmileAndCborHaveTheHttpConfiguration() throws IOException {
+    final NumberDto numberDto = TestObjects.createCorrectNumberDtoBuilder().withToken(null).build();
+    final ObjectMapper httpMapper = JsonUtil.configure(Jackson2ObjectMapperBuilder.json()).build();
+
+    for (final ObjectMapper mapper : new ObjectMapper[]{JsonUtil.getSmileMapper(), JsonUtil.getCborMapper()}) {
+      final byte[] bytes = mapper.writeValueAsBytes(numberDto);
+      final NumberDto readValue = mapper.readValue(bytes, NumberDto.class);
+
+      Assertions.assertThat(readValue.getNumberId()).isEqualTo(numberDto.getNumberId());
+      Assertions.assertThat(readValue.getNumberSquared()).isEqualTo(numberDto.getNumberSquared());
+      // Null fields are written, as in the json responses.
+      Assertions.assertThat(mapper.readTree(bytes).get("token").isNull()).isTrue();
+      Assertions.assertThat(bytes.length).isLessThan(httpMapper.writeValueAsBytes(numberDto).length);
+    }
+  }
 }
@@ -0,0 +1,90 @@
+package square.api.domain.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.models.user.CreateUserRequest;
+import square.api.domain.utils.TestObjects;
+
+public class LogArgTest {
+
+  private static final String TOKEN = "tokentokentokentokentokentokentoken1";
+
+  @Test
+  public void logArg_ShouldWork_MaskPasswordsAndToken() {
+    final CreateUserRequest request = TestObjects.createCorrectUserRequestBuilder().build();
+
+    final String rendered = LogArg.of(request).toString();
+
+    Assertions.assertThat(rendered).doesNotContain(request.getPassword());
+    Assertions.assertThat(rendered).contains("\"password\":\"****\"", "\"confirmPassword\":\"****\"");
+    Assertions.assertThat(rendered).contains(request.getUserName(), request.getEmail());
+  }
+
+  @Test
+  public void logArg_ShouldWork_MaskTokenOfModel() {
+    final NumberDto numberDto = TestObjects.createCorrectNumberDtoBuilder().build();
+
+    final String rendered = LogArg.of(numberDto).toString();
+
+    Assertions.assertThat(rendered).doesNotContain(TOKEN);
+    Assertions.assertThat(rendered).contains("\"token\":\"toke****\"", "\"numberSquared\":25");
+  }
+
+  @Test
+  public void logArg_ShouldWork_MaskToken() {
+    Assertions.assertThat(LogArg.token(TOKEN).toString()).isEqualTo("toke****");
+    Assertions.assertThat(LogArg.token("abc").toString()).isEqualTo("****");
+    Assertions.assertThat(LogArg.token(null).toString()).isEqualTo("null");
+  }
+
+  @Test
+  public void logArg_ShouldWork_MaskTokensInExceptionMessage() {
+    final String token = UUID.randomUUID().toString();
+    final Exception exception = new IllegalStateException("getNumber :: number is null with token: " + token
+        + ", and user token: " + token.toUpperCase(Locale.ROOT));
+
+    final String rendered = LogArg.of(exception).toString();
+
+    Assertions.assertThat(rendered).doesNotContain(token).doesNotContain(token.toUpperCase(Locale.ROOT));
+    Assertions.assertThat(rendered).isEqualTo("java.lang.IllegalStateException: getNumber :: number is null with "
+        + "token: " + LogArg.maskToken(token) + ", and user token: "
+        + LogArg.maskToken(token.toUpperCase(Locale.ROOT)));
+  }
+
+  @Test
+  public void logArg_ShouldWork_RenderNullAndOtherObjects() {
+    Assertions.assertThat(LogArg.of(null).toString()).isEqualTo("null");
+    Assertions.assertThat(LogArg.of(5L).toString()).isEqualTo("5");
+  }
+
+  @Test
+  public void logArg_ShouldWork_RenderCollection() {
+    final NumberDto numberDto = TestObjects.createCorrectNumberDtoBuilder().build();
+
+    final String rendered = LogArg.of(Arrays.asList(numberDto, numberDto)).toString();
+
+    Assertions.assertThat(rendered).startsWith("(2 items)[").endsWith("]").doesNotContain(TOKEN);
+  }
+
+  @Test
+  public void logArg_ShouldWork_TruncateLongRendering() {
+    final List<NumberDto> numbers = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      numbers.add(TestObjects.createCorrectNumberDtoBuilder().build());
+    }
+
+    final String rendered = LogArg.of(numbers).toString();
+
+    Assertions.assertThat(rendered).startsWith("(100 items)[").endsWith("...(truncated)");
+    Assertions.assertThat(rendered.length()).isEqualTo(LogArg.MAX_LENGTH + "...(truncated)".length());
+  }
+}
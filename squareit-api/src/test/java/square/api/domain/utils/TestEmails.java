@@ -0,0 +1,143 @@
+package square.api.domain.utils;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * The former email pattern of EmailValidator, the reference of EmailSyntax, and generated emails: near valid ones for
+ * the differential test and backtracking inputs for the benchmark.
+ */
+public class TestEmails {
+
+  public static final Pattern FORMER_PATTERN = Pattern.compile(
+      "(?:[a-z0-9!#$%&'*+/=?^_`{|}~-]+(?:\\.[a-z0-9!#$%&'*+/=?^_`{|}~-]+)*"
+      + "|\"(?:[\\x01-\\x08\\x0b\\x0c\\x0e-\\x1f\\x21\\x23-\\x5b\\x5d-\\x7f]|\\\\[\\x01-\\x09\\x0b\\x0c\\x0e-\\x7f"
+      + "])*\")@(?:(?:[a-z0-9](?:[a-z0-9-]*[a-z0-9])?\\.)+[a-z0-9](?:[a-z0-9-]*[a-z0-9])?|\\[(?:(?:25[0-5]|2[0-4]["
+      + "0-9]|[01]?[0-9][0-9]?)\\.){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?|[a-z0-9-]*[a-z0-9]:(?:[\\x01-\\x08\\"
+      + "x0b\\x0c\\x0e-\\x1f\\x21-\\x5a\\x53-\\x7f]|\\\\[\\x01-\\x09\\x0b\\x0c\\x0e-\\x7f])+)])");
+
+  private static final String ATEXT = "abcxyz0189!#$%&'*+/=?^_`{|}~-";
+
+  private static final String LABEL = "abz09-";
+
+  private static final String NOISE = "aZ09.-@\"\\[]: \t\r\n\u0000\u0001\u007f\u0080\u00e9!#~";
+
+  private TestEmails() {
+    throw new IllegalStateException("TestEmails :: Cannot be instantiated");
+  }
+
+  /**
+   * Email from the grammar of the pattern, with up to three characters inserted, replaced or removed.
+   *
+   * @param random random
+   * @return email, valid or not
+   */
+  public static String nearValid(final Random random) {
+    final StringBuilder email = new StringBuilder();
+
+    if (random.nextInt(4) == 0) {
+      quotedString(random, email);
+    } else {
+      dotAtom(random, email);
+    }
+    email.append('@');
+    if (random.nextInt(4) == 0) {
+      addressLiteral(random, email);
+    } else {
+      domainName(random, email);
+    }
+
+    for (int mutations = random.nextInt(4); mutations > 0 && email.length() > 0; mutations--) {
+      final int index = random.nextInt(email.length());
+      final char c = NOISE.charAt(random.nextInt(NOISE.length()));
+      switch (random.nextInt(3)) {
+        case 0:
+          email.insert(index, c);
+          break;
+        case 1:
+          email.setCharAt(index, c);
+          break;
+        default:
+          email.deleteCharAt(index);
+      }
+    }
+    return email.toString();
+  }
+
+  /**
+   * Address literal with a run of backslashes and no closing bracket. The pattern reads a backslash alone or as the
+   * start of a quoted pair, it tries every split of the run before it fails.
+   *
+   * @param length length
+   * @return invalid email
+   */
+  public static String backtracking(final int length) {
+    final StringBuilder email = new StringBuilder("a@[1.2.3.a:");
+    while (email.length() < length - 1) {
+      email.append('\\');
+    }
+    return email.append('x').toString();
+  }
+
+  private static void dotAtom(final Random random, final StringBuilder email) {
+    for (int atoms = 1 + random.nextInt(3); atoms > 0; atoms--) {
+      append(random, email, ATEXT, 1 + random.nextInt(6));
+      if (atoms > 1) {
+        email.append('.');
+      }
+    }
+  }
+
+  private static void quotedString(final Random random, final StringBuilder email) {
+    email.append('"');
+    for (int i = random.nextInt(8); i > 0; i--) {
+      if (random.nextInt(4) == 0) {
+        email.append('\\').append((char) (1 + random.nextInt(0x7f)));
+      } else {
+        email.append((char) (1 + random.nextInt(0x7f)));
+      }
+    }
+    email.append('"');
+  }
+
+  private static void domainName(final Random random, final StringBuilder email) {
+    for (int labels = 1 + random.nextInt(3); labels > 0; labels--) {
+      append(random, email, LABEL, 1 + random.nextInt(6));
+      if (labels > 1) {
+        email.append('.');
+      }
+    }
+  }
+
+  private static void addressLiteral(final Random random, final StringBuilder email) {
+    email.append('[');
+    for (int octet = 0; octet < 3; octet++) {
+      email.append(octet(random)).append('.');
+    }
+
+    if (random.nextBoolean()) {
+      email.append(octet(random));
+    } else {
+      append(random, email, LABEL, 1 + random.nextInt(4));
+      email.append(':');
+      for (int i = 1 + random.nextInt(6); i > 0; i--) {
+        if (random.nextInt(4) == 0) {
+          email.append('\\');
+        }
+        email.append((char) (1 + random.nextInt(0x7f)));
+      }
+    }
+    email.append(']');
+  }
+
+  private static String octet(final Random random) {
+    final String octet = Integer.toString(random.nextInt(300));
+    return random.nextInt(8) == 0 ? "0" + octet : octet;
+  }
+
+  private static void append(final Random random, final StringBuilder email, final String chars, final int count) {
+    for (int i = 0; i < count; i++) {
+      email.append(chars.charAt(random.nextInt(chars.length())));
+    }
+  }
+}
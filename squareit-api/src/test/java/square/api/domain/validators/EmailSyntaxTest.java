@@ -0,0 +1,103 @@
+package square.api.domain.validators;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import square.api.domain.utils.TestEmails;
+
+public class EmailSyntaxTest {
+
+  private static final long SEED = 20181019L;
+
+  private static final int FUZZ_EMAILS = 200_000;
+
+  private static final List<String> VALID = Arrays.asList(
+      "hans@larsson.com",
+      "a.b-c+d@sub.do-main.org",
+      "!#$%&'*+/=?^_`{|}~-@a.b",
+      "\"quoted\\ @\\\"\\\\\"@larsson.com",
+      "\"\"@larsson.com",
+      "hans@[192.168.0.1]",
+      "hans@[255.249.010.7]",
+      "hans@[1.2.3.tag:content]",
+      "hans@[1.2.3.ipv6:1:2:3::4]",
+      "hans@[1.2.3.t-1:\\ \\\t[]]");
+
+  private static final List<String> INVALID = Arrays.asList(
+      "",
+      "hans",
+      "hans@",
+      "@larsson.com",
+      "Hans@larsson.com",
+      "hans@Larsson.com",
+      "hans@larsson",
+      "hans@larsson.com.",
+      "hans@-larsson.com",
+      "hans@larsson-.com",
+      "hans@larsson..com",
+      ".hans@larsson.com",
+      "hans.@larsson.com",
+      "ha..ns@larsson.com",
+      "hello@@mayo.org",
+      "ha ns@larsson.com",
+      "h\u00e4ns@larsson.com",
+      "\"unclosed@larsson.com",
+      "\"tab\t\"@larsson.com",
+      "\"a\"b@larsson.com",
+      "hans@[256.1.1.1]",
+      "hans@[1.1.1.1",
+      "hans@[1.1.1]",
+      "hans@[1.1.1.1.1]",
+      "hans@[1.2.3.tag-:content]",
+      "hans@[1.2.3.tag:]",
+      "hans@[1.2.3.tag: content]",
+      "hans@[1.2.3.tag:a  b]",
+      "hans@[tag:content]");
+
+  @Test
+  public void isValid_ShouldWork_ValidEmails() {
+    VALID.forEach(email -> Assertions.assertThat(EmailSyntax.isValid(email)).as(email).isTrue());
+  }
+
+  @Test
+  public void isValid_ShouldFail_InvalidEmails() {
+    INVALID.forEach(email -> Assertions.assertThat(EmailSyntax.isValid(email)).as(email).isFalse());
+  }
+
+  @Test
+  public void isValid_ShouldWork_SameAsFormerPatternOnExamples() {
+    VALID.forEach(email -> Assertions.assertThat(TestEmails.FORMER_PATTERN.matcher(email).matches()).as(email)
+        .isTrue());
+    INVALID.forEach(email -> Assertions.assertThat(TestEmails.FORMER_PATTERN.matcher(email).matches()).as(email)
+        .isFalse());
+  }
+
+  @Test
+  public void isValid_ShouldWork_SameAsFormerPatternOnGeneratedEmails() {
+    final Random random = new Random(SEED);
+    int valid = 0;
+
+    for (int i = 0; i < FUZZ_EMAILS; i++) {
+      final String email = TestEmails.nearValid(random);
+      final boolean expected = TestEmails.FORMER_PATTERN.matcher(email).matches();
+
+      Assertions.assertThat(EmailSyntax.isValid(email)).as(email).isEqualTo(expected);
+      if (expected) {
+        valid++;
+      }
+    }
+
+    // Both sides of the language are covered.
+    Assertions.assertThat(valid).isBetween(FUZZ_EMAILS / 20, FUZZ_EMAILS - FUZZ_EMAILS / 20);
+  }
+
+  @Test(timeout = 1000)
+  public void isValid_ShouldFail_BacktrackingInputInLinearTime() {
+    Assertions.assertThat(EmailSyntax.isValid(TestEmails.backtracking(100_000))).isFalse();
+  }
+}
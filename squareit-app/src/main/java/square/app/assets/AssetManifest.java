@@ -0,0 +1,65 @@
+package square.app.assets;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Fingerprinted names of the static assets, written by the AssetPipeline at build time: path of an asset, relative to
+ * the public folder, to the path of its content hashed copy. A hashed copy never changes, so it is cached for good.
+ */
+public final class AssetManifest {
+
+  public static final String FILE_NAME = "asset-manifest.properties";
+
+  private final Map<String, String> hashedPaths;
+
+  private AssetManifest(final Map<String, String> hashedPaths) {
+    this.hashedPaths = Collections.unmodifiableMap(new TreeMap<>(hashedPaths));
+  }
+
+  /**
+   * Reads a manifest. Without a manifest, e.g. classes built without the pipeline, no asset is fingerprinted.
+   *
+   * @param resource manifest resource
+   * @return manifest
+   * @throws IOException unreadable manifest
+   */
+  public static AssetManifest load(final Resource resource) throws IOException {
+    final Properties properties = new Properties();
+    if (resource.exists()) {
+      try (InputStream in = resource.getInputStream()) {
+        properties.load(in);
+      }
+    }
+
+    final Map<String, String> hashedPaths = new TreeMap<>();
+    properties.stringPropertyNames().forEach(path -> hashedPaths.put(path, properties.getProperty(path)));
+    return new AssetManifest(hashedPaths);
+  }
+
+  static AssetManifest of(final Map<String, String> hashedPaths) {
+    return new AssetManifest(hashedPaths);
+  }
+
+  /**
+   * Asset paths to hashed paths, both relative to the public folder.
+   *
+   * @return hashed paths
+   */
+  public Map<String, String> getHashedPaths() {
+    return hashedPaths;
+  }
+
+  void store(final OutputStream out) throws IOException {
+    final Properties properties = new Properties();
+    properties.putAll(hashedPaths);
+    properties.store(out, "Written by AssetPipeline: asset path = content hashed path");
+  }
+}
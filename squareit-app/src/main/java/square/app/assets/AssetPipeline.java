@@ -0,0 +1,272 @@
+package square.app.assets;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * Build step of the static assets of the public folder, run by the exec-maven-plugin once the resources are copied
+ * (process-classes). Every asset gets a copy named after its content, e.g. css/loginRegister-[md5].css, and the html
+ * pages and style sheets are rewritten to reference the copies. The copies and the pages are precompressed with gzip,
+ * and with brotli when the brotli command is installed: the JDK has no brotli encoder. The copies are listed in the
+ * AssetManifest, WebConfig serves them with an immutable Cache-Control.
+ *
+ * <p>The pipeline can run again on its own output: hashed copies are not hashed again and references to an older copy
+ * are rewritten to the current one.
+ */
+public final class AssetPipeline {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AssetPipeline.class);
+
+  static final String GZIP_SUFFIX = ".gz";
+
+  static final String BROTLI_SUFFIX = ".br";
+
+  // Content hash of a copy, in front of the extension.
+  private static final Pattern HASH = Pattern.compile("-[0-9a-f]{32}(?=\\.[^./]+$)");
+
+  private static final Pattern REFERENCE = Pattern.compile(
+      "(?:href|src)\\s*=\\s*\"([^\"]+)\"|url\\(\\s*['\"]?([^'\")]+)['\"]?\\s*\\)");
+
+  private static final Set<String> COMPRESSIBLE = new HashSet<>(Arrays.asList("html", "css", "js", "svg", "json",
+      "txt"));
+
+  private final Path publicDir;
+
+  private final String brotliCommand;
+
+  /**
+   * AssetPipeline.
+   *
+   * @param publicDir     public folder of the built classes
+   * @param brotliCommand brotli command, null to only gzip
+   */
+  AssetPipeline(final Path publicDir, final String brotliCommand) {
+    this.publicDir = publicDir.toAbsolutePath().normalize();
+    this.brotliCommand = brotliCommand != null && isInstalled(brotliCommand) ? brotliCommand : null;
+  }
+
+  /**
+   * Runs the pipeline.
+   *
+   * @param args public folder (default target/classes/public) and brotli command (default brotli)
+   * @throws IOException unreadable or unwritable asset
+   */
+  public static void main(final String[] args) throws IOException {
+    new AssetPipeline(Paths.get(args.length > 0 ? args[0] : "target/classes/public"),
+        args.length > 1 ? args[1] : "brotli").run();
+  }
+
+  AssetManifest run() throws IOException {
+    final Map<String, String> hashedPaths = new TreeMap<>();
+    if (!Files.isDirectory(publicDir)) {
+      LOGGER.info("-- AssetPipeline :: No public folder: {} --", publicDir);
+      return AssetManifest.of(hashedPaths);
+    }
+    if (brotliCommand == null) {
+      LOGGER.info("-- AssetPipeline :: brotli is not installed, assets are only gzipped --");
+    }
+
+    final List<Path> assets = listAssets();
+    // Style sheets reference images, they are hashed once the images are.
+    for (final Path asset : assets) {
+      if (!isPage(asset) && !isStyleSheet(asset)) {
+        hashedPaths.put(relative(asset), fingerprint(asset, Files.readAllBytes(asset)));
+      }
+    }
+    for (final Path asset : assets) {
+      if (isStyleSheet(asset)) {
+        hashedPaths.put(relative(asset), fingerprint(asset, rewrite(asset, hashedPaths)));
+      }
+    }
+    // The pages keep their names, they are the entry points. They reference the copies.
+    for (final Path page : assets) {
+      if (isPage(page)) {
+        Files.write(page, rewrite(page, hashedPaths));
+        precompress(page);
+      }
+    }
+
+    final AssetManifest manifest = AssetManifest.of(hashedPaths);
+    try (OutputStream out = Files.newOutputStream(publicDir.resolve(AssetManifest.FILE_NAME))) {
+      manifest.store(out);
+    }
+    LOGGER.info("-- AssetPipeline :: {} assets fingerprinted in {} --", hashedPaths.size(), publicDir);
+    return manifest;
+  }
+
+  private List<Path> listAssets() throws IOException {
+    try (Stream<Path> files = Files.walk(publicDir)) {
+      return files.filter(Files::isRegularFile)
+          .filter(file -> !file.getFileName().toString().equals(AssetManifest.FILE_NAME))
+          .filter(file -> !file.toString().endsWith(GZIP_SUFFIX) && !file.toString().endsWith(BROTLI_SUFFIX))
+          .filter(file -> !HASH.matcher(file.getFileName().toString()).find())
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Writes the content hashed copy of an asset.
+   *
+   * @return path of the copy, relative to the public folder
+   */
+  private String fingerprint(final Path asset, final byte[] content) throws IOException {
+    final String fileName = asset.getFileName().toString();
+    final int extension = fileName.lastIndexOf('.');
+    final String hash = DigestUtils.md5DigestAsHex(content);
+    final String hashedName = extension > 0
+        ? fileName.substring(0, extension) + "-" + hash + fileName.substring(extension)
+        : fileName + "-" + hash;
+
+    final Path copy = asset.resolveSibling(hashedName);
+    if (!Files.exists(copy)) {
+      Files.write(copy, content);
+      precompress(copy);
+    }
+    return relative(copy);
+  }
+
+  /**
+   * Replaces the references of a page or style sheet to fingerprinted assets, relative or absolute, by references to
+   * their copies.
+   */
+  private byte[] rewrite(final Path file, final Map<String, String> hashedPaths) throws IOException {
+    final String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    final Matcher matcher = REFERENCE.matcher(content);
+    final StringBuffer rewritten = new StringBuffer();
+
+    while (matcher.find()) {
+      final int group = matcher.group(1) != null ? 1 : 2;
+      final String reference = matcher.group(group);
+      final String hashedPath = hashedPaths.get(resolve(file, reference));
+      if (hashedPath == null) {
+        matcher.appendReplacement(rewritten, Matcher.quoteReplacement(matcher.group()));
+        continue;
+      }
+
+      final String hashedReference = reference.substring(0, reference.lastIndexOf('/') + 1)
+          + hashedPath.substring(hashedPath.lastIndexOf('/') + 1);
+      final int start = matcher.start(group) - matcher.start();
+      final String match = matcher.group();
+      matcher.appendReplacement(rewritten, Matcher.quoteReplacement(match.substring(0, start) + hashedReference
+          + match.substring(start + reference.length())));
+    }
+    matcher.appendTail(rewritten);
+    return rewritten.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Asset path of a reference, relative to the public folder and without the hash of an older copy. Null for
+   * external, data and query references.
+   */
+  private String resolve(final Path file, final String reference) {
+    if (reference.contains(":") || reference.startsWith("//") || reference.contains("?")
+        || reference.contains("#")) {
+      return null;
+    }
+
+    final Path target = (reference.startsWith("/") ? publicDir.resolve(reference.substring(1))
+        : file.getParent().resolve(reference)).normalize();
+    if (!target.startsWith(publicDir)) {
+      return null;
+    }
+    return HASH.matcher(relative(target)).replaceFirst("");
+  }
+
+  private void precompress(final Path file) throws IOException {
+    if (!COMPRESSIBLE.contains(extension(file))) {
+      return;
+    }
+
+    final Path gzipped = Paths.get(file + GZIP_SUFFIX);
+    try (OutputStream out = new BestGzipOutputStream(Files.newOutputStream(gzipped))) {
+      Files.copy(file, out);
+    }
+    keepIfSmaller(file, gzipped);
+
+    if (brotliCommand != null) {
+      final Path compressed = Paths.get(file + BROTLI_SUFFIX);
+      if (exec(brotliCommand, "-f", "-Z", "-o", compressed.toString(), file.toString())) {
+        keepIfSmaller(file, compressed);
+      }
+    }
+  }
+
+  private static void keepIfSmaller(final Path file, final Path compressed) throws IOException {
+    if (Files.size(compressed) >= Files.size(file)) {
+      Files.delete(compressed);
+    }
+  }
+
+  private static boolean isInstalled(final String command) {
+    return exec(command, "--version");
+  }
+
+  private static boolean exec(final String... command) {
+    try {
+      final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+      // Drained, a full pipe would block the command.
+      try (InputStream out = process.getInputStream()) {
+        final byte[] buffer = new byte[4096];
+        while (out.read(buffer) != -1) {
+          // Output not used.
+        }
+      }
+      return process.waitFor(60, TimeUnit.SECONDS) && process.exitValue() == 0;
+    } catch (IOException e) {
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private String relative(final Path file) {
+    return publicDir.relativize(file).toString().replace('\\', '/');
+  }
+
+  private static boolean isPage(final Path file) {
+    return "html".equals(extension(file));
+  }
+
+  private static boolean isStyleSheet(final Path file) {
+    return "css".equals(extension(file));
+  }
+
+  private static String extension(final Path file) {
+    final String fileName = file.getFileName().toString();
+    return fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+  }
+
+  private static final class BestGzipOutputStream extends GZIPOutputStream {
+
+    private BestGzipOutputStream(final OutputStream out) throws IOException {
+      super(out);
+      def.setLevel(Deflater.BEST_COMPRESSION);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package square.app.assets;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+/**
+ * Serves the brotli or gzip file the AssetPipeline wrote next to an asset, the first one the Accept-Encoding header
+ * allows. Spring 5.0 only has a resolver for gzip files. A resource with a compressed variant is always sent with
+ * Vary: Accept-Encoding, so a shared cache keeps one response per encoding.
+ */
+public class PrecompressedResourceResolver extends AbstractResourceResolver {
+
+  // Preferred first: brotli files are smaller.
+  private static final List<String> CODINGS = Arrays.asList("br", "gzip");
+
+  @Override
+  @Nullable
+  protected Resource resolveResourceInternal(@Nullable final HttpServletRequest request, final String requestPath,
+      final List<? extends Resource> locations, final ResourceResolverChain chain) {
+    final Resource resource = chain.resolveResource(request, requestPath, locations);
+    if (resource == null || request == null) {
+      return resource;
+    }
+
+    final String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    boolean compressed = false;
+    for (final String coding : CODINGS) {
+      final Resource variant = variant(resource, coding);
+      if (variant != null) {
+        if (accepts(acceptEncoding, coding)) {
+          return new NegotiatedResource(resource, variant, coding);
+        }
+        compressed = true;
+      }
+    }
+    return compressed ? new NegotiatedResource(resource, resource, null) : resource;
+  }
+
+  @Override
+  @Nullable
+  protected String resolveUrlPathInternal(final String resourceUrlPath, final List<? extends Resource> locations,
+      final ResourceResolverChain chain) {
+    return chain.resolveUrlPath(resourceUrlPath, locations);
+  }
+
+  @Nullable
+  private Resource variant(final Resource resource, final String coding) {
+    try {
+      final Resource variant = resource.createRelative(resource.getFilename() + suffix(coding));
+      return variant.exists() ? variant : null;
+    } catch (IOException e) {
+      logger.trace("No " + coding + " variant of " + resource, e);
+      return null;
+    }
+  }
+
+  private static String suffix(final String coding) {
+    return "br".equals(coding) ? AssetPipeline.BROTLI_SUFFIX : AssetPipeline.GZIP_SUFFIX;
+  }
+
+  /**
+   * Whether an Accept-Encoding header allows a coding, by name or else by *, and not with q=0.
+   */
+  static boolean accepts(@Nullable final String acceptEncoding, final String coding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    boolean wildcard = false;
+    for (final String element : acceptEncoding.split(",")) {
+      final String[] parts = element.trim().split(";");
+      final String name = parts[0].trim().toLowerCase(Locale.ROOT);
+      if (name.equals(coding)) {
+        return !isZeroQuality(parts);
+      }
+      if (name.equals("*")) {
+        wildcard = !isZeroQuality(parts);
+      }
+    }
+    return wildcard;
+  }
+
+  private static boolean isZeroQuality(final String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      final String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The content of the chosen variant with the name, hence the media type, of the asset.
+   */
+  private static final class NegotiatedResource extends AbstractResource implements HttpResource {
+
+    private final Resource original;
+
+    private final Resource content;
+
+    @Nullable
+    private final String coding;
+
+    private NegotiatedResource(final Resource original, final Resource content, @Nullable final String coding) {
+      this.original = original;
+      this.content = content;
+      this.coding = coding;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      return content.getInputStream();
+    }
+
+    @Override
+    public boolean exists() {
+      return content.exists();
+    }
+
+    @Override
+    public boolean isReadable() {
+      return content.isReadable();
+    }
+
+    @Override
+    public URL getURL() throws IOException {
+      return content.getURL();
+    }
+
+    @Override
+    public URI getURI() throws IOException {
+      return content.getURI();
+    }
+
+    @Override
+    public File getFile() throws IOException {
+      return content.getFile();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+      return content.contentLength();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+      return content.lastModified();
+    }
+
+    @Override
+    public Resource createRelative(final String relativePath) throws IOException {
+      return original.createRelative(relativePath);
+    }
+
+    @Override
+    @Nullable
+    public String getFilename() {
+      return original.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+      return content.getDescription();
+    }
+
+    @Override
+    public HttpHeaders getResponseHeaders() {
+      final HttpHeaders headers = new HttpHeaders();
+      if (coding != null) {
+        headers.add(HttpHeaders.CONTENT_ENCODING, coding);
+      }
+      headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+      return headers;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package square.app.async;
+
+import java.util.Map;
+
+import org.slf4j.MDC;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Runs a task with the MDC of the thread that submitted it, so the breadcrumb id of the request follows the work to
+ * the executor thread.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(final Runnable runnable) {
+    final Map<String, String> context = MDC.getCopyOfContextMap();
+
+    return () -> {
+      if (context == null) {
+        MDC.clear();
+      } else {
+        MDC.setContextMap(context);
+      }
+
+      try {
+        runnable.run();
+      } finally {
+        MDC.clear();
+      }
+    };
+  }
+}
@@ -0,0 +1,66 @@
+package square.app.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads (Java 21) for the virtual thread mode, see VirtualThreadConfig. The project compiles for Java 8, so
+ * the Java 21 API is looked up by reflection. The mode fails fast on an older JVM.
+ */
+public final class VirtualThreads {
+
+  private VirtualThreads() {
+    throw new IllegalStateException("VirtualThreads class :: Cannot be instantiated");
+  }
+
+  /**
+   * The running JVM has virtual threads.
+   *
+   * @return supported
+   */
+  public static boolean isSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Factory of virtual threads named prefix0, prefix1, ...
+   *
+   * @param prefix thread name prefix
+   * @return thread factory
+   */
+  public static ThreadFactory factory(final String prefix) {
+    try {
+      final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      final Object named = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+      return (ThreadFactory) builderType.getMethod("factory").invoke(named);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("VirtualThreads :: Virtual threads need Java 21 or later, running on Java "
+          + System.getProperty("java.version"), e);
+    }
+  }
+
+  /**
+   * Executor that starts a new virtual thread per task.
+   *
+   * @param prefix thread name prefix
+   * @return executor
+   */
+  public static ExecutorService newThreadPerTaskExecutor(final String prefix) {
+    final ThreadFactory threadFactory = factory(prefix);
+    try {
+      final Method newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      return (ExecutorService) newExecutor.invoke(null, threadFactory);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("VirtualThreads :: Virtual threads need Java 21 or later, running on Java "
+          + System.getProperty("java.version"), e);
+    }
+  }
+}
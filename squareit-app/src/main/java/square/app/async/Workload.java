@@ -0,0 +1,15 @@
+package square.app.async;
+
+/**
+ * Classes of rest-service work. Each runs on its own executor, so a slow class cannot take the threads of the others.
+ */
+public enum Workload {
+
+  // Users: login and registration hash passwords with BCrypt.
+  AUTH,
+  // Numbers: short database reads and writes.
+  NUMBERS,
+  // Registration emails: outbox writes and resend coalescing.
+  EMAIL
+
+}
@@ -0,0 +1,128 @@
+package square.app.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Runs rest-service work on the executor of its workload and hands the result to Spring MVC as a DeferredResult. The
+ * request thread is given back to Tomcat while the work runs.
+ *
+ * <p>A full executor queue throws TaskRejectedException before the request goes async, answered with 503. Work still
+ * queued at the timeout of its workload never runs and is answered with 503. Work already running is not interrupted:
+ * it may have committed, e.g. a rotated token the client needs, so the request waits for its result. Per workload the
+ * executor.* metrics (name workload.auth, workload.numbers, workload.email) show the pool and queue, workload.timeouts
+ * counts the timed out requests, workload.overruns the requests answered late and workload.rejected (see
+ * AsyncWorkloadConfig) the rejected ones.
+ */
+@Component
+public class WorkloadExecutors {
+
+  private final Map<Workload, ThreadPoolTaskExecutor> executors = new EnumMap<>(Workload.class);
+
+  private final Map<Workload, Long> timeouts = new EnumMap<>(Workload.class);
+
+  private final Map<Workload, Counter> timeoutCounters = new EnumMap<>(Workload.class);
+
+  private final Map<Workload, Counter> overrunCounters = new EnumMap<>(Workload.class);
+
+  /**
+   * WorkloadExecutors.
+   *
+   * @param authExecutor    authExecutor
+   * @param numbersExecutor numbersExecutor
+   * @param emailExecutor   emailExecutor
+   * @param authTimeout     auth request timeout in ms
+   * @param numbersTimeout  numbers request timeout in ms
+   * @param emailTimeout    email request timeout in ms
+   * @param meterRegistry   meterRegistry
+   */
+  @Autowired
+  public WorkloadExecutors(@Qualifier("authWorkloadExecutor") final ThreadPoolTaskExecutor authExecutor,
+      @Qualifier("numbersWorkloadExecutor") final ThreadPoolTaskExecutor numbersExecutor,
+      @Qualifier("emailWorkloadExecutor") final ThreadPoolTaskExecutor emailExecutor,
+      @Value("${project.async.auth.timeout-ms}") final long authTimeout,
+      @Value("${project.async.numbers.timeout-ms}") final long numbersTimeout,
+      @Value("${project.async.email.timeout-ms}") final long emailTimeout,
+      final MeterRegistry meterRegistry) {
+    register(Workload.AUTH, authExecutor, authTimeout, meterRegistry);
+    register(Workload.NUMBERS, numbersExecutor, numbersTimeout, meterRegistry);
+    register(Workload.EMAIL, emailExecutor, emailTimeout, meterRegistry);
+  }
+
+  private void register(final Workload workload, final ThreadPoolTaskExecutor executor, final long timeout,
+      final MeterRegistry meterRegistry) {
+    final Tags tags = Tags.of("workload", workload.name());
+
+    executors.put(workload, executor);
+    timeouts.put(workload, timeout);
+    timeoutCounters.put(workload, meterRegistry.counter("workload.timeouts", tags));
+    overrunCounters.put(workload, meterRegistry.counter("workload.overruns", tags));
+    new ExecutorServiceMetrics(executor.getThreadPoolExecutor(),
+        "workload." + workload.name().toLowerCase(Locale.ROOT), tags).bindTo(meterRegistry);
+  }
+
+  /**
+   * Runs a task on the executor of its workload.
+   *
+   * @param workload workload
+   * @param task     task, runs with the MDC of the request
+   * @param <T>      result type
+   * @return result, set when the task is done
+   */
+  public <T> DeferredResult<T> submit(final Workload workload, final Callable<T> task) {
+    final DeferredResult<T> result = new DeferredResult<>(timeouts.get(workload));
+    // The task claims the request when it starts, the timeout when the task is still queued. Only one of them wins.
+    final AtomicBoolean claimed = new AtomicBoolean();
+
+    final Future<?> future = executors.get(workload).submit(() -> {
+      if (!claimed.compareAndSet(false, true)) {
+        return;
+      }
+
+      try {
+        result.setResult(task.call());
+      } catch (Exception e) {
+        result.setErrorResult(e);
+      }
+    });
+
+    result.onTimeout(() -> {
+      if (claimed.compareAndSet(false, true)) {
+        timeoutCounters.get(workload).increment();
+        future.cancel(false);
+      } else {
+        // The result of the task, set while the timeout waits, is the response.
+        overrunCounters.get(workload).increment();
+        awaitTask(future);
+      }
+    });
+    return result;
+  }
+
+  private static void awaitTask(final Future<?> future) {
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // The task sets its failures as the result, an error without result is answered with 503.
+    }
+  }
+}
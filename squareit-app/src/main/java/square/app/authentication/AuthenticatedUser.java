@@ -0,0 +1,23 @@
+package square.app.authentication;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Controller method parameter of type Users: the user of the request token, validated (exists, not deleted, login
+ * not expired and, unless turned off, activated). The token is read from the auth token header, else from the token
+ * path variable. Error messages name the controller method.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AuthenticatedUser {
+
+  boolean requireActivated() default true;
+
+  String pathVariable() default "token";
+
+}
@@ -0,0 +1,48 @@
+package square.app.authentication;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+
+import square.app.domain.jpa.Users;
+
+/**
+ * Resolves the AuthenticatedUser parameters through the request principal.
+ */
+@Component
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+  private final RequestPrincipal requestPrincipal;
+
+  @Autowired
+  public AuthenticatedUserArgumentResolver(final RequestPrincipal requestPrincipal) {
+    this.requestPrincipal = requestPrincipal;
+  }
+
+  @Override
+  public boolean supportsParameter(final MethodParameter parameter) {
+    return parameter.hasParameterAnnotation(AuthenticatedUser.class)
+        && Users.class.equals(parameter.getParameterType());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Object resolveArgument(final MethodParameter parameter, final ModelAndViewContainer mavContainer,
+      final NativeWebRequest webRequest, final WebDataBinderFactory binderFactory) {
+    final AuthenticatedUser authenticatedUser = parameter.getParameterAnnotation(AuthenticatedUser.class);
+    final Map<String, String> pathVariables = (Map<String, String>) webRequest.getAttribute(
+        HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    final String pathToken = pathVariables == null ? null : pathVariables.get(authenticatedUser.pathVariable());
+
+    return requestPrincipal.authenticate(pathToken, parameter.getMethod().getName(),
+        authenticatedUser.requireActivated());
+  }
+}
@@ -0,0 +1,80 @@
+package square.app.authentication;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import square.api.domain.headersdefinition.HeadersDefinition;
+
+import square.app.domain.jpa.Users;
+import square.app.errorhandling.ErrorHandling;
+import square.app.service.UserService;
+
+/**
+ * The user of the current request. The user is looked up once per request and token, every later lookup in the same
+ * request gets the same user.
+ */
+@Component
+@RequestScope
+public class RequestPrincipal {
+
+  private final HttpServletRequest request;
+
+  private final UserService userService;
+
+  private String token;
+
+  private Users user;
+
+  @Autowired
+  public RequestPrincipal(final HttpServletRequest request, final UserService userService) {
+    this.request = request;
+    this.userService = userService;
+  }
+
+  /**
+   * Looks up and validates the user of the request token.
+   *
+   * @param fallbackToken    token of the path or body, used when there is no auth token header
+   * @param methodName       method name for the error messages
+   * @param requireActivated check that the user has been activated
+   * @return validated user
+   */
+  public Users authenticate(final String fallbackToken, final String methodName, final boolean requireActivated) {
+    final String requestToken = resolveToken(fallbackToken);
+    ErrorHandling.errorHandlingToken(requestToken, methodName);
+
+    final Users requestUser = findUser(requestToken);
+    ErrorHandling.userValidationChecks(requestUser, requireActivated, requestToken, methodName);
+
+    return requestUser;
+  }
+
+  /**
+   * The user of a token, without validation. Memoized for the request.
+   *
+   * @param requestToken token
+   * @return user, null when no active user has the token
+   */
+  public Users findUser(final String requestToken) {
+    if (user == null || !requestToken.equals(token)) {
+      user = userService.getUserByToken(requestToken);
+      token = requestToken;
+    }
+
+    return user;
+  }
+
+  /**
+   * The auth token header, else the given token.
+   *
+   * @param fallbackToken token of the path or body
+   * @return request token
+   */
+  public String resolveToken(final String fallbackToken) {
+    final String headerToken = request.getHeader(HeadersDefinition.AUTH_TOKEN);
+    return headerToken == null || headerToken.isEmpty() ? fallbackToken : headerToken;
+  }
+}
@@ -0,0 +1,34 @@
+package square.app.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import square.api.domain.cache.NumberSetVersions;
+
+/**
+ * The number set versions of squareit-app. Numbers are saved and deleted in transactions, the version is bumped after
+ * the transaction has committed.
+ */
+@Component
+public class TransactionalNumberSetVersions extends NumberSetVersions {
+
+  /**
+   * Bumps the version of the number set of a user, after the commit when called in a transaction.
+   *
+   * @param userId user id
+   */
+  @Override
+  public void bump(final long userId) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          TransactionalNumberSetVersions.super.bump(userId);
+        }
+      });
+    } else {
+      super.bump(userId);
+    }
+  }
+}
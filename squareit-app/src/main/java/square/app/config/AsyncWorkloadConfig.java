@@ -0,0 +1,88 @@
+package square.app.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import square.app.async.MdcTaskDecorator;
+import square.app.async.VirtualThreads;
+import square.app.async.Workload;
+
+@Configuration
+public class AsyncWorkloadConfig {
+
+  // Virtual thread mode: the pools keep their sizes as limits, on virtual threads. See VirtualThreadConfig.
+  @Value("${project.virtual-threads.enabled}")
+  private boolean virtualThreads;
+
+  /**
+   * Executor of the user rest-services.
+   *
+   * @param threads       number of threads
+   * @param queueCapacity waiting tasks before new requests are rejected
+   * @param meterRegistry meterRegistry
+   * @return executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor authWorkloadExecutor(@Value("${project.async.auth.threads}") final int threads,
+      @Value("${project.async.auth.queue-capacity}") final int queueCapacity, final MeterRegistry meterRegistry) {
+    return workloadExecutor(Workload.AUTH, threads, queueCapacity, meterRegistry);
+  }
+
+  /**
+   * Executor of the number rest-services.
+   *
+   * @param threads       number of threads
+   * @param queueCapacity waiting tasks before new requests are rejected
+   * @param meterRegistry meterRegistry
+   * @return executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor numbersWorkloadExecutor(@Value("${project.async.numbers.threads}") final int threads,
+      @Value("${project.async.numbers.queue-capacity}") final int queueCapacity, final MeterRegistry meterRegistry) {
+    return workloadExecutor(Workload.NUMBERS, threads, queueCapacity, meterRegistry);
+  }
+
+  /**
+   * Executor of the email rest-services.
+   *
+   * @param threads       number of threads
+   * @param queueCapacity waiting tasks before new requests are rejected
+   * @param meterRegistry meterRegistry
+   * @return executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor emailWorkloadExecutor(@Value("${project.async.email.threads}") final int threads,
+      @Value("${project.async.email.queue-capacity}") final int queueCapacity, final MeterRegistry meterRegistry) {
+    return workloadExecutor(Workload.EMAIL, threads, queueCapacity, meterRegistry);
+  }
+
+  private ThreadPoolTaskExecutor workloadExecutor(final Workload workload, final int threads,
+      final int queueCapacity, final MeterRegistry meterRegistry) {
+    final Counter rejected = meterRegistry.counter("workload.rejected", "workload", workload.name());
+    final ThreadPoolExecutor.AbortPolicy abortPolicy = new ThreadPoolExecutor.AbortPolicy();
+
+    final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("workload-" + workload.name().toLowerCase(Locale.ROOT) + "-");
+    if (virtualThreads) {
+      executor.setThreadFactory(VirtualThreads.factory(executor.getThreadNamePrefix()));
+    }
+    executor.setTaskDecorator(new MdcTaskDecorator());
+    executor.setRejectedExecutionHandler((runnable, pool) -> {
+      rejected.increment();
+      abortPolicy.rejectedExecution(runnable, pool);
+    });
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    return executor;
+  }
+}
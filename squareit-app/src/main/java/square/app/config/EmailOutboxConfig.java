@@ -0,0 +1,49 @@
+package square.app.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import square.app.async.VirtualThreads;
+
+@Configuration
+public class EmailOutboxConfig {
+
+  /**
+   * Worker pool sending the outbox emails. A rejected email keeps its sending lease and is retried when it runs out.
+   *
+   * @param workerThreads  number of sending threads
+   * @param virtualThreads send on virtual threads, see VirtualThreadConfig
+   * @return executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor emailExecutor(@Value("${project.email.worker-threads}") final int workerThreads,
+      @Value("${project.virtual-threads.enabled}") final boolean virtualThreads) {
+    final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(workerThreads);
+    executor.setMaxPoolSize(workerThreads);
+    executor.setQueueCapacity(workerThreads * 2);
+    executor.setThreadNamePrefix("email-outbox-");
+    if (virtualThreads) {
+      executor.setThreadFactory(VirtualThreads.factory(executor.getThreadNamePrefix()));
+    }
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    return executor;
+  }
+
+  /**
+   * Polls the outbox on a fixed delay. Turned off with project.email.polling-enabled=false, e.g. when the outbox is
+   * drained by hand in tests.
+   */
+  @Configuration
+  @EnableScheduling
+  @ConditionalOnProperty(name = "project.email.polling-enabled", havingValue = "true", matchIfMissing = true)
+  static class EmailOutboxSchedulingConfig {
+  }
+}
@@ -0,0 +1,54 @@
+package square.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Fast-start mode, turned on with project.fast-start.enabled=true (the fast-start profile). For instances started
+ * on demand: the schema is migrated and validated once per deploy, not by every instance, Swagger does not scan the
+ * handlers and the beans no request needs are lazy. The api document is the one generated by the build, see
+ * OpenApiDocumentWriter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "project.fast-start.enabled", havingValue = "true")
+public class FastStartConfig implements WebMvcConfigurer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FastStartConfig.class);
+
+  @Bean
+  static LazyInitializationPostProcessor lazyInitializationPostProcessor() {
+    return new LazyInitializationPostProcessor();
+  }
+
+  /**
+   * The api document of Swagger, served from the file generated by the build.
+   */
+  @Override
+  public void addViewControllers(ViewControllerRegistry registry) {
+    registry.addViewController("/v2/api-docs")
+        .setViewName("forward:/" + SwaggerConfig.API_DOCUMENT);
+  }
+
+  /**
+   * Exits once started, e.g. the training run of the class data sharing archive (Maven profile cds).
+   *
+   * @return listener
+   */
+  @Bean
+  @ConditionalOnProperty(name = "project.fast-start.exit-after-startup", havingValue = "true")
+  public ApplicationListener<ApplicationReadyEvent> exitAfterStartup() {
+    return event -> {
+      LOGGER.info("-- FastStartConfig :: Started, exiting --");
+      System.exit(SpringApplication.exit(event.getApplicationContext()));
+    };
+  }
+}
@@ -0,0 +1,46 @@
+package square.app.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import square.api.domain.util.BinaryCodecs;
+import square.api.domain.util.JsonUtil;
+
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * Settings and modules of squareit-api for the mapper Spring Boot builds for the http message conversion. The mapper
+   * stays a bean of its own, null fields of the responses are written as before.
+   *
+   * @return customizer
+   */
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer jsonUtilCustomizer() {
+    return JsonUtil::configure;
+  }
+
+  /**
+   * Smile, when the client accepts application/x-jackson-smile. Replaces the converter Spring MVC would add with a
+   * mapper of its own.
+   *
+   * @return converter
+   */
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+    return BinaryCodecs.smileConverter();
+  }
+
+  /**
+   * CBOR, when the client accepts application/cbor.
+   *
+   * @return converter
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+    return BinaryCodecs.cborConverter();
+  }
+}
@@ -0,0 +1,75 @@
+package square.app.config;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Fast-start mode: the application beans that no request needs are created on first use, or never. Controllers stay
+ * eager, and with them everything they depend on, so the first request creates nothing. Beans that do work at startup
+ * (@PostConstruct, @Scheduled, InitializingBean) stay eager as well, and a bean annotated with @Lazy keeps its setting.
+ * Spring Boot 2.0 has no lazy initialization property.
+ */
+class LazyInitializationPostProcessor implements BeanFactoryPostProcessor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LazyInitializationPostProcessor.class);
+
+  @Override
+  public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) {
+    int lazyBeans = 0;
+    for (final String beanName : beanFactory.getBeanDefinitionNames()) {
+      final BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+      if (!definition.isLazyInit() && isLazyCandidate(definition)) {
+        definition.setLazyInit(true);
+        lazyBeans++;
+      }
+    }
+    LOGGER.info("-- LazyInitializationPostProcessor :: {} of {} beans are lazy --", lazyBeans,
+        beanFactory.getBeanDefinitionCount());
+  }
+
+  // Only annotated definitions: the ones registered by the framework itself are infrastructure.
+  static boolean isLazyCandidate(final BeanDefinition definition) {
+    if (!(definition instanceof AnnotatedBeanDefinition) || definition.isAbstract()
+        || definition.getRole() != BeanDefinition.ROLE_APPLICATION) {
+      return false;
+    }
+
+    final MethodMetadata factoryMethod = ((AnnotatedBeanDefinition) definition).getFactoryMethodMetadata();
+    if (factoryMethod != null) {
+      // @Bean method, its type is only known once created.
+      return !factoryMethod.isAnnotated(Lazy.class.getName());
+    }
+
+    final AnnotationMetadata metadata = ((AnnotatedBeanDefinition) definition).getMetadata();
+    return !metadata.isAnnotated(Lazy.class.getName())
+        && !metadata.isAnnotated(Controller.class.getName())
+        && !metadata.hasAnnotatedMethods(PostConstruct.class.getName())
+        && !metadata.hasAnnotatedMethods(Scheduled.class.getName())
+        && !implementsAny(metadata, InitializingBean.class, SmartInitializingSingleton.class);
+  }
+
+  private static boolean implementsAny(final AnnotationMetadata metadata, final Class<?>... interfaces) {
+    for (final String interfaceName : metadata.getInterfaceNames()) {
+      for (final Class<?> type : interfaces) {
+        if (type.getName().equals(interfaceName)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
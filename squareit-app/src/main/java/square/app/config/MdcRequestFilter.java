@@ -30,4 +30,13 @@ public class MdcRequestFilter extends OncePerRequestFilter {
 
     filterChain.doFilter(httpServletRequest, httpServletResponse);
   }
+
+  /**
+   * The result of an async rest-service is handled in a second dispatch, on another container thread, which needs the
+   * breadcrumb id too.
+   */
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
 }
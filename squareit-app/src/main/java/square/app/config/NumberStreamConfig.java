@@ -0,0 +1,36 @@
+package square.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import square.app.async.VirtualThreads;
+
+@Configuration
+public class NumberStreamConfig {
+
+  /**
+   * Sender pool of the number change streams. A task writes the buffered events of one stream, idle streams have no
+   * task. A rejected task leaves its events buffered until the next event or heartbeat.
+   *
+   * @param senderThreads  number of sending threads
+   * @param queueCapacity  streams waiting for a sending thread
+   * @param virtualThreads send on virtual threads, see VirtualThreadConfig
+   * @return executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor numberStreamExecutor(@Value("${project.sse.sender-threads}") final int senderThreads,
+      @Value("${project.sse.sender-queue-capacity}") final int queueCapacity,
+      @Value("${project.virtual-threads.enabled}") final boolean virtualThreads) {
+    final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(senderThreads);
+    executor.setMaxPoolSize(senderThreads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("number-stream-");
+    if (virtualThreads) {
+      executor.setThreadFactory(VirtualThreads.factory(executor.getThreadNamePrefix()));
+    }
+    return executor;
+  }
+}
@@ -0,0 +1,69 @@
+package square.app.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestTemplate;
+
+import square.api.domain.util.JsonUtil;
+
+import square.app.SquareItApplication;
+
+/**
+ * Build step of the api document, run by the exec-maven-plugin before the war is packaged (prepare-package). Starts
+ * the application on the embedded database and a free port, reads /v2/api-docs, the Swagger document of the rest
+ * controllers, and writes it to the public folder of the built classes, so the package serves it statically. The
+ * fast-start mode serves it as /v2/api-docs without scanning the controllers at startup. The settings are command line
+ * arguments, the properties files of the dev profile would override default properties (server port, log folder).
+ */
+public final class OpenApiDocumentWriter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OpenApiDocumentWriter.class);
+
+  private OpenApiDocumentWriter() {
+    throw new IllegalStateException("OpenApiDocumentWriter :: Cannot be instantiated");
+  }
+
+  /**
+   * Writes the api document.
+   *
+   * @param args public folder (default target/classes/public), log folder (default target/logs)
+   * @throws IOException unwritable document
+   */
+  public static void main(final String[] args) throws IOException {
+    final Path file = Paths.get(args.length > 0 ? args[0] : "target/classes/public", SwaggerConfig.API_DOCUMENT);
+    final Path logs = Paths.get(args.length > 1 ? args[1] : "target/logs");
+
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SquareItApplication.class)
+        .profiles("dev")
+        .run("--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--project.swagger.enabled=true",
+            "--project.email.polling-enabled=false",
+            "--server.port=0",
+            // Not the log folder of the dev profile, /logs/dev, on the build machine.
+            "--logging.path=" + logs,
+            "--logging.file=" + logs.resolve("api-document.log"),
+            "--logging.level.root=WARN")) {
+      final int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+      final String document = new RestTemplate().getForObject("http://localhost:" + port + "/v2/api-docs",
+          String.class);
+      final JsonNode apiDocument = JsonUtil.readObject(document, JsonNode.class);
+
+      Files.createDirectories(file.getParent());
+      Files.write(file, JsonUtil.writerFor(JsonNode.class).withDefaultPrettyPrinter().writeValueAsBytes(apiDocument));
+    }
+
+    LOGGER.info("-- OpenApiDocumentWriter :: Wrote {} --", file);
+  }
+}
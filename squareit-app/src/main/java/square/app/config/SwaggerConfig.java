@@ -3,8 +3,10 @@ package square.app.config;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
@@ -14,10 +16,20 @@ import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spring.web.plugins.Docket;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
+import square.app.domain.jpa.Users;
+
+/**
+ * Swagger, scanning the rest controllers at startup. Turned off with project.swagger.enabled=false, e.g. in the
+ * fast-start mode, which serves the api document generated by the build instead.
+ */
 @Configuration
 @EnableSwagger2
+@ConditionalOnProperty(name = "project.swagger.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
+  // Api document generated by the build, in the public folder. See OpenApiDocumentWriter.
+  public static final String API_DOCUMENT = "openapi.json";
+
   /**
    * A bean constructor for Swagger2 api.
    *
@@ -27,9 +39,10 @@ public class SwaggerConfig {
   public Docket api() {
     return new Docket(DocumentationType.SWAGGER_2)
         .directModelSubstitute(ZonedDateTime.class, String.class)
+        .ignoredParameterTypes(Users.class, ServletWebRequest.class)
         .select()
         .paths(PathSelectors.any())
-        .apis(RequestHandlerSelectors.any())
+        .apis(RequestHandlerSelectors.basePackage("square.app.restcontroller"))
         .build()
         .apiInfo(metaInfo());
   }
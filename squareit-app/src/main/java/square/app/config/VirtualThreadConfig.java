@@ -0,0 +1,59 @@
+package square.app.config;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import square.app.async.VirtualThreads;
+
+/**
+ * Virtual thread mode, turned on with project.virtual-threads.enabled=true (the virtual profile). Tomcat handles every
+ * request on a new virtual thread instead of its pool of max-threads platform threads. The workload and email
+ * executors keep their sizes as limits of concurrent work, but on virtual threads, so a thread blocked on JDBC or SMTP
+ * frees its carrier. The connection pools are the real limits.
+ */
+@Configuration
+@ConditionalOnProperty(name = "project.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+  /**
+   * Executor of the Tomcat request threads. Tomcat does not shut down an executor it did not create.
+   *
+   * @return executor
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService tomcatVirtualThreadExecutor() {
+    LOGGER.info("-- VirtualThreadConfig :: Requests run on virtual threads, Java {} --",
+        System.getProperty("java.version"));
+    return VirtualThreads.newThreadPerTaskExecutor("http-virtual-");
+  }
+
+  /**
+   * Hands the virtual thread executor to the Tomcat connector.
+   *
+   * @param tomcatVirtualThreadExecutor executor of the request threads
+   * @return customizer
+   */
+  @Bean
+  public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcatCustomizer(
+      final ExecutorService tomcatVirtualThreadExecutor) {
+    return factory -> factory.addConnectorCustomizers(connector -> {
+      final ProtocolHandler protocolHandler = connector.getProtocolHandler();
+      if (protocolHandler instanceof AbstractProtocol) {
+        ((AbstractProtocol<?>) protocolHandler).setExecutor(tomcatVirtualThreadExecutor);
+      }
+    });
+  }
+}
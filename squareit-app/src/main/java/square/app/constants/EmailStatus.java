@@ -0,0 +1,10 @@
+package square.app.constants;
+
+public enum EmailStatus {
+
+  PENDING,
+  SENDING,
+  SENT,
+  DEAD
+
+}
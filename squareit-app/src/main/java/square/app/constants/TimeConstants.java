@@ -8,6 +8,4 @@ public class TimeConstants {
 
   public static final String SERVER_TIMEZONE_UTC = "UTC";
 
-  public static final int TOKEN_VALID_FOR_2_HOURS = 2;
-
 }
@@ -0,0 +1,29 @@
+package square.app.converters;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import square.app.constants.TimeConstants;
+
+/**
+ * Stores a point in time as epoch milliseconds (BIGINT). Read back in the server timezone, UTC.
+ */
+@Converter
+public class EpochMillisConverter implements AttributeConverter<ZonedDateTime, Long> {
+
+  private static final ZoneId SERVER_ZONE = ZoneId.of(TimeConstants.SERVER_TIMEZONE_UTC);
+
+  @Override
+  public Long convertToDatabaseColumn(final ZonedDateTime dateTime) {
+    return dateTime == null ? null : dateTime.toInstant().toEpochMilli();
+  }
+
+  @Override
+  public ZonedDateTime convertToEntityAttribute(final Long epochMillis) {
+    return epochMillis == null ? null : Instant.ofEpochMilli(epochMillis).atZone(SERVER_ZONE);
+  }
+}
@@ -0,0 +1,52 @@
+package square.app.converters;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores the 36 character UUID token as its 16 bytes. The entity and the rest-services keep the string form.
+ */
+@Converter
+public class TokenBinaryConverter implements AttributeConverter<String, byte[]> {
+
+  private static final int UUID_BYTES = 16;
+
+  private static final int UUID_LENGTH = 36;
+
+  @Override
+  public byte[] convertToDatabaseColumn(final String token) {
+    if (token == null) {
+      return null;
+    }
+
+    // Tokens are random (version 4) UUIDs. A malformed token is looked up as the nil UUID, which is never stored.
+    if (token.length() != UUID_LENGTH) {
+      return new byte[UUID_BYTES];
+    }
+
+    final UUID uuid;
+    try {
+      uuid = UUID.fromString(token);
+    } catch (IllegalArgumentException e) {
+      return new byte[UUID_BYTES];
+    }
+
+    return ByteBuffer.allocate(UUID_BYTES)
+        .putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits())
+        .array();
+  }
+
+  @Override
+  public String convertToEntityAttribute(final byte[] tokenBytes) {
+    if (tokenBytes == null) {
+      return null;
+    }
+
+    final ByteBuffer buffer = ByteBuffer.wrap(tokenBytes);
+    return new UUID(buffer.getLong(), buffer.getLong()).toString();
+  }
+}
@@ -0,0 +1,33 @@
+package square.app.domain.dao;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import square.app.constants.EmailStatus;
+import square.app.domain.jpa.EmailOutbox;
+
+// Email bodies carry user tokens, never export the outbox over rest.
+@RepositoryRestResource(exported = false)
+public interface EmailOutboxRepository extends CrudRepository<EmailOutbox, Long> {
+
+  List<EmailOutbox> findDueEmails(@Param("statuses") final Collection<EmailStatus> statuses,
+      @Param("now") final ZonedDateTime now, final Pageable pageRequest);
+
+  @Modifying
+  int claimEmail(@Param("id") final Long id, @Param("sending") final EmailStatus sending,
+      @Param("leaseEnd") final ZonedDateTime leaseEnd, @Param("statuses") final Collection<EmailStatus> statuses,
+      @Param("now") final ZonedDateTime now);
+
+  long countByStatus(final EmailStatus status);
+
+  boolean existsByRecipientAndStatusInAndCreatedDateAfter(final String recipient,
+      final Collection<EmailStatus> statuses, final ZonedDateTime createdDate);
+
+}
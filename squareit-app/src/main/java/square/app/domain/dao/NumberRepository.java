@@ -2,6 +2,7 @@ package square.app.domain.dao;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
@@ -16,4 +17,7 @@ public interface NumberRepository extends CrudRepository<Number, Long> {
 
   long countUserNumbers(@Param("user") final Users user);
 
+  @Modifying
+  int softDeleteNumber(@Param("id") final Long id, @Param("user") final Users user);
+
 }
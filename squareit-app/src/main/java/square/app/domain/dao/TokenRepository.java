@@ -1,8 +1,17 @@
 package square.app.domain.dao;
 
+import java.time.ZonedDateTime;
+
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import square.app.domain.jpa.VerificationToken;
 
 public interface TokenRepository extends CrudRepository<VerificationToken, Long> {
+
+  @Modifying
+  int updateToken(@Param("id") final Long id, @Param("token") final String token,
+      @Param("expiryDate") final ZonedDateTime expiryDate, @Param("refreshToken") final ZonedDateTime refreshToken);
+
 }
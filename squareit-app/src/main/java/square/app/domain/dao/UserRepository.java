@@ -1,5 +1,9 @@
 package square.app.domain.dao;
 
+import java.time.ZonedDateTime;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
@@ -7,8 +11,10 @@ import square.app.domain.jpa.Users;
 
 public interface UserRepository extends CrudRepository<Users, Long> {
 
+  @EntityGraph(attributePaths = "verificationToken")
   Users findByUserName(final String userName);
 
+  @EntityGraph(attributePaths = "verificationToken")
   Users findByEmail(final String email);
 
   Users findUserByToken(@Param("token") final String token);
@@ -19,4 +25,13 @@ public interface UserRepository extends CrudRepository<Users, Long> {
 
   long countAllActiveUsers();
 
+  @Modifying
+  int enableUser(@Param("id") final Long id);
+
+  @Modifying
+  int confirmUser(@Param("token") final String token, @Param("now") final ZonedDateTime now);
+
+  @Modifying
+  int softDeleteUser(@Param("id") final Long id);
+
 }
@@ -0,0 +1,200 @@
+package square.app.domain.jpa;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+
+import square.api.domain.constants.Constraint;
+
+import square.app.constants.EmailStatus;
+import square.app.converters.EpochMillisConverter;
+
+@Entity
+@Table(name = "email_outbox")
+@NamedQueries({
+    @NamedQuery(name = "EmailOutbox.findDueEmails", query = "SELECT e FROM EmailOutbox e "
+        + "WHERE e.status IN :statuses AND e.nextAttempt <= :now ORDER BY e.nextAttempt ASC"),
+    @NamedQuery(name = "EmailOutbox.claimEmail", query = "UPDATE EmailOutbox e SET e.status = :sending, "
+        + "e.nextAttempt = :leaseEnd WHERE e.id = :id AND e.status IN :statuses AND e.nextAttempt <= :now")
+})
+public class EmailOutbox implements Serializable {
+
+  private static final long serialVersionUID = 4545454545L;
+
+  private static final int MAX_SUBJECT = 100;
+
+  private static final int MAX_ERROR = 255;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(nullable = false)
+  private Long id;
+
+  @Column(nullable = false, length = Constraint.MAX_EMAIL)
+  private String recipient;
+
+  @Column(nullable = false, length = MAX_SUBJECT)
+  private String subject;
+
+  @Lob
+  @Column(nullable = false)
+  private String body;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 7)
+  private EmailStatus status;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Convert(converter = EpochMillisConverter.class)
+  @Column(nullable = false)
+  private ZonedDateTime nextAttempt;
+
+  @Convert(converter = EpochMillisConverter.class)
+  @Column(nullable = false)
+  private ZonedDateTime createdDate;
+
+  @Convert(converter = EpochMillisConverter.class)
+  @Column
+  private ZonedDateTime sentDate;
+
+  @Column(length = MAX_ERROR)
+  private String lastError;
+
+  public EmailOutbox() {
+    super();
+  }
+
+  /**
+   * Pending email, due at once.
+   *
+   * @param recipient   recipient email
+   * @param subject     subject
+   * @param body        html body
+   * @param createdDate created date
+   */
+  public EmailOutbox(final String recipient, final String subject, final String body,
+      final ZonedDateTime createdDate) {
+    super();
+
+    this.recipient = recipient;
+    this.subject = subject;
+    this.body = body;
+    this.status = EmailStatus.PENDING;
+    this.attempts = 0;
+    this.nextAttempt = createdDate;
+    this.createdDate = createdDate;
+  }
+
+  @Override
+  public String toString() {
+    return "EmailOutbox{"
+        + "id=" + id
+        + ", recipient='" + recipient + '\''
+        + ", subject='" + subject + '\''
+        + ", status=" + status
+        + ", attempts=" + attempts
+        + ", nextAttempt=" + nextAttempt
+        + ", createdDate=" + createdDate
+        + ", sentDate=" + sentDate
+        + ", lastError='" + lastError + '\''
+        + '}';
+  }
+
+  public static int getMaxError() {
+    return MAX_ERROR;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(final Long id) {
+    this.id = id;
+  }
+
+  public String getRecipient() {
+    return recipient;
+  }
+
+  public void setRecipient(final String recipient) {
+    this.recipient = recipient;
+  }
+
+  public String getSubject() {
+    return subject;
+  }
+
+  public void setSubject(final String subject) {
+    this.subject = subject;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public void setBody(final String body) {
+    this.body = body;
+  }
+
+  public EmailStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(final EmailStatus status) {
+    this.status = status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(final int attempts) {
+    this.attempts = attempts;
+  }
+
+  public ZonedDateTime getNextAttempt() {
+    return nextAttempt;
+  }
+
+  public void setNextAttempt(final ZonedDateTime nextAttempt) {
+    this.nextAttempt = nextAttempt;
+  }
+
+  public ZonedDateTime getCreatedDate() {
+    return createdDate;
+  }
+
+  public void setCreatedDate(final ZonedDateTime createdDate) {
+    this.createdDate = createdDate;
+  }
+
+  public ZonedDateTime getSentDate() {
+    return sentDate;
+  }
+
+  public void setSentDate(final ZonedDateTime sentDate) {
+    this.sentDate = sentDate;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(final String lastError) {
+    this.lastError = lastError;
+  }
+}
@@ -2,9 +2,9 @@ package square.app.domain.jpa;
 
 import java.io.Serializable;
 
-import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -17,11 +17,14 @@ import javax.persistence.Table;
 @Entity
 @Table(name = "number")
 @NamedQueries({
-    @NamedQuery(name = "Number.findOneNumberByIdAndUser", query = "SELECT n FROM Number n LEFT JOIN FETCH n.user "
-        + "WHERE n.user = :user AND n.deletedNumber = FALSE AND n.id = :id"),
+    @NamedQuery(name = "Number.findOneNumberByIdAndUser", query = "SELECT n FROM Number n WHERE n.user = :user "
+        + "AND n.deletedNumber = FALSE AND n.id = :id"),
     @NamedQuery(name = "Number.countUserNumbers", query = "SELECT COUNT(n) FROM Number n WHERE n.user = :user "
         + "AND n.deletedNumber = FALSE"),
-    @NamedQuery(name = "Number.findAllNumbers", query = "SELECT n FROM Number n WHERE n.user = :user ORDER BY n.id ASC")
+    @NamedQuery(name = "Number.findAllNumbers", query = "SELECT n FROM Number n WHERE n.user = :user "
+        + "ORDER BY n.id ASC"),
+    @NamedQuery(name = "Number.softDeleteNumber", query = "UPDATE Number n SET n.deletedNumber = TRUE "
+        + "WHERE n.user = :user AND n.deletedNumber = FALSE AND n.id = :id")
 })
 public class Number implements Serializable {
 
@@ -41,7 +44,7 @@ public class Number implements Serializable {
   @Column(nullable = false)
   private boolean deletedNumber;
 
-  @ManyToOne(cascade = CascadeType.REFRESH)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user", nullable = false)
   private Users user;
 
@@ -2,33 +2,40 @@ package square.app.domain.jpa;
 
 import java.io.Serializable;
 import java.time.ZonedDateTime;
-import java.util.List;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
-import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
 
 import square.api.domain.constants.Constraint;
 import square.api.domain.constants.RoleTypes;
 
+import square.app.converters.EpochMillisConverter;
+
 @Entity
 @Table(name = "user")
 @NamedQueries({
     @NamedQuery(name = "Users.countAllActiveUsers", query = "SELECT COUNT(u) FROM Users u WHERE u.userDeleted = FALSE "
         + "AND u.enabled = TRUE"),
-    @NamedQuery(name = "Users.findUserByToken", query = "SELECT u FROM Users u LEFT JOIN FETCH u.verificationToken "
-        + "WHERE u.userDeleted = FALSE AND u.verificationToken.token = :token")
+    @NamedQuery(name = "Users.findUserByToken", query = "SELECT u FROM Users u JOIN FETCH u.verificationToken t "
+        + "WHERE u.userDeleted = FALSE AND t.token = :token"),
+    @NamedQuery(name = "Users.enableUser", query = "UPDATE Users u SET u.enabled = TRUE WHERE u.id = :id"),
+    @NamedQuery(name = "Users.confirmUser", query = "UPDATE Users u SET u.enabled = TRUE WHERE u.enabled = FALSE "
+        + "AND u.userDeleted = FALSE AND u.verificationToken.id IN (SELECT t.id FROM VerificationToken t "
+        + "WHERE t.token = :token AND t.expiryDate > :now)"),
+    @NamedQuery(name = "Users.softDeleteUser", query = "UPDATE Users u SET u.userDeleted = TRUE WHERE u.id = :id")
 })
 public class Users implements Serializable {
 
@@ -61,9 +68,11 @@ public class Users implements Serializable {
   @Column(nullable = false)
   private boolean enabled;
 
+  @Convert(converter = EpochMillisConverter.class)
   @Column(nullable = false)
   private ZonedDateTime createdDate;
 
+  @Convert(converter = EpochMillisConverter.class)
   @Column
   private ZonedDateTime updatedDate;
 
@@ -71,12 +80,9 @@ public class Users implements Serializable {
   private boolean userDeleted;
 
   @JoinColumn(name = "fk_verificationToken", nullable = false)
-  @OneToOne(cascade = CascadeType.ALL)
+  @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   private VerificationToken verificationToken;
 
-  @OneToMany(cascade = CascadeType.ALL, mappedBy = "user")
-  private List<Number> number;
-
   @Override
   public String toString() {
     return "Users{"
@@ -181,14 +187,6 @@ public class Users implements Serializable {
     this.verificationToken = verificationToken;
   }
 
-  public List<Number> getNumber() {
-    return number;
-  }
-
-  public void setNumber(final List<Number> number) {
-    this.number = number;
-  }
-
   public boolean getUserDeleted() {
     return userDeleted;
   }
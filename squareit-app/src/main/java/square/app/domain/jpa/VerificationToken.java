@@ -7,17 +7,25 @@ import java.time.ZonedDateTime;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.NamedQuery;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
 
+import square.api.domain.util.LogArg;
+
 import square.app.constants.TimeConstants;
+import square.app.converters.EpochMillisConverter;
+import square.app.converters.TokenBinaryConverter;
 
 @Entity
 @Table(name = "token")
+@NamedQuery(name = "VerificationToken.updateToken", query = "UPDATE VerificationToken t SET t.token = :token, "
+    + "t.expiryDate = :expiryDate, t.refreshToken = :refreshToken WHERE t.id = :id")
 public class VerificationToken implements Serializable {
 
   private static final long serialVersionUID = 3434343434L;
@@ -29,12 +37,15 @@ public class VerificationToken implements Serializable {
   @Column(nullable = false)
   private Long id;
 
-  @Column(nullable = false, length = 36)
+  @Convert(converter = TokenBinaryConverter.class)
+  @Column(nullable = false, columnDefinition = "VARBINARY(16)")
   private String token;
 
+  @Convert(converter = EpochMillisConverter.class)
   @Column(nullable = false)
   private ZonedDateTime expiryDate;
 
+  @Convert(converter = EpochMillisConverter.class)
   @Column
   private ZonedDateTime refreshToken;
 
@@ -98,7 +109,7 @@ public class VerificationToken implements Serializable {
   public String toString() {
     return "VerificationToken{"
         + "id=" + id
-        + ", token=\'" + token + '\''
+        + ", token='" + LogArg.maskToken(token) + '\''
         + ", expiryDate=" + expiryDate
         + ", refreshToken=" + refreshToken
         + '}';
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import square.api.domain.constants.Constraint;
+import square.api.domain.util.LogArg;
 
 import square.app.domain.jpa.Number;
 import square.app.domain.jpa.Users;
@@ -132,13 +133,13 @@ public class ErrorHandling {
    */
   public static void errorHandlingToken(final String value, final String methodName) {
     if (value == null || value.isEmpty() || value.equals("null")) {
-      LOGGER.debug("-- {} :: Token is null or empty with token: {} --", methodName, value);
+      LOGGER.debug("-- {} :: Token is null or empty with token: {} --", methodName, LogArg.token(value));
       throw new TokenException(methodName + " :: Token is null or empty with token: " + value);
     }
 
     if (value.length() > Constraint.MAX_MIN_TOKEN || value.length() < Constraint.MAX_MIN_TOKEN) {
       LOGGER.debug("-- {} :: Token must be {} characters with token: {} --", methodName, Constraint.MAX_MIN_TOKEN,
-          value);
+          LogArg.token(value));
       throw new TokenLengthException(methodName + " :: Token must be " + Constraint.MAX_MIN_TOKEN
           + " characters with token: " + value);
     }
@@ -182,21 +183,21 @@ public class ErrorHandling {
   public static void errorHandlingIntLongTypeValue(final Long value, final String token, final String numberType,
       final String methodName, final boolean isLong) {
     if (value == null) {
-      LOGGER.debug("-- {} :: {} is null with token: {} --", methodName, numberType, token);
+      LOGGER.debug("-- {} :: {} is null with token: {} --", methodName, numberType, LogArg.token(token));
       throw new NumberException(methodName + " :: " + numberType + " is null with token: " + token);
     }
 
     if (isLong) {
       if (value > Long.MAX_VALUE) {
         LOGGER.debug("-- {} :: {} must at most be {} characters with token: {} --", methodName, numberType,
-            Long.MAX_VALUE, token);
+            Long.MAX_VALUE, LogArg.token(token));
         throw new NumberLengthException(methodName + " :: " + numberType + " must at most be " + Long.MAX_VALUE
             + " characters with token: " + token);
       }
 
       if (value < Long.MIN_VALUE) {
         LOGGER.debug("-- {} :: {} must at least be {} characters with token: {} --", methodName, numberType,
-            Long.MIN_VALUE, token);
+            Long.MIN_VALUE, LogArg.token(token));
         throw new NumberLengthException(methodName + " :: " + numberType + " must at least be " + Long.MIN_VALUE
             + " characters with token: " + token);
       }
@@ -205,14 +206,14 @@ public class ErrorHandling {
     if (!isLong) {
       if (value > Integer.MAX_VALUE) {
         LOGGER.debug("-- {} :: {} must at most be {} characters with token: {} --", methodName, numberType,
-            Integer.MAX_VALUE, token);
+            Integer.MAX_VALUE, LogArg.token(token));
         throw new NumberLengthException(methodName + " :: " + numberType + " must at most be " + Integer.MAX_VALUE
             + " characters with token: " + token);
       }
 
       if (value < Integer.MIN_VALUE) {
         LOGGER.debug("-- {} :: {} must at least be {} characters with token: {} --", methodName, numberType,
-            Integer.MIN_VALUE, token);
+            Integer.MIN_VALUE, LogArg.token(token));
         throw new NumberLengthException(methodName + " :: " + numberType + " must at least be " + Integer.MIN_VALUE
             + " characters with token: " + token);
       }
@@ -234,6 +235,21 @@ public class ErrorHandling {
     }
   }
 
+  /**
+   * Handling number rows that were not updated because they do not exist.
+   *
+   * @param updatedRows number of updated rows
+   * @param numberId    numberId
+   * @param methodText  methodText
+   */
+  public static void errorHandlingNonUpdatedNumber(final int updatedRows, final Long numberId,
+      final String methodText) {
+    if (updatedRows == 0) {
+      LOGGER.debug("-- {} :: Number object with id = {} does not exist --", methodText, numberId);
+      throw new NumberNotFoundException(Number.class, numberId);
+    }
+  }
+
   public static void errorHandlingExpiredToken(final ZonedDateTime refreshToken, final String fieldName,
       final String methodText) {
     LOGGER.debug("-- {} :: {} expired at {} --", methodText, fieldName, refreshToken);
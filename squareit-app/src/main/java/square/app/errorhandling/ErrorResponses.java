@@ -0,0 +1,62 @@
+package square.app.errorhandling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.MDC;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.headersdefinition.HeadersDefinition;
+
+/**
+ * Builds the ErrorInfo of an error response and counts it per ErrorCode in the squareit.errors metric. The counters
+ * are registered once at startup, so answering an error is a map lookup and one small object.
+ */
+@Component
+public class ErrorResponses {
+
+  static final String METRIC = "squareit.errors";
+
+  static final String NO_CODE = "NONE";
+
+  private final Map<ErrorCode, Counter> counters = new EnumMap<>(ErrorCode.class);
+
+  private final Counter noCodeCounter;
+
+  /**
+   * ErrorResponses.
+   *
+   * @param meterRegistry meterRegistry
+   */
+  @Autowired
+  public ErrorResponses(final MeterRegistry meterRegistry) {
+    for (final ErrorCode errorCode : ErrorCode.values()) {
+      counters.put(errorCode, meterRegistry.counter(METRIC, "code", errorCode.name()));
+    }
+    noCodeCounter = meterRegistry.counter(METRIC, "code", NO_CODE);
+  }
+
+  /**
+   * ErrorInfo of an error response.
+   *
+   * @param errorCode   error code, null when the error has none
+   * @param description description
+   * @return ErrorInfo
+   */
+  public ErrorInfo errorInfo(final ErrorCode errorCode, final String description) {
+    (errorCode == null ? noCodeCounter : counters.get(errorCode)).increment();
+
+    return ErrorInfo.newErrorInfo()
+        .withErrorCode(errorCode)
+        .withErrorDescription(description)
+        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
+        .build();
+  }
+}
@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class EmailException extends RuntimeException {
+public class EmailException extends ExpectedFailureException {
 
   public EmailException(final String message) {
     super(message);
@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class EmailExistsException extends RuntimeException {
+public class EmailExistsException extends ExpectedFailureException {
 
   public EmailExistsException(final String message) {
     super(message);
@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class EmailLengthException extends RuntimeException {
+public class EmailLengthException extends ExpectedFailureException {
 
   public EmailLengthException(final String message) {
     super(message);
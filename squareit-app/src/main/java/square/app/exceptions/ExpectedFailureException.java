@@ -0,0 +1,13 @@
+package square.app.exceptions;
+
+/**
+ * Failure caused by the client, such as an expired token or an unknown user, answered with an ErrorInfo. Thrown on
+ * every bad request, so it captures no stack trace: the message says where it was thrown. Genuine server errors keep
+ * extending RuntimeException and keep their stack traces.
+ */
+public abstract class ExpectedFailureException extends RuntimeException {
+
+  protected ExpectedFailureException(final String message) {
+    super(message, null, false, false);
+  }
+}
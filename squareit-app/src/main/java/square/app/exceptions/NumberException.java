@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class NumberException extends RuntimeException {
+public class NumberException extends ExpectedFailureException {
 
   public NumberException(final String message) {
     super(message);
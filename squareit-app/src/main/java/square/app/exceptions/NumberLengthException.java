@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class NumberLengthException extends RuntimeException {
+public class NumberLengthException extends ExpectedFailureException {
 
   public NumberLengthException(final String message) {
     super(message);
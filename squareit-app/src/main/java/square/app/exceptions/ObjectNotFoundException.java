@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class ObjectNotFoundException extends RuntimeException {
+public class ObjectNotFoundException extends ExpectedFailureException {
 
   private final Class<?> entityNotFound;
 
@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class PasswordMismatchException extends RuntimeException {
+public class PasswordMismatchException extends ExpectedFailureException {
 
   public PasswordMismatchException(final String message) {
     super(message);
@@ -0,0 +1,8 @@
+package square.app.exceptions;
+
+public class ResendLimitExceededException extends ExpectedFailureException {
+
+  public ResendLimitExceededException(final String message) {
+    super(message);
+  }
+}
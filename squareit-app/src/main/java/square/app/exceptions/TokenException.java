@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class TokenException extends RuntimeException {
+public class TokenException extends ExpectedFailureException {
 
   public TokenException(final String message) {
     super(message);
@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class TokenExpiredException extends RuntimeException {
+public class TokenExpiredException extends ExpectedFailureException {
 
   public TokenExpiredException(final String message) {
     super(message);
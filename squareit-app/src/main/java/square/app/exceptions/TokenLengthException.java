@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class TokenLengthException extends RuntimeException {
+public class TokenLengthException extends ExpectedFailureException {
 
   public TokenLengthException(final String message) {
     super(message);
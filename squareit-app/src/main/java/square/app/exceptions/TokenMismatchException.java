@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class TokenMismatchException extends RuntimeException {
+public class TokenMismatchException extends ExpectedFailureException {
 
   public TokenMismatchException(final String message) {
     super(message);
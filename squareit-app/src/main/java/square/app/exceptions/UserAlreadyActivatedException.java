@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class UserAlreadyActivatedException extends RuntimeException {
+public class UserAlreadyActivatedException extends ExpectedFailureException {
 
   public UserAlreadyActivatedException(final String message) {
     super(message);
@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class UserDeletedException extends RuntimeException {
+public class UserDeletedException extends ExpectedFailureException {
 
   public UserDeletedException(final String message) {
     super(message);
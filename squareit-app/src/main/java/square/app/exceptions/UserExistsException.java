@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class UserExistsException extends RuntimeException {
+public class UserExistsException extends ExpectedFailureException {
 
   public UserExistsException(final String message) {
     super(message);
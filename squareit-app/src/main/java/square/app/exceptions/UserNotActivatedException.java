@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class UserNotActivatedException extends RuntimeException {
+public class UserNotActivatedException extends ExpectedFailureException {
 
   public UserNotActivatedException(final String message) {
     super(message);
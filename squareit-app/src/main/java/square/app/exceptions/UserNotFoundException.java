@@ -1,6 +1,6 @@
 package square.app.exceptions;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends ExpectedFailureException {
 
   public UserNotFoundException(final String message) {
     super(message);
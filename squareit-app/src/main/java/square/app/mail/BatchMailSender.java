@@ -0,0 +1,20 @@
+package square.app.mail;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.mail.internet.MimeMessage;
+
+public interface BatchMailSender {
+
+  MimeMessage createMimeMessage();
+
+  /**
+   * Sends the messages, in order, over one connection.
+   *
+   * @param messages messages
+   * @return the messages that could not be sent, with the cause. Empty when all were sent
+   */
+  Map<MimeMessage, Exception> sendBatch(final List<MimeMessage> messages);
+
+}
@@ -0,0 +1,210 @@
+package square.app.mail;
+
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends mail over a small pool of connected (and authenticated) SMTP transports instead of one connection per
+ * message. The host, credentials and session properties are the ones of the spring.mail configured sender.
+ *
+ * <p>A connection idle for longer than the idle timeout, or used for the max number of messages, is closed and
+ * replaced when it is next borrowed. A connection failing while sending is replaced and the message retried once.
+ */
+@Component
+public class PooledSmtpMailSender implements BatchMailSender {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PooledSmtpMailSender.class);
+
+  private final JavaMailSenderImpl mailSender;
+
+  private final long idleTimeoutMs;
+
+  private final int maxMessagesPerConnection;
+
+  private final Semaphore permits;
+
+  private final BlockingDeque<PooledTransport> idleTransports = new LinkedBlockingDeque<>();
+
+  /**
+   * PooledSmtpMailSender.
+   *
+   * @param mailSender               configured sender
+   * @param poolSize                 max open connections
+   * @param idleTimeoutMs            idle time after which a connection is replaced
+   * @param maxMessagesPerConnection messages after which a connection is replaced
+   */
+  @Autowired
+  public PooledSmtpMailSender(final JavaMailSenderImpl mailSender,
+      @Value("${project.email.smtp-pool-size}") final int poolSize,
+      @Value("${project.email.smtp-idle-timeout-ms}") final long idleTimeoutMs,
+      @Value("${project.email.smtp-max-messages-per-connection}") final int maxMessagesPerConnection) {
+    this.mailSender = mailSender;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.maxMessagesPerConnection = maxMessagesPerConnection;
+    this.permits = new Semaphore(poolSize, true);
+  }
+
+  @Override
+  public MimeMessage createMimeMessage() {
+    return mailSender.createMimeMessage();
+  }
+
+  @Override
+  public Map<MimeMessage, Exception> sendBatch(final List<MimeMessage> messages) {
+    final Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      messages.forEach(message -> failures.put(message, e));
+      return failures;
+    }
+
+    // The connection in use, also after a failed send, so that the one released is always the live one.
+    PooledTransport transport = null;
+    try {
+      for (MimeMessage message : messages) {
+        try {
+          transport = usable(transport);
+          if (!trySend(transport, message)) {
+            transport = connect();
+            transport.send(message);
+          }
+        } catch (MessagingException e) {
+          failures.put(message, e);
+        }
+      }
+    } finally {
+      release(transport);
+      permits.release();
+    }
+
+    return failures;
+  }
+
+  /**
+   * Closes the idle connections.
+   */
+  @PreDestroy
+  public void close() {
+    PooledTransport transport = idleTransports.poll();
+    while (transport != null) {
+      transport.close();
+      transport = idleTransports.poll();
+    }
+  }
+
+  int getIdleConnections() {
+    return idleTransports.size();
+  }
+
+  /**
+   * Sends the message over the connection. A connection failing is closed and false returned, the message is then
+   * retried once over a new connection.
+   */
+  private boolean trySend(final PooledTransport transport, final MimeMessage message) throws MessagingException {
+    try {
+      transport.send(message);
+      return true;
+    } catch (SendFailedException e) {
+      // The message was refused (e.g. the recipient), the connection is fine.
+      throw e;
+    } catch (MessagingException | IllegalStateException e) {
+      LOGGER.info("-- PooledSmtpMailSender :: trySend :: Connection failed, reconnecting. Caused by: {} --",
+          e.getMessage());
+      transport.close();
+      return false;
+    }
+  }
+
+  private PooledTransport usable(final PooledTransport current) throws MessagingException {
+    PooledTransport transport = current != null ? current : idleTransports.pollFirst();
+
+    while (transport != null && transport.isWornOut(System.currentTimeMillis(), idleTimeoutMs,
+        maxMessagesPerConnection)) {
+      transport.close();
+      transport = current == null ? idleTransports.pollFirst() : null;
+    }
+
+    return transport != null ? transport : connect();
+  }
+
+  private PooledTransport connect() throws MessagingException {
+    final Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+    transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+        mailSender.getPassword());
+    return new PooledTransport(transport);
+  }
+
+  private void release(final PooledTransport transport) {
+    if (transport == null || transport.closed) {
+      return;
+    }
+
+    transport.touch();
+    idleTransports.offerFirst(transport);
+  }
+
+  private static final class PooledTransport {
+
+    private final Transport transport;
+
+    private long lastUsed = System.currentTimeMillis();
+
+    private int messages;
+
+    private boolean closed;
+
+    private PooledTransport(final Transport transport) {
+      this.transport = transport;
+    }
+
+    private void send(final MimeMessage message) throws MessagingException {
+      if (message.getSentDate() == null) {
+        message.setSentDate(new Date());
+      }
+
+      message.saveChanges();
+      transport.sendMessage(message, message.getAllRecipients());
+      messages++;
+    }
+
+    // Not asking the server (isConnected sends a NOOP), a dropped connection fails the send and is replaced.
+    private boolean isWornOut(final long now, final long idleTimeoutMs, final int maxMessages) {
+      return closed || now - lastUsed > idleTimeoutMs || messages >= maxMessages;
+    }
+
+    private void touch() {
+      lastUsed = System.currentTimeMillis();
+    }
+
+    private void close() {
+      closed = true;
+      try {
+        transport.close();
+      } catch (MessagingException e) {
+        LOGGER.debug("-- PooledSmtpMailSender :: close :: {} --", e.getMessage());
+      }
+    }
+  }
+}
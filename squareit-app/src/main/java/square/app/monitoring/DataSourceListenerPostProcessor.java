@@ -0,0 +1,40 @@
+package square.app.monitoring;
+
+import java.util.Collection;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DataSourceListenerPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DataSourceListenerPostProcessor.class);
+
+  private ListableBeanFactory beanFactory;
+
+  @Override
+  public void setBeanFactory(final BeanFactory beanFactory) {
+    this.beanFactory = (ListableBeanFactory) beanFactory;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+    if (!(bean instanceof DataSource)) {
+      return bean;
+    }
+
+    final Collection<StatementListener> listeners = beanFactory.getBeansOfType(StatementListener.class).values();
+    LOGGER.info("-- DataSourceListenerPostProcessor :: {} statement listener(s) on data source: {} --",
+        listeners.size(), beanName);
+    return ListeningDataSource.wrap((DataSource) bean, listeners.toArray(new StatementListener[0]));
+  }
+}
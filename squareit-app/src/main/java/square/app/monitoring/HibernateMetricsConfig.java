@@ -0,0 +1,31 @@
+package square.app.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "database.statistics-enabled", havingValue = "true")
+public class HibernateMetricsConfig {
+
+  private final MeterRegistry meterRegistry;
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  public HibernateMetricsConfig(final MeterRegistry meterRegistry, final EntityManagerFactory entityManagerFactory) {
+    this.meterRegistry = meterRegistry;
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  @PostConstruct
+  void bindHibernateMetrics() {
+    HibernateMetrics.monitor(meterRegistry, entityManagerFactory, "entityManagerFactory");
+  }
+}
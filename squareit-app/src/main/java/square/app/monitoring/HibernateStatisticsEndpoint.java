@@ -0,0 +1,86 @@
+package square.app.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+  private final Statistics statistics;
+
+  @Autowired
+  public HibernateStatisticsEndpoint(final EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  /**
+   * Hibernate statistics: totals, per entity and per query.
+   *
+   * @return statistics
+   */
+  @ReadOperation
+  public Map<String, Object> statistics() {
+    final Map<String, Object> response = new LinkedHashMap<>();
+    response.put("statisticsEnabled", statistics.isStatisticsEnabled());
+    response.put("startTime", statistics.getStartTime());
+    response.put("entityLoadCount", statistics.getEntityLoadCount());
+    response.put("entityFetchCount", statistics.getEntityFetchCount());
+    response.put("entityInsertCount", statistics.getEntityInsertCount());
+    response.put("entityUpdateCount", statistics.getEntityUpdateCount());
+    response.put("flushCount", statistics.getFlushCount());
+    response.put("prepareStatementCount", statistics.getPrepareStatementCount());
+    response.put("transactionCount", statistics.getTransactionCount());
+    response.put("queryExecutionMaxTime", statistics.getQueryExecutionMaxTime());
+    response.put("queryExecutionMaxTimeQueryString", statistics.getQueryExecutionMaxTimeQueryString());
+
+    final Map<String, Object> entities = new LinkedHashMap<>();
+    for (String entityName : statistics.getEntityNames()) {
+      final EntityStatistics entityStatistics = statistics.getEntityStatistics(entityName);
+      final Map<String, Object> entity = new LinkedHashMap<>();
+      entity.put("loadCount", entityStatistics.getLoadCount());
+      entity.put("fetchCount", entityStatistics.getFetchCount());
+      entity.put("insertCount", entityStatistics.getInsertCount());
+      entity.put("updateCount", entityStatistics.getUpdateCount());
+      entity.put("deleteCount", entityStatistics.getDeleteCount());
+      entities.put(entityName, entity);
+    }
+    response.put("entities", entities);
+
+    final Map<String, Object> queries = new LinkedHashMap<>();
+    for (String queryString : statistics.getQueries()) {
+      final QueryStatistics queryStatistics = statistics.getQueryStatistics(queryString);
+      final Map<String, Object> query = new LinkedHashMap<>();
+      query.put("executionCount", queryStatistics.getExecutionCount());
+      query.put("executionRowCount", queryStatistics.getExecutionRowCount());
+      query.put("executionMaxTime", queryStatistics.getExecutionMaxTime());
+      query.put("executionMinTime", queryStatistics.getExecutionMinTime());
+      query.put("executionAvgTime", queryStatistics.getExecutionAvgTime());
+      queries.put(queryString, query);
+    }
+    response.put("queries", queries);
+
+    return response;
+  }
+
+  /**
+   * Resets all collected statistics.
+   */
+  @DeleteOperation
+  public void clear() {
+    statistics.clear();
+  }
+}
@@ -0,0 +1,93 @@
+package square.app.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+public final class ListeningDataSource {
+
+  private ListeningDataSource() {
+    throw new IllegalStateException("ListeningDataSource :: Cannot be instantiated");
+  }
+
+  /**
+   * Wraps a data source so that every statement executed through it is reported to the listeners.
+   *
+   * @param dataSource data source to wrap
+   * @param listeners  listeners notified after each statement execution
+   * @return wrapped data source
+   */
+  public static DataSource wrap(final DataSource dataSource, final StatementListener[] listeners) {
+    if (listeners.length == 0) {
+      return dataSource;
+    }
+
+    return proxy(DataSource.class, dataSource, (proxy, method, args) -> {
+      final Object result = invoke(dataSource, method, args);
+      if (result instanceof Connection) {
+        return wrapConnection((Connection) result, listeners);
+      }
+      return result;
+    });
+  }
+
+  private static Connection wrapConnection(final Connection connection, final StatementListener[] listeners) {
+    return proxy(Connection.class, connection, (proxy, method, args) -> {
+      final Object result = invoke(connection, method, args);
+      final String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+
+      if (result instanceof CallableStatement) {
+        return wrapStatement(CallableStatement.class, (Statement) result, sql, listeners);
+      } else if (result instanceof PreparedStatement) {
+        return wrapStatement(PreparedStatement.class, (Statement) result, sql, listeners);
+      } else if (result instanceof Statement) {
+        return wrapStatement(Statement.class, (Statement) result, null, listeners);
+      }
+      return result;
+    });
+  }
+
+  private static <T extends Statement> T wrapStatement(final Class<T> type, final Statement statement,
+      final String preparedSql, final StatementListener[] listeners) {
+    return proxy(type, statement, (proxy, method, args) -> {
+      if (!method.getName().startsWith("execute")) {
+        return invoke(statement, method, args);
+      }
+
+      final String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+      final long start = System.nanoTime();
+      try {
+        return invoke(statement, method, args);
+      } finally {
+        final long elapsedNanos = System.nanoTime() - start;
+        for (StatementListener listener : listeners) {
+          listener.afterExecute(sql, elapsedNanos);
+        }
+      }
+    });
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+    if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(target)) {
+      return target;
+    }
+
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(final Class<T> type, final Object target, final InvocationHandler handler) {
+    return (T) Proxy.newProxyInstance(target.getClass().getClassLoader(), new Class<?>[]{type}, handler);
+  }
+}
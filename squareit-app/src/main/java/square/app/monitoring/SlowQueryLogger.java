@@ -0,0 +1,37 @@
+package square.app.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import square.api.domain.headersdefinition.HeadersDefinition;
+
+@Component
+public class SlowQueryLogger implements StatementListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+  private final long thresholdNanos;
+
+  /**
+   * Logs statements slower than the threshold. A threshold of 0 or less disables the logger.
+   *
+   * @param thresholdMillis threshold in milliseconds
+   */
+  public SlowQueryLogger(@Value("${database.slow-query-threshold-ms:0}") final long thresholdMillis) {
+    this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+  }
+
+  @Override
+  public void afterExecute(final String sql, final long elapsedNanos) {
+    if (thresholdNanos > 0 && elapsedNanos >= thresholdNanos) {
+      LOGGER.warn("-- SlowQueryLogger :: Slow query took {} ms, breadcrumbId: {}, query: {} --",
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos), MDC.get(HeadersDefinition.BREAD_CRUMB_ID), sql);
+    }
+  }
+}
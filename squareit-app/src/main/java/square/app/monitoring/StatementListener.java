@@ -0,0 +1,13 @@
+package square.app.monitoring;
+
+public interface StatementListener {
+
+  /**
+   * Called after a JDBC statement has been executed, also when the execution failed.
+   *
+   * @param sql          executed sql, may be null for batches of plain statements
+   * @param elapsedNanos execution time in nanoseconds
+   */
+  void afterExecute(final String sql, final long elapsedNanos);
+
+}
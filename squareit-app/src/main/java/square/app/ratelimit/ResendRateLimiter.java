@@ -0,0 +1,76 @@
+package square.app.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import square.app.exceptions.ResendLimitExceededException;
+
+/**
+ * Limits registration email resends per email address and per client ip. Checked before the user is looked up, an
+ * excess call costs no database or SMTP work.
+ */
+@Component
+public class ResendRateLimiter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResendRateLimiter.class);
+
+  private final TokenBucketLimiter emailLimiter;
+
+  private final TokenBucketLimiter ipLimiter;
+
+  private final Counter emailRejections;
+
+  private final Counter ipRejections;
+
+  /**
+   * ResendRateLimiter.
+   *
+   * @param emailLimit         resends per email in a period
+   * @param emailLimitPeriodMs email period
+   * @param ipLimit            resends per client ip in a period
+   * @param ipLimitPeriodMs    client ip period
+   * @param maxKeys            buckets kept per limiter, a new key above evicts the least recently used
+   * @param meterRegistry      meterRegistry
+   */
+  @Autowired
+  public ResendRateLimiter(@Value("${project.email.resend-email-limit}") final int emailLimit,
+      @Value("${project.email.resend-email-limit-period-ms}") final long emailLimitPeriodMs,
+      @Value("${project.email.resend-ip-limit}") final int ipLimit,
+      @Value("${project.email.resend-ip-limit-period-ms}") final long ipLimitPeriodMs,
+      @Value("${project.email.resend-limit-max-keys}") final int maxKeys, final MeterRegistry meterRegistry) {
+    this.emailLimiter = new TokenBucketLimiter(emailLimit, emailLimitPeriodMs, maxKeys);
+    this.ipLimiter = new TokenBucketLimiter(ipLimit, ipLimitPeriodMs, maxKeys);
+    this.emailRejections = meterRegistry.counter("email.resend.rejected", "limit", "email");
+    this.ipRejections = meterRegistry.counter("email.resend.rejected", "limit", "ip");
+  }
+
+  /**
+   * Takes a resend from the client ip and the email buckets.
+   *
+   * @param email    email to resend to
+   * @param clientIp calling client ip, the forwarded address behind a proxy (server.use-forward-headers)
+   * @throws ResendLimitExceededException when either bucket is empty
+   */
+  public void checkResend(final String email, final String clientIp) {
+    if (!ipLimiter.tryAcquire(clientIp)) {
+      ipRejections.increment();
+      LOGGER.debug("-- ResendRateLimiter :: checkResend :: Resend limit exceeded for ip: {} --", clientIp);
+      throw new ResendLimitExceededException("resendRegistrationEmail :: Too many resends from ip: " + clientIp);
+    }
+
+    if (!emailLimiter.tryAcquire(email.toLowerCase(Locale.ROOT))) {
+      emailRejections.increment();
+      LOGGER.debug("-- ResendRateLimiter :: checkResend :: Resend limit exceeded for email: {} --", email);
+      throw new ResendLimitExceededException("resendRegistrationEmail :: Too many resends to email: " + email);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package square.app.ratelimit;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory token bucket per key. A bucket holds at most capacity tokens and gets one token back every refill
+ * period / capacity, so a key can burst up to capacity calls and then make capacity calls per refill period.
+ *
+ * <p>A bucket not used for a refill period has filled up again and is equal to a new bucket. Such buckets are dropped
+ * by a sweep at most every quarter of the refill period, run by the call that finds it due. The keys are bounded by
+ * maxKeys: a new key that finds the map full makes room, the refilled buckets and then the least recently used ones
+ * are dropped down to 7/8 of maxKeys. A dropped bucket comes back full, as any new key starts, so eviction can only
+ * reset a limit and never rejects a call: made-up keys filling the map cannot lock out the real ones. Resetting a
+ * key needs maxKeys / 8 new keys, left to a second limit on the callers, e.g. per client ip.
+ */
+public class TokenBucketLimiter {
+
+  private static final long NOT_SCHEDULED = Long.MIN_VALUE;
+
+  private final int capacity;
+
+  private final long nanosPerToken;
+
+  private final long refillPeriodNanos;
+
+  private final long sweepIntervalNanos;
+
+  private final int maxKeys;
+
+  private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+  // Time of the next sweep, NOT_SCHEDULED until the first call: System.nanoTime has no fixed origin.
+  private final AtomicLong nextSweep = new AtomicLong(NOT_SCHEDULED);
+
+  private final Lock evictionLock = new ReentrantLock();
+
+  /**
+   * TokenBucketLimiter.
+   *
+   * @param capacity       calls allowed in a burst
+   * @param refillPeriodMs time to refill an empty bucket
+   * @param maxKeys        buckets kept at most, a new key above evicts the least recently used
+   */
+  public TokenBucketLimiter(final int capacity, final long refillPeriodMs, final int maxKeys) {
+    if (capacity < 1 || refillPeriodMs < 1) {
+      throw new IllegalArgumentException("TokenBucketLimiter :: capacity and refill period must be positive");
+    }
+
+    this.capacity = capacity;
+    this.nanosPerToken = Math.max(1L, refillPeriodMs * 1_000_000L / capacity);
+    this.refillPeriodNanos = refillPeriodMs * 1_000_000L;
+    this.sweepIntervalNanos = Math.max(1L, refillPeriodNanos / 4);
+    this.maxKeys = maxKeys;
+  }
+
+  public boolean tryAcquire(final String key) {
+    return tryAcquire(key, System.nanoTime());
+  }
+
+  boolean tryAcquire(final String key, final long now) {
+    sweepIfDue(now);
+
+    Bucket bucket = buckets.get(key);
+    if (bucket == null) {
+      if (buckets.size() >= maxKeys) {
+        evict(now);
+      }
+      bucket = buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    return bucket.tryTake(now);
+  }
+
+  private void sweepIfDue(final long now) {
+    final long next = nextSweep.get();
+
+    if (next == NOT_SCHEDULED) {
+      nextSweep.compareAndSet(NOT_SCHEDULED, now + sweepIntervalNanos);
+    } else if (now - next >= 0 && nextSweep.compareAndSet(next, now + sweepIntervalNanos)) {
+      // A bucket taken from while it is dropped gives its key one extra burst at most.
+      buckets.values().removeIf(bucket -> now - bucket.lastUsed >= refillPeriodNanos);
+    }
+  }
+
+  /**
+   * Drops the refilled buckets, then the least recently used down to 7/8 of maxKeys. One caller at a time, the others
+   * add their key meanwhile: the map stays within maxKeys plus the callers. The room made keeps the evictions
+   * maxKeys / 8 new keys apart, the sort is amortized over them.
+   */
+  private void evict(final long now) {
+    if (!evictionLock.tryLock()) {
+      return;
+    }
+
+    try {
+      if (buckets.size() < maxKeys) {
+        return;
+      }
+
+      buckets.values().removeIf(bucket -> now - bucket.lastUsed >= refillPeriodNanos);
+
+      final int excess = buckets.size() - (maxKeys - Math.max(1, maxKeys / 8));
+      if (excess > 0) {
+        // Sorted on a snapshot of lastUsed, the buckets stay in use meanwhile.
+        buckets.entrySet().stream()
+            .map(entry -> new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().lastUsed))
+            .sorted(Map.Entry.comparingByValue())
+            .limit(excess)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList())
+            .forEach(buckets::remove);
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  int getKeys() {
+    return buckets.size();
+  }
+
+  // A ReentrantLock instead of synchronized: a virtual thread waiting for a monitor pins its carrier thread.
+  private final class Bucket {
+
+    private final Lock lock = new ReentrantLock();
+
+    private long tokens = capacity;
+
+    private long lastRefill;
+
+    // Read by the sweep without the lock.
+    private volatile long lastUsed;
+
+    private Bucket(final long now) {
+      this.lastRefill = now;
+      this.lastUsed = now;
+    }
+
+    private boolean tryTake(final long now) {
+      lock.lock();
+      try {
+        lastUsed = now;
+        refill(now);
+
+        if (tokens == 0) {
+          return false;
+        }
+
+        tokens--;
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void refill(final long now) {
+      final long newTokens = (now - lastRefill) / nanosPerToken;
+
+      if (newTokens > 0) {
+        tokens = Math.min(capacity, tokens + newTokens);
+        lastRefill = tokens == capacity ? now : lastRefill + newTokens * nanosPerToken;
+      }
+    }
+  }
+}
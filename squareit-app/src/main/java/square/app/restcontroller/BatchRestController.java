@@ -0,0 +1,197 @@
+package square.app.restcontroller;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.models.batch.BatchOperationResult;
+import square.api.domain.models.batch.BatchRequest;
+import square.api.domain.models.batch.BatchResponse;
+import square.api.domain.util.BinaryCodecs;
+import square.api.domain.util.LogArg;
+
+import square.app.async.Workload;
+import square.app.async.WorkloadExecutors;
+import square.app.authentication.RequestPrincipal;
+import square.app.constants.TokenRequestType;
+import square.app.converters.NumberConverter;
+import square.app.domain.jpa.Users;
+import square.app.errorhandling.ErrorResponses;
+import square.app.exceptions.ExpectedFailureException;
+import square.app.exceptions.NumberException;
+import square.app.exceptions.NumberLengthException;
+import square.app.exceptions.NumberNotFoundException;
+import square.app.restcontroller.baserestcontroller.BaseRestController;
+import square.app.service.BatchOutcome;
+import square.app.service.NumberService;
+import square.app.service.UserService;
+
+@RestController
+@RequestMapping("/rest")
+public class BatchRestController extends BaseRestController {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchRestController.class);
+
+  private final NumberService numberService;
+
+  private final RequestPrincipal requestPrincipal;
+
+  private final UserService userService;
+
+  private final WorkloadExecutors workloadExecutors;
+
+  /**
+   * BatchRestController rest service.
+   *
+   * @param numberService     numberService
+   * @param userService       userService
+   * @param requestPrincipal  requestPrincipal
+   * @param workloadExecutors workloadExecutors
+   * @param errorResponses    errorResponses
+   */
+  @Autowired
+  public BatchRestController(final NumberService numberService, final UserService userService,
+      final RequestPrincipal requestPrincipal, final WorkloadExecutors workloadExecutors,
+      final ErrorResponses errorResponses) {
+    super(errorResponses);
+    this.numberService = numberService;
+    this.userService = userService;
+    this.requestPrincipal = requestPrincipal;
+    this.workloadExecutors = workloadExecutors;
+  }
+
+  /**
+   * Batch rest-service. The operations run in order in one transaction, the token is rotated once after the last.
+   *
+   * @param request BatchRequest
+   * @return BatchResponse, set on the numbers executor
+   */
+  @ApiOperation(value = "batch", notes = "Save, delete, get, count and list numbers in one request.")
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "Batch executed, see the status of each operation"),
+      @ApiResponse(code = 400, message = "Malformed request"),
+      @ApiResponse(code = 404, message = "User not found")})
+  @PutMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = "/v1/batch")
+  @ResponseBody
+  public DeferredResult<BatchResponse> batch(@RequestBody @Valid final BatchRequest request) {
+    LOGGER.info(">> batch >>");
+    LOGGER.info("Batch request: {}", LogArg.of(request));
+
+    // The request scoped principal is only available on the request thread.
+    final Users user = requestPrincipal.authenticate(request.getToken(), "batch", true);
+
+    return workloadExecutors.submit(Workload.NUMBERS, () -> {
+      try {
+        final List<BatchOutcome> outcomes = numberService.executeBatch(request.getOperations(), user);
+        final String token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken()
+            .getToken();
+
+        LOGGER.info("Batch of {} operations, new token: {}", outcomes.size(), LogArg.token(token));
+        LOGGER.info("<< batch <<");
+        return BatchResponse.newBuilder()
+            .withResults(outcomes.stream().map(this::toResult).collect(Collectors.toList()))
+            .withToken(token)
+            .build();
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot execute batch with token: {}. Exception {}.", LogArg.token(request.getToken()),
+            LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when executing batch with token: " + LogArg.maskToken(request.getToken()) + ".", e);
+        throw e;
+      }
+    });
+  }
+
+  private BatchOperationResult toResult(final BatchOutcome outcome) {
+    final RuntimeException failure = outcome.getFailure();
+    if (failure != null) {
+      return failedResult(outcome, failure);
+    }
+
+    return BatchOperationResult.newBuilder()
+        .withType(outcome.getType())
+        .withStatus(HttpStatus.OK.value())
+        .withNumber(outcome.getNumber() == null ? null : NumberConverter.toNumberResponse(outcome.getNumber(), null))
+        .withNumbers(outcome.getNumbers() == null ? null
+            : NumberConverter.toNumberResponseList(outcome.getNumbers(), null))
+        .withCount(outcome.getCount())
+        .build();
+  }
+
+  /**
+   * The status and error of the exception handlers of NumberRestController.
+   */
+  private BatchOperationResult failedResult(final BatchOutcome outcome, final RuntimeException failure) {
+    final HttpStatus status;
+    final ErrorCode errorCode;
+
+    if (failure instanceof NumberNotFoundException) {
+      status = HttpStatus.NOT_FOUND;
+      errorCode = ErrorCode.NUMBER_NOT_FOUND;
+    } else if (failure instanceof NumberLengthException) {
+      status = HttpStatus.LENGTH_REQUIRED;
+      errorCode = ErrorCode.NUMBER_LENGTH_MISMATCH;
+    } else if (failure instanceof NumberException) {
+      status = HttpStatus.NOT_ACCEPTABLE;
+      errorCode = ErrorCode.NUMBER_NULL;
+    } else {
+      status = HttpStatus.BAD_REQUEST;
+      errorCode = ErrorCode.VALIDATION_ERROR_REQUEST_PARAM;
+    }
+
+    return BatchOperationResult.newBuilder()
+        .withType(outcome.getType())
+        .withStatus(status.value())
+        .withError(errorInfo(errorCode, failure.getMessage()))
+        .build();
+  }
+
+  /**
+   * MethodArgumentNotValidException catches annotation errors in the request and its operations.
+   *
+   * @param ex ex
+   * @return ErrorInfo
+   */
+  @ExceptionHandler({MethodArgumentNotValidException.class})
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorInfo handleMethodArgumentNotValidException(final MethodArgumentNotValidException ex) {
+    final String errorDescription = Objects.requireNonNull(
+        ex.getBindingResult().getAllErrors().get(0).getDefaultMessage());
+    ErrorCode errorCode = ErrorCode.VALIDATION_ERROR_REQUEST_PARAM;
+
+    if ("Batch token may not be null or empty".equals(errorDescription)) {
+      errorCode = ErrorCode.TOKEN_NULL_OR_EMPTY;
+    } else if ("Token must be 36 characters".equals(errorDescription)) {
+      errorCode = ErrorCode.TOKEN_LENGTH_MISMATCH;
+    }
+
+    return errorInfo(errorCode, errorDescription);
+  }
+}
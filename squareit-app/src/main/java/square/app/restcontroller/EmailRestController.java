@@ -6,9 +6,10 @@ import io.swagger.annotations.ApiResponses;
 
 import java.time.ZonedDateTime;
 
+import javax.servlet.http.HttpServletRequest;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,25 +20,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import square.api.domain.errors.ErrorCode;
 import square.api.domain.errors.ErrorInfo;
-import square.api.domain.headersdefinition.HeadersDefinition;
 import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.util.BinaryCodecs;
+import square.api.domain.util.LogArg;
 
+import square.app.async.Workload;
+import square.app.async.WorkloadExecutors;
 import square.app.constants.EmailTypes;
-import square.app.constants.TokenRequestType;
 import square.app.domain.jpa.Users;
 import square.app.errorhandling.ErrorHandling;
+import square.app.errorhandling.ErrorResponses;
 import square.app.exceptions.EmailException;
 import square.app.exceptions.EmailLengthException;
-import square.app.exceptions.ObjectNotFoundException;
+import square.app.exceptions.ExpectedFailureException;
+import square.app.exceptions.ResendLimitExceededException;
 import square.app.exceptions.UserAlreadyActivatedException;
+import square.app.ratelimit.ResendRateLimiter;
 import square.app.restcontroller.baserestcontroller.BaseRestController;
 import square.app.restcontroller.httpresponsecodes.HttpResponseCodes;
 import square.app.service.EmailService;
 import square.app.service.UserService;
-import square.app.validator.TokenValidator;
 
 @RestController
 @RequestMapping("/rest/email")
@@ -47,19 +53,37 @@ public class EmailRestController extends BaseRestController {
 
   private final EmailService emailService;
 
+  private final ResendRateLimiter resendRateLimiter;
+
   private final UserService userService;
 
+  private final WorkloadExecutors workloadExecutors;
+
+  /**
+   * EmailRestController.
+   *
+   * @param userService       userService
+   * @param emailService      emailService
+   * @param resendRateLimiter resendRateLimiter
+   * @param workloadExecutors workloadExecutors
+   * @param errorResponses    errorResponses
+   */
   @Autowired
-  public EmailRestController(final UserService userService, final EmailService emailService) {
+  public EmailRestController(final UserService userService, final EmailService emailService,
+      final ResendRateLimiter resendRateLimiter, final WorkloadExecutors workloadExecutors,
+      final ErrorResponses errorResponses) {
+    super(errorResponses);
+    this.workloadExecutors = workloadExecutors;
     this.userService = userService;
     this.emailService = emailService;
+    this.resendRateLimiter = resendRateLimiter;
   }
 
   /**
    * Send registration email rest-service.
    *
    * @param token user token
-   * @return generic message of registration mail sent success
+   * @return generic message of registration mail sent success, set on the email executor
    */
   @ApiOperation(value = "registrationEmail", notes = "Send registration email to user email.")
   @ApiResponses(value = {
@@ -68,93 +92,96 @@ public class EmailRestController extends BaseRestController {
       @ApiResponse(code = HttpResponseCodes.NOT_FOUND, message = "User not found"),
       @ApiResponse(code = HttpResponseCodes.UNSUPPORTED_MEDIA_TYPE, message = "Unsupported media type"),
       @ApiResponse(code = HttpResponseCodes.INTERNAL_SERVER_ERROR, message = "Internal server error")})
-  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE, value = "/v1/registrationEmail/{token}")
-  public GenericMessageResponse registrationEmail(@PathVariable("token") final String token) {
-    try {
-      LOGGER.info(">> registrationEmail >>");
-      LOGGER.info("Token: {}", token);
-
-      ErrorHandling.errorHandlingToken(token, "registrationEmail");
-      final Users user = userService.getUserByToken(token);
-
-      if (user == null) {
-        ErrorHandling.errorHandlingNonExistingUser(token, "token", "registrationEmail");
-      }
-
-      assert user != null;
-      ErrorHandling.errorHandlingDeletedUser(user, user.getEmail(), "registrationEmail");
-
-      if (user.getEnabled()) {
-        String userEmail = user.getEmail();
-        LOGGER.debug("-- resendRegistrationEmail :: User already registered with email: {} --", userEmail);
-        throw new UserAlreadyActivatedException("resendRegistrationEmail :: User already registered with email: "
-            + userEmail);
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = "/v1/registrationEmail/{token}")
+  public DeferredResult<GenericMessageResponse> registrationEmail(@PathVariable("token") final String token) {
+    return workloadExecutors.submit(Workload.EMAIL, () -> {
+      try {
+        LOGGER.info(">> registrationEmail >>");
+        LOGGER.info("Token: {}", LogArg.token(token));
+
+        ErrorHandling.errorHandlingToken(token, "registrationEmail");
+        final Users user = userService.getUserByToken(token);
+
+        if (user == null) {
+          ErrorHandling.errorHandlingNonExistingUser(token, "token", "registrationEmail");
+        }
+
+        assert user != null;
+        ErrorHandling.errorHandlingDeletedUser(user, user.getEmail(), "registrationEmail");
+
+        if (user.getEnabled()) {
+          String userEmail = user.getEmail();
+          LOGGER.debug("-- resendRegistrationEmail :: User already registered with email: {} --", userEmail);
+          throw new UserAlreadyActivatedException("resendRegistrationEmail :: User already registered with email: "
+              + userEmail);
+        }
+
+        emailService.createRegistrationMail(user, EmailTypes.NEW_ACCOUNT);
+
+        LOGGER.info("<< registrationEmail <<");
+        return new GenericMessageResponse().withMessage("Successfully mailed user", token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot send registration mail with token: {}. Exception {}.", LogArg.token(token), LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when creating registration mail to user with token: " + LogArg.maskToken(token) + ".", e);
+        throw e;
       }
-
-      emailService.createRegistrationMail(user, EmailTypes.NEW_ACCOUNT);
-
-      LOGGER.info("<< registrationEmail <<");
-      return new GenericMessageResponse().withMessage("Successfully mailed user", token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot send registration mail with token: {}. Exception {}.", token, e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when creating registration mail to user with token: " + token + ".", e);
-      throw e;
-    }
+    });
   }
 
   /**
    * Resend registration email rest-service.
    *
-   * @param email user email
-   * @return generic message of resend registration success
+   * @param email   user email
+   * @param request http request, for the client ip
+   * @return generic message of resend registration success, set on the email executor
    */
   @ApiOperation(value = "resendRegistrationEmail", notes = "Resend registration email to user email.")
   @ApiResponses(value = {
       @ApiResponse(code = HttpResponseCodes.OK, message = "User email was resent"),
       @ApiResponse(code = HttpResponseCodes.BAD_REQUEST, message = "Malformed request object"),
       @ApiResponse(code = HttpResponseCodes.NOT_FOUND, message = "User not found"),
+      @ApiResponse(code = HttpResponseCodes.TOO_MANY_REQUESTS, message = "Too many resends to email or from ip"),
       @ApiResponse(code = HttpResponseCodes.INTERNAL_SERVER_ERROR, message = "Internal server error")})
-  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE, value = "/v1/resendRegistrationEmail/{email}")
-  public GenericMessageResponse resendRegistrationEmail(@PathVariable("email") final String email) {
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = "/v1/resendRegistrationEmail/{email}")
+  public DeferredResult<GenericMessageResponse> resendRegistrationEmail(@PathVariable("email") final String email,
+      final HttpServletRequest request) {
+    LOGGER.info(">> resendRegistrationEmail >>");
+    LOGGER.info("Email: {}", email);
+
+    // Validate and count the resend on the request thread: a rejected request must not take an email worker.
     try {
-      LOGGER.info(">> resendRegistrationEmail >>");
-      LOGGER.info("Email: {}", email);
-
       ErrorHandling.errorHandlingEmail(email, "resendRegistrationEmail");
-      Users user = userService.getUserByEmail(email);
-      ErrorHandling.errorHandlingDeletedUser(user, user.getEmail(), "resendRegistrationEmail");
-
-      if (user.getEnabled()) {
-        String userEmail = user.getEmail();
-        LOGGER.debug("-- resendRegistrationEmail :: User already registered with email: {} --", userEmail);
-        throw new UserAlreadyActivatedException("resendRegistrationEmail :: User already registered with email: "
-            + userEmail);
-      }
-
-      user = userService.generateToken(user, TokenRequestType.CREATE_TOKEN);
-      emailService.createRegistrationMail(user, EmailTypes.NEW_ACCOUNT_RESEND);
-
-      String token = user.getVerificationToken().getToken();
-
-      LOGGER.info("User: {}, new token: {}", user.toString(), token);
-      LOGGER.info("<< resendRegistrationEmail <<");
-      return new GenericMessageResponse().withMessage("Successfully re-mailed user", token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot resend registration mail to mail: {}. Exception {}.", email, e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when creating reregistration mail to user with mail: " + email + ".", e);
+      resendRateLimiter.checkResend(email, request.getRemoteAddr());
+    } catch (IllegalArgumentException | ExpectedFailureException e) {
+      LOGGER.info("Cannot resend registration mail to mail: {}. Exception {}.", email, LogArg.of(e));
       throw e;
     }
+
+    return workloadExecutors.submit(Workload.EMAIL, () -> {
+      try {
+        final String token = resendRegistration(email);
+
+        LOGGER.info("<< resendRegistrationEmail <<");
+        return new GenericMessageResponse().withMessage("Successfully re-mailed user", token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot resend registration mail to mail: {}. Exception {}.", email, LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when creating reregistration mail to user with mail: " + email + ".", e);
+        throw e;
+      }
+    });
   }
 
   /**
    * Confirm user email rest-service.
    *
    * @param token user token
-   * @return generic message of registration success
+   * @return generic message of registration success, set on the email executor
    */
   @ApiOperation(value = "confirmRegistration", notes = "User clicked on the link in email and is activated.")
   @ApiResponses(value = {
@@ -164,48 +191,70 @@ public class EmailRestController extends BaseRestController {
       @ApiResponse(code = HttpResponseCodes.NOT_FOUND, message = "User token not valid or token expired"),
       @ApiResponse(code = HttpResponseCodes.INTERNAL_SERVER_ERROR, message = "Internal server error")})
   @GetMapping(value = "/v1/confirmRegistration/{token}")
-  public GenericMessageResponse confirmRegistration(@PathVariable("token") String token) {
-    try {
-      LOGGER.info(">> confirmRegistration >>");
-      LOGGER.info("Token: {}", token);
+  public DeferredResult<GenericMessageResponse> confirmRegistration(@PathVariable("token") final String token) {
+    return workloadExecutors.submit(Workload.EMAIL, () -> {
+      try {
+        LOGGER.info(">> confirmRegistration >>");
+        LOGGER.info("Token: {}", LogArg.token(token));
+
+        ErrorHandling.errorHandlingToken(token, "confirmRegistration");
+        final Users user = userService.confirmRegistration(token);
+
+        if (user == null) {
+          ErrorHandling.errorHandlingNonExistingUser(token, "token", "confirmRegistration");
+        }
+
+        assert user != null;
+        if (!user.getEnabled()) {
+          final ZonedDateTime expiryDate = user.getVerificationToken().getExpiryDate();
+          userService.resendRegistration(user);
+          LOGGER.debug("-- confirmRegistration :: resendRegistrationEmail for email: {} , and token expired at {} --",
+              user.getEmail(), expiryDate);
+          return new GenericMessageResponse().withMessage("Unsuccessful. User account not activated. New mail "
+              + "for verification sent", token);
+        }
+
+        // Same answer for the call that enabled the user and for a repeated click on the link.
+        LOGGER.info("<< confirmRegistration <<");
+        return new GenericMessageResponse().withMessage("Successfully activated user account", token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot find user by token with token: {}. Exception {}.", LogArg.token(token), LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when finding user with token: " + LogArg.maskToken(token) + ".", e);
+        throw e;
+      }
+    });
+  }
 
-      ErrorHandling.errorHandlingToken(token, "confirmRegistration");
-      Users user = userService.getUserByToken(token);
+  private String resendRegistration(final String email) {
+    Users user = userService.getUserByEmail(email);
+    ErrorHandling.errorHandlingDeletedUser(user, user.getEmail(), "resendRegistrationEmail");
 
-      if (user == null) {
-        ErrorHandling.errorHandlingNonExistingUser(token, "token", "confirmRegistration");
-      }
+    if (user.getEnabled()) {
+      String userEmail = user.getEmail();
+      LOGGER.debug("-- resendRegistrationEmail :: User already registered with email: {} --", userEmail);
+      throw new UserAlreadyActivatedException("resendRegistrationEmail :: User already registered with email: "
+          + userEmail);
+    }
 
-      assert user != null;
-      ErrorHandling.errorHandlingDeletedUser(user, user.getEmail(), "confirmRegistration");
-
-      boolean validToken = TokenValidator.isValidExpirationToken(user.getVerificationToken().getExpiryDate());
-      if (!validToken) {
-        final String userEmail = user.getEmail();
-        final ZonedDateTime expiryDate = user.getVerificationToken().getExpiryDate();
-        resendRegistrationEmail(userEmail);
-        LOGGER.debug("-- confirmRegistration :: resendRegistrationEmail for email: {} , and token expired at {} --",
-            userEmail, expiryDate);
-        return new GenericMessageResponse().withMessage("Unsuccessful. User account not activated. New mail "
-            + "for verification sent", token);
-      } else {
-        userService.enableConfirmedUser(user);
-        final Users confirmedUser = userService.getUserByToken(token);
-        emailService.createRegistrationMail(confirmedUser, EmailTypes.NEW_ACCOUNT_CONFIRMED);
-      }
+    user = userService.resendRegistration(user);
 
-      token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
+    String token = user.getVerificationToken().getToken();
+    LOGGER.info("User: {}, token: {}", LogArg.of(user), LogArg.token(token));
+    return token;
+  }
 
-      LOGGER.info("New token: {}", token);
-      LOGGER.info("<< confirmRegistration <<");
-      return new GenericMessageResponse().withMessage("Successfully activated user account", token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot find user by token with token: {}. Exception {}.", token, e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when finding user with token: " + token + ".", e);
-      throw e;
-    }
+  /**
+   * ResendLimitExceededException.
+   *
+   * @param ex ex
+   * @return ErrorInfo
+   */
+  @ExceptionHandler({ResendLimitExceededException.class})
+  @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+  public ErrorInfo handleResendLimitExceededException(final Exception ex) {
+    return errorInfo(ErrorCode.EMAIL_RESEND_LIMIT_EXCEEDED, ex.getMessage());
   }
 
   /**
@@ -217,11 +266,7 @@ public class EmailRestController extends BaseRestController {
   @ExceptionHandler({EmailLengthException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalEmailLengthException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.EMAIL_LENGTH_MISMATCH)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.EMAIL_LENGTH_MISMATCH, ex.getMessage());
   }
 
   /**
@@ -233,10 +278,6 @@ public class EmailRestController extends BaseRestController {
   @ExceptionHandler({EmailException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalEmailException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.EMAIL_LENGTH_MISMATCH)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.EMAIL_LENGTH_MISMATCH, ex.getMessage());
   }
 }
@@ -11,11 +11,12 @@ import javax.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,26 +27,37 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import square.api.domain.cache.NumberSetVersions;
 import square.api.domain.errors.ErrorCode;
 import square.api.domain.errors.ErrorInfo;
-import square.api.domain.headersdefinition.HeadersDefinition;
 import square.api.domain.models.GenericMessageResponse;
 import square.api.domain.models.number.CreateNumberRequest;
 import square.api.domain.models.number.NumberDto;
+import square.api.domain.util.BinaryCodecs;
+import square.api.domain.util.LogArg;
 
+import square.app.async.Workload;
+import square.app.async.WorkloadExecutors;
+import square.app.authentication.AuthenticatedUser;
+import square.app.authentication.RequestPrincipal;
 import square.app.constants.TokenRequestType;
 import square.app.converters.NumberConverter;
 import square.app.domain.jpa.Number;
 import square.app.domain.jpa.Users;
 import square.app.errorhandling.ErrorHandling;
+import square.app.errorhandling.ErrorResponses;
+import square.app.exceptions.ExpectedFailureException;
 import square.app.exceptions.NumberException;
 import square.app.exceptions.NumberLengthException;
 import square.app.exceptions.NumberNotFoundException;
-import square.app.exceptions.ObjectNotFoundException;
 import square.app.restcontroller.baserestcontroller.BaseRestController;
 import square.app.service.NumberService;
 import square.app.service.UserService;
+import square.app.stream.NumberChangeStream;
 
 @RestController
 @RequestMapping("/rest/number")
@@ -55,214 +67,334 @@ public class NumberRestController extends BaseRestController {
 
   private final NumberService numberService;
 
+  private final NumberSetVersions numberSetVersions;
+
+  private final NumberChangeStream numberChangeStream;
+
+  private final RequestPrincipal requestPrincipal;
+
   private final UserService userService;
 
+  private final WorkloadExecutors workloadExecutors;
+
   /**
    * NumberRestController rest service.
    *
-   * @param numberService numberService
-   * @param userService   userService
+   * @param numberService      numberService
+   * @param userService        userService
+   * @param requestPrincipal   requestPrincipal
+   * @param numberSetVersions  numberSetVersions
+   * @param numberChangeStream numberChangeStream
+   * @param workloadExecutors  workloadExecutors
+   * @param errorResponses     errorResponses
    */
   @Autowired
-  public NumberRestController(final NumberService numberService, final UserService userService) {
+  public NumberRestController(final NumberService numberService, final UserService userService,
+      final RequestPrincipal requestPrincipal, final NumberSetVersions numberSetVersions,
+      final NumberChangeStream numberChangeStream, final WorkloadExecutors workloadExecutors,
+      final ErrorResponses errorResponses) {
+    super(errorResponses);
+    this.numberChangeStream = numberChangeStream;
+    this.workloadExecutors = workloadExecutors;
     this.numberService = numberService;
     this.userService = userService;
+    this.requestPrincipal = requestPrincipal;
+    this.numberSetVersions = numberSetVersions;
   }
 
   /**
    * Save a number rest-service.
    *
    * @param request CreateNumberRequest
-   * @return NumberDto
+   * @return NumberDto, set on the numbers executor
    */
   @ApiOperation(value = "saveNumber", notes = "Save a number.")
   @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Number saved"),
       @ApiResponse(code = 400, message = "Malformed request"),
       @ApiResponse(code = 404, message = "number not found")})
-  @PutMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE,
+  @PutMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
       value = "/v1/saveNumber")
   @ResponseBody
-  public NumberDto saveNumber(@RequestBody @Valid final CreateNumberRequest request) {
-    try {
-      LOGGER.info(">> saveNumber >>");
-      LOGGER.info("Number request: {}", request.toString());
-
-      String token = request.getToken();
-      final Users user = checkUser("saveNumber", token);
-      ErrorHandling.errorHandlingIntLongTypeValue(request.getNumber(), token, "number",
-          "saveNumber", true);
-      final Number number = numberService.saveNumber(request, user);
-      token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
-
-      LOGGER.info("Number: {}, with token: {}", number.toString(), token);
-      LOGGER.info("<< saveNumber <<");
-      return NumberConverter.toNumberResponse(number, token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot save number: {} with token {}. Exception {}.", request.getNumber(), request.getToken(), e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when saving number: " + request.getNumber() + ", with token: " + request.getToken() + ".", e);
-      throw e;
-    }
+  public DeferredResult<NumberDto> saveNumber(@RequestBody @Valid final CreateNumberRequest request) {
+    LOGGER.info(">> saveNumber >>");
+    LOGGER.info("Number request: {}", LogArg.of(request));
+
+    // The request scoped principal is only available on the request thread.
+    final Users user = requestPrincipal.authenticate(request.getToken(), "saveNumber", true);
+
+    return workloadExecutors.submit(Workload.NUMBERS, () -> {
+      try {
+        String token = user.getVerificationToken().getToken();
+        ErrorHandling.errorHandlingIntLongTypeValue(request.getNumber(), token, "number",
+            "saveNumber", true);
+        final Number number = numberService.saveNumber(request, user);
+        token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
+
+        LOGGER.info("Number: {}, with token: {}", LogArg.of(number), LogArg.token(token));
+        LOGGER.info("<< saveNumber <<");
+        return NumberConverter.toNumberResponse(number, token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot save number: {} with token {}. Exception {}.", request.getNumber(),
+            LogArg.token(request.getToken()), LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when saving number: " + request.getNumber() + ", with token: "
+            + LogArg.maskToken(request.getToken()) + ".", e);
+        throw e;
+      }
+    });
   }
 
   /**
    * Get a number rest-service.
    *
-   * @param token    user token
-   * @param numberId number id
-   * @return NumberDto
+   * @param user     user of the request token (auth token header or path)
+   * @param numberId   number id
+   * @param webRequest web request, for If-None-Match and the ETag
+   * @return NumberDto with its ETag, set on the numbers executor, null when not modified
    */
   @ApiOperation(value = "getNumber", notes = "Get a number.")
   @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Number found"),
+      @ApiResponse(code = 304, message = "Numbers and token not modified since the If-None-Match ETag, "
+          + "only the token was looked up"),
       @ApiResponse(code = 404, message = "Number/User not found")})
-  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE, value = "/v1/getNumber/{token}/{numberId}")
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = {"/v1/getNumber/{token}/{numberId}", "/v1/getNumber/{numberId}"})
   @ResponseBody
-  public NumberDto getNumber(@PathVariable("token") String token, @PathVariable("numberId") final Long numberId) {
-    try {
-      LOGGER.info(">> getNumber >>");
-      LOGGER.info("Token: {}, requesting numberId: {}", token, numberId);
-
-      final Users user = checkUser("getNumber", token);
-      ErrorHandling.errorHandlingIntLongTypeValue(numberId, token, "numberId",
-          "getNumber", true);
-      final Number number = numberService.getNumberById(numberId, user);
-      token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
-
-      LOGGER.info("Number: {}, with token: {}", number.toString(), token);
-      LOGGER.info("<< getNumber <<");
-      return NumberConverter.toNumberResponse(number, token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot fetch number with id: {} and token: {}. Exception {}", numberId, token, e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when fetching id: " + numberId + " and token: " + token, e);
-      throw e;
+  public DeferredResult<ResponseEntity<NumberDto>> getNumber(@AuthenticatedUser final Users user,
+      @PathVariable("numberId") final Long numberId, final ServletWebRequest webRequest) {
+    final String requestToken = user.getVerificationToken().getToken();
+    LOGGER.info(">> getNumber >>");
+    LOGGER.info("Token: {}, requesting numberId: {}", LogArg.token(requestToken), numberId);
+
+    ErrorHandling.errorHandlingIntLongTypeValue(numberId, requestToken, "numberId",
+        "getNumber", true);
+    // Answered on the request thread. A 304 costs the token lookup of the user, no number query and no rotation.
+    final long version = numberSetVersions.getVersion(user.getId());
+    if (isNotModified(webRequest, user, version, requestToken)) {
+      LOGGER.info("<< getNumber :: not modified <<");
+      return null;
     }
+
+    return workloadExecutors.submit(Workload.NUMBERS, () -> {
+      try {
+        final Number number = numberService.getNumberById(numberId, user);
+        final String token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken()
+            .getToken();
+
+        LOGGER.info("Number: {}, with token: {}", LogArg.of(number), LogArg.token(token));
+        LOGGER.info("<< getNumber <<");
+        return withETag(NumberConverter.toNumberResponse(number, token), user, version, token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot fetch number with id: {} and token: {}. Exception {}", numberId,
+            LogArg.token(requestToken), LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when fetching id: " + numberId + " and token: " + LogArg.maskToken(requestToken), e);
+        throw e;
+      }
+    });
   }
 
   /**
    * Delete a number rest-service.
    *
    * @param request request
-   * @return genericMessageResponse
+   * @return genericMessageResponse, set on the numbers executor
    */
   @ApiOperation(value = "deleteNumber", notes = "Delete a number by id.")
   @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Number id deleted"),
       @ApiResponse(code = 400, message = "Malformed request"),
       @ApiResponse(code = 404, message = "Number id/user not found")})
-  @PutMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE,
+  @PutMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
       value = "/v1/deleteNumber")
   @ResponseBody
-  public GenericMessageResponse deleteNumber(@RequestBody @Valid final CreateNumberRequest request) {
-    try {
-      LOGGER.info(">> deleteNumber >>");
-      LOGGER.info("Number request: {}", request.toString());
-
-      String token = request.getToken();
-      Long numberId = request.getNumberId();
-
-      final Users user = checkUser("deleteNumber", token);
-      ErrorHandling.errorHandlingIntLongTypeValue(numberId, token, "numberId",
-          "deleteNumber", true);
-
-      numberService.deleteIdNumber(numberId, user);
-      token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
-
-      LOGGER.info("Number deleted, new token: {}", token);
-      LOGGER.info("<< deleteNumber <<");
-      return new GenericMessageResponse().withMessage("Number deleted", token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot delete ID-number: {}, for user with token: {}. Exception {}.", request.getNumberId(),
-          request.getToken(), e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when deleting ID-number: {], for user with token: {}. Exception {}.", request.getNumberId(),
-          request.getToken(), e);
-      throw e;
-    }
+  public DeferredResult<GenericMessageResponse> deleteNumber(@RequestBody @Valid final CreateNumberRequest request) {
+    LOGGER.info(">> deleteNumber >>");
+    LOGGER.info("Number request: {}", LogArg.of(request));
+
+    // The request scoped principal is only available on the request thread.
+    final Users user = requestPrincipal.authenticate(request.getToken(), "deleteNumber", true);
+
+    return workloadExecutors.submit(Workload.NUMBERS, () -> {
+      try {
+        String token = user.getVerificationToken().getToken();
+        Long numberId = request.getNumberId();
+
+        ErrorHandling.errorHandlingIntLongTypeValue(numberId, token, "numberId",
+            "deleteNumber", true);
+
+        numberService.deleteIdNumber(numberId, user);
+        token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
+
+        LOGGER.info("Number deleted, new token: {}", LogArg.token(token));
+        LOGGER.info("<< deleteNumber <<");
+        return new GenericMessageResponse().withMessage("Number deleted", token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot delete ID-number: {}, for user with token: {}. Exception {}.", request.getNumberId(),
+            LogArg.token(request.getToken()), LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when deleting ID-number: {], for user with token: {}. Exception {}.",
+            request.getNumberId(), LogArg.token(request.getToken()), e);
+        throw e;
+      }
+    });
   }
 
   /**
    * Count all numbers of a user from the database rest-service.
    *
-   * @return GenericMessageResponse
+   * @param user       user of the request token (auth token header or path)
+   * @param webRequest web request, for If-None-Match and the ETag
+   * @return GenericMessageResponse with its ETag, set on the numbers executor, null when not modified
    */
   @ApiOperation(value = "getCountUserNumbers", notes = "Count all numbers of a user.")
   @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Count done"),
+      @ApiResponse(code = 304, message = "Numbers and token not modified since the If-None-Match ETag, "
+          + "only the token was looked up"),
       @ApiResponse(code = 400, message = "Malformed request"),
       @ApiResponse(code = 404, message = "Numbers/user not found")})
-  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE, value = "/v1/countUserNumbers/{token}")
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = {"/v1/countUserNumbers/{token}", "/v1/countUserNumbers"})
   @ResponseBody
-  public GenericMessageResponse getCountUserNumbers(@PathVariable("token") String token) {
-    try {
-      LOGGER.info(">> getCountUserNumbers >>");
-      LOGGER.info("Token of requesting user: {}", token);
-
-      final Users user = checkUser("getCountUserNumbers", token);
-      final long count = numberService.countUserNumbers(user);
-      token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
-
-      LOGGER.info("Number count: {}, new token: {}", count, token);
-      LOGGER.info("<< getCountUserNumbers <<");
-      return new GenericMessageResponse().withMessage(String.valueOf(count), token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot count numbers of user with token: {}. Exception {}.", token, e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when counting numbers of user with token: {}. Exception {}.", token, e);
-      throw e;
+  public DeferredResult<ResponseEntity<GenericMessageResponse>> getCountUserNumbers(@AuthenticatedUser final Users user,
+      final ServletWebRequest webRequest) {
+    final String requestToken = user.getVerificationToken().getToken();
+    LOGGER.info(">> getCountUserNumbers >>");
+    LOGGER.info("Token of requesting user: {}", LogArg.token(requestToken));
+
+    final long version = numberSetVersions.getVersion(user.getId());
+    if (isNotModified(webRequest, user, version, requestToken)) {
+      LOGGER.info("<< getCountUserNumbers :: not modified <<");
+      return null;
     }
+
+    return workloadExecutors.submit(Workload.NUMBERS, () -> {
+      try {
+        final long count = numberService.countUserNumbers(user);
+        final String token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken()
+            .getToken();
+
+        LOGGER.info("Number count: {}, new token: {}", count, LogArg.token(token));
+        LOGGER.info("<< getCountUserNumbers <<");
+        return withETag(new GenericMessageResponse().withMessage(String.valueOf(count), token), user, version, token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot count numbers of user with token: {}. Exception {}.", LogArg.token(requestToken),
+            LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when counting numbers of user with token: {}. Exception {}.", LogArg.token(requestToken),
+            e);
+        throw e;
+      }
+    });
   }
 
   /**
    * Get list of all number items in the database of a user rest-service.
    *
-   * @param token user token
-   * @return List of NumberDto
+   * @param user       user of the request token (auth token header or path)
+   * @param indexPage  page index
+   * @param webRequest web request, for If-None-Match and the ETag
+   * @return List of NumberDto with its ETag, set on the numbers executor, null when not modified
    */
   @ApiOperation(value = "getUserNumbers", notes = "Get a list of all number items from a user.")
   @ApiResponses(value = {
       @ApiResponse(code = 200, message = "List returned"),
+      @ApiResponse(code = 304, message = "Numbers and token not modified since the If-None-Match ETag, "
+          + "only the token was looked up"),
       @ApiResponse(code = 400, message = "Malformed request"),
       @ApiResponse(code = 404, message = "List could not be created")})
-  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE, value = "/v1/getUserNumbers/{token}/{indexPage}")
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = {"/v1/getUserNumbers/{token}/{indexPage}", "/v1/getUserNumbers/{indexPage}"})
   @ResponseBody
-  public List<NumberDto> getUserNumbers(@PathVariable("token") String token,
-      @PathVariable("indexPage") final Long indexPage) {
-    try {
-      LOGGER.info(">> getUserNumbers >>");
-      LOGGER.info("Token of requesting user: {}", token);
-
-      final Users user = checkUser("getUserNumbers", token);
-      ErrorHandling.errorHandlingIntLongTypeValue(indexPage, token, "indexPage",
-          "getUserNumbers", false);
-
-      final List<Number> numberList = numberService.getAllUserNumbers(user, indexPage.intValue());
-      token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
-
-      LOGGER.info("Number list: {}, new token: {}", numberList, token);
-      LOGGER.info("<< getUserNumbers <<");
-      return NumberConverter.toNumberResponseList(numberList, token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot create list of all number items for user with token: {}. Exception {}.", token, e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when creating list of all number items for user with token: {}. Exception {}.", token, e);
-      throw e;
+  public DeferredResult<ResponseEntity<List<NumberDto>>> getUserNumbers(@AuthenticatedUser final Users user,
+      @PathVariable("indexPage") final Long indexPage, final ServletWebRequest webRequest) {
+    final String requestToken = user.getVerificationToken().getToken();
+    LOGGER.info(">> getUserNumbers >>");
+    LOGGER.info("Token of requesting user: {}", LogArg.token(requestToken));
+
+    ErrorHandling.errorHandlingIntLongTypeValue(indexPage, requestToken, "indexPage",
+        "getUserNumbers", false);
+    final long version = numberSetVersions.getVersion(user.getId());
+    if (isNotModified(webRequest, user, version, requestToken)) {
+      LOGGER.info("<< getUserNumbers :: not modified <<");
+      return null;
     }
+
+    return workloadExecutors.submit(Workload.NUMBERS, () -> {
+      try {
+        final List<Number> numberList = numberService.getAllUserNumbers(user, indexPage.intValue());
+        final String token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken()
+            .getToken();
+
+        LOGGER.info("Number list: {}, new token: {}", LogArg.of(numberList), LogArg.token(token));
+        LOGGER.info("<< getUserNumbers <<");
+        return withETag(NumberConverter.toNumberResponseList(numberList, token), user, version, token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot create list of all number items for user with token: {}. Exception {}.",
+            LogArg.token(requestToken), LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when creating list of all number items for user with token: {}. Exception {}.",
+            LogArg.token(requestToken), e);
+        throw e;
+      }
+    });
   }
 
-  private Users checkUser(final String methodName, final String token) {
-    ErrorHandling.errorHandlingToken(token, methodName);
-    Users user = userService.getUserByToken(token);
-    ErrorHandling.userValidationChecks(user, true, token, methodName);
+  /**
+   * Stream of the number changes of a user rest-service, server-sent events. A 'number' event has a NumberChangeDto of
+   * a committed save or delete, a 'resync' event tells the client that it has missed changes and reloads its numbers.
+   * The token is not rotated, the stream has no response with a token.
+   *
+   * @param user user of the request token (auth token header or path, EventSource cannot set headers)
+   * @return emitter of the stream
+   */
+  @ApiOperation(value = "numberChanges", notes = "Stream of the number changes of a user.")
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "Stream opened"),
+      @ApiResponse(code = 400, message = "Malformed request"),
+      @ApiResponse(code = 404, message = "User not found")})
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE,
+      value = {"/v1/numberChanges/{token}", "/v1/numberChanges"})
+  public SseEmitter numberChanges(@AuthenticatedUser final Users user) {
+    LOGGER.info(">> numberChanges >>");
+    LOGGER.info("Token of requesting user: {}", LogArg.token(user.getVerificationToken().getToken()));
+
+    final SseEmitter emitter = numberChangeStream.subscribe(user.getId());
 
-    return user;
+    LOGGER.info("<< numberChanges <<");
+    return emitter;
+  }
+
+  /**
+   * Answers 304 when If-None-Match has the ETag of the number set version and the request token. The token is then
+   * not rotated, the cached response still has the token of the client. The user has already been looked up by the
+   * token, so a 304 still costs that indexed query: the token is what authenticates the request.
+   */
+  private boolean isNotModified(final ServletWebRequest webRequest, final Users user, final long version,
+      final String token) {
+    return webRequest.checkNotModified(numberSetVersions.etag(user.getId(), version, token));
+  }
+
+  /**
+   * The ETag of a full response has the rotated token of the response. It is the same for json, Smile and CBOR, so a
+   * cache keeps one response per Accept header. The headers go with the result: the servlet response belongs to the
+   * request thread, it may be committed or recycled when the numbers executor is done.
+   */
+  private <T> ResponseEntity<T> withETag(final T body, final Users user, final long version, final String token) {
+    return ResponseEntity.ok()
+        .eTag(numberSetVersions.etag(user.getId(), version, token))
+        .varyBy(HttpHeaders.ACCEPT)
+        .body(body);
   }
 
   /**
@@ -274,11 +406,7 @@ public class NumberRestController extends BaseRestController {
   @ExceptionHandler({NumberNotFoundException.class})
   @ResponseStatus(HttpStatus.NOT_FOUND)
   public ErrorInfo handleNumberNotFoundException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.NUMBER_NOT_FOUND)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.NUMBER_NOT_FOUND, ex.getMessage());
   }
 
   /**
@@ -290,11 +418,7 @@ public class NumberRestController extends BaseRestController {
   @ExceptionHandler({NumberException.class})
   @ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
   public ErrorInfo handleNumberException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.NUMBER_NULL)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.NUMBER_NULL, ex.getMessage());
   }
 
   /**
@@ -306,11 +430,7 @@ public class NumberRestController extends BaseRestController {
   @ExceptionHandler({NumberLengthException.class})
   @ResponseStatus(HttpStatus.LENGTH_REQUIRED)
   public ErrorInfo handleNumberLengthException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.NUMBER_LENGTH_MISMATCH)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.NUMBER_LENGTH_MISMATCH, ex.getMessage());
   }
 
   /**
@@ -341,10 +461,6 @@ public class NumberRestController extends BaseRestController {
       errorCode = ErrorCode.TOKEN_LENGTH_MISMATCH;
     }
 
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(errorCode)
-        .withErrorDescription(errorDescription)
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(errorCode, errorDescription);
   }
 }
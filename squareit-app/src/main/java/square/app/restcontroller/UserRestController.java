@@ -11,7 +11,6 @@ import javax.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -26,21 +25,27 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import square.api.domain.constants.Constraint;
 import square.api.domain.errors.ErrorCode;
 import square.api.domain.errors.ErrorInfo;
-import square.api.domain.headersdefinition.HeadersDefinition;
 import square.api.domain.models.GenericMessageResponse;
 import square.api.domain.models.user.CreateUserRequest;
 import square.api.domain.models.user.UserDto;
+import square.api.domain.util.BinaryCodecs;
+import square.api.domain.util.LogArg;
 
+import square.app.async.Workload;
+import square.app.async.WorkloadExecutors;
+import square.app.authentication.AuthenticatedUser;
 import square.app.constants.TokenRequestType;
 import square.app.constants.UserRequestType;
 import square.app.converters.UserConverter;
 import square.app.domain.jpa.Users;
 import square.app.errorhandling.ErrorHandling;
-import square.app.exceptions.ObjectNotFoundException;
+import square.app.errorhandling.ErrorResponses;
+import square.app.exceptions.ExpectedFailureException;
 import square.app.exceptions.PasswordMismatchException;
 import square.app.restcontroller.baserestcontroller.BaseRestController;
 import square.app.restcontroller.httpresponsecodes.HttpResponseCodes;
@@ -56,14 +61,21 @@ public class UserRestController extends BaseRestController {
 
   private final UserService userService;
 
+  private final WorkloadExecutors workloadExecutors;
+
   /**
    * UserRestController rest service for handling users.
    *
-   * @param userService userService
+   * @param userService       userService
+   * @param workloadExecutors workloadExecutors
+   * @param errorResponses    errorResponses
    */
   @Autowired
-  public UserRestController(final UserService userService) {
+  public UserRestController(final UserService userService, final WorkloadExecutors workloadExecutors,
+      final ErrorResponses errorResponses) {
+    super(errorResponses);
     this.userService = userService;
+    this.workloadExecutors = workloadExecutors;
   }
 
   /**
@@ -72,7 +84,7 @@ public class UserRestController extends BaseRestController {
    * @param request   object of (new) user data
    * @param oldEmail  oldEmail
    * @param userToken user token
-   * @return UserDto
+   * @return UserDto, set on the auth executor
    */
   @ApiOperation(value = "upsertUser", notes = "Upsert a user. (Create / Update user)")
   @ApiResponses(value = {
@@ -80,43 +92,46 @@ public class UserRestController extends BaseRestController {
       @ApiResponse(code = HttpResponseCodes.BAD_REQUEST, message = "Malformed request object"),
       @ApiResponse(code = HttpResponseCodes.UNSUPPORTED_MEDIA_TYPE, message = "Unsupported media type"),
       @ApiResponse(code = HttpResponseCodes.INTERNAL_SERVER_ERROR, message = "Internal server error")})
-  @PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE,
+  @PutMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
       value = {"/v1/upsertUser", "/v1/upsertUser/{email}/{token}"})
   @ResponseBody
-  public UserDto upsertUser(@RequestBody @Valid final CreateUserRequest request,
+  public DeferredResult<UserDto> upsertUser(@RequestBody @Valid final CreateUserRequest request,
       @PathVariable(value = "email", required = false) final Optional<String> oldEmail,
       @PathVariable(value = "token", required = false) final Optional<String> userToken) {
-    try {
-      LOGGER.info(">> upsertUser >>");
-      LOGGER.info("User request: {}", request.toString());
-
-      String currentEmail = null;
-      String token = null;
-
-      if (oldEmail.isPresent() && userToken.isPresent()) {
-        currentEmail = oldEmail.get();
-        token = userToken.get();
+    return workloadExecutors.submit(Workload.AUTH, () -> {
+      try {
+        LOGGER.info(">> upsertUser >>");
+        LOGGER.info("User request: {}", LogArg.of(request));
+
+        String currentEmail = null;
+        String token = null;
+
+        if (oldEmail.isPresent() && userToken.isPresent()) {
+          currentEmail = oldEmail.get();
+          token = userToken.get();
+        }
+
+        boolean update = currentEmail != null && !currentEmail.isEmpty() && !token.isEmpty();
+        if (update) {
+          ErrorHandling.errorHandlingEmail(currentEmail, "upsertUser");
+          ErrorHandling.errorHandlingToken(token, "upsertUser");
+        }
+
+        final Users user = userService.upsertUser(request, currentEmail, token,
+            update ? UserRequestType.UPDATE_USER : UserRequestType.CREATE_USER);
+
+        LOGGER.info("User: {}, VerificationToken: {}", LogArg.of(user), LogArg.of(user.getVerificationToken()));
+        LOGGER.info("<< upsertUser <<");
+        return UserConverter.toUserDto(user, user.getVerificationToken().getToken());
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot create user: {}. Exception {}.", request.getEmail(), LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when creating user: " + request.getEmail() + ".", e);
+        throw e;
       }
-
-      boolean update = currentEmail != null && !currentEmail.isEmpty() && !token.isEmpty();
-      if (update) {
-        ErrorHandling.errorHandlingEmail(currentEmail, "upsertUser");
-        ErrorHandling.errorHandlingToken(token, "upsertUser");
-      }
-
-      final Users user = userService.upsertUser(request, currentEmail, token,
-          update ? UserRequestType.UPDATE_USER : UserRequestType.CREATE_USER);
-
-      LOGGER.info("User: {}, VerificationToken: {}", user.toString(), user.getVerificationToken().toString());
-      LOGGER.info("<< upsertUser <<");
-      return UserConverter.toUserDto(user, user.getVerificationToken().getToken());
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot create user: {}. Exception {}.", request.getEmail(), e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when creating user: " + request.getEmail() + ".", e);
-      throw e;
-    }
+    });
   }
 
   /**
@@ -124,7 +139,7 @@ public class UserRestController extends BaseRestController {
    *
    * @param emailOrUserName user email or username
    * @param password        password
-   * @return token
+   * @return token, set on the auth executor
    */
   @ApiOperation(value = "loginUser", notes = "Login a user.")
   @ApiResponses(value = {
@@ -134,39 +149,44 @@ public class UserRestController extends BaseRestController {
       @ApiResponse(code = HttpResponseCodes.NOT_ACCEPTABLE, message = "Not acceptable password"),
       @ApiResponse(code = HttpResponseCodes.UNSUPPORTED_MEDIA_TYPE, message = "Unsupported media type"),
       @ApiResponse(code = HttpResponseCodes.INTERNAL_SERVER_ERROR, message = "Internal server error")})
-  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE, value = "/v1/login/{emailOrUsername}/{password}")
-  public GenericMessageResponse loginUser(@PathVariable("emailOrUsername") final String emailOrUserName,
-      @PathVariable("password") final String password) {
-    try {
-      LOGGER.info(">> loginUser >>");
-      LOGGER.info("Email or username: {}", emailOrUserName);
-
-      if (emailOrUserName == null || emailOrUserName.isEmpty() || emailOrUserName.equals("null")) {
-        LOGGER.debug("-- loginUser :: User email/username are null or empty --");
-        throw new IllegalArgumentException("loginUser :: User email/username are null or empty");
-      } else if (password == null || password.isEmpty() || password.equals("null")) {
-        LOGGER.debug("-- loginUser :: User password is null or empty --");
-        throw new IllegalArgumentException("loginUser :: User password is null or empty");
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = "/v1/login/{emailOrUsername}/{password}")
+  public DeferredResult<GenericMessageResponse> loginUser(
+      @PathVariable("emailOrUsername") final String emailOrUserName, @PathVariable("password") final String password) {
+    return workloadExecutors.submit(Workload.AUTH, () -> {
+      try {
+        LOGGER.info(">> loginUser >>");
+        LOGGER.info("Email or username: {}", emailOrUserName);
+
+        if (emailOrUserName == null || emailOrUserName.isEmpty() || emailOrUserName.equals("null")) {
+          LOGGER.debug("-- loginUser :: User email/username are null or empty --");
+          throw new IllegalArgumentException("loginUser :: User email/username are null or empty");
+        } else if (password == null || password.isEmpty() || password.equals("null")) {
+          LOGGER.debug("-- loginUser :: User password is null or empty --");
+          throw new IllegalArgumentException("loginUser :: User password is null or empty");
+        }
+
+        final String token = userService.loginUser(emailOrUserName, password);
+
+        LOGGER.info("User new token: {}", LogArg.token(token));
+        LOGGER.info("<< loginUser <<");
+        return new GenericMessageResponse().withMessage("User logged in!", token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Could not loginUser user with email or username: {}. Exception {}.", emailOrUserName,
+            LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when logging in user with email or username: {}. Exception {}.",
+            emailOrUserName + ".", e);
+        throw e;
       }
-
-      final String token = userService.loginUser(emailOrUserName, password);
-
-      LOGGER.info("User new token: {}", token);
-      LOGGER.info("<< loginUser <<");
-      return new GenericMessageResponse().withMessage("User logged in!", token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Could not loginUser user with email or username: {}. Exception {}.", emailOrUserName, e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when logging in user with email or username: {}. Exception {}.", emailOrUserName + ".", e);
-      throw e;
-    }
+    });
   }
 
   /**
    * Get user by token rest-service.
    *
-   * @param token user token
+   * @param user user of the request token (auth token header or path)
    * @return user object
    */
   @ApiOperation(value = "getUser", notes = "Get user by token.")
@@ -175,22 +195,21 @@ public class UserRestController extends BaseRestController {
       @ApiResponse(code = HttpResponseCodes.BAD_REQUEST, message = "Malformed token"),
       @ApiResponse(code = HttpResponseCodes.NOT_FOUND, message = "User token not valid or token expired"),
       @ApiResponse(code = HttpResponseCodes.INTERNAL_SERVER_ERROR, message = "Internal server error")})
-  @GetMapping(value = "/v1/getUser/{token}")
-  public UserDto getUser(@PathVariable("token") final String token) {
+  @GetMapping(value = {"/v1/getUser/{token}", "/v1/getUser"})
+  public UserDto getUser(@AuthenticatedUser final Users user) {
+    final String token = user.getVerificationToken().getToken();
     try {
       LOGGER.info(">> getUser >>");
-      LOGGER.info("User token: {}", token);
-
-      final Users user = checkUser("getUser", token, true);
+      LOGGER.info("User token: {}", LogArg.token(token));
 
-      LOGGER.info("User: {}", user.toString());
+      LOGGER.info("User: {}", LogArg.of(user));
       LOGGER.info("<< getUser <<");
       return UserConverter.toUserDto(user, user.getVerificationToken().getToken());
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot find user by token with token: {}. Exception {}.", token, e);
+    } catch (IllegalArgumentException | ExpectedFailureException e) {
+      LOGGER.info("Cannot find user by token with token: {}. Exception {}.", LogArg.token(token), LogArg.of(e));
       throw e;
     } catch (RuntimeException e) {
-      LOGGER.error("Error when finding user with token: " + token + ".", e);
+      LOGGER.error("Error when finding user with token: " + LogArg.maskToken(token) + ".", e);
       throw e;
     }
   }
@@ -199,73 +218,72 @@ public class UserRestController extends BaseRestController {
    * *
    * Count all users rest-service.
    *
-   * @return number of users
+   * @param user user of the request token (auth token header or path)
+   * @return number of users, set on the auth executor
    */
   @ApiOperation(value = "countAllUsers", notes = "Count all active users.")
   @ApiResponses(value = {
       @ApiResponse(code = HttpResponseCodes.OK, message = "Count done"),
       @ApiResponse(code = HttpResponseCodes.INTERNAL_SERVER_ERROR, message = "Internal server error")})
-  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE, value = "/v1/countNumbers/{token}")
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = {"/v1/countNumbers/{token}", "/v1/countNumbers"})
   @ResponseBody
-  public GenericMessageResponse countAllUsers(@PathVariable("token") String token) {
-    try {
-      LOGGER.info(">> countAllUsers >>");
-      LOGGER.info("Requesting token of user: {}", token);
-
-      final Users user = checkUser("countAllUsers", token, true);
-      final long count = userService.countAllUsers();
-      token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
-
-      LOGGER.info("User count: {}, token: {}", count, token);
-      LOGGER.info("<< countAllUsers <<");
-      return new GenericMessageResponse().withMessage(String.valueOf(count), token);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot count the number of users. Exception {}", e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when counting all rows of users.", e);
-      throw e;
-    }
+  public DeferredResult<GenericMessageResponse> countAllUsers(@AuthenticatedUser final Users user) {
+    return workloadExecutors.submit(Workload.AUTH, () -> {
+      String token = user.getVerificationToken().getToken();
+      try {
+        LOGGER.info(">> countAllUsers >>");
+        LOGGER.info("Requesting token of user: {}", LogArg.token(token));
+
+        final long count = userService.countAllUsers();
+        token = userService.generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
+
+        LOGGER.info("User count: {}, token: {}", count, LogArg.token(token));
+        LOGGER.info("<< countAllUsers <<");
+        return new GenericMessageResponse().withMessage(String.valueOf(count), token);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot count the number of users. Exception {}", LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when counting all rows of users.", e);
+        throw e;
+      }
+    });
   }
 
   /**
    * Delete a user rest-service.
    *
-   * @param token user token
-   * @return generic success response
+   * @param user user of the request token (auth token header or path), may be not activated
+   * @return generic success response, set on the auth executor
    */
   @ApiOperation(value = "deleteUser", notes = "Delete a user.")
   @ApiResponses(value = {
       @ApiResponse(code = HttpResponseCodes.OK, message = "User deleted"),
       @ApiResponse(code = HttpResponseCodes.INTERNAL_SERVER_ERROR, message = "Internal server error")})
-  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE, value = "/v1/deleteUser/{token}")
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = {"/v1/deleteUser/{token}", "/v1/deleteUser"})
   @ResponseBody
-  public GenericMessageResponse deleteUser(@PathVariable("token") final String token) {
-    try {//todo DeleteMapping inte Getmapping??
-      LOGGER.info(">> deleteUser >>");
-      LOGGER.info("User to delete token: {}", token);
-
-      final Users user = checkUser("deleteUser", token, false);
-      userService.deleteUser(user);
-
-      LOGGER.info("User deleted");
-      LOGGER.info("<< deleteUser <<");
-      return new GenericMessageResponse().withMessage("User deleted", null);
-    } catch (IllegalArgumentException | ObjectNotFoundException e) {
-      LOGGER.info("Cannot count the number of users. Exception {}", e);
-      throw e;
-    } catch (RuntimeException e) {
-      LOGGER.error("Error when counting all rows of users.", e);
-      throw e;
-    }
-  }
-
-  private Users checkUser(final String methodName, final String token, final boolean handleDeactivatedUser) {
-    ErrorHandling.errorHandlingToken(token, methodName);
-    Users user = userService.getUserByToken(token);
-    ErrorHandling.userValidationChecks(user, handleDeactivatedUser, token, methodName);
-
-    return user;
+  public DeferredResult<GenericMessageResponse> deleteUser(
+      @AuthenticatedUser(requireActivated = false) final Users user) {
+    return workloadExecutors.submit(Workload.AUTH, () -> {
+      try {//todo DeleteMapping inte Getmapping??
+        LOGGER.info(">> deleteUser >>");
+        LOGGER.info("User to delete token: {}", LogArg.token(user.getVerificationToken().getToken()));
+
+        userService.deleteUser(user);
+
+        LOGGER.info("User deleted");
+        LOGGER.info("<< deleteUser <<");
+        return new GenericMessageResponse().withMessage("User deleted", null);
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        LOGGER.info("Cannot count the number of users. Exception {}", LogArg.of(e));
+        throw e;
+      } catch (RuntimeException e) {
+        LOGGER.error("Error when counting all rows of users.", e);
+        throw e;
+      }
+    });
   }
 
   /**
@@ -277,11 +295,7 @@ public class UserRestController extends BaseRestController {
   @ExceptionHandler({PasswordMismatchException.class})
   @ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
   public ErrorInfo handleIllegalPasswordMismatchException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.PASSWORD_MISMATCH)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.PASSWORD_MISMATCH, ex.getMessage());
   }
 
   /**
@@ -318,11 +332,7 @@ public class UserRestController extends BaseRestController {
       errorCode = errorCodeRoleType(errorDescription);
     }
 
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(errorCode)
-        .withErrorDescription(errorDescription)
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(errorCode, errorDescription);
   }
 
   private ErrorCode errorCodeUsername(final String errorDescription) {
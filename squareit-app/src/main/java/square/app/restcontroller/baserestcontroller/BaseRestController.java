@@ -1,16 +1,16 @@
 package square.app.restcontroller.baserestcontroller;
 
-import org.slf4j.MDC;
-
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import square.api.domain.errors.ErrorCode;
 import square.api.domain.errors.ErrorInfo;
-import square.api.domain.headersdefinition.HeadersDefinition;
 
 import square.app.domain.jpa.Number;
+import square.app.errorhandling.ErrorResponses;
 import square.app.exceptions.EmailExistsException;
 import square.app.exceptions.ObjectNotFoundException;
 import square.app.exceptions.TimeException;
@@ -26,6 +26,23 @@ import square.app.exceptions.UserNotFoundException;
 
 public class BaseRestController {
 
+  private final ErrorResponses errorResponses;
+
+  protected BaseRestController(final ErrorResponses errorResponses) {
+    this.errorResponses = errorResponses;
+  }
+
+  /**
+   * ErrorInfo of an error response, counted per error code.
+   *
+   * @param errorCode   error code
+   * @param description description
+   * @return ErrorInfo
+   */
+  protected ErrorInfo errorInfo(final ErrorCode errorCode, final String description) {
+    return errorResponses.errorInfo(errorCode, description);
+  }
+
   /**
    * EmailExistsException.
    *
@@ -35,11 +52,7 @@ public class BaseRestController {
   @ExceptionHandler({EmailExistsException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalEmailExistsException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.EMAIL_ALREADY_EXISTS)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.EMAIL_ALREADY_EXISTS, ex.getMessage());
   }
 
   /**
@@ -51,11 +64,7 @@ public class BaseRestController {
   @ExceptionHandler({UserDeletedException.class})
   @ResponseStatus(HttpStatus.NOT_FOUND)
   public ErrorInfo handleIllegalUserDeletedException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.USER_DELETED)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.USER_DELETED, ex.getMessage());
   }
 
   /**
@@ -67,11 +76,7 @@ public class BaseRestController {
   @ExceptionHandler({UserAlreadyActivatedException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalUserAlreadyRegisteredException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.USER_ALREADY_ACTIVATED)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.USER_ALREADY_ACTIVATED, ex.getMessage());
   }
 
   /**
@@ -83,11 +88,7 @@ public class BaseRestController {
   @ExceptionHandler({UserNotActivatedException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalUserNotActivatedException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.USER_NOT_ACTIVATED)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.USER_NOT_ACTIVATED, ex.getMessage());
   }
 
   /**
@@ -99,11 +100,7 @@ public class BaseRestController {
   @ExceptionHandler({UserNotFoundException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalUserNotFoundException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.USER_NOT_FOUND)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.USER_NOT_FOUND, ex.getMessage());
   }
 
   /**
@@ -115,11 +112,7 @@ public class BaseRestController {
   @ExceptionHandler({UserExistsException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalUserExistExceptionException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.USER_ALREADY_EXISTS)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.USER_ALREADY_EXISTS, ex.getMessage());
   }
 
   /**
@@ -131,11 +124,7 @@ public class BaseRestController {
   @ExceptionHandler({TimeException.class})
   @ResponseStatus(HttpStatus.NO_CONTENT)
   public ErrorInfo handleIllegalTimeException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.TOKEN_TIME_NULL)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.TOKEN_TIME_NULL, ex.getMessage());
   }
 
   /**
@@ -147,11 +136,7 @@ public class BaseRestController {
   @ExceptionHandler({TokenException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalTokenException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.TOKEN_NULL_OR_EMPTY)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.TOKEN_NULL_OR_EMPTY, ex.getMessage());
   }
 
   /**
@@ -163,11 +148,7 @@ public class BaseRestController {
   @ExceptionHandler({TokenLengthException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalTokenLengthException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.TOKEN_LENGTH_MISMATCH)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.TOKEN_LENGTH_MISMATCH, ex.getMessage());
   }
 
   /**
@@ -179,11 +160,7 @@ public class BaseRestController {
   @ExceptionHandler({TokenMismatchException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalTokenMismatchException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.TOKEN_MISMATCH)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.TOKEN_MISMATCH, ex.getMessage());
   }
 
   /**
@@ -195,11 +172,7 @@ public class BaseRestController {
   @ExceptionHandler({TokenExpiredException.class})
   @ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
   public ErrorInfo handleIllegalTokenExpiredException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.TOKEN_EXPIRED)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.TOKEN_EXPIRED, ex.getMessage());
   }
 
   /**
@@ -211,11 +184,7 @@ public class BaseRestController {
   @ExceptionHandler({IllegalArgumentException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorInfo handleIllegalArgumentException(final Exception ex) {
-    return ErrorInfo.newErrorInfo()
-        .withErrorCode(ErrorCode.VALIDATION_ERROR_REQUEST_PARAM)
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(ErrorCode.VALIDATION_ERROR_REQUEST_PARAM, ex.getMessage());
   }
 
   /**
@@ -228,16 +197,33 @@ public class BaseRestController {
   @ResponseStatus(HttpStatus.NOT_FOUND)
   public ErrorInfo handleNotFound(final ObjectNotFoundException ex) {
     if (ex.getEntityNotFound().equals(Number.class)) {
-      return ErrorInfo.newErrorInfo()
-          .withErrorCode(ErrorCode.NUMBER_NOT_FOUND)
-          .withErrorDescription(ex.getMessage())
-          .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-          .build();
+      return errorInfo(ErrorCode.NUMBER_NOT_FOUND, ex.getMessage());
     }
 
-    return ErrorInfo.newErrorInfo()
-        .withErrorDescription(ex.getMessage())
-        .withReferenceId(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))
-        .build();
+    return errorInfo(null, ex.getMessage());
+  }
+
+  /**
+   * TaskRejectedException, the executor of the workload is full.
+   *
+   * @param ex ex
+   * @return ErrorInfo
+   */
+  @ExceptionHandler({TaskRejectedException.class})
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ErrorInfo handleTaskRejectedException(final Exception ex) {
+    return errorInfo(ErrorCode.SERVER_BUSY, "Server busy, try again later");
+  }
+
+  /**
+   * AsyncRequestTimeoutException, the work did not finish within the timeout of its workload.
+   *
+   * @param ex ex
+   * @return ErrorInfo
+   */
+  @ExceptionHandler({AsyncRequestTimeoutException.class})
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ErrorInfo handleAsyncRequestTimeoutException(final Exception ex) {
+    return errorInfo(ErrorCode.SERVER_TIMEOUT, "Request timed out, try again later");
   }
 }
@@ -12,6 +12,8 @@ public class HttpResponseCodes {
   public static final int NOT_FOUND = 404;
   public static final int NOT_ACCEPTABLE = 406;
   public static final int UNSUPPORTED_MEDIA_TYPE = 415;
+  public static final int TOO_MANY_REQUESTS = 429;
   public static final int INTERNAL_SERVER_ERROR = 500;
+  public static final int SERVICE_UNAVAILABLE = 503;
 
 }
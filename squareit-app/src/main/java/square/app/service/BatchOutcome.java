@@ -0,0 +1,73 @@
+package square.app.service;
+
+import java.util.List;
+
+import square.api.domain.constants.BatchOperationType;
+
+import square.app.domain.jpa.Number;
+
+/**
+ * Outcome of one batch operation: the number, the page or the count it returned, or the client failure it was
+ * answered with. A failed operation does not stop the batch.
+ */
+public final class BatchOutcome {
+
+  private final BatchOperationType type;
+
+  private final Number number;
+
+  private final List<Number> numbers;
+
+  private final Long count;
+
+  private final RuntimeException failure;
+
+  private BatchOutcome(final BatchOperationType type, final Number number, final List<Number> numbers,
+      final Long count, final RuntimeException failure) {
+    this.type = type;
+    this.number = number;
+    this.numbers = numbers;
+    this.count = count;
+    this.failure = failure;
+  }
+
+  static BatchOutcome ofNumber(final BatchOperationType type, final Number number) {
+    return new BatchOutcome(type, number, null, null, null);
+  }
+
+  static BatchOutcome ofNumbers(final BatchOperationType type, final List<Number> numbers) {
+    return new BatchOutcome(type, null, numbers, null, null);
+  }
+
+  static BatchOutcome ofCount(final BatchOperationType type, final long count) {
+    return new BatchOutcome(type, null, null, count, null);
+  }
+
+  static BatchOutcome done(final BatchOperationType type) {
+    return new BatchOutcome(type, null, null, null, null);
+  }
+
+  static BatchOutcome failed(final BatchOperationType type, final RuntimeException failure) {
+    return new BatchOutcome(type, null, null, null, failure);
+  }
+
+  public BatchOperationType getType() {
+    return type;
+  }
+
+  public Number getNumber() {
+    return number;
+  }
+
+  public List<Number> getNumbers() {
+    return numbers;
+  }
+
+  public Long getCount() {
+    return count;
+  }
+
+  public RuntimeException getFailure() {
+    return failure;
+  }
+}
@@ -0,0 +1,25 @@
+package square.app.service;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import square.app.constants.EmailStatus;
+import square.app.domain.jpa.EmailOutbox;
+
+public interface EmailOutboxService {
+
+  void enqueueEmail(final String recipient, final String subject, final String body);
+
+  List<EmailOutbox> getDueEmails(final int limit);
+
+  boolean claimEmail(final Long emailId);
+
+  void markEmailSent(final Long emailId);
+
+  EmailStatus markEmailFailed(final Long emailId, final String error);
+
+  long countPendingEmails();
+
+  boolean hasRecentEmail(final String recipient, final ZonedDateTime since);
+
+}
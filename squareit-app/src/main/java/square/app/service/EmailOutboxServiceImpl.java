@@ -0,0 +1,142 @@
+package square.app.service;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import square.app.constants.EmailStatus;
+import square.app.constants.TimeConstants;
+import square.app.domain.dao.EmailOutboxRepository;
+import square.app.domain.jpa.EmailOutbox;
+
+@Service
+@Transactional(isolation = Isolation.SERIALIZABLE, propagation = Propagation.REQUIRES_NEW)
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxServiceImpl.class);
+
+  // Pending emails, and emails whose sending lease ran out (the worker died while sending).
+  private static final List<EmailStatus> DUE_STATUSES = Arrays.asList(EmailStatus.PENDING, EmailStatus.SENDING);
+
+  // Emails on their way to the recipient or delivered, a dead email does not count.
+  private static final List<EmailStatus> LIVE_STATUSES = Arrays.asList(EmailStatus.PENDING, EmailStatus.SENDING,
+      EmailStatus.SENT);
+
+  private final EmailOutboxRepository emailOutboxRepository;
+
+  @Value("${project.email.max-attempts}")
+  private int maxAttempts;
+
+  @Value("${project.email.retry-base-delay-ms}")
+  private long retryBaseDelayMs;
+
+  @Value("${project.email.retry-max-delay-ms}")
+  private long retryMaxDelayMs;
+
+  @Value("${project.email.send-lease-ms}")
+  private long sendLeaseMs;
+
+  @Autowired
+  public EmailOutboxServiceImpl(final EmailOutboxRepository emailOutboxRepository) {
+    this.emailOutboxRepository = emailOutboxRepository;
+  }
+
+  // Joins the transaction of the user change, the email is committed together with it.
+  @Override
+  @Transactional(isolation = Isolation.SERIALIZABLE, propagation = Propagation.REQUIRED)
+  public void enqueueEmail(final String recipient, final String subject, final String body) {
+    LOGGER.info(">> EmailOutboxServiceImpl :: enqueueEmail >>");
+
+    final EmailOutbox email = emailOutboxRepository.save(new EmailOutbox(recipient, subject, body, now()));
+
+    LOGGER.info("<< EmailOutboxServiceImpl :: enqueueEmail :: email: {} <<", email);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<EmailOutbox> getDueEmails(final int limit) {
+    return emailOutboxRepository.findDueEmails(DUE_STATUSES, now(), PageRequest.of(0, limit));
+  }
+
+  @Override
+  public boolean claimEmail(final Long emailId) {
+    final ZonedDateTime now = now();
+    return emailOutboxRepository.claimEmail(emailId, EmailStatus.SENDING, now.plus(Duration.ofMillis(sendLeaseMs)),
+        DUE_STATUSES, now) == 1;
+  }
+
+  @Override
+  public void markEmailSent(final Long emailId) {
+    emailOutboxRepository.findById(emailId).ifPresent(email -> {
+      email.setStatus(EmailStatus.SENT);
+      email.setAttempts(email.getAttempts() + 1);
+      email.setSentDate(now());
+      email.setLastError(null);
+    });
+  }
+
+  @Override
+  public EmailStatus markEmailFailed(final Long emailId, final String error) {
+    final EmailOutbox email = emailOutboxRepository.findById(emailId).orElse(null);
+
+    if (email == null) {
+      return null;
+    }
+
+    final int attempts = email.getAttempts() + 1;
+    email.setAttempts(attempts);
+    email.setLastError(error == null || error.length() <= EmailOutbox.getMaxError() ? error
+        : error.substring(0, EmailOutbox.getMaxError()));
+
+    if (attempts >= maxAttempts) {
+      LOGGER.warn("-- EmailOutboxServiceImpl :: markEmailFailed :: Email given up after {} attempts: {} --",
+          attempts, email);
+      email.setStatus(EmailStatus.DEAD);
+    } else {
+      email.setStatus(EmailStatus.PENDING);
+      email.setNextAttempt(now().plus(retryDelay(attempts)));
+    }
+
+    return email.getStatus();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long countPendingEmails() {
+    return emailOutboxRepository.countByStatus(EmailStatus.PENDING)
+        + emailOutboxRepository.countByStatus(EmailStatus.SENDING);
+  }
+
+  @Override
+  @Transactional(isolation = Isolation.SERIALIZABLE, propagation = Propagation.REQUIRED, readOnly = true)
+  public boolean hasRecentEmail(final String recipient, final ZonedDateTime since) {
+    return emailOutboxRepository.existsByRecipientAndStatusInAndCreatedDateAfter(recipient, LIVE_STATUSES, since);
+  }
+
+  // Exponential backoff: base, 2 * base, 4 * base ... capped at the max delay.
+  private Duration retryDelay(final int attempts) {
+    long delayMs = retryBaseDelayMs;
+    for (int attempt = 1; attempt < attempts && delayMs < retryMaxDelayMs; attempt++) {
+      delayMs *= 2;
+    }
+
+    return Duration.ofMillis(Math.min(delayMs, retryMaxDelayMs));
+  }
+
+  private ZonedDateTime now() {
+    return ZonedDateTime.now(ZoneId.of(TimeConstants.SERVER_TIMEZONE_UTC));
+  }
+}
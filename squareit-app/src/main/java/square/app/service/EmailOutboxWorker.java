@@ -0,0 +1,182 @@
+package square.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import square.app.constants.EmailStatus;
+import square.app.domain.jpa.EmailOutbox;
+import square.app.mail.BatchMailSender;
+
+/**
+ * Drains the email outbox. Due emails are claimed one by one with a conditional update, so an email is sent by one
+ * worker only, and handed to the email executor in batches. Failed emails are retried with exponential backoff until
+ * they are dead.
+ */
+@Component
+public class EmailOutboxWorker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxWorker.class);
+
+  private static final String FROM = "no-reply@squareit.com";
+
+  private final EmailOutboxService emailOutboxService;
+
+  private final BatchMailSender mailSender;
+
+  private final ThreadPoolTaskExecutor emailExecutor;
+
+  private final Timer sendTimer;
+
+  private final Counter failureCounter;
+
+  private final Counter deadCounter;
+
+  @Value("${project.email.batch-size}")
+  private int batchSize;
+
+  @Value("${project.email.send-batch-size}")
+  private int sendBatchSize;
+
+  /**
+   * EmailOutboxWorker.
+   *
+   * @param emailOutboxService emailOutboxService
+   * @param mailSender         mailSender
+   * @param emailExecutor      emailExecutor
+   * @param meterRegistry      meterRegistry
+   */
+  @Autowired
+  public EmailOutboxWorker(final EmailOutboxService emailOutboxService, final BatchMailSender mailSender,
+      @Qualifier("emailExecutor") final ThreadPoolTaskExecutor emailExecutor, final MeterRegistry meterRegistry) {
+    this.emailOutboxService = emailOutboxService;
+    this.mailSender = mailSender;
+    this.emailExecutor = emailExecutor;
+
+    Gauge.builder("email.outbox.depth", emailOutboxService, EmailOutboxService::countPendingEmails)
+        .description("Emails waiting to be sent")
+        .register(meterRegistry);
+    this.sendTimer = Timer.builder("email.outbox.send")
+        .description("SMTP send latency of a batch")
+        .register(meterRegistry);
+    this.failureCounter = Counter.builder("email.outbox.failures")
+        .description("Failed send attempts")
+        .register(meterRegistry);
+    this.deadCounter = Counter.builder("email.outbox.dead")
+        .description("Emails given up after the last attempt")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Claims the due emails and hands them to the email executor, in batches sent over one SMTP connection each.
+   */
+  @Scheduled(fixedDelayString = "${project.email.poll-interval-ms}")
+  public void dispatchDueEmails() {
+    final List<EmailOutbox> dueEmails = emailOutboxService.getDueEmails(batchSize);
+    List<EmailOutbox> batch = new ArrayList<>(sendBatchSize);
+
+    for (EmailOutbox email : dueEmails) {
+      if (!emailOutboxService.claimEmail(email.getId())) {
+        continue;
+      }
+
+      batch.add(email);
+      if (batch.size() == sendBatchSize) {
+        if (!execute(batch)) {
+          return;
+        }
+        batch = new ArrayList<>(sendBatchSize);
+      }
+    }
+
+    if (!batch.isEmpty()) {
+      execute(batch);
+    }
+  }
+
+  private boolean execute(final List<EmailOutbox> batch) {
+    try {
+      emailExecutor.execute(() -> sendEmails(batch));
+      return true;
+    } catch (RejectedExecutionException e) {
+      LOGGER.info("-- EmailOutboxWorker :: dispatchDueEmails :: Workers busy, {} emails wait for their lease --",
+          batch.size());
+      return false;
+    }
+  }
+
+  private void sendEmails(final List<EmailOutbox> emails) {
+    LOGGER.info(">> EmailOutboxWorker :: sendEmails :: {} emails >>", emails.size());
+
+    final Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+    for (EmailOutbox email : emails) {
+      try {
+        messages.put(createMessage(email), email);
+      } catch (RuntimeException e) {
+        markFailed(email, e);
+      }
+    }
+
+    final Map<MimeMessage, Exception> failures = sendTimer.record(() ->
+        mailSender.sendBatch(new ArrayList<>(messages.keySet())));
+
+    messages.forEach((message, email) -> {
+      final Exception failure = failures.get(message);
+      if (failure == null) {
+        emailOutboxService.markEmailSent(email.getId());
+      } else {
+        markFailed(email, failure);
+      }
+    });
+
+    LOGGER.info("<< EmailOutboxWorker :: sendEmails <<");
+  }
+
+  private void markFailed(final EmailOutbox email, final Exception failure) {
+    failureCounter.increment();
+    final EmailStatus status = emailOutboxService.markEmailFailed(email.getId(), failure.getMessage());
+    if (EmailStatus.DEAD.equals(status)) {
+      deadCounter.increment();
+    }
+
+    LOGGER.warn("-- EmailOutboxWorker :: sendEmails :: Could not send email {}, status: {}, caused by: {} --",
+        email.getId(), status, failure.getMessage());
+  }
+
+  private MimeMessage createMessage(final EmailOutbox email) {
+    final MimeMessage mimeMessage = mailSender.createMimeMessage();
+
+    try {
+      final MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, true);
+      mimeMessageHelper.setFrom(FROM);
+      mimeMessageHelper.setTo(email.getRecipient());
+      mimeMessageHelper.setSubject(email.getSubject());
+      mimeMessageHelper.setText(email.getBody(), true);
+    } catch (MessagingException e) {
+      throw new IllegalStateException("Cannot create email " + email.getId() + ": " + e.getMessage(), e);
+    }
+
+    return mimeMessage;
+  }
+}
@@ -2,6 +2,7 @@ package square.app.service;
 
 import java.util.List;
 
+import square.api.domain.models.batch.BatchOperation;
 import square.api.domain.models.number.CreateNumberRequest;
 
 import square.app.domain.jpa.Number;
@@ -19,4 +20,6 @@ public interface NumberService {
 
   List<Number> getAllUserNumbers(final Users user, final Integer indexPage);
 
+  List<BatchOutcome> executeBatch(final List<BatchOperation> operations, final Users user);
+
 }
@@ -1,5 +1,6 @@
 package square.app.service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -7,18 +8,26 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import square.api.domain.cache.NumberSetVersions;
+import square.api.domain.constants.NumberChangeType;
+import square.api.domain.models.batch.BatchOperation;
 import square.api.domain.models.number.CreateNumberRequest;
+import square.api.domain.models.number.NumberChangeDto;
 
+import square.app.converters.NumberConverter;
 import square.app.domain.dao.NumberRepository;
 import square.app.domain.jpa.Number;
 import square.app.domain.jpa.Users;
 import square.app.errorhandling.ErrorHandling;
+import square.app.exceptions.ExpectedFailureException;
+import square.app.stream.NumberChangedEvent;
 
 @Service
 @Transactional(isolation = Isolation.SERIALIZABLE, propagation = Propagation.REQUIRES_NEW)
@@ -28,17 +37,26 @@ public class NumberServiceImpl implements NumberService {
 
   private final NumberRepository numberRepository;
 
+  private final NumberSetVersions numberSetVersions;
+
+  private final ApplicationEventPublisher eventPublisher;
+
   @Value("${database.default-fetch-limit}")
   private int defaultFetchLimit;
 
   /**
    * NumberServiceImpl.
    *
-   * @param numberRepository numberRepository
+   * @param numberRepository  numberRepository
+   * @param numberSetVersions numberSetVersions
+   * @param eventPublisher    eventPublisher
    */
   @Autowired
-  public NumberServiceImpl(final NumberRepository numberRepository) {
+  public NumberServiceImpl(final NumberRepository numberRepository, final NumberSetVersions numberSetVersions,
+      final ApplicationEventPublisher eventPublisher) {
     this.numberRepository = numberRepository;
+    this.numberSetVersions = numberSetVersions;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
@@ -50,9 +68,16 @@ public class NumberServiceImpl implements NumberService {
     number.setNumber(numberReq.getNumber());
     number.setUser(user);
     number.setDeletedNumber(false);
+    numberSetVersions.bump(user.getId());
+    number = numberRepository.save(number);
+    publishChange(user, NumberChangeDto.newBuilder()
+        .withType(NumberChangeType.SAVED)
+        .withNumberId(number.getId())
+        .withNumber(NumberConverter.toNumberResponse(number, null))
+        .build());
 
     LOGGER.info("<< NumberServiceImpl :: saveNumber <<");
-    return numberRepository.save(number);
+    return number;
   }
 
   @Override
@@ -71,11 +96,13 @@ public class NumberServiceImpl implements NumberService {
   public void deleteIdNumber(final long numberId, final Users user) {
     LOGGER.info(">> NumberServiceImpl :: deleteIdNumber >>");
 
-    final Number number = numberRepository.findOneNumberByIdAndUser(numberId, user);
-    ErrorHandling.errorHandlingNonExistingNumber(number, numberId, "NumberServiceImpl :: deleteIdNumber");
-
-    number.setDeletedNumber(true);
-    numberRepository.save(number);
+    final int deletedRows = numberRepository.softDeleteNumber(numberId, user);
+    ErrorHandling.errorHandlingNonUpdatedNumber(deletedRows, numberId, "NumberServiceImpl :: deleteIdNumber");
+    numberSetVersions.bump(user.getId());
+    publishChange(user, NumberChangeDto.newBuilder()
+        .withType(NumberChangeType.DELETED)
+        .withNumberId(numberId)
+        .build());
 
     LOGGER.info("<< NumberServiceImpl :: deleteIdNumber <<");
   }
@@ -96,4 +123,54 @@ public class NumberServiceImpl implements NumberService {
     LOGGER.info("<< NumberServiceImpl :: getAllUserNumbers <<");
     return numberRepository.findAllNumbers(user, pageRequest).getContent();
   }
+
+  // The operations call the methods of this class directly, not through the transactional proxy, so they all run in
+  // the one transaction of the batch. A client failure is the outcome of its operation and the batch goes on, any other
+  // exception rolls the whole batch back.
+  @Override
+  public List<BatchOutcome> executeBatch(final List<BatchOperation> operations, final Users user) {
+    LOGGER.info(">> NumberServiceImpl :: executeBatch :: {} operations >>", operations.size());
+    final String token = user.getVerificationToken().getToken();
+    final List<BatchOutcome> outcomes = new ArrayList<>(operations.size());
+
+    for (final BatchOperation operation : operations) {
+      try {
+        outcomes.add(execute(operation, user, token));
+      } catch (IllegalArgumentException | ExpectedFailureException e) {
+        outcomes.add(BatchOutcome.failed(operation.getType(), e));
+      }
+    }
+
+    LOGGER.info("<< NumberServiceImpl :: executeBatch <<");
+    return outcomes;
+  }
+
+  private BatchOutcome execute(final BatchOperation operation, final Users user, final String token) {
+    switch (operation.getType()) {
+      case SAVE_NUMBER:
+        ErrorHandling.errorHandlingIntLongTypeValue(operation.getNumber(), token, "number", "batch", true);
+        return BatchOutcome.ofNumber(operation.getType(),
+            saveNumber(CreateNumberRequest.newBuilder().withNumber(operation.getNumber()).build(), user));
+      case DELETE_NUMBER:
+        ErrorHandling.errorHandlingIntLongTypeValue(operation.getNumberId(), token, "numberId", "batch", true);
+        deleteIdNumber(operation.getNumberId(), user);
+        return BatchOutcome.done(operation.getType());
+      case GET_NUMBER:
+        ErrorHandling.errorHandlingIntLongTypeValue(operation.getNumberId(), token, "numberId", "batch", true);
+        return BatchOutcome.ofNumber(operation.getType(), getNumberById(operation.getNumberId(), user));
+      case COUNT_NUMBERS:
+        return BatchOutcome.ofCount(operation.getType(), countUserNumbers(user));
+      case GET_USER_NUMBERS:
+        ErrorHandling.errorHandlingIntLongTypeValue(operation.getIndexPage(), token, "indexPage", "batch", false);
+        return BatchOutcome.ofNumbers(operation.getType(),
+            getAllUserNumbers(user, operation.getIndexPage().intValue()));
+      default:
+        throw new IllegalArgumentException("batch :: Unknown operation type: " + operation.getType());
+    }
+  }
+
+  // Delivered to the number change streams after the commit, see NumberChangeStream.
+  private void publishChange(final Users user, final NumberChangeDto change) {
+    eventPublisher.publishEvent(new NumberChangedEvent(user.getId(), change));
+  }
 }
@@ -22,6 +22,10 @@ public interface UserService {
 
   void enableConfirmedUser(final Users confirmedUser);
 
+  Users resendRegistration(final Users user);
+
+  Users confirmRegistration(final String token);
+
   Users updateUser(final CreateUserRequest userUpdateDto, final String currentEmail, final String token);
 
   Users getUserByEmail(final String email);
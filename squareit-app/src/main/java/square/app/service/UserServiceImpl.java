@@ -1,5 +1,6 @@
 package square.app.service;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.UUID;
@@ -8,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
@@ -15,10 +17,13 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import square.api.domain.models.user.CreateUserRequest;
+import square.api.domain.util.LogArg;
 
+import square.app.constants.EmailTypes;
 import square.app.constants.TimeConstants;
 import square.app.constants.TokenRequestType;
 import square.app.constants.UserRequestType;
+import square.app.domain.dao.TokenRepository;
 import square.app.domain.dao.UserRepository;
 import square.app.domain.jpa.Users;
 import square.app.domain.jpa.VerificationToken;
@@ -39,19 +44,36 @@ public class UserServiceImpl implements UserService {
   private static final String USERNAME = "username";
   private static final String EMAIL = "email";
 
+  private final EmailOutboxService emailOutboxService;
+
+  private final EmailService emailService;
+
   private final PasswordEncoder passwordEncoder;
 
+  private final TokenRepository tokenRepository;
+
   private final UserRepository userRepository;
 
+  @Value("${project.email.resend-coalesce-window-ms}")
+  private long resendCoalesceWindowMs;
+
   /**
    * Autowiring.
    *
-   * @param userRepository  userRepository
-   * @param passwordEncoder passwordEncoder
+   * @param userRepository     userRepository
+   * @param tokenRepository    tokenRepository
+   * @param emailService       emailService
+   * @param emailOutboxService emailOutboxService
+   * @param passwordEncoder    passwordEncoder
    */
   @Autowired
-  public UserServiceImpl(final UserRepository userRepository, final PasswordEncoder passwordEncoder) {
+  public UserServiceImpl(final UserRepository userRepository, final TokenRepository tokenRepository,
+      final EmailService emailService, final EmailOutboxService emailOutboxService,
+      final PasswordEncoder passwordEncoder) {
     this.userRepository = userRepository;
+    this.tokenRepository = tokenRepository;
+    this.emailService = emailService;
+    this.emailOutboxService = emailOutboxService;
     this.passwordEncoder = passwordEncoder;
   }
 
@@ -76,7 +98,8 @@ public class UserServiceImpl implements UserService {
 
     boolean validToken = TokenValidator.isValidLoginToken(user.getVerificationToken().getRefreshToken());
     if (!validToken) {
-      return generateToken(user, TokenRequestType.UPDATE_TOKEN).getVerificationToken().getToken();
+      // The user is managed by this transaction, the new token is written by the flush on commit.
+      user.getVerificationToken().updateRefreshToken(createUniqueUuid());
     }
 
     LOGGER.info("<< UserServiceImpl :: loginUser <<");
@@ -87,7 +110,7 @@ public class UserServiceImpl implements UserService {
   public Users upsertUser(final CreateUserRequest request, final String currentEmail, final String token,
       final UserRequestType updateType) {
     LOGGER.info(">> UserServiceImpl :: upsertUser >>");
-    LOGGER.info("User request: {}", request);
+    LOGGER.info("User request: {}", LogArg.of(request));
 
     final Users user;
 
@@ -97,7 +120,7 @@ public class UserServiceImpl implements UserService {
       user = updateUser(request, currentEmail, token);
     }
 
-    LOGGER.info("User: {}", user);
+    LOGGER.info("User: {}", LogArg.of(user));
     LOGGER.info("<< UserServiceImpl :: upsertUser <<");
     return user;
   }
@@ -148,7 +171,8 @@ public class UserServiceImpl implements UserService {
     if (!currentUser.getVerificationToken().getToken().equals(token)) {
       LOGGER.debug("-- UserServiceImpl :: updateUser :: User token and given token is not the same");
       throw new TokenMismatchException("UserServiceImpl :: updateUser :: User token and given token is not the same, "
-          + "given token: " + token + ", and user token: " + currentUser.getVerificationToken().getToken());
+          + "given token: " + LogArg.maskToken(token) + ", and user token: "
+          + LogArg.maskToken(currentUser.getVerificationToken().getToken()));
     }
 
     ErrorHandling.errorHandlingDeactivatedUser(currentUser, currentEmail, EMAIL,
@@ -195,16 +219,22 @@ public class UserServiceImpl implements UserService {
   public Users generateToken(final Users user, final TokenRequestType tokenRequestType) {
     LOGGER.info(">> UserServiceImpl :: generateToken >>");
 
+    final VerificationToken verificationToken = user.getVerificationToken();
+
     if (tokenRequestType.equals(TokenRequestType.CREATE_TOKEN)) {
-      user.getVerificationToken().updateToken(createUniqueUuid());
+      verificationToken.updateToken(createUniqueUuid());
     }
 
     if (tokenRequestType.equals(TokenRequestType.UPDATE_TOKEN)) {
-      user.getVerificationToken().updateRefreshToken(createUniqueUuid());
+      verificationToken.updateRefreshToken(createUniqueUuid());
     }
 
+    // The user is detached, merging it would reload the user and the token before the update.
+    tokenRepository.updateToken(verificationToken.getId(), verificationToken.getToken(),
+        verificationToken.getExpiryDate(), verificationToken.getRefreshToken());
+
     LOGGER.info("<< UserServiceImpl :: generateToken <<");
-    return userRepository.save(user);
+    return user;
   }
 
   @Override
@@ -230,7 +260,47 @@ public class UserServiceImpl implements UserService {
     confirmedUser.setEnabled(true);
 
     LOGGER.info("<< UserServiceImpl :: enableConfirmedUser <<");
-    userRepository.save(confirmedUser);
+    userRepository.enableUser(confirmedUser.getId());
+  }
+
+  // The new token and its email are committed together, the email is sent after the commit. A resend within the
+  // coalesce window of the last email keeps that email and its token, the link in it stays valid.
+  @Override
+  public Users resendRegistration(final Users user) {
+    LOGGER.info(">> UserServiceImpl :: resendRegistration >>");
+
+    final ZonedDateTime since = ZonedDateTime.now(ZoneId.of(TimeConstants.SERVER_TIMEZONE_UTC))
+        .minus(Duration.ofMillis(resendCoalesceWindowMs));
+    if (TokenValidator.isValidExpirationToken(user.getVerificationToken().getExpiryDate())
+        && emailOutboxService.hasRecentEmail(user.getEmail(), since)) {
+      LOGGER.info("<< UserServiceImpl :: resendRegistration :: Coalesced with the last email <<");
+      return user;
+    }
+
+    generateToken(user, TokenRequestType.CREATE_TOKEN);
+    emailService.createRegistrationMail(user, EmailTypes.NEW_ACCOUNT_RESEND);
+
+    LOGGER.info("<< UserServiceImpl :: resendRegistration <<");
+    return user;
+  }
+
+  // Enabling is one conditional update, only the call that enabled the user writes the confirmation email. The link
+  // token is kept, so a second click or a mail scanner prefetching the link finds the enabled user again. Null when
+  // no active user has the token, a user still disabled when the token has expired.
+  @Override
+  public Users confirmRegistration(final String token) {
+    LOGGER.info(">> UserServiceImpl :: confirmRegistration >>");
+
+    final boolean confirmed = userRepository.confirmUser(token,
+        ZonedDateTime.now(ZoneId.of(TimeConstants.SERVER_TIMEZONE_UTC))) == 1;
+    final Users user = userRepository.findUserByToken(token);
+
+    if (confirmed) {
+      emailService.createRegistrationMail(user, EmailTypes.NEW_ACCOUNT_CONFIRMED);
+    }
+
+    LOGGER.info("<< UserServiceImpl :: confirmRegistration :: confirmed: {} <<", confirmed);
+    return user;
   }
 
   @Override
@@ -245,7 +315,7 @@ public class UserServiceImpl implements UserService {
     LOGGER.info(">> UserServiceImpl :: deleteUser >>");
 
     user.setUserDeleted(true);
-    userRepository.save(user);
+    userRepository.softDeleteUser(user.getId());
 
     LOGGER.info("<< UserServiceImpl :: deleteUser <<");
   }
@@ -0,0 +1,197 @@
+package square.app.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * Server-sent events of the number changes of a user. NumberChangedEvents are delivered after the commit of the
+ * change, a rolled back change is never sent. Each open stream has a bounded buffer written by the number stream
+ * executor. A client that does not keep up has its buffer dropped and gets a resync event instead. Idle streams get a
+ * heartbeat comment, which keeps proxies from closing them and finds clients that are gone. An idle stream holds no
+ * thread.
+ */
+@Component
+public class NumberChangeStream {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NumberChangeStream.class);
+
+  static final String NUMBER_EVENT = "number";
+
+  private static final String HEARTBEAT = "heartbeat";
+
+  private final ConcurrentMap<Long, Set<NumberChangeSubscriber>> subscribers = new ConcurrentHashMap<>();
+
+  private final ThreadPoolTaskExecutor numberStreamExecutor;
+
+  private final Counter droppedCounter;
+
+  private final ScheduledExecutorService heartbeatScheduler;
+
+  @Value("${project.sse.buffer-size}")
+  private int bufferSize;
+
+  @Value("${project.sse.timeout-ms}")
+  private long timeoutMs;
+
+  @Value("${project.sse.heartbeat-ms}")
+  private long heartbeatMs;
+
+  /**
+   * NumberChangeStream.
+   *
+   * @param numberStreamExecutor numberStreamExecutor
+   * @param meterRegistry        meterRegistry
+   */
+  @Autowired
+  public NumberChangeStream(@Qualifier("numberStreamExecutor") final ThreadPoolTaskExecutor numberStreamExecutor,
+      final MeterRegistry meterRegistry) {
+    this.numberStreamExecutor = numberStreamExecutor;
+
+    Gauge.builder("number.stream.subscribers", subscribers,
+        streams -> streams.values().stream().mapToInt(Set::size).sum())
+        .description("Open number change streams")
+        .register(meterRegistry);
+    this.droppedCounter = Counter.builder("number.stream.dropped")
+        .description("Buffers of slow clients dropped for a resync event")
+        .register(meterRegistry);
+
+    // Not a bean: a scheduler bean would also become the scheduler of the @Scheduled methods.
+    final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("number-stream-heartbeat-");
+    threadFactory.setDaemon(true);
+    this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+  }
+
+  @PostConstruct
+  void startHeartbeat() {
+    heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void close() {
+    heartbeatScheduler.shutdownNow();
+    subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.getEmitter().complete()));
+    subscribers.clear();
+  }
+
+  /**
+   * Opens a number change stream of a user. It ends after the timeout, the client then connects again.
+   *
+   * @param userId user id
+   * @return emitter of the stream
+   */
+  public SseEmitter subscribe(final Long userId) {
+    final SseEmitter emitter = new SseEmitter(timeoutMs);
+    final NumberChangeSubscriber subscriber = new NumberChangeSubscriber(userId, emitter, bufferSize);
+
+    emitter.onCompletion(() -> remove(subscriber));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(e -> remove(subscriber));
+    subscribers.compute(userId, (id, streams) -> {
+      final Set<NumberChangeSubscriber> userStreams = streams != null ? streams : ConcurrentHashMap.newKeySet();
+      userStreams.add(subscriber);
+      return userStreams;
+    });
+
+    // The response headers are sent at once, not with the first change.
+    publish(subscriber, SseEmitter.event().comment("connected"));
+    LOGGER.info("-- NumberChangeStream :: Stream opened for user: {} --", userId);
+    return emitter;
+  }
+
+  /**
+   * Buffers a committed number change for the streams of its user.
+   *
+   * @param event number change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onNumberChanged(final NumberChangedEvent event) {
+    final Set<NumberChangeSubscriber> userStreams = subscribers.get(event.getUserId());
+    if (userStreams == null) {
+      return;
+    }
+
+    // An event builder is not thread safe, every stream gets its own.
+    userStreams.forEach(subscriber -> publish(subscriber, SseEmitter.event()
+        .name(NUMBER_EVENT)
+        .data(event.getChange(), MediaType.APPLICATION_JSON)));
+  }
+
+  private void heartbeat() {
+    subscribers.values().forEach(streams -> streams.forEach(subscriber -> {
+      if (subscriber.buffered() == 0) {
+        publish(subscriber, SseEmitter.event().comment(HEARTBEAT));
+      } else if (subscriber.claim()) {
+        // Left over from a full executor.
+        submit(subscriber);
+      }
+    }));
+  }
+
+  private void publish(final NumberChangeSubscriber subscriber, final SseEventBuilder event) {
+    if (!subscriber.offer(event)) {
+      droppedCounter.increment();
+      LOGGER.info("-- NumberChangeStream :: Slow client of user: {}, buffer dropped for a resync --",
+          subscriber.getUserId());
+    }
+    if (subscriber.claim()) {
+      submit(subscriber);
+    }
+  }
+
+  private void submit(final NumberChangeSubscriber subscriber) {
+    try {
+      numberStreamExecutor.execute(() -> send(subscriber));
+    } catch (TaskRejectedException e) {
+      // The events stay buffered until the next event or heartbeat.
+      subscriber.release();
+    }
+  }
+
+  private void send(final NumberChangeSubscriber subscriber) {
+    try {
+      if (subscriber.send(bufferSize)) {
+        // More events: queued again behind the other streams.
+        submit(subscriber);
+      }
+    } catch (IOException | IllegalStateException e) {
+      // Client gone or stream completed.
+      LOGGER.debug("-- NumberChangeStream :: Stream of user: {} closed: {} --", subscriber.getUserId(),
+          e.getMessage());
+      remove(subscriber);
+    }
+  }
+
+  private void remove(final NumberChangeSubscriber subscriber) {
+    subscribers.computeIfPresent(subscriber.getUserId(), (id, streams) -> {
+      streams.remove(subscriber);
+      return streams.isEmpty() ? null : streams;
+    });
+  }
+}
@@ -0,0 +1,97 @@
+package square.app.stream;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * One open number change stream. Events wait in a bounded buffer until a sender thread writes them, so a slow client
+ * never blocks the committing thread. A full buffer is dropped and replaced by one resync event: the client has missed
+ * changes and reloads its numbers.
+ */
+class NumberChangeSubscriber {
+
+  static final String RESYNC_EVENT = "resync";
+
+  private final Long userId;
+
+  private final SseEmitter emitter;
+
+  private final BlockingQueue<SseEventBuilder> buffer;
+
+  private final AtomicBoolean sending = new AtomicBoolean();
+
+  NumberChangeSubscriber(final Long userId, final SseEmitter emitter, final int bufferSize) {
+    this.userId = userId;
+    this.emitter = emitter;
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+  }
+
+  Long getUserId() {
+    return userId;
+  }
+
+  SseEmitter getEmitter() {
+    return emitter;
+  }
+
+  /**
+   * Buffers an event.
+   *
+   * @param event event
+   * @return false when the buffer was full and dropped
+   */
+  synchronized boolean offer(final SseEventBuilder event) {
+    if (buffer.offer(event)) {
+      return true;
+    }
+    buffer.clear();
+    // An event without data is not dispatched by EventSource.
+    buffer.offer(SseEmitter.event().name(RESYNC_EVENT).data(RESYNC_EVENT));
+    return false;
+  }
+
+  int buffered() {
+    return buffer.size();
+  }
+
+  /**
+   * Claims the sending of the buffered events, one sender per subscriber at a time.
+   *
+   * @return true when claimed, the caller then calls send
+   */
+  boolean claim() {
+    return !buffer.isEmpty() && sending.compareAndSet(false, true);
+  }
+
+  /**
+   * Releases a claim that was not sent, e.g. when the sender executor is full. The next event claims again.
+   */
+  void release() {
+    sending.set(false);
+  }
+
+  /**
+   * Writes at most maxEvents buffered events and releases the claim.
+   *
+   * @param maxEvents events written before the sender thread is handed to the next subscriber
+   * @return true when events are left, claimed again for the caller
+   * @throws IOException client gone
+   */
+  boolean send(final int maxEvents) throws IOException {
+    try {
+      SseEventBuilder event;
+      for (int sent = 0; sent < maxEvents && (event = buffer.poll()) != null; sent++) {
+        emitter.send(event);
+      }
+    } finally {
+      sending.set(false);
+    }
+    // An event buffered during the last write found the claim taken.
+    return claim();
+  }
+}
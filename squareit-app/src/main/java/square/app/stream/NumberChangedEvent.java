@@ -0,0 +1,33 @@
+package square.app.stream;
+
+import square.api.domain.models.number.NumberChangeDto;
+
+/**
+ * A number of a user was saved or deleted. Published in the transaction of the change and delivered to the number
+ * change stream after the commit, see NumberChangeStream.
+ */
+public class NumberChangedEvent {
+
+  private final Long userId;
+
+  private final NumberChangeDto change;
+
+  /**
+   * NumberChangedEvent.
+   *
+   * @param userId user id of the number
+   * @param change change
+   */
+  public NumberChangedEvent(final Long userId, final NumberChangeDto change) {
+    this.userId = userId;
+    this.change = change;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public NumberChangeDto getChange() {
+    return change;
+  }
+}
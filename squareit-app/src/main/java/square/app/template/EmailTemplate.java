@@ -0,0 +1,87 @@
+package square.app.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email subject and body template, parsed once into literal segments and the variables between them. Variables are
+ * written as {{name}} in the body and are HTML escaped when rendered.
+ */
+public final class EmailTemplate {
+
+  private static final String VARIABLE_START = "{{";
+
+  private static final String VARIABLE_END = "}}";
+
+  private final String subject;
+
+  // literals[i] is followed by variables[i], the last literal by nothing.
+  private final String[] literals;
+
+  private final String[] variables;
+
+  private EmailTemplate(final String subject, final String[] literals, final String[] variables) {
+    this.subject = subject;
+    this.literals = literals;
+    this.variables = variables;
+  }
+
+  /**
+   * Parses the body source of a template.
+   *
+   * @param subject subject
+   * @param source  body source
+   * @return template
+   */
+  public static EmailTemplate parse(final String subject, final String source) {
+    final List<String> literalList = new ArrayList<>();
+    final List<String> variableList = new ArrayList<>();
+
+    int position = 0;
+    int start = source.indexOf(VARIABLE_START);
+    while (start >= 0) {
+      final int end = source.indexOf(VARIABLE_END, start + VARIABLE_START.length());
+      if (end < 0) {
+        throw new IllegalArgumentException("EmailTemplate :: Unclosed variable at index " + start);
+      }
+
+      final String variable = source.substring(start + VARIABLE_START.length(), end).trim();
+      if (variable.isEmpty()) {
+        throw new IllegalArgumentException("EmailTemplate :: Empty variable at index " + start);
+      }
+
+      literalList.add(source.substring(position, start));
+      variableList.add(variable);
+      position = end + VARIABLE_END.length();
+      start = source.indexOf(VARIABLE_START, position);
+    }
+    literalList.add(source.substring(position));
+
+    return new EmailTemplate(subject, literalList.toArray(new String[0]), variableList.toArray(new String[0]));
+  }
+
+  /**
+   * Renders the body into the buffer.
+   *
+   * @param values variable values
+   * @param out    buffer
+   */
+  public void render(final Map<String, String> values, final StringBuilder out) {
+    for (int i = 0; i < variables.length; i++) {
+      out.append(literals[i]);
+
+      final String value = values.get(variables[i]);
+      if (value == null) {
+        throw new IllegalArgumentException("EmailTemplate :: No value for variable: " + variables[i]);
+      }
+
+      HtmlEscaper.escape(value, out);
+    }
+    out.append(literals[variables.length]);
+  }
+
+  public String getSubject() {
+    return subject;
+  }
+}
@@ -0,0 +1,102 @@
+package square.app.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import square.app.constants.EmailTypes;
+
+/**
+ * Email templates of every EmailTypes, loaded from templates/email and parsed once at startup. A missing template
+ * fails the startup. Bodies are rendered into a buffer reused per thread.
+ */
+@Component
+public class EmailTemplates {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EmailTemplates.class);
+
+  private static final String TEMPLATE_DIRECTORY = "templates/email/";
+
+  private static final String TEMPLATE_INDEX = TEMPLATE_DIRECTORY + "email-templates.properties";
+
+  private static final int BUFFER_SIZE = 4 * 1024;
+
+  // A buffer grown beyond this by an unusual email is not kept by the thread.
+  private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+  private final Map<EmailTypes, EmailTemplate> templates = new EnumMap<>(EmailTypes.class);
+
+  private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_SIZE));
+
+  /**
+   * Loads and parses the templates.
+   */
+  public EmailTemplates() {
+    final Properties index = loadIndex();
+
+    for (EmailTypes emailType : EmailTypes.values()) {
+      final String subject = index.getProperty(emailType.name() + ".subject");
+      final String templateFile = index.getProperty(emailType.name() + ".template");
+
+      if (subject == null || templateFile == null) {
+        throw new IllegalStateException("EmailTemplates :: No subject or template in " + TEMPLATE_INDEX
+            + " for email type: " + emailType);
+      }
+
+      templates.put(emailType, EmailTemplate.parse(subject, loadTemplate(templateFile)));
+      LOGGER.info("-- EmailTemplates :: Loaded template {} for email type: {} --", templateFile, emailType);
+    }
+  }
+
+  public String getSubject(final EmailTypes emailType) {
+    return templates.get(emailType).getSubject();
+  }
+
+  /**
+   * Renders the body of an email type.
+   *
+   * @param emailType email type
+   * @param values    variable values, HTML escaped when rendered
+   * @return html body
+   */
+  public String renderBody(final EmailTypes emailType, final Map<String, String> values) {
+    final StringBuilder buffer = buffers.get();
+    buffer.setLength(0);
+
+    templates.get(emailType).render(values, buffer);
+    final String body = buffer.toString();
+
+    if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+      buffers.remove();
+    }
+
+    return body;
+  }
+
+  private static Properties loadIndex() {
+    try {
+      return PropertiesLoaderUtils.loadProperties(new ClassPathResource(TEMPLATE_INDEX));
+    } catch (IOException e) {
+      throw new IllegalStateException("EmailTemplates :: Cannot read " + TEMPLATE_INDEX, e);
+    }
+  }
+
+  private static String loadTemplate(final String templateFile) {
+    try (InputStream inputStream = new ClassPathResource(TEMPLATE_DIRECTORY + templateFile).getInputStream()) {
+      return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new IllegalStateException("EmailTemplates :: Cannot read template: " + templateFile, e);
+    }
+  }
+}
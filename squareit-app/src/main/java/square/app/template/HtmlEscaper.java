@@ -0,0 +1,44 @@
+package square.app.template;
+
+public final class HtmlEscaper {
+
+  private HtmlEscaper() {
+    throw new IllegalStateException("HtmlEscaper :: Cannot be instantiated");
+  }
+
+  /**
+   * Appends the value with the HTML special characters escaped, safe in element text and quoted attributes.
+   *
+   * @param value value, null is appended as nothing
+   * @param out   buffer
+   */
+  public static void escape(final String value, final StringBuilder out) {
+    if (value == null) {
+      return;
+    }
+
+    for (int i = 0; i < value.length(); i++) {
+      final char character = value.charAt(i);
+      switch (character) {
+        case '&':
+          out.append("&amp;");
+          break;
+        case '<':
+          out.append("&lt;");
+          break;
+        case '>':
+          out.append("&gt;");
+          break;
+        case '"':
+          out.append("&quot;");
+          break;
+        case '\'':
+          out.append("&#39;");
+          break;
+        default:
+          out.append(character);
+          break;
+      }
+    }
+  }
+}
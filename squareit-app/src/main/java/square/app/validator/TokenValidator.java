@@ -6,6 +6,8 @@ import java.time.ZonedDateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import square.api.domain.constants.Constraint;
+
 import square.app.constants.TimeConstants;
 import square.app.exceptions.TimeException;
 
@@ -48,7 +50,7 @@ public final class TokenValidator {
     }
 
     final long timeNow = ZonedDateTime.now(ZoneId.of(TimeConstants.SERVER_TIMEZONE_UTC)).toInstant().toEpochMilli();
-    final long timeExpire = refreshToken.plusHours(TimeConstants.TOKEN_VALID_FOR_2_HOURS).toInstant()
+    final long timeExpire = refreshToken.plusHours(Constraint.TOKEN_VALID_FOR_2_HOURS).toInstant()
         .toEpochMilli();
 
     return (timeExpire - timeNow) >= 0;
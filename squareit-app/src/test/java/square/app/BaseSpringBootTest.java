@@ -15,24 +15,38 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import square.api.domain.headersdefinition.HeadersDefinition;
 
+import square.app.domain.dao.EmailOutboxRepository;
 import square.app.domain.dao.NumberRepository;
 import square.app.domain.dao.TokenRepository;
 import square.app.domain.dao.UserRepository;
+import square.app.utils.StatementBudget;
+import square.app.utils.StatementCounter;
 
+// No outbox poller: it would query and send in the background of every test. Tests of the delivery drive
+// EmailOutboxWorker themselves.
 @ActiveProfiles({"dev"})
 @RunWith(SpringJUnit4ClassRunner.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "project.email.polling-enabled=false")
+@Import(StatementCounter.class)
 public abstract class BaseSpringBootTest {
 
+  @Autowired
+  protected EmailOutboxRepository emailOutboxRepository;
+
   @Autowired
   protected NumberRepository numberRepository;
 
@@ -45,6 +59,9 @@ public abstract class BaseSpringBootTest {
   @Autowired
   private TestRestTemplate restTemplate;
 
+  @Autowired
+  private StatementCounter statementCounter;
+
   private String breadCrumbId;
 
   /**
@@ -52,7 +69,7 @@ public abstract class BaseSpringBootTest {
    */
   @Before
   public final void createTestUtils() {
-    // Set http header 'breadcrumbId' for rest requests.
+    // Set http header 'breadcrumbId' for rest requests, a new one per request. See startRequest.
     breadCrumbId = UUID.randomUUID().toString();
     restTemplate.getRestTemplate().setInterceptors(
         Collections.singletonList((request, body, execution) -> {
@@ -67,12 +84,22 @@ public abstract class BaseSpringBootTest {
    */
   @After
   public final void clearDatabase() {
+    emailOutboxRepository.deleteAll();
     tokenRepository.deleteAll();
     numberRepository.deleteAll();
     userRepository.deleteAll();
   }
 
+  /**
+   * A new breadcrumb id for the next http request, the statement counter counts the statements of that request only.
+   */
+  private void startRequest() {
+    breadCrumbId = UUID.randomUUID().toString();
+    statementCounter.reset(breadCrumbId);
+  }
+
   protected <T> T httpGet(String url, HttpStatus expectedStatus, Class<T> responseType, String... parameters) {
+    startRequest();
     if (HttpStatus.OK.equals(expectedStatus)) {
       final ResponseEntity<T> responseEntity = restTemplate.getForEntity(url, responseType, (Object[]) parameters);
       Assertions.assertThat(responseEntity.getStatusCode()).as("Invalid HTTP status")
@@ -86,6 +113,47 @@ public abstract class BaseSpringBootTest {
     }
   }
 
+  protected <T> T httpGetWithToken(String url, String token, HttpStatus expectedStatus, Class<T> responseType,
+      String... parameters) {
+    startRequest();
+    final HttpHeaders headers = new HttpHeaders();
+    headers.add(HeadersDefinition.AUTH_TOKEN, token);
+    final ResponseEntity<T> responseEntity = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+        responseType, (Object[]) parameters);
+    Assertions.assertThat(responseEntity.getStatusCode()).as("Invalid HTTP status")
+        .isEqualTo(expectedStatus);
+
+    return responseEntity.getBody();
+  }
+
+  protected <T> ResponseEntity<T> httpGetIfNoneMatch(String url, String etag, HttpStatus expectedStatus,
+      Class<T> responseType, String... parameters) {
+    startRequest();
+    final HttpHeaders headers = new HttpHeaders();
+    if (etag != null) {
+      headers.setIfNoneMatch(etag);
+    }
+    final ResponseEntity<T> responseEntity = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+        responseType, (Object[]) parameters);
+    Assertions.assertThat(responseEntity.getStatusCode()).as("Invalid HTTP status")
+        .isEqualTo(expectedStatus);
+
+    return responseEntity;
+  }
+
+  protected <T> ResponseEntity<T> httpGetAccept(String url, MediaType accept, HttpStatus expectedStatus,
+      Class<T> responseType, String... parameters) {
+    startRequest();
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setAccept(Collections.singletonList(accept));
+    final ResponseEntity<T> responseEntity = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+        responseType, (Object[]) parameters);
+    Assertions.assertThat(responseEntity.getStatusCode()).as("Invalid HTTP status")
+        .isEqualTo(expectedStatus);
+
+    return responseEntity;
+  }
+
   @SuppressWarnings("unchecked")
   protected <T> List<T> httpGetList(String url, HttpStatus expectedStatus, Class<T> responseType,
       String... parameters) {
@@ -100,6 +168,7 @@ public abstract class BaseSpringBootTest {
   }
 
   protected <T> T httpGetError(String url, HttpStatus expectedStatus, Class<T> responseType, String... parameters) {
+    startRequest();
     final ResponseEntity<T> responseEntity = restTemplate.getForEntity(url, responseType, (Object[]) parameters);
     Assertions.assertThat(responseEntity.getStatusCode()).as("Invalid HTTP status")
         .isEqualTo(expectedStatus);
@@ -109,6 +178,7 @@ public abstract class BaseSpringBootTest {
 
   protected <T> T httpPut(String url, HttpStatus expectedStatus, Object request, Class<T> responseType,
       String... parameters) {
+    startRequest();
     if (HttpStatus.OK.equals(expectedStatus)) {
       final ResponseEntity<T> responseEntity = restTemplate.exchange(url, HttpMethod.PUT,
           new HttpEntity<>(request), responseType, (Object[]) parameters);
@@ -127,6 +197,7 @@ public abstract class BaseSpringBootTest {
 
   protected <T> T httpPutError(String url, HttpStatus expectedStatus, Object request, Class<T> responseType,
       String... parameters) {
+    startRequest();
     final ResponseEntity<T> responseEntity = restTemplate.exchange(url, HttpMethod.PUT,
         new HttpEntity<>(request), responseType, (Object[]) parameters);
     Assertions.assertThat(responseEntity.getStatusCode()).as("Invalid HTTP status")
@@ -137,6 +208,7 @@ public abstract class BaseSpringBootTest {
 
   protected <T> T httpPost(String url, HttpStatus expectedStatus, Object request, Class<T> responseType,
       String... parameters) {
+    startRequest();
     if (HttpStatus.OK.equals(expectedStatus)) {
       final ResponseEntity<T> responseEntity = restTemplate.postForEntity(url, request, responseType,
           (Object[]) parameters);
@@ -156,6 +228,7 @@ public abstract class BaseSpringBootTest {
 
   protected <T> T httpPostError(String url, HttpStatus expectedStatus, Object request, Class<T> responseType,
       String... parameters) {
+    startRequest();
     final ResponseEntity<T> responseEntity = restTemplate.postForEntity(url, request, responseType,
         (Object[]) parameters);
     Assertions.assertThat(responseEntity.getStatusCode()).as("Invalid HTTP status")
@@ -163,4 +236,37 @@ public abstract class BaseSpringBootTest {
 
     return responseEntity.getBody();
   }
+
+  /**
+   * Asserts that the last http request executed exactly the budgeted number of SQL statements per type.
+   *
+   * @param budget statement budget of the request
+   */
+  protected void assertStatements(final StatementBudget budget) {
+    Assertions.assertThat(statementCounter.getSelects()).as("SELECT statements, budget: " + budget)
+        .isEqualTo(budget.getSelect());
+    Assertions.assertThat(statementCounter.getInserts()).as("INSERT statements, budget: " + budget)
+        .isEqualTo(budget.getInsert());
+    Assertions.assertThat(statementCounter.getUpdates()).as("UPDATE statements, budget: " + budget)
+        .isEqualTo(budget.getUpdate());
+    Assertions.assertThat(statementCounter.getDeletes()).as("DELETE statements, budget: " + budget)
+        .isEqualTo(budget.getDelete());
+  }
+
+  /**
+   * Asserts that the last http request executed at most the budgeted number of SQL statements per type. For requests
+   * whose statements depend on the data, e.g. the count query of a full page.
+   *
+   * @param budget statement budget of the request
+   */
+  protected void assertStatementsAtMost(final StatementBudget budget) {
+    Assertions.assertThat(statementCounter.getSelects()).as("SELECT statements, budget: " + budget)
+        .isLessThanOrEqualTo(budget.getSelect());
+    Assertions.assertThat(statementCounter.getInserts()).as("INSERT statements, budget: " + budget)
+        .isLessThanOrEqualTo(budget.getInsert());
+    Assertions.assertThat(statementCounter.getUpdates()).as("UPDATE statements, budget: " + budget)
+        .isLessThanOrEqualTo(budget.getUpdate());
+    Assertions.assertThat(statementCounter.getDeletes()).as("DELETE statements, budget: " + budget)
+        .isLessThanOrEqualTo(budget.getDelete());
+  }
 }
@@ -0,0 +1,116 @@
+package square.app.assets;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.io.FileSystemResource;
+
+public class AssetPipelineTest {
+
+  private static final String PAGE = "<link rel=\"stylesheet\" href=\"css/site.css\">\n"
+      + "<script src=\"js/app.js\"></script>\n"
+      + "<img src=\"/img/logo.png\"><a href=\"https://example.com/x.js\">x</a>\n";
+
+  private static final String STYLE_SHEET = "body { background: url('../img/logo.png'); }\n";
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path publicDir;
+
+  /**
+   * Public folder with a page, a style sheet, a script and an image.
+   *
+   * @throws IOException IOException
+   */
+  @Before
+  public void setUp() throws IOException {
+    publicDir = temporaryFolder.newFolder("public").toPath();
+    write("index.html", PAGE);
+    write("css/site.css", STYLE_SHEET);
+    write("js/app.js", repeat("function square(x) { return x * x; }\n", 20));
+    write("img/logo.png", "png");
+  }
+
+  @Test
+  public void run_ShouldWork_ContentHashedCopiesAndManifest() throws IOException {
+    final Map<String, String> hashedPaths = new AssetPipeline(publicDir, null).run().getHashedPaths();
+
+    Assertions.assertThat(hashedPaths).containsOnlyKeys("css/site.css", "js/app.js", "img/logo.png");
+    Assertions.assertThat(hashedPaths.get("js/app.js")).matches("js/app-[0-9a-f]{32}\\.js");
+    Assertions.assertThat(read(hashedPaths.get("js/app.js"))).isEqualTo(read("js/app.js"));
+    Assertions.assertThat(AssetManifest.load(new FileSystemResource(publicDir.resolve(AssetManifest.FILE_NAME)
+        .toFile())).getHashedPaths()).isEqualTo(hashedPaths);
+  }
+
+  @Test
+  public void run_ShouldWork_ReferencesRewrittenToCopies() throws IOException {
+    final Map<String, String> hashedPaths = new AssetPipeline(publicDir, null).run().getHashedPaths();
+    final String logo = fileName(hashedPaths.get("img/logo.png"));
+
+    Assertions.assertThat(read("index.html"))
+        .contains("href=\"css/" + fileName(hashedPaths.get("css/site.css")) + "\"")
+        .contains("src=\"js/" + fileName(hashedPaths.get("js/app.js")) + "\"")
+        .contains("src=\"/img/" + logo + "\"")
+        .contains("href=\"https://example.com/x.js\"");
+    Assertions.assertThat(read(hashedPaths.get("css/site.css"))).contains("url('../img/" + logo + "')");
+  }
+
+  @Test
+  public void run_ShouldWork_TextPrecompressedWhenSmaller() throws IOException {
+    final Map<String, String> hashedPaths = new AssetPipeline(publicDir, null).run().getHashedPaths();
+
+    Assertions.assertThat(publicDir.resolve(hashedPaths.get("js/app.js") + AssetPipeline.GZIP_SUFFIX)).exists();
+    Assertions.assertThat(publicDir.resolve(hashedPaths.get("img/logo.png") + AssetPipeline.GZIP_SUFFIX))
+        .doesNotExist();
+    // Too small to gain from gzip.
+    Assertions.assertThat(publicDir.resolve(hashedPaths.get("css/site.css") + AssetPipeline.GZIP_SUFFIX))
+        .doesNotExist();
+  }
+
+  @Test
+  public void run_ShouldWork_AgainOnItsOutputAfterAChange() throws IOException {
+    final Map<String, String> first = new AssetPipeline(publicDir, null).run().getHashedPaths();
+    write("js/app.js", "changed");
+
+    final Map<String, String> second = new AssetPipeline(publicDir, null).run().getHashedPaths();
+
+    Assertions.assertThat(second).containsOnlyKeys(first.keySet());
+    Assertions.assertThat(second.get("js/app.js")).isNotEqualTo(first.get("js/app.js"));
+    Assertions.assertThat(second.get("css/site.css")).isEqualTo(first.get("css/site.css"));
+    Assertions.assertThat(read("index.html")).contains(fileName(second.get("js/app.js")))
+        .doesNotContain(fileName(first.get("js/app.js")));
+  }
+
+  private void write(final String path, final String content) throws IOException {
+    final Path file = publicDir.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String read(final String path) throws IOException {
+    return new String(Files.readAllBytes(publicDir.resolve(path)), StandardCharsets.UTF_8);
+  }
+
+  private static String fileName(final String path) {
+    return path.substring(path.lastIndexOf('/') + 1);
+  }
+
+  private static String repeat(final String text, final int times) {
+    final StringBuilder repeated = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      repeated.append(text);
+    }
+    return repeated.toString();
+  }
+}
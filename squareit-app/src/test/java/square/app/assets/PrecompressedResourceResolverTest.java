@@ -0,0 +1,132 @@
+package square.app.assets;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+public class PrecompressedResourceResolverTest {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final PrecompressedResourceResolver resolver = new PrecompressedResourceResolver();
+
+  private List<Resource> locations;
+
+  /**
+   * A script with gzip and brotli variants, a style sheet with a gzip variant and an image without.
+   *
+   * @throws IOException IOException
+   */
+  @Before
+  public void setUp() throws IOException {
+    final Path publicDir = temporaryFolder.newFolder("public").toPath();
+    write(publicDir, "app.js", "script");
+    write(publicDir, "app.js.gz", "gz");
+    write(publicDir, "app.js.br", "b");
+    write(publicDir, "site.css", "style sheet");
+    write(publicDir, "site.css.gz", "gz");
+    write(publicDir, "logo.png", "png");
+    locations = Collections.singletonList(new FileSystemResource(publicDir.toFile() + "/"));
+  }
+
+  @Test
+  public void resolveResource_ShouldWork_BrotliPreferred() throws IOException {
+    final Resource resource = resolve("app.js", "gzip, deflate, br");
+
+    Assertions.assertThat(resource.getFilename()).isEqualTo("app.js");
+    Assertions.assertThat(resource.contentLength()).isEqualTo(1L);
+    Assertions.assertThat(((HttpResource) resource).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+        .isEqualTo("br");
+    Assertions.assertThat(((HttpResource) resource).getResponseHeaders().getFirst(HttpHeaders.VARY))
+        .isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  @Test
+  public void resolveResource_ShouldWork_GzipWithoutBrotliVariant() throws IOException {
+    final Resource resource = resolve("site.css", "gzip, deflate, br");
+
+    Assertions.assertThat(resource.contentLength()).isEqualTo(2L);
+    Assertions.assertThat(((HttpResource) resource).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+        .isEqualTo("gzip");
+  }
+
+  @Test
+  public void resolveResource_ShouldWork_IdentityWithVaryWhenNotAccepted() throws IOException {
+    final Resource resource = resolve("app.js", "gzip;q=0, deflate");
+
+    Assertions.assertThat(resource.contentLength()).isEqualTo(6L);
+    Assertions.assertThat(((HttpResource) resource).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+        .isNull();
+    Assertions.assertThat(((HttpResource) resource).getResponseHeaders().getFirst(HttpHeaders.VARY))
+        .isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  @Test
+  public void resolveResource_ShouldWork_AssetWithoutVariants() {
+    final Resource resource = resolve("logo.png", "gzip, br");
+
+    Assertions.assertThat(resource).isNotInstanceOf(HttpResource.class);
+    Assertions.assertThat(resource.getFilename()).isEqualTo("logo.png");
+  }
+
+  @Test
+  public void accepts_ShouldWork_ExplicitCodingBeforeWildcard() {
+    Assertions.assertThat(PrecompressedResourceResolver.accepts("gzip, br;q=0.5", "br")).isTrue();
+    Assertions.assertThat(PrecompressedResourceResolver.accepts("*", "br")).isTrue();
+    Assertions.assertThat(PrecompressedResourceResolver.accepts("*, br;q=0", "br")).isFalse();
+    Assertions.assertThat(PrecompressedResourceResolver.accepts("identity", "gzip")).isFalse();
+    Assertions.assertThat(PrecompressedResourceResolver.accepts(null, "gzip")).isFalse();
+  }
+
+  private Resource resolve(final String path, final String acceptEncoding) {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/" + path);
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+    return resolver.resolveResource(request, path, locations, new FileChain());
+  }
+
+  private static void write(final Path dir, final String name, final String content) throws IOException {
+    Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * End of the chain: the file of the request path in the location.
+   */
+  private static final class FileChain implements ResourceResolverChain {
+
+    @Override
+    public Resource resolveResource(final HttpServletRequest request, final String requestPath,
+        final List<? extends Resource> locations) {
+      try {
+        final Resource resource = locations.get(0).createRelative(requestPath);
+        return resource.exists() ? resource : null;
+      } catch (IOException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public String resolveUrlPath(final String resourcePath, final List<? extends Resource> locations) {
+      return resourcePath;
+    }
+  }
+}
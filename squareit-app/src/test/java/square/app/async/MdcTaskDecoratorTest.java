@@ -0,0 +1,59 @@
+package square.app.async;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.slf4j.MDC;
+
+import square.api.domain.headersdefinition.HeadersDefinition;
+
+public class MdcTaskDecoratorTest {
+
+  private final MdcTaskDecorator decorator = new MdcTaskDecorator();
+
+  @After
+  public void tearDown() {
+    MDC.clear();
+  }
+
+  @Test
+  public void decorate_ShouldWork_RunWithMdcOfSubmittingThread() throws InterruptedException {
+    final AtomicReference<String> breadcrumb = new AtomicReference<>();
+    MDC.put(HeadersDefinition.BREAD_CRUMB_ID, "breadcrumb");
+
+    final Runnable task = decorator.decorate(() -> breadcrumb.set(MDC.get(HeadersDefinition.BREAD_CRUMB_ID)));
+    MDC.clear();
+
+    final Thread thread = new Thread(task);
+    thread.start();
+    thread.join();
+
+    Assertions.assertThat(breadcrumb.get()).isEqualTo("breadcrumb");
+  }
+
+  @Test
+  public void decorate_ShouldWork_ClearMdcAfterRun() {
+    MDC.put(HeadersDefinition.BREAD_CRUMB_ID, "breadcrumb");
+    final Runnable task = decorator.decorate(() -> MDC.put("other", "value"));
+
+    task.run();
+
+    Assertions.assertThat(MDC.get(HeadersDefinition.BREAD_CRUMB_ID)).isNull();
+    Assertions.assertThat(MDC.get("other")).isNull();
+  }
+
+  @Test
+  public void decorate_ShouldWork_ClearLeftoverMdcWithoutContext() {
+    final AtomicReference<String> leftover = new AtomicReference<>();
+    final Runnable task = decorator.decorate(() -> leftover.set(MDC.get(HeadersDefinition.BREAD_CRUMB_ID)));
+    MDC.put(HeadersDefinition.BREAD_CRUMB_ID, "stale");
+
+    task.run();
+
+    Assertions.assertThat(leftover.get()).isNull();
+  }
+}
@@ -0,0 +1,102 @@
+package square.app.authentication;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.http.HttpStatus;
+
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.models.user.CreateUserRequest;
+import square.api.domain.models.user.UserDto;
+
+import square.app.BaseSpringBootTest;
+import square.app.domain.jpa.Users;
+import square.app.utils.StatementBudget;
+import square.app.utils.TestCheckers;
+import square.app.utils.TestUsers;
+
+public class AuthenticatedUserArgumentResolverTest extends BaseSpringBootTest {
+
+  private static final String NUMBER_URL = "/rest/number";
+
+  private static final String USER_URL = "/rest/user";
+
+  // The user is looked up once: user and token owner. Counting rotates the token (one update).
+  private static final StatementBudget COUNT_NUMBERS_BUDGET = StatementBudget.newBuilder()
+      .withSelect(3).withUpdate(1).build();
+
+  private CreateUserRequest.Builder requestBuilder;
+
+  private String token;
+
+  /**
+   * Before each test.
+   */
+  @Before
+  public void setUp() {
+    requestBuilder = TestUsers.createCorrectUserRequestBuilder();
+    token = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, requestBuilder.build(), UserDto.class).getToken();
+
+    final Users user = userRepository.findByEmail(requestBuilder.build().getEmail());
+    user.setEnabled(true);
+    userRepository.save(user);
+  }
+
+  @Test
+  public void getUser_ShouldWork_TokenInHeader() {
+    final UserDto response = httpGetWithToken(USER_URL + "/v1/getUser", token, HttpStatus.OK, UserDto.class);
+
+    Assertions.assertThat(response.getEmail()).isEqualTo(requestBuilder.build().getEmail());
+    Assertions.assertThat(response.getToken()).isEqualTo(token);
+  }
+
+  @Test
+  public void getUser_ShouldWork_TokenInPath() {
+    final UserDto response = httpGet(USER_URL + "/v1/getUser/" + token, HttpStatus.OK, UserDto.class);
+
+    Assertions.assertThat(response.getEmail()).isEqualTo(requestBuilder.build().getEmail());
+  }
+
+  @Test
+  public void getUser_ShouldWork_HeaderTokenBeforePathToken() {
+    final String otherToken = "0ac3b36d-183a-4f90-a47a-fa508cbe4c1a";
+
+    final UserDto response = httpGetWithToken(USER_URL + "/v1/getUser/" + otherToken, token, HttpStatus.OK,
+        UserDto.class);
+
+    Assertions.assertThat(response.getToken()).isEqualTo(token);
+  }
+
+  @Test
+  public void getUser_ShouldFail_NoTokenInHeaderOrPath() {
+    final ErrorInfo responseErr = httpGetError(USER_URL + "/v1/getUser", HttpStatus.BAD_REQUEST, ErrorInfo.class);
+
+    TestCheckers.checkErrorResponse(responseErr, ErrorCode.TOKEN_NULL_OR_EMPTY,
+        "getUser :: Token is null or empty with token: null");
+  }
+
+  @Test
+  public void countUserNumbers_ShouldWork_TokenInHeaderUserLookedUpOnce() {
+    final GenericMessageResponse response = httpGetWithToken(NUMBER_URL + "/v1/countUserNumbers", token,
+        HttpStatus.OK, GenericMessageResponse.class);
+    assertStatements(COUNT_NUMBERS_BUDGET);
+
+    Assertions.assertThat(response.getMessage()).isEqualTo("0");
+    Assertions.assertThat(response.getToken()).isNotEqualTo(token);
+  }
+
+  @Test
+  public void deleteUser_ShouldWork_TokenInHeaderUserNotActivated() {
+    final Users user = userRepository.findByEmail(requestBuilder.build().getEmail());
+    user.setEnabled(false);
+    userRepository.save(user);
+
+    httpGetWithToken(USER_URL + "/v1/deleteUser", token, HttpStatus.OK, GenericMessageResponse.class);
+
+    Assertions.assertThat(userRepository.findByEmail(requestBuilder.build().getEmail()).getUserDeleted()).isTrue();
+  }
+}
@@ -0,0 +1,133 @@
+package square.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.After;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.models.user.UserDto;
+
+import square.app.BaseSpringBootTest;
+import square.app.utils.SmtpStandIn;
+import square.app.utils.TestUsers;
+
+/**
+ * Registers and confirms users through the rest services while the emails are delivered to the in-process SMTP
+ * stand-in. Measures registration-to-delivery and confirmation-to-delivery latency and delivered messages per second,
+ * with the email settings of application.properties (poll interval, batch size, pool size).
+ */
+@ActiveProfiles({"smtp-standin"})
+public class EmailThroughputBenchmarkTest extends BaseSpringBootTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EmailThroughputBenchmarkTest.class);
+
+  private static final String EMAIL_URL = "/rest/email";
+
+  private static final String USER_URL = "/rest/user";
+
+  private static final int USERS = 500;
+
+  private static final int CLIENT_THREADS = 8;
+
+  private static final long AWAIT_MILLIS = 60_000L;
+
+  @Autowired
+  private SmtpStandIn smtpStandIn;
+
+  @After
+  public void tearDown() {
+    smtpStandIn.clearReceivedMessages();
+  }
+
+  // Long running. Run manually, compare the report before and after a change of the email pipeline.
+  @Ignore
+  @Test
+  public void registerAndConfirm_Benchmark_DeliveryLatencyAndThroughput() throws Exception {
+    final List<Long> registrationNanos = Collections.synchronizedList(new ArrayList<>());
+    final List<Long> confirmationNanos = Collections.synchronizedList(new ArrayList<>());
+    final ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+    final List<Future<?>> results = new ArrayList<>();
+
+    final long start = System.nanoTime();
+    for (int i = 0; i < USERS; i++) {
+      final int user = i;
+      results.add(clients.submit(() -> {
+        registerAndConfirm(user, registrationNanos, confirmationNanos);
+        return null;
+      }));
+    }
+
+    for (Future<?> result : results) {
+      result.get();
+    }
+    final long elapsed = System.nanoTime() - start;
+    clients.shutdown();
+
+    Assertions.assertThat(registrationNanos).hasSize(USERS);
+    Assertions.assertThat(confirmationNanos).hasSize(USERS);
+
+    LOGGER.info("-- EmailThroughputBenchmarkTest :: users: {}, client threads: {}, messages: {}, {} messages/s --",
+        USERS, CLIENT_THREADS, USERS * 2, USERS * 2 * TimeUnit.SECONDS.toNanos(1) / elapsed);
+    report("registration to delivery", registrationNanos);
+    report("confirmation to delivery", confirmationNanos);
+  }
+
+  private void registerAndConfirm(final int user, final List<Long> registrationNanos,
+      final List<Long> confirmationNanos) throws InterruptedException {
+    final String email = "bench" + user + "@squareit.com";
+
+    final long registrationStart = System.nanoTime();
+    final UserDto response = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK,
+        TestUsers.createCorrectUserRequestBuilder().withUserName("Bench_" + user).withEmail(email).build(),
+        UserDto.class);
+    httpGet(EMAIL_URL + "/v1/registrationEmail/" + response.getToken(), HttpStatus.OK,
+        GenericMessageResponse.class);
+    registrationNanos.add(awaitDelivery(email, 1) - registrationStart);
+
+    final long confirmationStart = System.nanoTime();
+    httpGet(EMAIL_URL + "/v1/confirmRegistration/" + response.getToken(), HttpStatus.OK,
+        GenericMessageResponse.class);
+    confirmationNanos.add(awaitDelivery(email, 2) - confirmationStart);
+  }
+
+  private long awaitDelivery(final String email, final int count) throws InterruptedException {
+    final SmtpStandIn.ReceivedMessage message = smtpStandIn.awaitMessage(email, count, AWAIT_MILLIS);
+    Assertions.assertThat(message).as("Email %d to %s not delivered", count, email).isNotNull();
+    return message.getReceivedNanos();
+  }
+
+  private void report(final String name, final List<Long> nanos) {
+    final List<Long> sorted = new ArrayList<>(nanos);
+    Collections.sort(sorted);
+
+    LOGGER.info("-- EmailThroughputBenchmarkTest :: {} ms: min {}, p50 {}, p90 {}, p99 {}, max {} --", name,
+        toMillis(sorted.get(0)), toMillis(percentile(sorted, 50)), toMillis(percentile(sorted, 90)),
+        toMillis(percentile(sorted, 99)), toMillis(sorted.get(sorted.size() - 1)));
+  }
+
+  private static long percentile(final List<Long> sorted, final int percentile) {
+    final int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+    return sorted.get(Math.max(0, index));
+  }
+
+  private static long toMillis(final long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+}
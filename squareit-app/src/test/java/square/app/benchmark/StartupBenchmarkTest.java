@@ -0,0 +1,163 @@
+package square.app.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import square.app.SquareItApplication;
+
+/**
+ * Time to first request of the application, started as it ships and with the fast-start profile. Every run starts a
+ * new JVM with the class path of the tests (dev profile, embedded database) and polls /actuator/health until it
+ * answers 200. With target/squareit-app.jsa of the cds build profile, the fast start is also measured with the class
+ * data sharing archive.
+ */
+public class StartupBenchmarkTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StartupBenchmarkTest.class);
+
+  private static final int RUNS = 5;
+
+  private static final long TIMEOUT_MS = TimeUnit.MINUTES.toMillis(3);
+
+  private static final Path CDS_ARCHIVE = Paths.get("target", "squareit-app.jsa");
+
+  // Spring 5.0's cglib defines its proxy classes by reflection, refused by JDK 16+ unless java.lang is opened. Java 8
+  // does not know the flag.
+  private static final List<String> OPEN_JAVA_LANG = System.getProperty("java.specification.version").startsWith("1.")
+      ? Collections.emptyList() : Collections.singletonList("--add-opens=java.base/java.lang=ALL-UNNAMED");
+
+  private static final List<String> FAST_START = Arrays.asList("--spring.profiles.active=dev,fast-start",
+      "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+
+  // Long running. Run manually.
+  @Ignore
+  @Test
+  public void startup_Benchmark_DefaultAgainstFastStart() throws Exception {
+    final List<Result> results = new ArrayList<>();
+    results.add(runMode("default", new ArrayList<>(), Arrays.asList("--spring.profiles.active=dev")));
+    results.add(runMode("fast-start", new ArrayList<>(), FAST_START));
+
+    if (Files.exists(CDS_ARCHIVE)) {
+      results.add(runMode("fast-start+cds", Arrays.asList("-XX:SharedArchiveFile=" + CDS_ARCHIVE.toAbsolutePath()),
+          FAST_START));
+    }
+
+    LOGGER.info("-- StartupBenchmarkTest :: runs: {} per mode --", RUNS);
+    results.forEach(result -> LOGGER.info("-- {} --", result));
+  }
+
+  private static Result runMode(final String mode, final List<String> jvmArguments, final List<String> arguments)
+      throws Exception {
+    final Result result = new Result(mode);
+
+    for (int i = 0; i < RUNS; i++) {
+      result.record(timeToFirstRequest(jvmArguments, arguments));
+    }
+
+    return result;
+  }
+
+  private static long timeToFirstRequest(final List<String> jvmArguments, final List<String> arguments)
+      throws Exception {
+    final int port = freePort();
+    final List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(OPEN_JAVA_LANG);
+    command.addAll(jvmArguments);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(SquareItApplication.class.getName());
+    command.addAll(arguments);
+    command.add("--server.port=" + port);
+    command.add("--project.email.polling-enabled=false");
+    command.add("--logging.level.root=WARN");
+
+    final long start = System.nanoTime();
+    final Process process = new ProcessBuilder(command)
+        .redirectErrorStream(true)
+        .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "squareit-startup.log"))
+        .start();
+
+    try {
+      final URL health = new URL("http://localhost:" + port + "/actuator/health");
+      final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+
+      while (System.currentTimeMillis() < deadline) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException("StartupBenchmarkTest :: Application exited: " + process.exitValue());
+        }
+        if (isUp(health)) {
+          return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+        Thread.sleep(10);
+      }
+
+      throw new IllegalStateException("StartupBenchmarkTest :: Application not up after " + TIMEOUT_MS + " ms");
+    } finally {
+      process.destroy();
+      process.waitFor(30, TimeUnit.SECONDS);
+    }
+  }
+
+  private static boolean isUp(final URL health) {
+    try {
+      final HttpURLConnection connection = (HttpURLConnection) health.openConnection();
+      connection.setConnectTimeout(100);
+      try {
+        return connection.getResponseCode() == 200;
+      } finally {
+        connection.disconnect();
+      }
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static final class Result {
+
+    private final String mode;
+
+    private final List<Long> times = new ArrayList<>();
+
+    private Result(final String mode) {
+      this.mode = mode;
+    }
+
+    private void record(final long time) {
+      times.add(time);
+    }
+
+    @Override
+    public String toString() {
+      final long[] sorted = times.stream().mapToLong(Long::longValue).toArray();
+      Arrays.sort(sorted);
+
+      return mode + " :: time to first request: min " + sorted[0] + " ms"
+          + ", median " + sorted[sorted.length / 2] + " ms"
+          + ", max " + sorted[sorted.length - 1] + " ms";
+    }
+  }
+}
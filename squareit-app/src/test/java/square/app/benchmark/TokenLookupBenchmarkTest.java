@@ -0,0 +1,107 @@
+package square.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.After;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import square.app.BaseSpringBootTest;
+import square.app.converters.TokenBinaryConverter;
+import square.app.service.UserService;
+
+/**
+ * Measures the latency of the token lookup, which every authenticated rest-service starts with, over a large user
+ * table. Compare the results before and after a change of the token or timestamp columns.
+ */
+public class TokenLookupBenchmarkTest extends BaseSpringBootTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TokenLookupBenchmarkTest.class);
+
+  private static final int USER_COUNT = 100_000;
+
+  private static final int LOOKUPS = 10_000;
+
+  private static final int INSERT_BATCH_SIZE = 10_000;
+
+  private static final long FIRST_ID = 1_000_000L;
+
+  private final TokenBinaryConverter tokenConverter = new TokenBinaryConverter();
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /**
+   * Removes the users and tokens with one statement each instead of one delete per row.
+   */
+  @After
+  public void tearDown() {
+    jdbcTemplate.update("DELETE FROM user");
+    jdbcTemplate.update("DELETE FROM token");
+  }
+
+  // Long running. Run manually.
+  @Ignore
+  @Test
+  public void getUserByToken_Benchmark_LookupLatency() {
+    final List<String> tokens = insertUsers();
+
+    // Warm up, then measure.
+    lookup(tokens, LOOKUPS);
+    final long start = System.nanoTime();
+    lookup(tokens, LOOKUPS);
+    final long average = (System.nanoTime() - start) / LOOKUPS;
+
+    LOGGER.info("-- TokenLookupBenchmarkTest :: users: {}, average lookup: {} us --", USER_COUNT,
+        TimeUnit.NANOSECONDS.toMicros(average));
+  }
+
+  private void lookup(final List<String> tokens, final int times) {
+    for (int i = 0; i < times; i++) {
+      final String token = tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+      Assertions.assertThat(userService.getUserByToken(token)).isNotNull();
+    }
+  }
+
+  private List<String> insertUsers() {
+    final List<String> tokens = new ArrayList<>();
+    final long now = System.currentTimeMillis();
+
+    for (int batchStart = 0; batchStart < USER_COUNT; batchStart += INSERT_BATCH_SIZE) {
+      final List<Object[]> tokenRows = new ArrayList<>();
+      final List<Object[]> userRows = new ArrayList<>();
+
+      for (long i = batchStart; i < Math.min(USER_COUNT, batchStart + INSERT_BATCH_SIZE); i++) {
+        final long id = FIRST_ID + i;
+        final String token = UUID.randomUUID().toString();
+        tokens.add(token);
+
+        tokenRows.add(new Object[]{id, tokenConverter.convertToDatabaseColumn(token), now + 86_400_000L, now});
+        userRows.add(new Object[]{id, "user" + i, "First", "Last", "user" + i + "@email.com", "password",
+            "USER_ROLE", true, now, false, id});
+      }
+
+      jdbcTemplate.batchUpdate("INSERT INTO token (id, token, expiryDate, refreshToken) VALUES (?, ?, ?, ?)",
+          tokenRows);
+      jdbcTemplate.batchUpdate("INSERT INTO user (id, userName, firstName, lastName, email, password, role, enabled, "
+          + "createdDate, userDeleted, fk_verificationToken) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", userRows);
+    }
+
+    return tokens;
+  }
+}
@@ -0,0 +1,100 @@
+package square.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.After;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import square.app.BaseSpringBootTest;
+import square.app.constants.TokenRequestType;
+import square.app.domain.jpa.Users;
+import square.app.service.UserService;
+import square.app.utils.TestUsers;
+
+/**
+ * Measures the latency of saving a user while the number of numbers owned by the user grows. Saving a user must not
+ * depend on the size of its number collection.
+ */
+public class UserSaveBenchmarkTest extends BaseSpringBootTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UserSaveBenchmarkTest.class);
+
+  private static final int[] NUMBER_COUNTS = {10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+  private static final int SAVES_PER_ROUND = 200;
+
+  private static final int INSERT_BATCH_SIZE = 10_000;
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /**
+   * Removes the numbers with one statement instead of one delete per row.
+   */
+  @After
+  public void tearDown() {
+    jdbcTemplate.update("DELETE FROM number");
+  }
+
+  // Long running (one million rows). Run manually.
+  @Ignore
+  @Test
+  public void saveUser_Benchmark_LatencyIsIndependentOfNumberCount() {
+    Users user = userService.createUser(TestUsers.createCorrectUserRequestBuilder(true).build());
+    int insertedNumbers = 0;
+    final List<Long> averageNanos = new ArrayList<>();
+
+    for (int numberCount : NUMBER_COUNTS) {
+      insertNumbers(user, insertedNumbers, numberCount);
+      insertedNumbers = numberCount;
+
+      // Warm up, then measure.
+      user = saveUser(user, SAVES_PER_ROUND);
+      final long start = System.nanoTime();
+      user = saveUser(user, SAVES_PER_ROUND);
+      final long average = (System.nanoTime() - start) / SAVES_PER_ROUND;
+
+      averageNanos.add(average);
+      LOGGER.info("-- UserSaveBenchmarkTest :: numbers: {}, average save: {} us --", numberCount,
+          TimeUnit.NANOSECONDS.toMicros(average));
+    }
+
+    // A save with a million numbers may not cost an order of magnitude more than with ten.
+    Assertions.assertThat(averageNanos.get(averageNanos.size() - 1)).isLessThan(averageNanos.get(0) * 10);
+  }
+
+  private Users saveUser(final Users user, final int times) {
+    Users savedUser = user;
+    for (int i = 0; i < times; i++) {
+      savedUser = userService.generateToken(savedUser, TokenRequestType.UPDATE_TOKEN);
+    }
+
+    return savedUser;
+  }
+
+  private void insertNumbers(final Users user, final int from, final int to) {
+    for (int batchStart = from; batchStart < to; batchStart += INSERT_BATCH_SIZE) {
+      final List<Object[]> rows = new ArrayList<>();
+      for (long number = batchStart; number < Math.min(to, batchStart + INSERT_BATCH_SIZE); number++) {
+        rows.add(new Object[]{user.getId(), number, false, user.getId()});
+      }
+
+      jdbcTemplate.batchUpdate("INSERT INTO number (userIdUnique, number, deletedNumber, user) VALUES (?, ?, ?, ?)",
+          rows);
+    }
+  }
+}
@@ -0,0 +1,212 @@
+package square.app.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assume;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.resources.PoolResources;
+
+import square.api.domain.headersdefinition.HeadersDefinition;
+import square.api.domain.models.number.CreateNumberRequest;
+
+import square.app.SquareItApplication;
+import square.app.async.VirtualThreads;
+import square.app.converters.TokenBinaryConverter;
+
+/**
+ * Throughput and p99 latency of the number services at 1k to 10k concurrent clients, with platform threads and in
+ * the virtual thread mode. Each mode starts the application in this JVM (dev profile, embedded database) with the
+ * workload and connection pool sizes it ships with. Every client is one user that keeps its connection open and saves
+ * and lists numbers with the token of the last response. Failed calls, e.g. 503 of a full workload queue, are
+ * counted as errors. The virtual thread mode needs Java 21+.
+ */
+public class VirtualThreadLoadBenchmarkTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadLoadBenchmarkTest.class);
+
+  private static final int[] CLIENTS = {1_000, 2_500, 5_000, 10_000};
+
+  private static final Duration WARM_UP = Duration.ofSeconds(10);
+
+  private static final Duration RUN = Duration.ofSeconds(30);
+
+  private static final String NUMBER_URL = "/rest/number";
+
+  private static final AtomicLong NEXT_ID = new AtomicLong(1_000_000L);
+
+  private final TokenBinaryConverter tokenConverter = new TokenBinaryConverter();
+
+  // Long running. Run manually.
+  @Ignore
+  @Test
+  public void numberServices_Benchmark_PlatformAgainstVirtualThreads() {
+    Assume.assumeTrue("Virtual threads need Java 21+", VirtualThreads.isSupported());
+
+    final List<Result> results = new ArrayList<>();
+    results.addAll(runMode("platform", "dev"));
+    results.addAll(runMode("virtual", "dev", "virtual"));
+
+    LOGGER.info("-- VirtualThreadLoadBenchmarkTest :: run: {} s per level --", RUN.getSeconds());
+    results.forEach(result -> LOGGER.info("-- {} --", result));
+  }
+
+  private List<Result> runMode(final String mode, final String... profiles) {
+    final List<Result> results = new ArrayList<>();
+
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SquareItApplication.class)
+        .profiles(profiles)
+        .properties("server.port=0", "server.tomcat.max-connections=20000", "spring.jpa.show-sql=false",
+            "logging.level.square=WARN", "project.email.polling-enabled=false")
+        .run()) {
+      final JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+      final String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+      for (final int clients : CLIENTS) {
+        final WebClient webClient = WebClient.builder()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(options -> options
+                .poolResources(PoolResources.fixed(mode + "-" + clients, clients))))
+            .build();
+
+        final List<String> tokens = insertUsers(jdbcTemplate, clients);
+        final List<String> warmTokens = load(webClient, tokens, WARM_UP, new Result(mode, clients));
+
+        final Result result = new Result(mode, clients);
+        final long start = System.nanoTime();
+        load(webClient, warmTokens, RUN, result);
+        result.finish(System.nanoTime() - start);
+        results.add(result);
+      }
+    }
+
+    return results;
+  }
+
+  private static List<String> load(final WebClient webClient, final List<String> tokens, final Duration duration,
+      final Result result) {
+    final long deadline = System.nanoTime() + duration.toNanos();
+
+    return Flux.fromIterable(tokens)
+        .flatMap(token -> Mono.just(token)
+            .expand(current -> System.nanoTime() < deadline ? saveAndList(webClient, current, result) : Mono.empty())
+            .last(), tokens.size())
+        .collectList()
+        .block();
+  }
+
+  private static Mono<String> saveAndList(final WebClient webClient, final String token, final Result result) {
+    return timed(webClient.put()
+        .uri(NUMBER_URL + "/v1/saveNumber")
+        .contentType(MediaType.APPLICATION_JSON)
+        .syncBody(CreateNumberRequest.newBuilder().withNumber(7L).withToken(token).build())
+        .retrieve()
+        .bodyToMono(JsonNode.class), result)
+        .flatMap(saved -> timed(webClient.get()
+            .uri(NUMBER_URL + "/v1/getUserNumbers/{indexPage}", 0)
+            .header(HeadersDefinition.AUTH_TOKEN, saved.get("token").asText())
+            .retrieve()
+            .bodyToMono(JsonNode.class), result))
+        .map(numbers -> numbers.get(0).get("token").asText())
+        .onErrorResume(e -> {
+          // The token of a failed call is unknown, the client stops.
+          result.errors.incrementAndGet();
+          return Mono.empty();
+        });
+  }
+
+  private static <T> Mono<T> timed(final Mono<T> call, final Result result) {
+    return Mono.defer(() -> {
+      final long start = System.nanoTime();
+      return call.doOnSuccess(response -> result.record(System.nanoTime() - start));
+    });
+  }
+
+  private List<String> insertUsers(final JdbcTemplate jdbcTemplate, final int count) {
+    final List<String> tokens = new ArrayList<>();
+    final List<Object[]> tokenRows = new ArrayList<>();
+    final List<Object[]> userRows = new ArrayList<>();
+    final long now = System.currentTimeMillis();
+
+    for (int i = 0; i < count; i++) {
+      final long id = NEXT_ID.incrementAndGet();
+      final String token = UUID.randomUUID().toString();
+      tokens.add(token);
+
+      tokenRows.add(new Object[]{id, tokenConverter.convertToDatabaseColumn(token), now + 86_400_000L, now});
+      userRows.add(new Object[]{id, "user" + id, "First", "Last", "user" + id + "@email.com", "password",
+          "USER_ROLE", true, now, false, id});
+    }
+
+    jdbcTemplate.batchUpdate("INSERT INTO token (id, token, expiryDate, refreshToken) VALUES (?, ?, ?, ?)",
+        tokenRows);
+    jdbcTemplate.batchUpdate("INSERT INTO user (id, userName, firstName, lastName, email, password, role, enabled, "
+        + "createdDate, userDeleted, fk_verificationToken) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", userRows);
+    return tokens;
+  }
+
+  private static final class Result {
+
+    private final String mode;
+
+    private final int clients;
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private final List<Long> latencies = new ArrayList<>();
+
+    private long elapsed;
+
+    private Result(final String mode, final int clients) {
+      this.mode = mode;
+      this.clients = clients;
+    }
+
+    private synchronized void record(final long latency) {
+      latencies.add(latency);
+    }
+
+    private void finish(final long elapsed) {
+      this.elapsed = elapsed;
+    }
+
+    private long percentileMicros(final long[] sorted, final double percentile) {
+      return sorted.length == 0 ? 0
+          : TimeUnit.NANOSECONDS.toMicros(sorted[(int) Math.min(sorted.length - 1, sorted.length * percentile)]);
+    }
+
+    @Override
+    public synchronized String toString() {
+      final long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+      Arrays.sort(sorted);
+
+      return mode + " :: clients: " + clients
+          + ", requests: " + sorted.length
+          + ", errors: " + errors.get()
+          + ", requests/s: " + sorted.length * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsed)
+          + ", p50: " + percentileMicros(sorted, 0.50) + " us"
+          + ", p99: " + percentileMicros(sorted, 0.99) + " us";
+    }
+  }
+}
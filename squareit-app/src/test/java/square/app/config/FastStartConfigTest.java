@@ -0,0 +1,53 @@
+package square.app.config;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import springfox.documentation.spring.web.plugins.Docket;
+
+import square.api.domain.models.user.UserDto;
+
+import square.app.BaseSpringBootTest;
+import square.app.utils.TestUsers;
+
+/**
+ * The application in the fast-start mode. Liquibase is turned on again, the embedded test database has no other
+ * migration, and the dialect is set: the mode does not read it from the database metadata.
+ */
+@ActiveProfiles({"fast-start"})
+@TestPropertySource(properties = {"spring.liquibase.enabled=true",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"})
+public class FastStartConfigTest extends BaseSpringBootTest {
+
+  @Autowired
+  private ConfigurableListableBeanFactory beanFactory;
+
+  @Test
+  public void fastStart_ShouldWork_NoSwaggerScan() {
+    Assertions.assertThat(beanFactory.getBeanNamesForType(Docket.class)).isEmpty();
+  }
+
+  @Test
+  public void fastStart_ShouldWork_RequestPathEagerOtherBeansLazy() {
+    Assertions.assertThat(beanFactory.getBeanDefinition("numberRestController").isLazyInit()).isFalse();
+    Assertions.assertThat(beanFactory.containsSingleton("numberServiceImpl")).isTrue();
+    Assertions.assertThat(beanFactory.getBeanDefinition("emailOutboxWorker").isLazyInit()).isFalse();
+    Assertions.assertThat(beanFactory.getBeanDefinitionNames())
+        .anyMatch(beanName -> beanFactory.getBeanDefinition(beanName).isLazyInit());
+  }
+
+  @Test
+  public void fastStart_ShouldWork_UserRequest() {
+    final UserDto user = httpPut("/rest/user/v1/upsertUser", HttpStatus.OK,
+        TestUsers.createCorrectUserRequestBuilder().build(), UserDto.class);
+
+    Assertions.assertThat(user.getToken()).hasSize(36);
+  }
+}
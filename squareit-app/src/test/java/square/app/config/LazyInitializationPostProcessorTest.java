@@ -0,0 +1,78 @@
+package square.app.config;
+
+import javax.annotation.PostConstruct;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+
+public class LazyInitializationPostProcessorTest {
+
+  @Test
+  public void isLazyCandidate_ShouldWork_PlainComponent() {
+    Assertions.assertThat(LazyInitializationPostProcessor.isLazyCandidate(definition(PlainComponent.class)))
+        .isTrue();
+  }
+
+  @Test
+  public void isLazyCandidate_ShouldFail_RequestPathAndStartupWork() {
+    Assertions.assertThat(LazyInitializationPostProcessor.isLazyCandidate(definition(Controller.class))).isFalse();
+    Assertions.assertThat(LazyInitializationPostProcessor.isLazyCandidate(definition(StartupComponent.class)))
+        .isFalse();
+    Assertions.assertThat(LazyInitializationPostProcessor.isLazyCandidate(definition(ScheduledComponent.class)))
+        .isFalse();
+    Assertions.assertThat(LazyInitializationPostProcessor.isLazyCandidate(definition(EagerComponent.class)))
+        .isFalse();
+  }
+
+  @Test
+  public void isLazyCandidate_ShouldFail_InfrastructureDefinitions() {
+    final BeanDefinition infrastructure = definition(PlainComponent.class);
+    infrastructure.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+
+    Assertions.assertThat(LazyInitializationPostProcessor.isLazyCandidate(infrastructure)).isFalse();
+    Assertions.assertThat(LazyInitializationPostProcessor.isLazyCandidate(new RootBeanDefinition(PlainComponent.class)))
+        .isFalse();
+  }
+
+  private static BeanDefinition definition(final Class<?> type) {
+    return new AnnotatedGenericBeanDefinition(type);
+  }
+
+  @Component
+  static class PlainComponent {
+  }
+
+  @RestController
+  static class Controller {
+  }
+
+  @Component
+  static class StartupComponent {
+
+    @PostConstruct
+    void start() {
+    }
+  }
+
+  @Component
+  static class ScheduledComponent {
+
+    @Scheduled(fixedDelay = 1000L)
+    void poll() {
+    }
+  }
+
+  @Component
+  @Lazy(false)
+  static class EagerComponent {
+  }
+}
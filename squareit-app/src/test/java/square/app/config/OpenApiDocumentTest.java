@@ -0,0 +1,32 @@
+package square.app.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import org.springframework.http.HttpStatus;
+
+import square.api.domain.util.JsonUtil;
+
+import square.app.BaseSpringBootTest;
+
+/**
+ * The api document that OpenApiDocumentWriter writes for the package: the Swagger document of the rest controllers
+ * only.
+ */
+public class OpenApiDocumentTest extends BaseSpringBootTest {
+
+  @Test
+  public void apiDocument_ShouldWork_OnlyRestControllers() throws IOException {
+    final String document = httpGet("/v2/api-docs", HttpStatus.OK, String.class);
+    final JsonNode paths = JsonUtil.readObject(document, JsonNode.class).get("paths");
+
+    Assertions.assertThat(paths.has("/rest/number/v1/saveNumber")).isTrue();
+    Assertions.assertThat(paths.has("/rest/v1/batch")).isTrue();
+    Assertions.assertThat(paths.has("/actuator/health")).as("Only the rest controllers").isFalse();
+  }
+}
@@ -0,0 +1,43 @@
+package square.app.converters;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import square.app.constants.TimeConstants;
+
+public class EpochMillisConverterTest {
+
+  private final EpochMillisConverter converter = new EpochMillisConverter();
+
+  @Test
+  public void convert_ShouldWork_TimeRoundTripsInMilliseconds() {
+    final ZonedDateTime now = ZonedDateTime.now(ZoneId.of(TimeConstants.SERVER_TIMEZONE_UTC))
+        .truncatedTo(ChronoUnit.MILLIS);
+
+    final Long epochMillis = converter.convertToDatabaseColumn(now);
+
+    Assertions.assertThat(epochMillis).isEqualTo(now.toInstant().toEpochMilli());
+    Assertions.assertThat(converter.convertToEntityAttribute(epochMillis)).isEqualTo(now);
+  }
+
+  @Test
+  public void convert_ShouldWork_OtherTimezonesAreReadBackInUtc() {
+    final ZonedDateTime stockholm = ZonedDateTime.now(ZoneId.of("Europe/Stockholm")).truncatedTo(ChronoUnit.MILLIS);
+
+    final ZonedDateTime utc = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(stockholm));
+
+    Assertions.assertThat(utc.getZone()).isEqualTo(ZoneId.of(TimeConstants.SERVER_TIMEZONE_UTC));
+    Assertions.assertThat(utc.toInstant()).isEqualTo(stockholm.toInstant());
+  }
+
+  @Test
+  public void convert_ShouldWork_NullStaysNull() {
+    Assertions.assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    Assertions.assertThat(converter.convertToEntityAttribute(null)).isNull();
+  }
+}
@@ -0,0 +1,37 @@
+package square.app.converters;
+
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+public class TokenBinaryConverterTest {
+
+  private final TokenBinaryConverter converter = new TokenBinaryConverter();
+
+  @Test
+  public void convert_ShouldWork_TokenRoundTripsThroughSixteenBytes() {
+    final String token = UUID.randomUUID().toString();
+
+    final byte[] tokenBytes = converter.convertToDatabaseColumn(token);
+
+    Assertions.assertThat(tokenBytes).hasSize(16);
+    Assertions.assertThat(converter.convertToEntityAttribute(tokenBytes)).isEqualTo(token);
+  }
+
+  @Test
+  public void convert_ShouldWork_NullStaysNull() {
+    Assertions.assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    Assertions.assertThat(converter.convertToEntityAttribute(null)).isNull();
+  }
+
+  @Test
+  public void convert_ShouldWork_MalformedTokenIsTheNilUuid() {
+    final byte[] nilUuid = new byte[16];
+
+    Assertions.assertThat(converter.convertToDatabaseColumn("tokentokentokentokentokentokentoken3"))
+        .isEqualTo(nilUuid);
+    Assertions.assertThat(converter.convertToDatabaseColumn("token")).isEqualTo(nilUuid);
+  }
+}
@@ -0,0 +1,50 @@
+package square.app.domain;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import square.app.SquareItApplication;
+
+/**
+ * Starts the application with the prod properties against MySQL: Liquibase migrates the schema and Hibernate validates
+ * the entities against it (ddl-auto=validate). H2 reports binary columns differently, the other tests cannot catch a
+ * mismatch of the column types.
+ *
+ * <p>Runs when squareit.jdbc.url is set, e.g. -Dsquareit.jdbc.url=jdbc:mysql://localhost:3306/squareit_validate, with
+ * squareit.jdbc.username and squareit.jdbc.password. Use an empty or a migrated database.
+ */
+public class MySqlSchemaValidationTest {
+
+  private static final String JDBC_URL = System.getProperty("squareit.jdbc.url");
+
+  @Test
+  public void schema_ShouldWork_MigratedMySqlSchemaValidates() throws SQLException {
+    Assume.assumeTrue("MySQL schema validation needs -Dsquareit.jdbc.url", JDBC_URL != null);
+
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SquareItApplication.class)
+        .properties("spring.datasource.url=" + JDBC_URL + "?useSSL=false&serverTimezone=UTC",
+            "spring.datasource.username=" + System.getProperty("squareit.jdbc.username", ""),
+            "spring.datasource.password=" + System.getProperty("squareit.jdbc.password", ""),
+            "server.port=0", "project.email.polling-enabled=false")
+        .run()) {
+      try (Connection connection = context.getBean(DataSource.class).getConnection();
+          ResultSet column = connection.getMetaData().getColumns(connection.getCatalog(), null, "token", "token")) {
+        Assertions.assertThat(column.next()).isTrue();
+        Assertions.assertThat(column.getInt("DATA_TYPE")).isEqualTo(Types.VARBINARY);
+        Assertions.assertThat(column.getInt("COLUMN_SIZE")).isEqualTo(16);
+      }
+    }
+  }
+}
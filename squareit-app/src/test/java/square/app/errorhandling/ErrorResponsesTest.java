@@ -0,0 +1,64 @@
+package square.app.errorhandling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.slf4j.MDC;
+
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.headersdefinition.HeadersDefinition;
+
+import square.app.exceptions.TimeException;
+import square.app.exceptions.TokenExpiredException;
+
+public class ErrorResponsesTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final ErrorResponses errorResponses = new ErrorResponses(meterRegistry);
+
+  @After
+  public void tearDown() {
+    MDC.clear();
+  }
+
+  @Test
+  public void errorInfo_ShouldWork_BuildErrorInfoWithReferenceId() {
+    MDC.put(HeadersDefinition.BREAD_CRUMB_ID, "breadcrumb");
+
+    final ErrorInfo errorInfo = errorResponses.errorInfo(ErrorCode.TOKEN_EXPIRED, "expired");
+
+    Assertions.assertThat(errorInfo.getErrorCode()).isEqualTo(ErrorCode.TOKEN_EXPIRED);
+    Assertions.assertThat(errorInfo.getErrorDescription()).isEqualTo("expired");
+    Assertions.assertThat(errorInfo.getReferenceId()).isEqualTo("breadcrumb");
+  }
+
+  @Test
+  public void errorInfo_ShouldWork_CountPerErrorCode() {
+    errorResponses.errorInfo(ErrorCode.TOKEN_EXPIRED, "expired");
+    errorResponses.errorInfo(ErrorCode.TOKEN_EXPIRED, "expired");
+    errorResponses.errorInfo(ErrorCode.USER_NOT_FOUND, "not found");
+    errorResponses.errorInfo(null, "no code");
+
+    Assertions.assertThat(count(ErrorCode.TOKEN_EXPIRED.name())).isEqualTo(2.0);
+    Assertions.assertThat(count(ErrorCode.USER_NOT_FOUND.name())).isEqualTo(1.0);
+    Assertions.assertThat(count(ErrorCode.NUMBER_NOT_FOUND.name())).isEqualTo(0.0);
+    Assertions.assertThat(count(ErrorResponses.NO_CODE)).isEqualTo(1.0);
+  }
+
+  @Test
+  public void expectedFailure_ShouldWork_NoStackTrace() {
+    Assertions.assertThat(new TokenExpiredException("expired").getStackTrace()).isEmpty();
+    Assertions.assertThat(new TimeException("time").getStackTrace()).isNotEmpty();
+  }
+
+  private double count(final String code) {
+    return meterRegistry.get(ErrorResponses.METRIC).tag("code", code).counter().count();
+  }
+}
@@ -0,0 +1,201 @@
+package square.app.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.internet.MimeMessage;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import square.app.utils.SmtpStandIn;
+
+public class PooledSmtpMailSenderTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PooledSmtpMailSenderTest.class);
+
+  private SmtpStandIn smtpServer;
+
+  private PooledSmtpMailSender pooledSender;
+
+  /**
+   * Before each test.
+   */
+  @Before
+  public void setUp() throws Exception {
+    smtpServer = new SmtpStandIn(0L);
+    pooledSender = new PooledSmtpMailSender(createMailSender(smtpServer), 2, 30_000L, 100);
+  }
+
+  /**
+   * After each test.
+   */
+  @After
+  public void tearDown() throws Exception {
+    pooledSender.close();
+    smtpServer.close();
+  }
+
+  @Test
+  public void sendBatch_ShouldWork_OneConnectionForTheWholeBatch() throws MessagingException {
+    final Map<MimeMessage, Exception> failures = pooledSender.sendBatch(createMessages(pooledSender, 5));
+
+    Assertions.assertThat(failures).isEmpty();
+    Assertions.assertThat(smtpServer.getMessages()).isEqualTo(5);
+    Assertions.assertThat(smtpServer.getConnections()).isEqualTo(1);
+    Assertions.assertThat(pooledSender.getIdleConnections()).isEqualTo(1);
+  }
+
+  @Test
+  public void sendBatch_ShouldWork_ConnectionIsReusedByTheNextBatch() throws MessagingException {
+    pooledSender.sendBatch(createMessages(pooledSender, 3));
+    pooledSender.sendBatch(createMessages(pooledSender, 3));
+
+    Assertions.assertThat(smtpServer.getMessages()).isEqualTo(6);
+    Assertions.assertThat(smtpServer.getConnections()).isEqualTo(1);
+  }
+
+  @Test
+  public void sendBatch_ShouldWork_ReconnectsWhenTheServerDroppedTheConnection() throws Exception {
+    pooledSender.sendBatch(createMessages(pooledSender, 1));
+    smtpServer.dropConnections();
+
+    final Map<MimeMessage, Exception> failures = pooledSender.sendBatch(createMessages(pooledSender, 2));
+
+    Assertions.assertThat(failures).isEmpty();
+    Assertions.assertThat(smtpServer.getMessages()).isEqualTo(3);
+    Assertions.assertThat(smtpServer.getConnections()).isEqualTo(2);
+  }
+
+  @Test
+  public void sendBatch_ShouldWork_RefusedRecipientKeepsTheNewConnection() throws MessagingException {
+    final List<MimeMessage> messages = createMessages(pooledSender, 3);
+    messages.get(0).setRecipients(Message.RecipientType.TO, "nobody" + SmtpStandIn.REFUSED_DOMAIN);
+
+    final Map<MimeMessage, Exception> failures = pooledSender.sendBatch(messages);
+
+    Assertions.assertThat(failures).containsOnlyKeys(messages.get(0));
+    Assertions.assertThat(failures.get(messages.get(0))).isInstanceOf(SendFailedException.class);
+    Assertions.assertThat(smtpServer.getMessages()).isEqualTo(2);
+    Assertions.assertThat(smtpServer.getConnections()).isEqualTo(1);
+    Assertions.assertThat(pooledSender.getIdleConnections()).isEqualTo(1);
+  }
+
+  @Test
+  public void sendBatch_ShouldWork_RefusedRecipientAfterReconnectKeepsTheNewConnection() throws Exception {
+    pooledSender.sendBatch(createMessages(pooledSender, 1));
+    smtpServer.dropConnections();
+
+    final List<MimeMessage> messages = createMessages(pooledSender, 1);
+    messages.get(0).setRecipients(Message.RecipientType.TO, "nobody" + SmtpStandIn.REFUSED_DOMAIN);
+    final Map<MimeMessage, Exception> failures = pooledSender.sendBatch(messages);
+
+    Assertions.assertThat(failures).containsOnlyKeys(messages.get(0));
+    Assertions.assertThat(smtpServer.getConnections()).isEqualTo(2);
+    Assertions.assertThat(pooledSender.getIdleConnections()).isEqualTo(1);
+
+    pooledSender.sendBatch(createMessages(pooledSender, 1));
+    Assertions.assertThat(smtpServer.getConnections()).isEqualTo(2);
+  }
+
+  @Test
+  public void sendBatch_ShouldWork_IdleConnectionIsReplaced() throws Exception {
+    pooledSender.close();
+    pooledSender = new PooledSmtpMailSender(createMailSender(smtpServer), 2, 0L, 100);
+
+    pooledSender.sendBatch(createMessages(pooledSender, 1));
+    Thread.sleep(5);
+    pooledSender.sendBatch(createMessages(pooledSender, 1));
+
+    Assertions.assertThat(smtpServer.getMessages()).isEqualTo(2);
+    Assertions.assertThat(smtpServer.getConnections()).isEqualTo(2);
+  }
+
+  @Test
+  public void sendBatch_ShouldWork_ConnectionIsReplacedAfterMaxMessages() throws MessagingException {
+    pooledSender.close();
+    pooledSender = new PooledSmtpMailSender(createMailSender(smtpServer), 2, 30_000L, 2);
+
+    final Map<MimeMessage, Exception> failures = pooledSender.sendBatch(createMessages(pooledSender, 5));
+
+    Assertions.assertThat(failures).isEmpty();
+    Assertions.assertThat(smtpServer.getMessages()).isEqualTo(5);
+    Assertions.assertThat(smtpServer.getConnections()).isEqualTo(3);
+  }
+
+  /**
+   * Compares one connection per message (JavaMailSenderImpl.send) with batches over pooled connections. The stand-in
+   * delays every new connection to simulate the TCP, TLS and AUTH handshake of a remote server. The sender alone,
+   * EmailThroughputBenchmarkTest measures the whole outbox pipeline.
+   */
+  // Long running. Run manually.
+  @Ignore
+  @Test
+  public void benchmark_SendThroughput() throws Exception {
+    final int messages = 200;
+    final int batchSize = 10;
+
+    try (SmtpStandIn slowServer = new SmtpStandIn(20L)) {
+      final JavaMailSenderImpl mailSender = createMailSender(slowServer);
+      final PooledSmtpMailSender pooled = new PooledSmtpMailSender(mailSender, 2, 30_000L, 100);
+
+      long start = System.nanoTime();
+      for (MimeMessage message : createMessages(pooled, messages)) {
+        mailSender.send(message);
+      }
+      final long perMessageNanos = System.nanoTime() - start;
+      final int perMessageConnections = slowServer.getConnections();
+
+      final List<MimeMessage> all = createMessages(pooled, messages);
+      start = System.nanoTime();
+      for (int i = 0; i < messages; i += batchSize) {
+        pooled.sendBatch(all.subList(i, i + batchSize));
+      }
+      final long pooledNanos = System.nanoTime() - start;
+      pooled.close();
+
+      LOGGER.info("-- PooledSmtpMailSenderTest :: per message: {} messages/s over {} connections --",
+          messages * 1_000_000_000L / perMessageNanos, perMessageConnections);
+      LOGGER.info("-- PooledSmtpMailSenderTest :: pooled: {} messages/s over {} connections --",
+          messages * 1_000_000_000L / pooledNanos, slowServer.getConnections() - perMessageConnections);
+    }
+  }
+
+  private static JavaMailSenderImpl createMailSender(final SmtpStandIn server) {
+    final JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("localhost");
+    mailSender.setPort(server.getPort());
+    return mailSender;
+  }
+
+  private static List<MimeMessage> createMessages(final BatchMailSender sender, final int count)
+      throws MessagingException {
+    final List<MimeMessage> messages = new ArrayList<>();
+
+    for (int i = 0; i < count; i++) {
+      final MimeMessage message = sender.createMimeMessage();
+      final MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+      helper.setFrom("noreply@squareit.test");
+      helper.setTo("user" + i + "@squareit.test");
+      helper.setSubject("Subject " + i);
+      helper.setText("<p>Body " + i + "</p>", true);
+      messages.add(message);
+    }
+
+    return messages;
+  }
+}
@@ -0,0 +1,32 @@
+package square.app.monitoring;
+
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import org.springframework.http.HttpStatus;
+
+import square.api.domain.models.user.UserDto;
+
+import square.app.BaseSpringBootTest;
+import square.app.utils.TestUsers;
+
+public class HibernateStatisticsEndpointTest extends BaseSpringBootTest {
+
+  private static final String HIBERNATE_URL = "/actuator/hibernate";
+
+  @Test
+  public void statistics_ShouldWork_CountsEntityInsertsAndQueries() {
+    httpPut("/rest/user/v1/upsertUser", HttpStatus.OK, TestUsers.createCorrectUserRequestBuilder().build(),
+        UserDto.class);
+
+    final Map<?, ?> statistics = httpGet(HIBERNATE_URL, HttpStatus.OK, Map.class);
+
+    Assertions.assertThat(statistics.get("statisticsEnabled")).isEqualTo(true);
+    Assertions.assertThat(((Number) statistics.get("entityInsertCount")).longValue()).isGreaterThan(0L);
+    Assertions.assertThat((Map<?, ?>) statistics.get("entities")).isNotEmpty();
+    Assertions.assertThat((Map<?, ?>) statistics.get("queries")).isNotEmpty();
+  }
+}
@@ -0,0 +1,115 @@
+package square.app.ratelimit;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+public class TokenBucketLimiterTest {
+
+  private static final long MILLIS = 1_000_000L;
+
+  @Test
+  public void tryAcquire_ShouldWork_BurstUpToCapacityThenRejected() {
+    final TokenBucketLimiter limiter = new TokenBucketLimiter(3, 3_000L, 100);
+
+    Assertions.assertThat(limiter.tryAcquire("a", 0L)).isTrue();
+    Assertions.assertThat(limiter.tryAcquire("a", 0L)).isTrue();
+    Assertions.assertThat(limiter.tryAcquire("a", 0L)).isTrue();
+    Assertions.assertThat(limiter.tryAcquire("a", 0L)).isFalse();
+  }
+
+  @Test
+  public void tryAcquire_ShouldWork_KeysHaveTheirOwnBuckets() {
+    final TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1_000L, 100);
+
+    Assertions.assertThat(limiter.tryAcquire("a", 0L)).isTrue();
+    Assertions.assertThat(limiter.tryAcquire("a", 0L)).isFalse();
+    Assertions.assertThat(limiter.tryAcquire("b", 0L)).isTrue();
+  }
+
+  @Test
+  public void tryAcquire_ShouldWork_OneTokenBackPerRefillPeriodDividedByCapacity() {
+    final TokenBucketLimiter limiter = new TokenBucketLimiter(3, 3_000L, 100);
+    limiter.tryAcquire("a", 0L);
+    limiter.tryAcquire("a", 0L);
+    limiter.tryAcquire("a", 0L);
+
+    Assertions.assertThat(limiter.tryAcquire("a", 999L * MILLIS)).isFalse();
+    Assertions.assertThat(limiter.tryAcquire("a", 1_000L * MILLIS)).isTrue();
+    Assertions.assertThat(limiter.tryAcquire("a", 1_500L * MILLIS)).isFalse();
+    Assertions.assertThat(limiter.tryAcquire("a", 2_000L * MILLIS)).isTrue();
+  }
+
+  @Test
+  public void tryAcquire_ShouldWork_RefillIsCappedAtCapacity() {
+    final TokenBucketLimiter limiter = new TokenBucketLimiter(2, 2_000L, 100);
+    limiter.tryAcquire("a", 0L);
+
+    final long muchLater = 60_000L * MILLIS;
+    Assertions.assertThat(limiter.tryAcquire("a", muchLater)).isTrue();
+    Assertions.assertThat(limiter.tryAcquire("a", muchLater)).isTrue();
+    Assertions.assertThat(limiter.tryAcquire("a", muchLater)).isFalse();
+  }
+
+  @Test
+  public void tryAcquire_ShouldWork_NewKeyWhileMaxKeysAreKeptEvictsTheLeastRecentlyUsed() {
+    final TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1_000L, 2);
+    limiter.tryAcquire("a", 0L);
+    limiter.tryAcquire("b", 10L * MILLIS);
+
+    Assertions.assertThat(limiter.tryAcquire("c", 20L * MILLIS)).isTrue();
+    Assertions.assertThat(limiter.getKeys()).isEqualTo(2);
+    Assertions.assertThat(limiter.tryAcquire("b", 20L * MILLIS)).isFalse();
+
+    // The bucket of a was dropped, it starts full again.
+    Assertions.assertThat(limiter.tryAcquire("a", 30L * MILLIS)).isTrue();
+  }
+
+  @Test
+  public void tryAcquire_ShouldWork_BucketsUnusedForARefillPeriodAreDropped() {
+    final TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1_000L, 100);
+    limiter.tryAcquire("a", 0L);
+    limiter.tryAcquire("b", 500L * MILLIS);
+
+    limiter.tryAcquire("c", 1_000L * MILLIS);
+
+    Assertions.assertThat(limiter.getKeys()).isEqualTo(2);
+    Assertions.assertThat(limiter.tryAcquire("b", 1_000L * MILLIS)).isFalse();
+  }
+
+  @Test
+  public void tryAcquire_ShouldWork_SweepRunsOncePerQuarterRefillPeriod() {
+    final TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1_000L, 100);
+    limiter.tryAcquire("a", 0L);
+    limiter.tryAcquire("b", 1_200L * MILLIS);
+    limiter.tryAcquire("c", 2_100L * MILLIS);
+    Assertions.assertThat(limiter.getKeys()).isEqualTo(2);
+
+    // b is unused for a refill period at 2200 ms, the next sweep is due at 2350 ms.
+    limiter.tryAcquire("d", 2_300L * MILLIS);
+    Assertions.assertThat(limiter.getKeys()).isEqualTo(3);
+
+    limiter.tryAcquire("e", 2_350L * MILLIS);
+    Assertions.assertThat(limiter.getKeys()).isEqualTo(3);
+  }
+
+  @Test
+  public void tryAcquire_ShouldWork_EvictionMakesRoomForAnEighthOfMaxKeys() {
+    final TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1_000L, 16);
+    for (int i = 0; i < 16; i++) {
+      limiter.tryAcquire("key" + i, i * MILLIS);
+    }
+
+    limiter.tryAcquire("new", 16L * MILLIS);
+
+    Assertions.assertThat(limiter.getKeys()).isEqualTo(15);
+    Assertions.assertThat(limiter.tryAcquire("key2", 17L * MILLIS)).isFalse();
+    Assertions.assertThat(limiter.tryAcquire("key1", 17L * MILLIS)).isTrue();
+    Assertions.assertThat(limiter.getKeys()).isEqualTo(16);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void tokenBucketLimiter_ShouldFail_CapacityNotPositive() {
+    new TokenBucketLimiter(0, 1_000L, 100);
+  }
+}
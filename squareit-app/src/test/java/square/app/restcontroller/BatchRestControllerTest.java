@@ -0,0 +1,180 @@
+package square.app.restcontroller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import org.springframework.http.HttpStatus;
+
+import square.api.domain.constants.BatchOperationType;
+import square.api.domain.constants.Constraint;
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.models.batch.BatchOperation;
+import square.api.domain.models.batch.BatchOperationResult;
+import square.api.domain.models.batch.BatchRequest;
+import square.api.domain.models.batch.BatchResponse;
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.models.user.CreateUserRequest;
+import square.api.domain.models.user.UserDto;
+
+import square.app.BaseSpringBootTest;
+import square.app.domain.jpa.Users;
+import square.app.utils.StatementBudget;
+import square.app.utils.TestCheckers;
+import square.app.utils.TestUsers;
+
+public class BatchRestControllerTest extends BaseSpringBootTest {
+
+  private static final String BATCH_URL = "/rest/v1/batch";
+
+  private static final String USER_URL = "/rest/user";
+
+  // Token lookup once, one statement per operation and one token rotation for the whole batch.
+  private static final StatementBudget SAVE_COUNT_LIST_BUDGET = StatementBudget.newBuilder()
+      .withSelect(4).withInsert(2).withUpdate(1).build();
+
+  @Test
+  public void batch_ShouldWork_SaveCountAndListWithOneToken() {
+    final String token = createCorrectUserAndActivateUser();
+
+    final BatchResponse response = callBatchPutOk(token,
+        operation(BatchOperationType.SAVE_NUMBER).withNumber(2L),
+        operation(BatchOperationType.SAVE_NUMBER).withNumber(3L),
+        operation(BatchOperationType.COUNT_NUMBERS),
+        operation(BatchOperationType.GET_USER_NUMBERS).withIndexPage(0L));
+    assertStatements(SAVE_COUNT_LIST_BUDGET);
+
+    Assertions.assertThat(response.getToken()).isNotEqualTo(token);
+    Assertions.assertThat(response.getResults()).extracting(BatchOperationResult::getType).containsExactly(
+        BatchOperationType.SAVE_NUMBER, BatchOperationType.SAVE_NUMBER, BatchOperationType.COUNT_NUMBERS,
+        BatchOperationType.GET_USER_NUMBERS);
+    Assertions.assertThat(response.getResults()).extracting(BatchOperationResult::getStatus).containsOnly(200);
+
+    Assertions.assertThat(response.getResults().get(0).getNumber().getNumberSquared()).isEqualTo(4L);
+    Assertions.assertThat(response.getResults().get(0).getNumber().getToken()).isNull();
+    Assertions.assertThat(response.getResults().get(2).getCount()).isEqualTo(2L);
+    Assertions.assertThat(response.getResults().get(3).getNumbers()).extracting(NumberDto::getNumber)
+        .containsExactly(2L, 3L);
+    Assertions.assertThat(numberRepository.findAll()).hasSize(2);
+
+    // The token of the response is the token of the next request.
+    final BatchResponse next = callBatchPutOk(response.getToken(), operation(BatchOperationType.COUNT_NUMBERS));
+    Assertions.assertThat(next.getResults().get(0).getCount()).isEqualTo(2L);
+  }
+
+  @Test
+  public void batch_ShouldWork_FailedOperationDoesNotStopTheBatch() {
+    final String token = createCorrectUserAndActivateUser();
+    final long numberId = 999L;
+
+    final BatchResponse response = callBatchPutOk(token,
+        operation(BatchOperationType.SAVE_NUMBER).withNumber(5L),
+        operation(BatchOperationType.GET_NUMBER).withNumberId(numberId),
+        operation(BatchOperationType.SAVE_NUMBER),
+        operation(BatchOperationType.COUNT_NUMBERS));
+
+    Assertions.assertThat(response.getResults()).extracting(BatchOperationResult::getStatus)
+        .containsExactly(200, 404, 406, 200);
+    TestCheckers.checkErrorResponse(response.getResults().get(1).getError(), ErrorCode.NUMBER_NOT_FOUND,
+        "Number with id = '" + numberId + "' does not exist");
+    Assertions.assertThat(response.getResults().get(2).getError().getErrorCode()).isEqualTo(ErrorCode.NUMBER_NULL);
+    Assertions.assertThat(response.getResults().get(3).getCount()).isEqualTo(1L);
+    Assertions.assertThat(numberRepository.findAll()).hasSize(1);
+  }
+
+  @Test
+  public void batch_ShouldWork_DeleteAndGetDeletedNumber() {
+    final String token = createCorrectUserAndActivateUser();
+    final BatchResponse saved = callBatchPutOk(token, operation(BatchOperationType.SAVE_NUMBER).withNumber(7L));
+    final Long numberId = saved.getResults().get(0).getNumber().getNumberId();
+
+    final BatchResponse response = callBatchPutOk(saved.getToken(),
+        operation(BatchOperationType.GET_NUMBER).withNumberId(numberId),
+        operation(BatchOperationType.DELETE_NUMBER).withNumberId(numberId),
+        operation(BatchOperationType.GET_NUMBER).withNumberId(numberId),
+        operation(BatchOperationType.COUNT_NUMBERS));
+
+    Assertions.assertThat(response.getResults()).extracting(BatchOperationResult::getStatus)
+        .containsExactly(200, 200, 404, 200);
+    Assertions.assertThat(response.getResults().get(0).getNumber().getNumber()).isEqualTo(7L);
+    Assertions.assertThat(response.getResults().get(3).getCount()).isEqualTo(0L);
+  }
+
+  @Test
+  public void batch_ShouldFail_TooManyOperations() {
+    final String token = createCorrectUserAndActivateUser();
+    final List<BatchOperation> operations = new ArrayList<>();
+    for (int i = 0; i <= Constraint.MAX_BATCH_OPERATIONS; i++) {
+      operations.add(operation(BatchOperationType.COUNT_NUMBERS).build());
+    }
+
+    final ErrorInfo responseErr = httpPutError(BATCH_URL, HttpStatus.BAD_REQUEST,
+        BatchRequest.newBuilder().withToken(token).withOperations(operations).build(), ErrorInfo.class);
+    TestCheckers.checkErrorResponse(responseErr, ErrorCode.VALIDATION_ERROR_REQUEST_PARAM,
+        "Batch may at most have " + Constraint.MAX_BATCH_OPERATIONS + " operations");
+  }
+
+  @Test
+  public void batch_ShouldFail_OperationWithoutType() {
+    final String token = createCorrectUserAndActivateUser();
+
+    final ErrorInfo responseErr = httpPutError(BATCH_URL, HttpStatus.BAD_REQUEST, BatchRequest.newBuilder()
+        .withToken(token)
+        .withOperations(Collections.singletonList(BatchOperation.newBuilder().build()))
+        .build(), ErrorInfo.class);
+    TestCheckers.checkErrorResponse(responseErr, ErrorCode.VALIDATION_ERROR_REQUEST_PARAM,
+        "Batch operation type may not be null");
+  }
+
+  @Test
+  public void batch_ShouldFail_TokenLength() {
+    final ErrorInfo responseErr = httpPutError(BATCH_URL, HttpStatus.BAD_REQUEST, BatchRequest.newBuilder()
+        .withToken("token")
+        .withOperations(Collections.singletonList(operation(BatchOperationType.COUNT_NUMBERS).build()))
+        .build(), ErrorInfo.class);
+    TestCheckers.checkErrorResponse(responseErr, ErrorCode.TOKEN_LENGTH_MISMATCH, "Token must be 36 characters");
+  }
+
+  @Test
+  public void batch_ShouldFail_UserNotActivated() {
+    final CreateUserRequest.Builder userRequest = TestUsers.createCorrectUserRequestBuilder();
+    final String token = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, userRequest.build(), UserDto.class)
+        .getToken();
+
+    final ErrorInfo responseErr = httpPutError(BATCH_URL, HttpStatus.BAD_REQUEST, BatchRequest.newBuilder()
+        .withToken(token)
+        .withOperations(Collections.singletonList(operation(BatchOperationType.COUNT_NUMBERS).build()))
+        .build(), ErrorInfo.class);
+    Assertions.assertThat(responseErr.getErrorCode()).isEqualTo(ErrorCode.USER_NOT_ACTIVATED);
+  }
+
+  private BatchResponse callBatchPutOk(final String token, final BatchOperation.Builder... operations) {
+    final List<BatchOperation> batchOperations = new ArrayList<>();
+    Arrays.stream(operations).forEach(operation -> batchOperations.add(operation.build()));
+
+    return httpPut(BATCH_URL, HttpStatus.OK,
+        BatchRequest.newBuilder().withToken(token).withOperations(batchOperations).build(), BatchResponse.class);
+  }
+
+  private static BatchOperation.Builder operation(final BatchOperationType type) {
+    return BatchOperation.newBuilder().withType(type);
+  }
+
+  private String createCorrectUserAndActivateUser() {
+    final CreateUserRequest.Builder userRequest = TestUsers.createCorrectUserRequestBuilder();
+    final UserDto userResponse = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, userRequest.build(),
+        UserDto.class);
+
+    final Users user = userRepository.findByEmail(userRequest.build().getEmail());
+    user.setEnabled(true);
+    userRepository.save(user);
+
+    return userResponse.getToken();
+  }
+}
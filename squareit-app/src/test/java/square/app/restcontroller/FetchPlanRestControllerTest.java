@@ -0,0 +1,89 @@
+package square.app.restcontroller;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+
+import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.models.number.CreateNumberRequest;
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.models.user.CreateUserRequest;
+import square.api.domain.models.user.UserDto;
+
+import square.app.BaseSpringBootTest;
+import square.app.service.EmailService;
+import square.app.utils.TestUsers;
+
+/**
+ * Calls every endpoint with open-in-view disabled. Anything lazy loaded after the service transaction has closed
+ * throws a LazyInitializationException, which is answered with an internal server error instead of OK.
+ */
+public class FetchPlanRestControllerTest extends BaseSpringBootTest {
+
+  private static final String EMAIL_URL = "/rest/email";
+
+  private static final String NUMBER_URL = "/rest/number";
+
+  private static final String USER_URL = "/rest/user";
+
+  @Autowired
+  private ApplicationContext applicationContext;
+
+  // The fetch plan is under test, not the mail server.
+  @MockBean
+  private EmailService emailService;
+
+  @Test
+  public void openInView_ShouldBeDisabled() {
+    Assertions.assertThat(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+  }
+
+  @Test
+  public void allEndpoints_ShouldWork_NoLazyLoadingOutsideTransactions() {
+    final CreateUserRequest.Builder userRequest = TestUsers.createCorrectUserRequestBuilder(true);
+    final String email = userRequest.build().getEmail();
+    final String password = userRequest.build().getPassword();
+
+    String token = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, userRequest.build(), UserDto.class)
+        .getToken();
+
+    httpGet(EMAIL_URL + "/v1/registrationEmail/" + token, HttpStatus.OK, GenericMessageResponse.class);
+    token = httpGet(EMAIL_URL + "/v1/resendRegistrationEmail/" + email, HttpStatus.OK,
+        GenericMessageResponse.class).getToken();
+    token = httpGet(EMAIL_URL + "/v1/confirmRegistration/" + token, HttpStatus.OK,
+        GenericMessageResponse.class).getToken();
+
+    token = httpGet(USER_URL + "/v1/login/" + email + "/" + password, HttpStatus.OK,
+        GenericMessageResponse.class).getToken();
+    token = httpGet(USER_URL + "/v1/getUser/" + token, HttpStatus.OK, UserDto.class).getToken();
+    token = httpGet(USER_URL + "/v1/countNumbers/" + token, HttpStatus.OK, GenericMessageResponse.class).getToken();
+
+    final NumberDto number = httpPut(NUMBER_URL + "/v1/saveNumber", HttpStatus.OK,
+        CreateNumberRequest.newBuilder().withNumber(1L).withToken(token).build(), NumberDto.class);
+    token = httpGet(NUMBER_URL + "/v1/getNumber/" + number.getToken() + "/" + number.getNumberId(), HttpStatus.OK,
+        NumberDto.class).getToken();
+    token = httpGet(NUMBER_URL + "/v1/countUserNumbers/" + token, HttpStatus.OK, GenericMessageResponse.class)
+        .getToken();
+
+    final List<NumberDto> numbers = httpGetList(NUMBER_URL + "/v1/getUserNumbers/" + token + "/0", HttpStatus.OK,
+        NumberDto.class);
+    Assertions.assertThat(numbers).hasSize(1);
+    token = numbers.get(0).getToken();
+
+    token = httpPut(NUMBER_URL + "/v1/deleteNumber", HttpStatus.OK,
+        CreateNumberRequest.newBuilder().withNumberId(number.getNumberId()).withToken(token).build(),
+        GenericMessageResponse.class).getToken();
+
+    token = httpPut(USER_URL + "/v1/upsertUser/" + email + "/" + token, HttpStatus.OK, userRequest.build(),
+        UserDto.class).getToken();
+    httpGet(USER_URL + "/v1/deleteUser/" + token, HttpStatus.OK, GenericMessageResponse.class);
+  }
+}
@@ -10,8 +10,13 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 
+import square.api.domain.cache.NumberSetVersions;
 import square.api.domain.errors.ErrorCode;
 import square.api.domain.errors.ErrorInfo;
 import square.api.domain.models.GenericMessageResponse;
@@ -19,10 +24,12 @@ import square.api.domain.models.number.CreateNumberRequest;
 import square.api.domain.models.number.NumberDto;
 import square.api.domain.models.user.CreateUserRequest;
 import square.api.domain.models.user.UserDto;
+import square.api.domain.util.BinaryCodecs;
 
 import square.app.BaseSpringBootTest;
 import square.app.domain.jpa.Number;
 import square.app.domain.jpa.Users;
+import square.app.utils.StatementBudget;
 import square.app.utils.TestCheckers;
 import square.app.utils.TestUsers;
 
@@ -32,6 +39,34 @@ public class NumberRestControllerTest extends BaseSpringBootTest {
 
   private static final String USER_URL = "/rest/user";
 
+  // Statement budgets. Token lookup: user and token owner. Every number call also rotates the token (one update).
+  private static final StatementBudget SAVE_NUMBER_BUDGET = StatementBudget.newBuilder()
+      .withSelect(2).withInsert(1).withUpdate(1).build();
+
+  private static final StatementBudget GET_NUMBER_BUDGET = StatementBudget.newBuilder()
+      .withSelect(3).withUpdate(1).build();
+
+  // The number is soft deleted with one update, without loading it first.
+  private static final StatementBudget DELETE_NUMBER_BUDGET = StatementBudget.newBuilder()
+      .withSelect(2).withUpdate(2).build();
+
+  private static final StatementBudget COUNT_NUMBERS_BUDGET = StatementBudget.newBuilder()
+      .withSelect(3).withUpdate(1).build();
+
+  // A full page also needs the count query of the page, the count of the page decides.
+  private static final StatementBudget GET_USER_NUMBERS_BUDGET = StatementBudget.newBuilder()
+      .withSelect(4).withUpdate(1).build();
+
+  private static final StatementBudget CREATE_USER_BUDGET = StatementBudget.newBuilder()
+      .withSelect(2).withInsert(2).build();
+
+  // Not modified: still the token lookup, which authenticates the request, but no number query and no rotation.
+  private static final StatementBudget NOT_MODIFIED_BUDGET = StatementBudget.newBuilder()
+      .withSelect(2).build();
+
+  @Autowired
+  private NumberSetVersions numberSetVersions;
+
   /**
    * Before each test.
    */
@@ -370,6 +405,18 @@ public class NumberRestControllerTest extends BaseSpringBootTest {
         "Number with id = '" + numberId + "' does not exist");
   }
 
+  @Test
+  public void getNumber_ShouldFail_ErrorInfoInCbor() {
+    final String token = createCorrectUserAndActivateUser();
+    final long numberId = 15L;
+
+    final ResponseEntity<ErrorInfo> response = httpGetAccept(NUMBER_URL + "/v1/getNumber/" + token + "/" + numberId,
+        BinaryCodecs.CBOR, HttpStatus.NOT_FOUND, ErrorInfo.class);
+    Assertions.assertThat(response.getHeaders().getContentType().isCompatibleWith(BinaryCodecs.CBOR)).isTrue();
+    TestCheckers.checkErrorResponse(response.getBody(), ErrorCode.NUMBER_NOT_FOUND,
+        "Number with id = '" + numberId + "' does not exist");
+  }
+
   @Test
   public void deleteNumber_ShouldWork_DeleteANumber() {
     final String token = createCorrectUserAndActivateUser();
@@ -574,6 +621,65 @@ public class NumberRestControllerTest extends BaseSpringBootTest {
         "getCountUserNumbers :: Token must be 36 characters with token: " + token);
   }
 
+  @Test
+  public void getCountUserNumbers_ShouldWork_NotModifiedWithETagOfToken() {
+    final String token = createCorrectUserAndActivateUser();
+
+    final ResponseEntity<GenericMessageResponse> response = httpGetIfNoneMatch(NUMBER_URL + "/v1/countUserNumbers/"
+        + token, null, HttpStatus.OK, GenericMessageResponse.class);
+    final String etag = response.getHeaders().getETag();
+    final String newToken = response.getBody().getToken();
+    Assertions.assertThat(etag).isNotNull();
+
+    final ResponseEntity<GenericMessageResponse> notModified = httpGetIfNoneMatch(NUMBER_URL
+        + "/v1/countUserNumbers/" + newToken, etag, HttpStatus.NOT_MODIFIED, GenericMessageResponse.class);
+    assertStatements(NOT_MODIFIED_BUDGET);
+    Assertions.assertThat(notModified.getBody()).isNull();
+
+    // The token was not rotated by the not modified response.
+    Assertions.assertThat(callGetCountAllUserNumbersGetOk(newToken).getMessage()).isEqualTo("0");
+  }
+
+  @Test
+  public void getNumber_ShouldWork_NotModifiedCostsOnlyTheTokenLookup() {
+    String token = createCorrectUserAndActivateUser();
+    final NumberDto number = callCreateNumberPutOk(createCorrectCreateNumberRequest(1L, token));
+
+    final ResponseEntity<NumberDto> response = httpGetIfNoneMatch(NUMBER_URL + "/v1/getNumber/" + number.getToken()
+        + "/" + number.getNumberId(), null, HttpStatus.OK, NumberDto.class);
+    token = response.getBody().getToken();
+
+    httpGetIfNoneMatch(NUMBER_URL + "/v1/getNumber/" + token + "/" + number.getNumberId(),
+        response.getHeaders().getETag(), HttpStatus.NOT_MODIFIED, NumberDto.class);
+    assertStatements(NOT_MODIFIED_BUDGET);
+  }
+
+  @Test
+  public void getUserNumbers_ShouldWork_NotModifiedUntilANumberIsSaved() {
+    String token = createCorrectUserAndActivateUser();
+    token = callCreateNumberPutOk(createCorrectCreateNumberRequest(1L, token)).getToken();
+
+    final ResponseEntity<NumberDto[]> response = httpGetIfNoneMatch(NUMBER_URL + "/v1/getUserNumbers/" + token
+        + "/0", null, HttpStatus.OK, NumberDto[].class);
+    final String etag = response.getHeaders().getETag();
+    token = response.getBody()[0].getToken();
+
+    httpGetIfNoneMatch(NUMBER_URL + "/v1/getUserNumbers/" + token + "/0", etag, HttpStatus.NOT_MODIFIED,
+        NumberDto[].class);
+    assertStatements(NOT_MODIFIED_BUDGET);
+
+    final Users user = userRepository.findByEmail(TestUsers.createCorrectUserRequestBuilder().build().getEmail());
+    final long version = numberSetVersions.getVersion(user.getId());
+    final String newToken = callCreateNumberPutOk(createCorrectCreateNumberRequest(2L, token)).getToken();
+    Assertions.assertThat(numberSetVersions.getVersion(user.getId())).isEqualTo(version + 1);
+
+    final String staleEtag = numberSetVersions.etag(user.getId(), version, newToken);
+    final ResponseEntity<NumberDto[]> modified = httpGetIfNoneMatch(NUMBER_URL + "/v1/getUserNumbers/" + newToken
+        + "/0", staleEtag, HttpStatus.OK, NumberDto[].class);
+    Assertions.assertThat(modified.getBody()).hasSize(2);
+    Assertions.assertThat(modified.getHeaders().getETag()).isNotEqualTo(staleEtag);
+  }
+
   @Test
   public void getUserNumbers_ShouldWork_GetListOfAllItems() {
     final String token = createCorrectUserAndActivateUser();
@@ -641,6 +747,23 @@ public class NumberRestControllerTest extends BaseSpringBootTest {
     Assertions.assertThat(response.size()).isEqualTo(0);
   }
 
+  @Test
+  public void getUserNumbers_ShouldWork_SmileAndCbor() {
+    String token = createCorrectUserAndActivateUser();
+    token = callCreateNumberPutOk(createCorrectCreateNumberRequest(3L, token)).getToken();
+
+    for (final MediaType mediaType : new MediaType[]{BinaryCodecs.SMILE, BinaryCodecs.CBOR}) {
+      final ResponseEntity<NumberDto[]> response = httpGetAccept(NUMBER_URL + "/v1/getUserNumbers/" + token + "/0",
+          mediaType, HttpStatus.OK, NumberDto[].class);
+      Assertions.assertThat(response.getHeaders().getContentType().isCompatibleWith(mediaType)).isTrue();
+      Assertions.assertThat(response.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT);
+      Assertions.assertThat(response.getBody()).hasSize(1);
+      Assertions.assertThat(response.getBody()[0].getNumber()).isEqualTo(3L);
+      Assertions.assertThat(response.getBody()[0].getNumberSquared()).isEqualTo(9L);
+      token = response.getBody()[0].getToken();
+    }
+  }
+
   @Test
   public void getUserNumbers_ShouldFail_IndexPageIsLargerThanInteger() {
     final String token = createCorrectUserAndActivateUser();
@@ -733,7 +856,10 @@ public class NumberRestControllerTest extends BaseSpringBootTest {
   }
 
   private NumberDto callCreateNumberPutOk(final CreateNumberRequest.Builder request) {
-    return httpPut(NUMBER_URL + "/v1/saveNumber", HttpStatus.OK, request.build(), NumberDto.class);
+    final NumberDto response = httpPut(NUMBER_URL + "/v1/saveNumber", HttpStatus.OK, request.build(),
+        NumberDto.class);
+    assertStatements(SAVE_NUMBER_BUDGET);
+    return response;
   }
 
   private ErrorInfo callCreateNumberPutError(final HttpStatus expectedStatus,
@@ -742,7 +868,10 @@ public class NumberRestControllerTest extends BaseSpringBootTest {
   }
 
   private NumberDto callGetNumberGetOk(final long numberId, final String token) {
-    return httpGet(NUMBER_URL + "/v1/getNumber/" + token + "/" + numberId, HttpStatus.OK, NumberDto.class);
+    final NumberDto response = httpGet(NUMBER_URL + "/v1/getNumber/" + token + "/" + numberId, HttpStatus.OK,
+        NumberDto.class);
+    assertStatements(GET_NUMBER_BUDGET);
+    return response;
   }
 
   private ErrorInfo callGetNumberGetError(final HttpStatus expectedStatus, final Long numberId, final String token) {
@@ -750,7 +879,10 @@ public class NumberRestControllerTest extends BaseSpringBootTest {
   }
 
   private GenericMessageResponse callGetCountAllUserNumbersGetOk(final String token) {
-    return httpGet(NUMBER_URL + "/v1/countUserNumbers/" + token, HttpStatus.OK, GenericMessageResponse.class);
+    final GenericMessageResponse response = httpGet(NUMBER_URL + "/v1/countUserNumbers/" + token, HttpStatus.OK,
+        GenericMessageResponse.class);
+    assertStatements(COUNT_NUMBERS_BUDGET);
+    return response;
   }
 
   private ErrorInfo callGetCountAllUserNumbersGetError(final HttpStatus expectedStatus, final String token) {
@@ -758,12 +890,17 @@ public class NumberRestControllerTest extends BaseSpringBootTest {
   }
 
   private GenericMessageResponse callCreateDeleteNumberPutOk(final CreateNumberRequest.Builder request) {
-    return httpPut(NUMBER_URL + "/v1/deleteNumber", HttpStatus.OK, request.build(), GenericMessageResponse.class);
+    final GenericMessageResponse response = httpPut(NUMBER_URL + "/v1/deleteNumber", HttpStatus.OK,
+        request.build(), GenericMessageResponse.class);
+    assertStatements(DELETE_NUMBER_BUDGET);
+    return response;
   }
 
   private List<NumberDto> callGetUserNumbersGetOk(final Integer indexPage, final String token) {
-    return httpGetList(NUMBER_URL + "/v1/getUserNumbers/" + token + "/" + indexPage, HttpStatus.OK,
-        NumberDto.class);
+    final List<NumberDto> response = httpGetList(NUMBER_URL + "/v1/getUserNumbers/" + token + "/" + indexPage,
+        HttpStatus.OK, NumberDto.class);
+    assertStatementsAtMost(GET_USER_NUMBERS_BUDGET);
+    return response;
   }
 
   private ErrorInfo callGetUserNumbersGetError(final HttpStatus expectedStatus, final Long indexPage,
@@ -773,7 +910,9 @@ public class NumberRestControllerTest extends BaseSpringBootTest {
   }
 
   private UserDto callCreateUserPutOk(final CreateUserRequest.Builder request) {
-    return httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, request.build(), UserDto.class);
+    final UserDto response = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, request.build(), UserDto.class);
+    assertStatements(CREATE_USER_BUDGET);
+    return response;
   }
 
   private ErrorInfo callDeleteNumberPutError(final HttpStatus expectedStatus,
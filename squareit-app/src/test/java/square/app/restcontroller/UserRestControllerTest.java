@@ -20,11 +20,13 @@ import square.api.domain.errors.ErrorInfo;
 import square.api.domain.models.GenericMessageResponse;
 import square.api.domain.models.user.CreateUserRequest;
 import square.api.domain.models.user.UserDto;
+import square.api.domain.util.LogArg;
 
 import square.app.BaseSpringBootTest;
 import square.app.constants.TimeConstants;
 import square.app.domain.jpa.Users;
 import square.app.domain.jpa.VerificationToken;
+import square.app.utils.StatementBudget;
 import square.app.utils.TestCheckers;
 import square.app.utils.TestUsers;
 
@@ -32,6 +34,30 @@ public class UserRestControllerTest extends BaseSpringBootTest {
 
   private static final String USER_URL = "/rest/user";
 
+  // Statement budgets. Token lookup: user and token owner. A user found by email or username also loads its token.
+  private static final StatementBudget CREATE_USER_BUDGET = StatementBudget.newBuilder()
+      .withSelect(2).withInsert(2).build();
+
+  // At most: the existence checks of a changed email and username.
+  private static final StatementBudget UPDATE_USER_BUDGET = StatementBudget.newBuilder()
+      .withSelect(6).withUpdate(1).build();
+
+  // At most: the update is the token rotation of an expired login token.
+  private static final StatementBudget LOGIN_USER_BUDGET = StatementBudget.newBuilder()
+      .withSelect(3).withUpdate(1).build();
+
+  private static final StatementBudget GET_USER_BUDGET = StatementBudget.newBuilder()
+      .withSelect(2).build();
+
+  private static final StatementBudget COUNT_USERS_BUDGET = StatementBudget.newBuilder()
+      .withSelect(3).withUpdate(1).build();
+
+  // Malformed tokens are rejected before the database is touched.
+  private static final StatementBudget MALFORMED_TOKEN_BUDGET = StatementBudget.newBuilder().build();
+
+  private static final StatementBudget DELETE_USER_BUDGET = StatementBudget.newBuilder()
+      .withSelect(2).withUpdate(1).build();
+
   private static CreateUserRequest.Builder requestBuilder;
 
   @Autowired
@@ -646,7 +672,7 @@ public class UserRestControllerTest extends BaseSpringBootTest {
     Assertions.assertThat(userRepository.findAll()).hasSize(1);
     TestCheckers.checkErrorResponse(responseErrorUpdatedDto, ErrorCode.TOKEN_MISMATCH,
         "UserServiceImpl :: updateUser :: User token and given token is not the same, given token: "
-            + wrongToken + ", and user token: " + response.getToken());
+            + LogArg.maskToken(wrongToken) + ", and user token: " + LogArg.maskToken(response.getToken()));
   }
 
   @Test
@@ -758,7 +784,8 @@ public class UserRestControllerTest extends BaseSpringBootTest {
     Assertions.assertThat(userRepository.findAll()).hasSize(1);
     TestCheckers.checkErrorResponse(responseErr, ErrorCode.TOKEN_MISMATCH,
         "UserServiceImpl :: updateUser :: User token and given token is not the same, given token: "
-            + token + ", and user token: " + user.getVerificationToken().getToken());
+            + LogArg.maskToken(token) + ", and user token: "
+            + LogArg.maskToken(user.getVerificationToken().getToken()));
   }
 
   @Test
@@ -1062,6 +1089,7 @@ public class UserRestControllerTest extends BaseSpringBootTest {
     final String tokenTooLong = "tokentokentokentokentokentokentoken37";
 
     final ErrorInfo responseErr = callGetUserGetError(HttpStatus.BAD_REQUEST, tokenTooLong);
+    assertStatements(MALFORMED_TOKEN_BUDGET);
     Assertions.assertThat(userRepository.findAll()).hasSize(0);
     TestCheckers.checkErrorResponse(responseErr, ErrorCode.TOKEN_LENGTH_MISMATCH,
         "getUser :: Token must be " + Constraint.MAX_MIN_TOKEN + " characters with token: "
@@ -1073,6 +1101,7 @@ public class UserRestControllerTest extends BaseSpringBootTest {
     final String tokenTooShort = "token";
 
     final ErrorInfo responseErr = callGetUserGetError(HttpStatus.BAD_REQUEST, tokenTooShort);
+    assertStatements(MALFORMED_TOKEN_BUDGET);
     Assertions.assertThat(userRepository.findAll()).hasSize(0);
     TestCheckers.checkErrorResponse(responseErr, ErrorCode.TOKEN_LENGTH_MISMATCH,
         "getUser :: Token must be " + Constraint.MAX_MIN_TOKEN + " characters with token: "
@@ -1219,6 +1248,7 @@ public class UserRestControllerTest extends BaseSpringBootTest {
     final String tokenTooLong = "tokentokentokentokentokentokentoken37";
 
     final ErrorInfo responseErr = callCountAllUsersGetError(HttpStatus.BAD_REQUEST, tokenTooLong);
+    assertStatements(MALFORMED_TOKEN_BUDGET);
     TestCheckers.checkErrorResponse(responseErr, ErrorCode.TOKEN_LENGTH_MISMATCH,
         "countAllUsers :: Token must be " + Constraint.MAX_MIN_TOKEN + " characters with token: "
             + tokenTooLong);
@@ -1229,6 +1259,7 @@ public class UserRestControllerTest extends BaseSpringBootTest {
     final String tokenTooShort = "token";
 
     final ErrorInfo responseErr = callCountAllUsersGetError(HttpStatus.BAD_REQUEST, tokenTooShort);
+    assertStatements(MALFORMED_TOKEN_BUDGET);
     Assertions.assertThat(userRepository.findAll()).hasSize(0);
     TestCheckers.checkErrorResponse(responseErr, ErrorCode.TOKEN_LENGTH_MISMATCH,
         "countAllUsers :: Token must be " + Constraint.MAX_MIN_TOKEN + " characters with token: "
@@ -1318,6 +1349,7 @@ public class UserRestControllerTest extends BaseSpringBootTest {
     final String tokenTooLong = "tokentokentokentokentokentokentoken37";
 
     final ErrorInfo responseErr = callDeleteUserGetError(HttpStatus.BAD_REQUEST, tokenTooLong);
+    assertStatements(MALFORMED_TOKEN_BUDGET);
     Assertions.assertThat(userRepository.findAll()).hasSize(0);
     TestCheckers.checkErrorResponse(responseErr, ErrorCode.TOKEN_LENGTH_MISMATCH,
         "deleteUser :: Token must be " + Constraint.MAX_MIN_TOKEN + " characters with token: "
@@ -1329,6 +1361,7 @@ public class UserRestControllerTest extends BaseSpringBootTest {
     final String tokenTooShort = "token";
 
     final ErrorInfo responseErr = callDeleteUserGetError(HttpStatus.BAD_REQUEST, tokenTooShort);
+    assertStatements(MALFORMED_TOKEN_BUDGET);
     Assertions.assertThat(userRepository.findAll()).hasSize(0);
     TestCheckers.checkErrorResponse(responseErr, ErrorCode.TOKEN_LENGTH_MISMATCH,
         "deleteUser :: Token must be " + Constraint.MAX_MIN_TOKEN + " characters with token: "
@@ -1336,7 +1369,9 @@ public class UserRestControllerTest extends BaseSpringBootTest {
   }
 
   private UserDto callCreateUserPutOk(final CreateUserRequest.Builder request) {
-    return httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, request.build(), UserDto.class);
+    final UserDto response = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, request.build(), UserDto.class);
+    assertStatements(CREATE_USER_BUDGET);
+    return response;
   }
 
   private ErrorInfo callCreateUserPutError(final HttpStatus expectedStatus, final CreateUserRequest.Builder request) {
@@ -1345,8 +1380,10 @@ public class UserRestControllerTest extends BaseSpringBootTest {
 
   private UserDto callUpdateUserPutOk(final CreateUserRequest.Builder updateRequest, final String email,
       final String token) {
-    return httpPut(USER_URL + "/v1/upsertUser/" + email + "/" + token, HttpStatus.OK, updateRequest.build(),
-        UserDto.class);
+    final UserDto response = httpPut(USER_URL + "/v1/upsertUser/" + email + "/" + token, HttpStatus.OK,
+        updateRequest.build(), UserDto.class);
+    assertStatementsAtMost(UPDATE_USER_BUDGET);
+    return response;
   }
 
   private ErrorInfo callUpdateUserPutError(final HttpStatus expectedStatus,
@@ -1356,8 +1393,10 @@ public class UserRestControllerTest extends BaseSpringBootTest {
   }
 
   private GenericMessageResponse callLoginUserGetOk(final String emailOrUsername, final String password) {
-    return httpGet(USER_URL + "/v1/login/" + emailOrUsername + "/" + password, HttpStatus.OK,
-        GenericMessageResponse.class);
+    final GenericMessageResponse response = httpGet(USER_URL + "/v1/login/" + emailOrUsername + "/" + password,
+        HttpStatus.OK, GenericMessageResponse.class);
+    assertStatementsAtMost(LOGIN_USER_BUDGET);
+    return response;
   }
 
   private ErrorInfo callLoginUserGetError(final HttpStatus expectedStatus, final String emailOrUsername,
@@ -1367,7 +1406,9 @@ public class UserRestControllerTest extends BaseSpringBootTest {
   }
 
   private UserDto callGetUserGetOk(final String token) {
-    return httpGet(USER_URL + "/v1/getUser/" + token, HttpStatus.OK, UserDto.class);
+    final UserDto response = httpGet(USER_URL + "/v1/getUser/" + token, HttpStatus.OK, UserDto.class);
+    assertStatements(GET_USER_BUDGET);
+    return response;
   }
 
   private ErrorInfo callGetUserGetError(final HttpStatus expectedStatus, final String token) {
@@ -1375,7 +1416,10 @@ public class UserRestControllerTest extends BaseSpringBootTest {
   }
 
   private GenericMessageResponse callCountAllUsersGetOk(final String token) {
-    return httpGet(USER_URL + "/v1/countNumbers/" + token, HttpStatus.OK, GenericMessageResponse.class);
+    final GenericMessageResponse response = httpGet(USER_URL + "/v1/countNumbers/" + token, HttpStatus.OK,
+        GenericMessageResponse.class);
+    assertStatements(COUNT_USERS_BUDGET);
+    return response;
   }
 
   private ErrorInfo callCountAllUsersGetError(final HttpStatus expectedStatus, final String token) {
@@ -1383,7 +1427,10 @@ public class UserRestControllerTest extends BaseSpringBootTest {
   }
 
   private GenericMessageResponse callDeleteUserGetOk(final String token) {
-    return httpGet(USER_URL + "/v1/deleteUser/" + token, HttpStatus.OK, GenericMessageResponse.class);
+    final GenericMessageResponse response = httpGet(USER_URL + "/v1/deleteUser/" + token, HttpStatus.OK,
+        GenericMessageResponse.class);
+    assertStatements(DELETE_USER_BUDGET);
+    return response;
   }
 
   private ErrorInfo callDeleteUserGetError(final HttpStatus expectedStatus, final String token) {
@@ -0,0 +1,52 @@
+package square.app.service;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.models.user.UserDto;
+
+import square.app.BaseSpringBootTest;
+import square.app.utils.SmtpStandIn;
+import square.app.utils.TestUsers;
+
+/**
+ * Emails go all the way through the outbox, the worker and SMTP to the in-process stand-in server.
+ */
+@ActiveProfiles({"smtp-standin"})
+@TestPropertySource(properties = {"project.email.poll-interval-ms=50"})
+public class EmailDeliveryTest extends BaseSpringBootTest {
+
+  private static final String EMAIL_URL = "/rest/email";
+
+  private static final String USER_URL = "/rest/user";
+
+  private static final long AWAIT_MILLIS = 10_000L;
+
+  @Autowired
+  private SmtpStandIn smtpStandIn;
+
+  @After
+  public void tearDown() {
+    smtpStandIn.clearReceivedMessages();
+  }
+
+  @Test
+  public void registrationEmail_ShouldWork_EmailIsDeliveredWithTheToken() throws Exception {
+    final UserDto user = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK,
+        TestUsers.createCorrectUserRequestBuilder().build(), UserDto.class);
+
+    httpGet(EMAIL_URL + "/v1/registrationEmail/" + user.getToken(), HttpStatus.OK, GenericMessageResponse.class);
+
+    final SmtpStandIn.ReceivedMessage message = smtpStandIn.awaitMessage(user.getEmail(), 1, AWAIT_MILLIS);
+    Assertions.assertThat(message).isNotNull();
+    Assertions.assertThat(message.getText()).contains("confirmRegistration/" + user.getToken());
+  }
+}
@@ -0,0 +1,229 @@
+package square.app.service;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.TestPropertySource;
+
+import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.models.user.UserDto;
+
+import square.app.BaseSpringBootTest;
+import square.app.constants.EmailStatus;
+import square.app.constants.TimeConstants;
+import square.app.domain.jpa.EmailOutbox;
+import square.app.domain.jpa.Users;
+import square.app.mail.BatchMailSender;
+import square.app.utils.StatementBudget;
+import square.app.utils.TestUsers;
+
+@TestPropertySource(properties = {"project.email.max-attempts=2", "project.email.retry-base-delay-ms=0",
+    "project.email.resend-email-limit=100"})
+public class EmailOutboxWorkerTest extends BaseSpringBootTest {
+
+  private static final String EMAIL_URL = "/rest/email";
+
+  private static final String USER_URL = "/rest/user";
+
+  private static final long AWAIT_MILLIS = 5_000L;
+
+  // Conditional enable and the user lookup (user and token owner), then the confirmation email.
+  private static final StatementBudget CONFIRM_BUDGET = StatementBudget.newBuilder()
+      .withSelect(2).withUpdate(1).withInsert(1).build();
+
+  // The conditional enable changes no row, the lookup finds the enabled user by the same link token.
+  private static final StatementBudget REPEATED_CONFIRM_BUDGET = StatementBudget.newBuilder()
+      .withSelect(2).withUpdate(1).build();
+
+  @Autowired
+  private EmailOutboxWorker emailOutboxWorker;
+
+  @MockBean
+  private BatchMailSender mailSender;
+
+  private UserDto user;
+
+  /**
+   * Before each test.
+   */
+  @Before
+  public void setUp() {
+    Mockito.when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+    user = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, TestUsers.createCorrectUserRequestBuilder().build(),
+        UserDto.class);
+  }
+
+  @Test
+  public void registrationEmail_ShouldWork_EmailIsWrittenToTheOutboxNotSent() {
+    httpGet(EMAIL_URL + "/v1/registrationEmail/" + user.getToken(), HttpStatus.OK, GenericMessageResponse.class);
+
+    final List<EmailOutbox> emails = findAllEmails();
+    Assertions.assertThat(emails).hasSize(1);
+    Assertions.assertThat(emails.get(0).getRecipient()).isEqualTo(user.getEmail());
+    Assertions.assertThat(emails.get(0).getStatus()).isEqualTo(EmailStatus.PENDING);
+    Assertions.assertThat(emails.get(0).getBody()).contains(user.getToken());
+    Mockito.verify(mailSender, Mockito.never()).sendBatch(ArgumentMatchers.anyList());
+  }
+
+  @Test
+  public void resendRegistrationEmail_ShouldWork_EmailCarriesTheNewToken() {
+    final GenericMessageResponse response = httpGet(EMAIL_URL + "/v1/resendRegistrationEmail/" + user.getEmail(),
+        HttpStatus.OK, GenericMessageResponse.class);
+
+    final List<EmailOutbox> emails = findAllEmails();
+    Assertions.assertThat(emails).hasSize(1);
+    Assertions.assertThat(response.getToken()).isNotEqualTo(user.getToken());
+    Assertions.assertThat(emails.get(0).getBody()).contains(response.getToken());
+  }
+
+  @Test
+  public void resendRegistrationEmail_ShouldWork_RepeatedResendsAreCoalesced() {
+    final String firstToken = httpGet(EMAIL_URL + "/v1/resendRegistrationEmail/" + user.getEmail(), HttpStatus.OK,
+        GenericMessageResponse.class).getToken();
+    final String secondToken = httpGet(EMAIL_URL + "/v1/resendRegistrationEmail/" + user.getEmail(), HttpStatus.OK,
+        GenericMessageResponse.class).getToken();
+
+    final List<EmailOutbox> emails = findAllEmails();
+    Assertions.assertThat(emails).hasSize(1);
+    Assertions.assertThat(secondToken).isEqualTo(firstToken);
+    Assertions.assertThat(emails.get(0).getBody()).contains(firstToken);
+  }
+
+  @Test
+  public void confirmRegistration_ShouldWork_UserIsEnabledAndConfirmationEmailIsWritten() {
+    final GenericMessageResponse response = httpGet(EMAIL_URL + "/v1/confirmRegistration/" + user.getToken(),
+        HttpStatus.OK, GenericMessageResponse.class);
+    assertStatements(CONFIRM_BUDGET);
+
+    Assertions.assertThat(response.getToken()).isEqualTo(user.getToken());
+    Assertions.assertThat(userRepository.findByEmail(user.getEmail()).getEnabled()).isTrue();
+
+    final List<EmailOutbox> emails = findAllEmails();
+    Assertions.assertThat(emails).hasSize(1);
+    Assertions.assertThat(emails.get(0).getSubject()).isEqualTo("Welcome to SquareIt - Account confirmed!");
+  }
+
+  @Test
+  public void confirmRegistration_ShouldWork_SecondClickOnTheLinkGetsTheSameAnswer() {
+    final GenericMessageResponse first = httpGet(EMAIL_URL + "/v1/confirmRegistration/" + user.getToken(),
+        HttpStatus.OK, GenericMessageResponse.class);
+
+    final GenericMessageResponse second = httpGet(EMAIL_URL + "/v1/confirmRegistration/" + user.getToken(),
+        HttpStatus.OK, GenericMessageResponse.class);
+    assertStatements(REPEATED_CONFIRM_BUDGET);
+
+    Assertions.assertThat(second.getMessage()).isEqualTo("Successfully activated user account")
+        .isEqualTo(first.getMessage());
+    Assertions.assertThat(second.getToken()).isEqualTo(user.getToken());
+    Assertions.assertThat(findAllEmails()).hasSize(1);
+  }
+
+  @Test
+  public void confirmRegistration_ShouldFail_ExpiredTokenGetsANewRegistrationEmail() {
+    final Users persistentUser = userRepository.findByEmail(user.getEmail());
+    persistentUser.getVerificationToken().setExpiryDate(ZonedDateTime.now(ZoneId.of(
+        TimeConstants.SERVER_TIMEZONE_UTC)).minusDays(2));
+    userRepository.save(persistentUser);
+
+    final GenericMessageResponse response = httpGet(EMAIL_URL + "/v1/confirmRegistration/" + user.getToken(),
+        HttpStatus.OK, GenericMessageResponse.class);
+
+    Assertions.assertThat(response.getMessage()).isEqualTo("Unsuccessful. User account not activated. New mail "
+        + "for verification sent");
+    final Users expiredUser = userRepository.findByEmail(user.getEmail());
+    Assertions.assertThat(expiredUser.getEnabled()).isFalse();
+    Assertions.assertThat(expiredUser.getVerificationToken().getToken()).isNotEqualTo(user.getToken());
+
+    final List<EmailOutbox> emails = findAllEmails();
+    Assertions.assertThat(emails).hasSize(1);
+    Assertions.assertThat(emails.get(0).getBody()).contains(expiredUser.getVerificationToken().getToken());
+  }
+
+  @Test
+  public void dispatchDueEmails_ShouldWork_PendingEmailIsSent() throws InterruptedException {
+    httpGet(EMAIL_URL + "/v1/registrationEmail/" + user.getToken(), HttpStatus.OK, GenericMessageResponse.class);
+
+    emailOutboxWorker.dispatchDueEmails();
+
+    final EmailOutbox email = awaitStatus(EmailStatus.SENT);
+    Assertions.assertThat(email.getAttempts()).isEqualTo(1);
+    Assertions.assertThat(email.getSentDate()).isNotNull();
+    Mockito.verify(mailSender, Mockito.times(1)).sendBatch(ArgumentMatchers.anyList());
+  }
+
+  @Test
+  public void dispatchDueEmails_ShouldFail_EmailIsRetriedThenDead() throws InterruptedException {
+    Mockito.when(mailSender.sendBatch(ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+      final List<MimeMessage> messages = invocation.getArgument(0);
+      final Map<MimeMessage, Exception> failures = new HashMap<>();
+      messages.forEach(message -> failures.put(message, new MailSendException("SMTP down")));
+      return failures;
+    });
+    httpGet(EMAIL_URL + "/v1/registrationEmail/" + user.getToken(), HttpStatus.OK, GenericMessageResponse.class);
+
+    emailOutboxWorker.dispatchDueEmails();
+    EmailOutbox email = awaitAttempts(1);
+    Assertions.assertThat(email.getStatus()).isEqualTo(EmailStatus.PENDING);
+    Assertions.assertThat(email.getLastError()).isEqualTo("SMTP down");
+
+    emailOutboxWorker.dispatchDueEmails();
+    email = awaitStatus(EmailStatus.DEAD);
+    Assertions.assertThat(email.getAttempts()).isEqualTo(2);
+
+    emailOutboxWorker.dispatchDueEmails();
+    Mockito.verify(mailSender, Mockito.times(2)).sendBatch(ArgumentMatchers.anyList());
+  }
+
+  private EmailOutbox awaitStatus(final EmailStatus status) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + AWAIT_MILLIS;
+    List<EmailOutbox> emails = findAllEmails();
+
+    while (!status.equals(emails.get(0).getStatus()) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      emails = findAllEmails();
+    }
+
+    Assertions.assertThat(emails.get(0).getStatus()).isEqualTo(status);
+    return emails.get(0);
+  }
+
+  private EmailOutbox awaitAttempts(final int attempts) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + AWAIT_MILLIS;
+    List<EmailOutbox> emails = findAllEmails();
+
+    // The attempt is counted when the email is claimed, wait until the worker has finished with it.
+    while ((emails.get(0).getAttempts() < attempts || EmailStatus.SENDING.equals(emails.get(0).getStatus()))
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      emails = findAllEmails();
+    }
+
+    Assertions.assertThat(emails.get(0).getAttempts()).isEqualTo(attempts);
+    return emails.get(0);
+  }
+
+  private List<EmailOutbox> findAllEmails() {
+    return StreamSupport.stream(emailOutboxRepository.findAll().spliterator(), false)
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,131 @@
+package square.app.stream;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import square.api.domain.constants.NumberChangeType;
+import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.models.number.CreateNumberRequest;
+import square.api.domain.models.number.NumberChangeDto;
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.models.user.CreateUserRequest;
+import square.api.domain.models.user.UserDto;
+
+import square.app.BaseSpringBootTest;
+import square.app.domain.jpa.Users;
+import square.app.utils.TestUsers;
+
+public class NumberChangeStreamTest extends BaseSpringBootTest {
+
+  private static final String NUMBER_URL = "/rest/number";
+
+  private static final String USER_URL = "/rest/user";
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private static final ParameterizedTypeReference<ServerSentEvent<NumberChangeDto>> EVENT_TYPE =
+      new ParameterizedTypeReference<ServerSentEvent<NumberChangeDto>>() {
+      };
+
+  @LocalServerPort
+  private int port;
+
+  @Test
+  public void numberChanges_ShouldWork_SavedAndDeletedAfterCommit() throws InterruptedException {
+    final String token = createCorrectUserAndActivateUser();
+    final CountDownLatch connected = new CountDownLatch(1);
+    final CompletableFuture<List<ServerSentEvent<NumberChangeDto>>> events = numberEvents(token, connected, 2);
+    Assertions.assertThat(connected.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS)).as("Stream opened").isTrue();
+
+    final NumberDto saved = httpPut(NUMBER_URL + "/v1/saveNumber", HttpStatus.OK,
+        CreateNumberRequest.newBuilder().withNumber(3L).withToken(token).build(), NumberDto.class);
+    // A failed delete is rolled back and not streamed.
+    httpPut(NUMBER_URL + "/v1/deleteNumber", HttpStatus.NOT_FOUND,
+        CreateNumberRequest.newBuilder().withNumberId(saved.getNumberId() + 1).withToken(saved.getToken()).build(),
+        GenericMessageResponse.class);
+    final NumberDto next = httpPut(NUMBER_URL + "/v1/saveNumber", HttpStatus.OK,
+        CreateNumberRequest.newBuilder().withNumber(4L).withToken(saved.getToken()).build(), NumberDto.class);
+    httpPut(NUMBER_URL + "/v1/deleteNumber", HttpStatus.OK,
+        CreateNumberRequest.newBuilder().withNumberId(saved.getNumberId()).withToken(next.getToken()).build(),
+        GenericMessageResponse.class);
+
+    final List<ServerSentEvent<NumberChangeDto>> received = events.join();
+    Assertions.assertThat(received).extracting(ServerSentEvent::event)
+        .containsOnly(NumberChangeStream.NUMBER_EVENT);
+
+    final NumberChangeDto savedChange = received.get(0).data();
+    Assertions.assertThat(savedChange.getType()).isEqualTo(NumberChangeType.SAVED);
+    Assertions.assertThat(savedChange.getNumberId()).isEqualTo(saved.getNumberId());
+    Assertions.assertThat(savedChange.getNumber().getNumberSquared()).isEqualTo(9L);
+    Assertions.assertThat(savedChange.getNumber().getToken()).isNull();
+
+    final NumberChangeDto nextChange = received.get(1).data();
+    Assertions.assertThat(nextChange.getType()).isEqualTo(NumberChangeType.SAVED);
+    Assertions.assertThat(nextChange.getNumberId()).isEqualTo(next.getNumberId());
+  }
+
+  @Test
+  public void numberChanges_ShouldWork_DeletedWithoutNumber() throws InterruptedException {
+    final String token = createCorrectUserAndActivateUser();
+    final NumberDto saved = httpPut(NUMBER_URL + "/v1/saveNumber", HttpStatus.OK,
+        CreateNumberRequest.newBuilder().withNumber(5L).withToken(token).build(), NumberDto.class);
+
+    // The stream does not rotate the token, it is still the token of the next request.
+    final CountDownLatch connected = new CountDownLatch(1);
+    final CompletableFuture<List<ServerSentEvent<NumberChangeDto>>> events = numberEvents(saved.getToken(),
+        connected, 1);
+    Assertions.assertThat(connected.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS)).as("Stream opened").isTrue();
+
+    httpPut(NUMBER_URL + "/v1/deleteNumber", HttpStatus.OK,
+        CreateNumberRequest.newBuilder().withNumberId(saved.getNumberId()).withToken(saved.getToken()).build(),
+        GenericMessageResponse.class);
+
+    final NumberChangeDto deleted = events.join().get(0).data();
+    Assertions.assertThat(deleted.getType()).isEqualTo(NumberChangeType.DELETED);
+    Assertions.assertThat(deleted.getNumberId()).isEqualTo(saved.getNumberId());
+    Assertions.assertThat(deleted.getNumber()).isNull();
+  }
+
+  private CompletableFuture<List<ServerSentEvent<NumberChangeDto>>> numberEvents(final String token,
+      final CountDownLatch connected, final int count) {
+    return WebClient.create("http://localhost:" + port)
+        .get()
+        .uri(NUMBER_URL + "/v1/numberChanges/{token}", token)
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .retrieve()
+        .bodyToFlux(EVENT_TYPE)
+        // The first event is the connected comment.
+        .doOnNext(event -> connected.countDown())
+        .filter(event -> NumberChangeStream.NUMBER_EVENT.equals(event.event()))
+        .take(count)
+        .collectList()
+        .timeout(TIMEOUT)
+        .toFuture();
+  }
+
+  private String createCorrectUserAndActivateUser() {
+    final CreateUserRequest.Builder userRequest = TestUsers.createCorrectUserRequestBuilder();
+    final UserDto userResponse = httpPut(USER_URL + "/v1/upsertUser", HttpStatus.OK, userRequest.build(),
+        UserDto.class);
+
+    final Users user = userRepository.findByEmail(userRequest.build().getEmail());
+    user.setEnabled(true);
+    userRepository.save(user);
+
+    return userResponse.getToken();
+  }
+}
@@ -0,0 +1,71 @@
+package square.app.stream;
+
+import java.io.IOException;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class NumberChangeSubscriberTest {
+
+  private static final int BUFFER_SIZE = 3;
+
+  private final NumberChangeSubscriber subscriber = new NumberChangeSubscriber(1L, new SseEmitter(), BUFFER_SIZE);
+
+  @Test
+  public void offer_ShouldWork_BufferUpToBufferSize() {
+    for (int i = 0; i < BUFFER_SIZE; i++) {
+      Assertions.assertThat(subscriber.offer(event(i))).isTrue();
+    }
+
+    Assertions.assertThat(subscriber.buffered()).isEqualTo(BUFFER_SIZE);
+  }
+
+  @Test
+  public void offer_ShouldWork_FullBufferDroppedForResync() {
+    for (int i = 0; i < BUFFER_SIZE; i++) {
+      subscriber.offer(event(i));
+    }
+
+    Assertions.assertThat(subscriber.offer(event(BUFFER_SIZE))).isFalse();
+    Assertions.assertThat(subscriber.buffered()).isEqualTo(1);
+
+    // After the resync the client is streamed again.
+    Assertions.assertThat(subscriber.offer(event(BUFFER_SIZE + 1))).isTrue();
+    Assertions.assertThat(subscriber.buffered()).isEqualTo(2);
+  }
+
+  @Test
+  public void claim_ShouldWork_OneSenderAtATime() {
+    Assertions.assertThat(subscriber.claim()).as("Nothing to send").isFalse();
+
+    subscriber.offer(event(1));
+    Assertions.assertThat(subscriber.claim()).isTrue();
+    Assertions.assertThat(subscriber.claim()).as("Already claimed").isFalse();
+
+    subscriber.release();
+    Assertions.assertThat(subscriber.claim()).isTrue();
+  }
+
+  @Test
+  public void send_ShouldWork_AtMostMaxEventsThenClaimedAgain() throws IOException {
+    subscriber.offer(event(1));
+    subscriber.offer(event(2));
+    subscriber.offer(event(3));
+    subscriber.claim();
+
+    Assertions.assertThat(subscriber.send(2)).as("Events left").isTrue();
+    Assertions.assertThat(subscriber.buffered()).isEqualTo(1);
+
+    Assertions.assertThat(subscriber.send(2)).as("Buffer empty").isFalse();
+    Assertions.assertThat(subscriber.buffered()).isZero();
+    subscriber.offer(event(4));
+    Assertions.assertThat(subscriber.claim()).as("Released").isTrue();
+  }
+
+  private static SseEmitter.SseEventBuilder event(final int id) {
+    return SseEmitter.event().name(NumberChangeStream.NUMBER_EVENT).data(String.valueOf(id));
+  }
+}
@@ -0,0 +1,44 @@
+package square.app.template;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+public class EmailTemplateTest {
+
+  @Test
+  public void render_ShouldWork_VariablesAreReplacedAndEscaped() {
+    final EmailTemplate template = EmailTemplate.parse("Subject", "<h1>Hello {{firstName}}</h1><a href='{{ url }}'>");
+    final Map<String, String> values = new HashMap<>();
+    values.put("firstName", "<script>");
+    values.put("url", "http://host/?a=1&b=2");
+
+    final StringBuilder out = new StringBuilder();
+    template.render(values, out);
+
+    Assertions.assertThat(template.getSubject()).isEqualTo("Subject");
+    Assertions.assertThat(out.toString()).isEqualTo("<h1>Hello &lt;script&gt;</h1><a href='http://host/?a=1&amp;b=2'>");
+  }
+
+  @Test
+  public void render_ShouldWork_TemplateWithoutVariables() {
+    final StringBuilder out = new StringBuilder();
+
+    EmailTemplate.parse("Subject", "<p>Static</p>").render(new HashMap<>(), out);
+
+    Assertions.assertThat(out.toString()).isEqualTo("<p>Static</p>");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parse_ShouldFail_UnclosedVariable() {
+    EmailTemplate.parse("Subject", "<h1>Hello {{firstName</h1>");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void render_ShouldFail_MissingValue() {
+    EmailTemplate.parse("Subject", "<h1>Hello {{firstName}}</h1>").render(new HashMap<>(), new StringBuilder());
+  }
+}
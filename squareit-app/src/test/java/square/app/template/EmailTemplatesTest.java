@@ -0,0 +1,48 @@
+package square.app.template;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Test;
+
+import square.app.constants.EmailTypes;
+
+public class EmailTemplatesTest {
+
+  private final EmailTemplates emailTemplates = new EmailTemplates();
+
+  @Test
+  public void emailTemplates_ShouldWork_EveryEmailTypeHasATemplate() {
+    for (EmailTypes emailType : EmailTypes.values()) {
+      Assertions.assertThat(emailTemplates.getSubject(emailType)).isNotEmpty();
+      Assertions.assertThat(emailTemplates.renderBody(emailType, createValues("Hans"))).contains("SquareIt");
+    }
+  }
+
+  @Test
+  public void renderBody_ShouldWork_NewAccountCarriesUrlsAndEscapedFirstName() {
+    final String body = emailTemplates.renderBody(EmailTypes.NEW_ACCOUNT, createValues("<b>Hans</b>"));
+
+    Assertions.assertThat(body).contains("Hello &lt;b&gt;Hans&lt;/b&gt;");
+    Assertions.assertThat(body).contains("formaction='localhost:8082/confirm/token'");
+    Assertions.assertThat(body).contains("formaction='localhost:8082/resend/hans@larsson.com'");
+  }
+
+  @Test
+  public void renderBody_ShouldWork_BufferIsReusedBetweenRenders() {
+    final String first = emailTemplates.renderBody(EmailTypes.NEW_ACCOUNT_CONFIRMED, createValues("Hans"));
+    final String second = emailTemplates.renderBody(EmailTypes.NEW_ACCOUNT_CONFIRMED, createValues("Hans"));
+
+    Assertions.assertThat(second).isEqualTo(first);
+  }
+
+  private Map<String, String> createValues(final String firstName) {
+    final Map<String, String> values = new HashMap<>();
+    values.put("firstName", firstName);
+    values.put("confirmUrl", "localhost:8082/confirm/token");
+    values.put("resendUrl", "localhost:8082/resend/hans@larsson.com");
+    return values;
+  }
+}
@@ -0,0 +1,41 @@
+package square.app.template;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HtmlEscaperTest {
+
+  @Test(expected = InvocationTargetException.class)
+  public void htmlEscaper_ShouldFail_ConstructorIsPrivate() throws NoSuchMethodException, IllegalAccessException,
+      InvocationTargetException, InstantiationException {
+    Constructor<HtmlEscaper> constructor = HtmlEscaper.class.getDeclaredConstructor();
+    Assert.assertTrue(Modifier.isPrivate(constructor.getModifiers()));
+    constructor.setAccessible(true);
+    constructor.newInstance();
+  }
+
+  @Test
+  public void escape_ShouldWork_SpecialCharactersAreEscaped() {
+    final StringBuilder out = new StringBuilder();
+
+    HtmlEscaper.escape("<b>Tom & \"Jerry's\"</b>", out);
+
+    Assertions.assertThat(out.toString()).isEqualTo("&lt;b&gt;Tom &amp; &quot;Jerry&#39;s&quot;&lt;/b&gt;");
+  }
+
+  @Test
+  public void escape_ShouldWork_PlainTextAndNullAreUnchanged() {
+    final StringBuilder out = new StringBuilder();
+
+    HtmlEscaper.escape("Hans Larsson 42", out);
+    HtmlEscaper.escape(null, out);
+
+    Assertions.assertThat(out.toString()).isEqualTo("Hans Larsson 42");
+  }
+}
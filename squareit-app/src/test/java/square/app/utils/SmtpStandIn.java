@@ -0,0 +1,316 @@
+package square.app.utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.Part;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * Local SMTP stand-in server for tests. Speaks enough plain SMTP (no TLS, no AUTH) for JavaMail, accepts the
+ * messages, keeps them in memory and counts connections and messages. A connect delay simulates the TCP, TLS and AUTH
+ * handshake of a real server. Recipients of the refused domain are rejected, like unknown users.
+ */
+public class SmtpStandIn implements AutoCloseable {
+
+  public static final String REFUSED_DOMAIN = "@refused.test";
+
+  private final ServerSocket serverSocket;
+
+  private final long connectDelayMillis;
+
+  private final ExecutorService connectionExecutor = Executors.newCachedThreadPool();
+
+  private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+
+  private final AtomicInteger connections = new AtomicInteger();
+
+  private final AtomicInteger messages = new AtomicInteger();
+
+  // Guarded by itself, waiters are notified on every received message.
+  private final List<ReceivedMessage> receivedMessages = new ArrayList<>();
+
+  /**
+   * Starts the server on a free local port.
+   *
+   * @param connectDelayMillis delay before the greeting of every new connection
+   * @throws IOException when the server socket cannot be opened
+   */
+  public SmtpStandIn(final long connectDelayMillis) throws IOException {
+    this.serverSocket = new ServerSocket(0);
+    this.connectDelayMillis = connectDelayMillis;
+    connectionExecutor.execute(this::accept);
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  public int getConnections() {
+    return connections.get();
+  }
+
+  public int getMessages() {
+    return messages.get();
+  }
+
+  public List<ReceivedMessage> getReceivedMessages() {
+    synchronized (receivedMessages) {
+      return new ArrayList<>(receivedMessages);
+    }
+  }
+
+  /**
+   * Forgets the received messages, the counters are kept.
+   */
+  public void clearReceivedMessages() {
+    synchronized (receivedMessages) {
+      receivedMessages.clear();
+    }
+  }
+
+  /**
+   * Waits until the recipient has received the given number of messages.
+   *
+   * @param recipient     recipient email
+   * @param count         messages to wait for
+   * @param timeoutMillis max wait
+   * @return the last of the messages, null on timeout
+   * @throws InterruptedException when interrupted while waiting
+   */
+  public ReceivedMessage awaitMessage(final String recipient, final int count, final long timeoutMillis)
+      throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + timeoutMillis;
+
+    synchronized (receivedMessages) {
+      List<ReceivedMessage> received = messagesTo(recipient);
+      long remaining = timeoutMillis;
+
+      while (received.size() < count && remaining > 0) {
+        receivedMessages.wait(remaining);
+        received = messagesTo(recipient);
+        remaining = deadline - System.currentTimeMillis();
+      }
+
+      return received.size() < count ? null : received.get(count - 1);
+    }
+  }
+
+  /**
+   * Drops every open connection, like a server closing idle clients.
+   */
+  public void dropConnections() {
+    for (Socket socket : openSockets) {
+      closeQuietly(socket);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    dropConnections();
+    connectionExecutor.shutdownNow();
+    try {
+      connectionExecutor.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        final Socket socket = serverSocket.accept();
+        connections.incrementAndGet();
+        openSockets.add(socket);
+        connectionExecutor.execute(() -> serve(socket));
+      } catch (IOException e) {
+        return;
+      }
+    }
+  }
+
+  private void serve(final Socket socket) {
+    try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+        StandardCharsets.US_ASCII));
+        Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+      Thread.sleep(connectDelayMillis);
+      reply(out, "220 localhost SMTP stand-in");
+
+      final List<String> recipients = new ArrayList<>();
+      String line = in.readLine();
+      while (line != null) {
+        final String command = line.length() < 4 ? line : line.substring(0, 4).toUpperCase(Locale.ROOT);
+        switch (command) {
+          case "EHLO":
+          case "HELO":
+            reply(out, "250 localhost");
+            break;
+          case "DATA":
+            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+            receive(new ReceivedMessage(recipients, readData(in), System.nanoTime()));
+            recipients.clear();
+            reply(out, "250 OK");
+            break;
+          case "QUIT":
+            reply(out, "221 Bye");
+            return;
+          case "RCPT":
+            final String recipient = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+            if (recipient.endsWith(REFUSED_DOMAIN)) {
+              reply(out, "550 No such user");
+            } else {
+              recipients.add(recipient);
+              reply(out, "250 OK");
+            }
+            break;
+          case "MAIL":
+          case "RSET":
+            recipients.clear();
+            reply(out, "250 OK");
+            break;
+          case "NOOP":
+            reply(out, "250 OK");
+            break;
+          default:
+            reply(out, "500 Unknown command");
+            break;
+        }
+        line = in.readLine();
+      }
+    } catch (SocketException e) {
+      // Dropped by dropConnections or by the client.
+    } catch (IOException | InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      openSockets.remove(socket);
+      closeQuietly(socket);
+    }
+  }
+
+  private String readData(final BufferedReader in) throws IOException {
+    final StringBuilder data = new StringBuilder();
+    String line = in.readLine();
+    while (line != null && !".".equals(line)) {
+      // Dot stuffing: a leading dot of a data line is doubled by the client.
+      data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+      line = in.readLine();
+    }
+
+    return data.toString();
+  }
+
+  private void receive(final ReceivedMessage message) {
+    synchronized (receivedMessages) {
+      receivedMessages.add(message);
+      messages.incrementAndGet();
+      receivedMessages.notifyAll();
+    }
+  }
+
+  private List<ReceivedMessage> messagesTo(final String recipient) {
+    final List<ReceivedMessage> received = new ArrayList<>();
+    for (ReceivedMessage message : receivedMessages) {
+      if (message.getRecipients().contains(recipient)) {
+        received.add(message);
+      }
+    }
+
+    return received;
+  }
+
+  private void reply(final Writer out, final String reply) throws IOException {
+    out.write(reply + "\r\n");
+    out.flush();
+  }
+
+  private void closeQuietly(final Socket socket) {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      // Already closed.
+    }
+  }
+
+  /**
+   * A message as received: envelope recipients, raw data (headers and body) and receive time.
+   */
+  public static final class ReceivedMessage {
+
+    private final List<String> recipients;
+
+    private final String data;
+
+    private final long receivedNanos;
+
+    private ReceivedMessage(final List<String> recipients, final String data, final long receivedNanos) {
+      this.recipients = Collections.unmodifiableList(new ArrayList<>(recipients));
+      this.data = data;
+      this.receivedNanos = receivedNanos;
+    }
+
+    public List<String> getRecipients() {
+      return recipients;
+    }
+
+    public String getData() {
+      return data;
+    }
+
+    // System.nanoTime when the message was received, comparable with times taken in the same jvm.
+    public long getReceivedNanos() {
+      return receivedNanos;
+    }
+
+    /**
+     * The decoded text of the first text part (transfer encodings and multiparts undone).
+     *
+     * @return text, null when the message has no text part
+     * @throws MessagingException when the data is not a mime message
+     * @throws IOException        when a part cannot be read
+     */
+    public String getText() throws MessagingException, IOException {
+      return getText(new MimeMessage((Session) null,
+          new ByteArrayInputStream(data.getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    private static String getText(final Part part) throws MessagingException, IOException {
+      if (part.isMimeType("text/*")) {
+        return (String) part.getContent();
+      }
+
+      if (part.isMimeType("multipart/*")) {
+        final Multipart multipart = (Multipart) part.getContent();
+        for (int i = 0; i < multipart.getCount(); i++) {
+          final String text = getText(multipart.getBodyPart(i));
+          if (text != null) {
+            return text;
+          }
+        }
+      }
+
+      return null;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package square.app.utils;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Profile 'smtp-standin': the emails are delivered to an in-process SMTP stand-in instead of spring.mail.host, and kept
+ * in memory for the test to read. The mail sender bean replaces the one of the mail auto-configuration. Picked up by
+ * the component scan of the test classpath when the profile is active.
+ */
+@Configuration
+@Profile("smtp-standin")
+public class SmtpStandInConfig {
+
+  @Bean(destroyMethod = "close")
+  public SmtpStandIn smtpStandIn() throws IOException {
+    return new SmtpStandIn(0L);
+  }
+
+  /**
+   * Plain SMTP to the stand-in, no TLS and no authentication.
+   *
+   * @param smtpStandIn smtpStandIn
+   * @return mail sender
+   */
+  @Bean
+  public JavaMailSenderImpl mailSender(final SmtpStandIn smtpStandIn) {
+    final JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("localhost");
+    mailSender.setPort(smtpStandIn.getPort());
+
+    final Properties properties = new Properties();
+    properties.setProperty("mail.smtp.auth", "false");
+    properties.setProperty("mail.smtp.starttls.enable", "false");
+    mailSender.setJavaMailProperties(properties);
+    return mailSender;
+  }
+}
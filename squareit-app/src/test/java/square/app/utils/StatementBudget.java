@@ -0,0 +1,84 @@
+package square.app.utils;
+
+/**
+ * The number of SQL statements, per statement type, that a single request executes. Asserted exactly, or as a maximum
+ * for requests whose statements depend on the data.
+ */
+public final class StatementBudget {
+
+  private final int select;
+  private final int insert;
+  private final int update;
+  private final int delete;
+
+  private StatementBudget(Builder builder) {
+    select = builder.select;
+    insert = builder.insert;
+    update = builder.update;
+    delete = builder.delete;
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public int getSelect() {
+    return select;
+  }
+
+  public int getInsert() {
+    return insert;
+  }
+
+  public int getUpdate() {
+    return update;
+  }
+
+  public int getDelete() {
+    return delete;
+  }
+
+  @Override
+  public String toString() {
+    return "StatementBudget{"
+        + "select=" + select
+        + ", insert=" + insert
+        + ", update=" + update
+        + ", delete=" + delete
+        + '}';
+  }
+
+  public static final class Builder {
+    private int select;
+    private int insert;
+    private int update;
+    private int delete;
+
+    private Builder() {
+    }
+
+    public Builder withSelect(int val) {
+      select = val;
+      return this;
+    }
+
+    public Builder withInsert(int val) {
+      insert = val;
+      return this;
+    }
+
+    public Builder withUpdate(int val) {
+      update = val;
+      return this;
+    }
+
+    public Builder withDelete(int val) {
+      delete = val;
+      return this;
+    }
+
+    public StatementBudget build() {
+      return new StatementBudget(this);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package square.app.utils;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.MDC;
+
+import square.api.domain.headersdefinition.HeadersDefinition;
+
+import square.app.monitoring.StatementListener;
+
+/**
+ * Counts the JDBC statements of one request executed through the application data source, per statement type. A
+ * statement belongs to the request when the breadcrumb id of the request is in the MDC: on the request thread and on
+ * the workload threads, which get the MDC through MdcTaskDecorator. Statements of other threads, e.g. of the test
+ * itself or of background work, are not counted.
+ */
+public class StatementCounter implements StatementListener {
+
+  private volatile String breadcrumbId;
+
+  private final AtomicInteger selects = new AtomicInteger();
+  private final AtomicInteger inserts = new AtomicInteger();
+  private final AtomicInteger updates = new AtomicInteger();
+  private final AtomicInteger deletes = new AtomicInteger();
+  private final AtomicInteger others = new AtomicInteger();
+
+  @Override
+  public void afterExecute(final String sql, final long elapsedNanos) {
+    final String requestBreadcrumbId = breadcrumbId;
+    if (requestBreadcrumbId == null || !requestBreadcrumbId.equals(MDC.get(HeadersDefinition.BREAD_CRUMB_ID))) {
+      return;
+    }
+
+    final String statement = sql == null ? "" : sql.trim().toLowerCase(Locale.ROOT);
+
+    if (statement.startsWith("select")) {
+      selects.incrementAndGet();
+    } else if (statement.startsWith("insert")) {
+      inserts.incrementAndGet();
+    } else if (statement.startsWith("update")) {
+      updates.incrementAndGet();
+    } else if (statement.startsWith("delete")) {
+      deletes.incrementAndGet();
+    } else {
+      others.incrementAndGet();
+    }
+  }
+
+  /**
+   * Reset all counters and count the statements of the request with the given breadcrumb id from now on.
+   *
+   * @param requestBreadcrumbId breadcrumb id header of the request
+   */
+  public void reset(final String requestBreadcrumbId) {
+    breadcrumbId = requestBreadcrumbId;
+    selects.set(0);
+    inserts.set(0);
+    updates.set(0);
+    deletes.set(0);
+    others.set(0);
+  }
+
+  public int getSelects() {
+    return selects.get();
+  }
+
+  public int getInserts() {
+    return inserts.get();
+  }
+
+  public int getUpdates() {
+    return updates.get();
+  }
+
+  public int getDeletes() {
+    return deletes.get();
+  }
+
+  public int getOthers() {
+    return others.get();
+  }
+}
@@ -0,0 +1,27 @@
+package square.reactive;
+
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class SquareItReactiveApplication {
+
+  @PostConstruct
+  void started() {
+    TimeZone.setDefault(TimeZone.getTimeZone(ZoneId.of("UTC")));
+  }
+
+  /**
+   * Application starter, creates a JAR file.
+   *
+   * @param args args
+   */
+  public static void main(String[] args) {
+    SpringApplication.run(SquareItReactiveApplication.class, args);
+  }
+}
@@ -0,0 +1,81 @@
+package square.reactive.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads a Smile or CBOR request body with a mapper of JsonUtil. The body is joined and read at once: the request
+ * bodies are small, and Jackson has no non-blocking CBOR parser.
+ */
+public class BinaryJacksonDecoder implements Decoder<Object> {
+
+  private final ObjectMapper mapper;
+
+  private final MimeType mimeType;
+
+  /**
+   * Decoder of a format.
+   *
+   * @param mapper   Smile or CBOR mapper
+   * @param mimeType mime type of the format
+   */
+  public BinaryJacksonDecoder(final ObjectMapper mapper, final MimeType mimeType) {
+    this.mapper = mapper;
+    this.mimeType = mimeType;
+  }
+
+  /**
+   * Only with the mime type of the format, see BinaryJacksonEncoder.
+   */
+  @Override
+  public boolean canDecode(final ResolvableType elementType, @Nullable final MimeType mimeType) {
+    return mimeType != null && this.mimeType.isCompatibleWith(mimeType)
+        && mapper.canDeserialize(mapper.constructType(elementType.getType()));
+  }
+
+  @Override
+  public Flux<Object> decode(final Publisher<DataBuffer> inputStream, final ResolvableType elementType,
+      @Nullable final MimeType mimeType, @Nullable final Map<String, Object> hints) {
+    return decodeToMono(inputStream, elementType, mimeType, hints).flux();
+  }
+
+  @Override
+  public Mono<Object> decodeToMono(final Publisher<DataBuffer> inputStream, final ResolvableType elementType,
+      @Nullable final MimeType mimeType, @Nullable final Map<String, Object> hints) {
+    final JavaType type = mapper.constructType(elementType.getType());
+
+    return DataBufferUtils.join(inputStream).map(buffer -> {
+      try (InputStream body = buffer.asInputStream()) {
+        return mapper.readerFor(type).readValue(body);
+      } catch (IOException e) {
+        throw new DecodingException(this.mimeType + " decoding error: " + e.getMessage(), e);
+      } finally {
+        DataBufferUtils.release(buffer);
+      }
+    });
+  }
+
+  @Override
+  public List<MimeType> getDecodableMimeTypes() {
+    return Collections.singletonList(mimeType);
+  }
+}
@@ -0,0 +1,34 @@
+package square.reactive.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+/**
+ * Writes Smile or CBOR with a mapper of JsonUtil. WebFlux 5.0 has no CBOR encoder, and its Smile encoder has a mapper
+ * of its own.
+ */
+public class BinaryJacksonEncoder extends AbstractJackson2Encoder {
+
+  /**
+   * Encoder of a format.
+   *
+   * @param mapper   Smile or CBOR mapper
+   * @param mimeType mime type of the format
+   */
+  public BinaryJacksonEncoder(final ObjectMapper mapper, final MimeType mimeType) {
+    super(mapper, mimeType);
+  }
+
+  /**
+   * Only with the mime type of the format. The encoder is then registered ahead of the default encoders, which would
+   * otherwise write Smile with their own mapper.
+   */
+  @Override
+  public boolean canEncode(final ResolvableType elementType, @Nullable final MimeType mimeType) {
+    return mimeType != null && super.canEncode(elementType, mimeType);
+  }
+}
@@ -0,0 +1,39 @@
+package square.reactive.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import square.api.domain.util.BinaryCodecs;
+import square.api.domain.util.JsonUtil;
+
+import square.reactive.codec.BinaryJacksonDecoder;
+import square.reactive.codec.BinaryJacksonEncoder;
+
+/**
+ * Reads and writes JSON, Smile and CBOR with the configuration of squareit-api, as squareit-app does. The JSON codecs
+ * are the ones of Spring Boot, built on the customized mapper bean.
+ */
+@Configuration
+public class CodecConfig implements WebFluxConfigurer {
+
+  /**
+   * Settings and modules of squareit-api for the mapper Spring Boot builds.
+   *
+   * @return customizer
+   */
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer jsonUtilCustomizer() {
+    return JsonUtil::configure;
+  }
+
+  @Override
+  public void configureHttpMessageCodecs(final ServerCodecConfigurer configurer) {
+    configurer.customCodecs().decoder(new BinaryJacksonDecoder(JsonUtil.getSmileMapper(), BinaryCodecs.SMILE));
+    configurer.customCodecs().encoder(new BinaryJacksonEncoder(JsonUtil.getSmileMapper(), BinaryCodecs.SMILE));
+    configurer.customCodecs().decoder(new BinaryJacksonDecoder(JsonUtil.getCborMapper(), BinaryCodecs.CBOR));
+    configurer.customCodecs().encoder(new BinaryJacksonEncoder(JsonUtil.getCborMapper(), BinaryCodecs.CBOR));
+  }
+}
@@ -0,0 +1,31 @@
+package square.reactive.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The JDBC driver blocks, so database calls run on their own threads and never on the Netty event loop. One thread per
+ * pooled connection: a request waiting for a connection waits in the queue of the scheduler, not on a thread.
+ */
+@Configuration
+public class JdbcSchedulerConfig {
+
+  /**
+   * Scheduler of the database calls.
+   *
+   * @param threads number of threads, the size of the connection pool
+   * @return scheduler
+   */
+  @Bean(destroyMethod = "dispose")
+  public Scheduler jdbcScheduler(@Value("${spring.datasource.hikari.maximum-pool-size}") final int threads) {
+    return Schedulers.fromExecutorService(Executors.newFixedThreadPool(threads,
+        new CustomizableThreadFactory("jdbc-")));
+  }
+}
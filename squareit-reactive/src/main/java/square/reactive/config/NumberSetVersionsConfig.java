@@ -0,0 +1,20 @@
+package square.reactive.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import square.api.domain.cache.NumberSetVersions;
+
+@Configuration
+public class NumberSetVersionsConfig {
+
+  /**
+   * Versions of the number sets. Every statement commits on its own here, the version is bumped after the statement.
+   *
+   * @return versions
+   */
+  @Bean
+  public NumberSetVersions numberSetVersions() {
+    return new NumberSetVersions();
+  }
+}
@@ -0,0 +1,53 @@
+package square.reactive.converters;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * The 36 character UUID token and its 16 bytes in the token column, as TokenBinaryConverter of squareit-app.
+ */
+public final class TokenBytes {
+
+  private static final int UUID_BYTES = 16;
+
+  private static final int UUID_LENGTH = 36;
+
+  private TokenBytes() {
+    throw new IllegalStateException("TokenBytes class :: Cannot be instantiated");
+  }
+
+  /**
+   * Token to the bytes of the column. A malformed token is the nil UUID, which is never stored.
+   *
+   * @param token token
+   * @return 16 bytes
+   */
+  public static byte[] toBytes(final String token) {
+    if (token == null || token.length() != UUID_LENGTH) {
+      return new byte[UUID_BYTES];
+    }
+
+    final UUID uuid;
+    try {
+      uuid = UUID.fromString(token);
+    } catch (IllegalArgumentException e) {
+      return new byte[UUID_BYTES];
+    }
+
+    return ByteBuffer.allocate(UUID_BYTES)
+        .putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits())
+        .array();
+  }
+
+  /**
+   * Bytes of the column to the token.
+   *
+   * @param tokenBytes 16 bytes
+   * @return token
+   */
+  public static String toToken(final byte[] tokenBytes) {
+    final ByteBuffer buffer = ByteBuffer.wrap(tokenBytes);
+    return new UUID(buffer.getLong(), buffer.getLong()).toString();
+  }
+}
@@ -0,0 +1,156 @@
+package square.reactive.domain.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import square.reactive.converters.TokenBytes;
+import square.reactive.domain.model.NumberRow;
+import square.reactive.domain.model.TokenUser;
+
+/**
+ * The user, token and number tables of squareit-app, with the queries of its repositories. Every call runs on the
+ * JDBC scheduler and completes on it, the caller never blocks.
+ */
+@Repository
+public class NumberStore {
+
+  private static final RowMapper<NumberRow> NUMBER_ROW = (rs, rowNum) -> new NumberRow(rs.getLong("id"),
+      rs.getLong("number"));
+
+  private static final RowMapper<TokenUser> TOKEN_USER = (rs, rowNum) -> new TokenUser(rs.getLong("userId"),
+      rs.getString("email"), rs.getBoolean("enabled"), rs.getLong("tokenId"),
+      TokenBytes.toToken(rs.getBytes("token")), (Long) rs.getObject("refreshToken"));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final Scheduler jdbcScheduler;
+
+  /**
+   * NumberStore.
+   *
+   * @param jdbcTemplate  jdbcTemplate
+   * @param jdbcScheduler scheduler of the database calls
+   */
+  @Autowired
+  public NumberStore(final JdbcTemplate jdbcTemplate, @Qualifier("jdbcScheduler") final Scheduler jdbcScheduler) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.jdbcScheduler = jdbcScheduler;
+  }
+
+  /**
+   * The not deleted user of a token, with the token.
+   *
+   * @param token token
+   * @return user, empty when no active user has the token
+   */
+  public Mono<TokenUser> findUserByToken(final String token) {
+    return Mono.fromCallable(() -> jdbcTemplate.query("SELECT u.id AS userId, u.email, u.enabled, t.id AS tokenId, "
+        + "t.token, t.refreshToken FROM user u JOIN token t ON t.id = u.fk_verificationToken "
+        + "WHERE u.userDeleted = FALSE AND t.token = ?", TOKEN_USER, (Object) TokenBytes.toBytes(token)))
+        .flatMap(users -> users.isEmpty() ? Mono.empty() : Mono.just(users.get(0)))
+        .subscribeOn(jdbcScheduler);
+  }
+
+  /**
+   * Replaces the token and its refresh time.
+   *
+   * @param tokenId      token id
+   * @param token        new token
+   * @param refreshToken refresh time, epoch millis
+   * @return updated rows
+   */
+  public Mono<Integer> updateToken(final long tokenId, final String token, final long refreshToken) {
+    return Mono.fromCallable(() -> jdbcTemplate.update("UPDATE token SET token = ?, refreshToken = ? WHERE id = ?",
+        TokenBytes.toBytes(token), refreshToken, tokenId))
+        .subscribeOn(jdbcScheduler);
+  }
+
+  /**
+   * Inserts a number of a user.
+   *
+   * @param userId user id
+   * @param number number
+   * @return the inserted row
+   */
+  public Mono<NumberRow> saveNumber(final long userId, final long number) {
+    return Mono.fromCallable(() -> {
+      final KeyHolder keyHolder = new GeneratedKeyHolder();
+      jdbcTemplate.update(connection -> {
+        final PreparedStatement statement = connection.prepareStatement("INSERT INTO number "
+            + "(userIdUnique, number, deletedNumber, user) VALUES (?, ?, FALSE, ?)", Statement.RETURN_GENERATED_KEYS);
+        statement.setLong(1, userId);
+        statement.setLong(2, number);
+        statement.setLong(3, userId);
+        return statement;
+      }, keyHolder);
+
+      return new NumberRow(Objects.requireNonNull(keyHolder.getKey()).longValue(), number);
+    }).subscribeOn(jdbcScheduler);
+  }
+
+  /**
+   * A not deleted number of a user.
+   *
+   * @param numberId number id
+   * @param userId   user id
+   * @return number, empty when the user has no such number
+   */
+  public Mono<NumberRow> findNumber(final long numberId, final long userId) {
+    return Mono.fromCallable(() -> jdbcTemplate.query("SELECT id, number FROM number "
+        + "WHERE user = ? AND deletedNumber = FALSE AND id = ?", NUMBER_ROW, userId, numberId))
+        .flatMap(numbers -> numbers.isEmpty() ? Mono.empty() : Mono.just(numbers.get(0)))
+        .subscribeOn(jdbcScheduler);
+  }
+
+  /**
+   * Soft deletes a number of a user.
+   *
+   * @param numberId number id
+   * @param userId   user id
+   * @return updated rows, 0 when the user has no such number
+   */
+  public Mono<Integer> softDeleteNumber(final long numberId, final long userId) {
+    return Mono.fromCallable(() -> jdbcTemplate.update("UPDATE number SET deletedNumber = TRUE "
+        + "WHERE user = ? AND deletedNumber = FALSE AND id = ?", userId, numberId))
+        .subscribeOn(jdbcScheduler);
+  }
+
+  /**
+   * Number of not deleted numbers of a user.
+   *
+   * @param userId user id
+   * @return count
+   */
+  public Mono<Long> countNumbers(final long userId) {
+    return Mono.fromCallable(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM number "
+        + "WHERE user = ? AND deletedNumber = FALSE", Long.class, userId))
+        .subscribeOn(jdbcScheduler);
+  }
+
+  /**
+   * A page of the numbers of a user, by id.
+   *
+   * @param userId    user id
+   * @param indexPage page index
+   * @param pageSize  page size
+   * @return numbers of the page
+   */
+  public Mono<List<NumberRow>> findNumbers(final long userId, final int indexPage, final int pageSize) {
+    return Mono.fromCallable(() -> jdbcTemplate.query("SELECT id, number FROM number WHERE user = ? "
+        + "ORDER BY id ASC LIMIT ? OFFSET ?", NUMBER_ROW, userId, pageSize, (long) indexPage * pageSize))
+        .subscribeOn(jdbcScheduler);
+  }
+}
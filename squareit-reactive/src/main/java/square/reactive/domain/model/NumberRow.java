@@ -0,0 +1,32 @@
+package square.reactive.domain.model;
+
+/**
+ * A row of the number table.
+ */
+public final class NumberRow {
+
+  private final long id;
+
+  private final long number;
+
+  public NumberRow(final long id, final long number) {
+    this.id = id;
+    this.number = number;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public long getNumber() {
+    return number;
+  }
+
+  @Override
+  public String toString() {
+    return "NumberRow{"
+        + "id=" + id
+        + ", number=" + number
+        + '}';
+  }
+}
@@ -0,0 +1,73 @@
+package square.reactive.domain.model;
+
+/**
+ * The columns of a user and its token that the number services need.
+ */
+public final class TokenUser {
+
+  private final long userId;
+
+  private final String email;
+
+  private final boolean enabled;
+
+  private final long tokenId;
+
+  private final String token;
+
+  private final Long refreshToken;
+
+  /**
+   * TokenUser.
+   *
+   * @param userId       user id
+   * @param email        email
+   * @param enabled      user has been activated
+   * @param tokenId      token id
+   * @param token        token
+   * @param refreshToken last refresh of the token, epoch millis
+   */
+  public TokenUser(final long userId, final String email, final boolean enabled, final long tokenId,
+      final String token, final Long refreshToken) {
+    this.userId = userId;
+    this.email = email;
+    this.enabled = enabled;
+    this.tokenId = tokenId;
+    this.token = token;
+    this.refreshToken = refreshToken;
+  }
+
+  public long getUserId() {
+    return userId;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long getTokenId() {
+    return tokenId;
+  }
+
+  public String getToken() {
+    return token;
+  }
+
+  public Long getRefreshToken() {
+    return refreshToken;
+  }
+
+  @Override
+  public String toString() {
+    return "TokenUser{"
+        + "userId=" + userId
+        + ", enabled=" + enabled
+        + ", tokenId=" + tokenId
+        + ", refreshToken=" + refreshToken
+        + '}';
+  }
+}
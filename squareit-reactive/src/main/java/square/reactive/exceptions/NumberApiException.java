@@ -0,0 +1,39 @@
+package square.reactive.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+import square.api.domain.errors.ErrorCode;
+
+/**
+ * A client error of the number services, answered with its status and error code. The exception types of squareit-app
+ * are folded into the code. Like the expected failures of squareit-app it has no stack trace.
+ */
+public class NumberApiException extends RuntimeException {
+
+  private static final long serialVersionUID = 4545454545L;
+
+  private final ErrorCode errorCode;
+
+  private final HttpStatus status;
+
+  /**
+   * NumberApiException.
+   *
+   * @param errorCode error code of the response
+   * @param status    status of the response
+   * @param message   message
+   */
+  public NumberApiException(final ErrorCode errorCode, final HttpStatus status, final String message) {
+    super(message, null, false, false);
+    this.errorCode = errorCode;
+    this.status = status;
+  }
+
+  public ErrorCode getErrorCode() {
+    return errorCode;
+  }
+
+  public HttpStatus getStatus() {
+    return status;
+  }
+}
@@ -0,0 +1,339 @@
+package square.reactive.restcontroller;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import reactor.core.publisher.Mono;
+
+import square.api.domain.cache.NumberSetVersions;
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.headersdefinition.HeadersDefinition;
+import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.models.number.CreateNumberRequest;
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.util.BinaryCodecs;
+import square.api.domain.util.LogArg;
+
+import square.reactive.domain.model.NumberRow;
+import square.reactive.domain.model.TokenUser;
+import square.reactive.exceptions.NumberApiException;
+import square.reactive.service.NumberService;
+import square.reactive.service.TokenService;
+
+/**
+ * The /rest/number contract of squareit-app on WebFlux: same paths, auth token header or path token, token rotation,
+ * ETags and error codes. No call blocks the event loop.
+ */
+@RestController
+@RequestMapping("/rest/number")
+public class NumberRestController {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NumberRestController.class);
+
+  private final NumberService numberService;
+
+  private final NumberSetVersions numberSetVersions;
+
+  private final TokenService tokenService;
+
+  /**
+   * NumberRestController rest service for handling numbers.
+   *
+   * @param numberService     numberService
+   * @param tokenService      tokenService
+   * @param numberSetVersions numberSetVersions
+   */
+  @Autowired
+  public NumberRestController(final NumberService numberService, final TokenService tokenService,
+      final NumberSetVersions numberSetVersions) {
+    this.numberService = numberService;
+    this.tokenService = tokenService;
+    this.numberSetVersions = numberSetVersions;
+  }
+
+  /**
+   * Save a number rest-service.
+   *
+   * @param request  CreateNumberRequest
+   * @param exchange exchange, for the auth token header
+   * @return NumberDto
+   */
+  @PutMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = "/v1/saveNumber")
+  public Mono<NumberDto> saveNumber(@RequestBody @Valid final CreateNumberRequest request,
+      final ServerWebExchange exchange) {
+    LOGGER.info(">> saveNumber :: {} >>", LogArg.of(request));
+
+    return tokenService.authenticate(resolveToken(exchange, request.getToken()), "saveNumber")
+        .flatMap(user -> requireValue(request.getNumber(), user, "number", "saveNumber")
+            .flatMap(number -> numberService.saveNumber(number, user))
+            .flatMap(number -> tokenService.rotateToken(user)
+                .map(token -> toNumberResponse(number, token))))
+        .doOnNext(number -> LOGGER.info("<< saveNumber :: numberId: {} <<", number.getNumberId()));
+  }
+
+  /**
+   * Get a number rest-service.
+   *
+   * @param pathToken token of the path, when there is no auth token header
+   * @param numberId  number id
+   * @param exchange  exchange, for If-None-Match and the ETag
+   * @return NumberDto, empty when not modified
+   */
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = {"/v1/getNumber/{token}/{numberId}", "/v1/getNumber/{numberId}"})
+  public Mono<NumberDto> getNumber(@PathVariable(value = "token", required = false) final Optional<String> pathToken,
+      @PathVariable("numberId") final Long numberId, final ServerWebExchange exchange) {
+    LOGGER.info(">> getNumber :: numberId: {} >>", numberId);
+
+    return tokenService.authenticate(resolveToken(exchange, pathToken.orElse(null)), "getNumber")
+        .flatMap(user -> requireValue(numberId, user, "numberId", "getNumber")
+            .flatMap(id -> {
+              final long version = numberSetVersions.getVersion(user.getUserId());
+              if (exchange.checkNotModified(numberSetVersions.etag(user.getUserId(), version, user.getToken()))) {
+                LOGGER.info("<< getNumber :: not modified <<");
+                return Mono.empty();
+              }
+
+              return numberService.getNumberById(id, user)
+                  .flatMap(number -> tokenService.rotateToken(user)
+                      .doOnNext(token -> setETag(exchange, user, version, token))
+                      .map(token -> toNumberResponse(number, token)));
+            }));
+  }
+
+  /**
+   * Delete a number rest-service.
+   *
+   * @param request  request
+   * @param exchange exchange, for the auth token header
+   * @return genericMessageResponse
+   */
+  @PutMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = "/v1/deleteNumber")
+  public Mono<GenericMessageResponse> deleteNumber(@RequestBody @Valid final CreateNumberRequest request,
+      final ServerWebExchange exchange) {
+    LOGGER.info(">> deleteNumber :: {} >>", LogArg.of(request));
+
+    return tokenService.authenticate(resolveToken(exchange, request.getToken()), "deleteNumber")
+        .flatMap(user -> requireValue(request.getNumberId(), user, "numberId", "deleteNumber")
+            .flatMap(numberId -> numberService.deleteIdNumber(numberId, user))
+            .then(tokenService.rotateToken(user))
+            .map(token -> new GenericMessageResponse().withMessage("Number deleted", token)));
+  }
+
+  /**
+   * Count all numbers of user rest-service.
+   *
+   * @param pathToken token of the path, when there is no auth token header
+   * @param exchange  exchange, for If-None-Match and the ETag
+   * @return GenericMessageResponse, empty when not modified
+   */
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = {"/v1/countUserNumbers/{token}", "/v1/countUserNumbers"})
+  public Mono<GenericMessageResponse> getCountUserNumbers(
+      @PathVariable(value = "token", required = false) final Optional<String> pathToken,
+      final ServerWebExchange exchange) {
+    LOGGER.info(">> getCountUserNumbers >>");
+
+    return tokenService.authenticate(resolveToken(exchange, pathToken.orElse(null)), "getCountUserNumbers")
+        .flatMap(user -> {
+          final long version = numberSetVersions.getVersion(user.getUserId());
+          if (exchange.checkNotModified(numberSetVersions.etag(user.getUserId(), version, user.getToken()))) {
+            LOGGER.info("<< getCountUserNumbers :: not modified <<");
+            return Mono.empty();
+          }
+
+          return numberService.countUserNumbers(user)
+              .flatMap(count -> tokenService.rotateToken(user)
+                  .doOnNext(token -> setETag(exchange, user, version, token))
+                  .map(token -> new GenericMessageResponse().withMessage(String.valueOf(count), token)));
+        });
+  }
+
+  /**
+   * Get all numbers of user rest-service.
+   *
+   * @param pathToken token of the path, when there is no auth token header
+   * @param indexPage page index
+   * @param exchange  exchange, for If-None-Match and the ETag
+   * @return List of NumberDto, empty when not modified
+   */
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryCodecs.SMILE_VALUE, BinaryCodecs.CBOR_VALUE},
+      value = {"/v1/getUserNumbers/{token}/{indexPage}", "/v1/getUserNumbers/{indexPage}"})
+  public Mono<List<NumberDto>> getUserNumbers(
+      @PathVariable(value = "token", required = false) final Optional<String> pathToken,
+      @PathVariable("indexPage") final Long indexPage, final ServerWebExchange exchange) {
+    LOGGER.info(">> getUserNumbers :: indexPage: {} >>", indexPage);
+
+    return tokenService.authenticate(resolveToken(exchange, pathToken.orElse(null)), "getUserNumbers")
+        .flatMap(user -> requirePageIndex(indexPage, user)
+            .flatMap(page -> {
+              final long version = numberSetVersions.getVersion(user.getUserId());
+              if (exchange.checkNotModified(numberSetVersions.etag(user.getUserId(), version, user.getToken()))) {
+                LOGGER.info("<< getUserNumbers :: not modified <<");
+                return Mono.empty();
+              }
+
+              return numberService.getAllUserNumbers(user, page)
+                  .flatMap(numbers -> tokenService.rotateToken(user)
+                      .doOnNext(token -> setETag(exchange, user, version, token))
+                      .map(token -> numbers.stream()
+                          .map(number -> toNumberResponse(number, token))
+                          .collect(Collectors.toList())));
+            }));
+  }
+
+  /**
+   * The auth token header, else the given token.
+   */
+  private static String resolveToken(final ServerWebExchange exchange, final String fallbackToken) {
+    final String headerToken = exchange.getRequest().getHeaders().getFirst(HeadersDefinition.AUTH_TOKEN);
+    return headerToken == null || headerToken.isEmpty() ? fallbackToken : headerToken;
+  }
+
+  /**
+   * The ETag of a full response has the rotated token of the response. It is the same for json, Smile and CBOR, so a
+   * cache keeps one response per Accept header.
+   */
+  private void setETag(final ServerWebExchange exchange, final TokenUser user, final long version,
+      final String token) {
+    exchange.getResponse().getHeaders().set(HttpHeaders.ETAG, numberSetVersions.etag(user.getUserId(), version,
+        token));
+    exchange.getResponse().getHeaders().set(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+  }
+
+  private static Mono<Long> requireValue(final Long value, final TokenUser user, final String numberType,
+      final String methodName) {
+    if (value == null) {
+      LOGGER.debug("-- {} :: {} is null with token: {} --", methodName, numberType, LogArg.token(user.getToken()));
+      return Mono.error(new NumberApiException(ErrorCode.NUMBER_NULL, HttpStatus.NOT_ACCEPTABLE,
+          methodName + " :: " + numberType + " is null with token: " + user.getToken()));
+    }
+
+    return Mono.just(value);
+  }
+
+  private static Mono<Integer> requirePageIndex(final Long indexPage, final TokenUser user) {
+    return requireValue(indexPage, user, "indexPage", "getUserNumbers")
+        .flatMap(page -> {
+          if (page > Integer.MAX_VALUE || page < Integer.MIN_VALUE) {
+            return Mono.error(new NumberApiException(ErrorCode.NUMBER_LENGTH_MISMATCH, HttpStatus.LENGTH_REQUIRED,
+                "getUserNumbers :: indexPage must be an int with token: " + user.getToken()));
+          }
+
+          if (page < 0) {
+            return Mono.error(new NumberApiException(ErrorCode.VALIDATION_ERROR_REQUEST_PARAM,
+                HttpStatus.BAD_REQUEST, "Page index must not be less than zero!"));
+          }
+
+          return Mono.just(page.intValue());
+        });
+  }
+
+  private static NumberDto toNumberResponse(final NumberRow number, final String token) {
+    return NumberDto.newBuilder()
+        .withNumberId(number.getId())
+        .withNumber(number.getNumber())
+        .withNumberSquared((long) Math.pow(number.getNumber(), 2))
+        .withToken(token)
+        .build();
+  }
+
+  /**
+   * NumberApiException, with its own status and error code.
+   *
+   * @param ex       ex
+   * @param exchange exchange, for the breadcrumb id
+   * @return ErrorInfo
+   */
+  @ExceptionHandler({NumberApiException.class})
+  public ResponseEntity<ErrorInfo> handleNumberApiException(final NumberApiException ex,
+      final ServerWebExchange exchange) {
+    LOGGER.info("Number request failed: {}. Exception {}.", ex.getErrorCode(), LogArg.of(ex));
+    return ResponseEntity.status(ex.getStatus()).body(errorInfo(ex.getErrorCode(), ex.getMessage(), exchange));
+  }
+
+  /**
+   * WebExchangeBindException catches annotation errors in objects, as MethodArgumentNotValidException in
+   * squareit-app.
+   *
+   * @param ex       ex
+   * @param exchange exchange, for the breadcrumb id
+   * @return ErrorInfo
+   */
+  @ExceptionHandler({WebExchangeBindException.class})
+  public ResponseEntity<ErrorInfo> handleWebExchangeBindException(final WebExchangeBindException ex,
+      final ServerWebExchange exchange) {
+    ErrorCode errorCode = null;
+    final String errorDescription = Objects.requireNonNull(ex.getBindingResult().getAllErrors().get(0)
+        .getDefaultMessage());
+
+    if (("NumberId cannot be greater than " + Long.MAX_VALUE).equals(errorDescription)
+        || ("NumberId cannot be lower than " + Long.MIN_VALUE).equals(errorDescription)) {
+      errorCode = ErrorCode.NUMBER_ID_LENGTH_MISMATCH;
+    }
+
+    if (("Number cannot be greater than " + Long.MAX_VALUE).equals(errorDescription)
+        || ("Number cannot be lower than " + Long.MIN_VALUE).equals(errorDescription)) {
+      errorCode = ErrorCode.NUMBER_LENGTH_MISMATCH;
+    }
+
+    if ("Number token may not be null or empty".equals(errorDescription)) {
+      errorCode = ErrorCode.TOKEN_NULL_OR_EMPTY;
+    } else if ("Token must be 36 characters".equals(errorDescription)) {
+      errorCode = ErrorCode.TOKEN_LENGTH_MISMATCH;
+    }
+
+    return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED).body(errorInfo(errorCode, errorDescription, exchange));
+  }
+
+  /**
+   * ServerWebInputException, a malformed path variable or body.
+   *
+   * @param ex       ex
+   * @param exchange exchange, for the breadcrumb id
+   * @return ErrorInfo
+   */
+  @ExceptionHandler({ServerWebInputException.class})
+  public ResponseEntity<ErrorInfo> handleServerWebInputException(final ServerWebInputException ex,
+      final ServerWebExchange exchange) {
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(errorInfo(ErrorCode.VALIDATION_ERROR_REQUEST_PARAM, ex.getReason(), exchange));
+  }
+
+  private static ErrorInfo errorInfo(final ErrorCode errorCode, final String description,
+      final ServerWebExchange exchange) {
+    return ErrorInfo.newErrorInfo()
+        .withErrorCode(errorCode)
+        .withErrorDescription(description)
+        .withReferenceId(exchange.getRequest().getHeaders().getFirst(HeadersDefinition.BREAD_CRUMB_ID))
+        .build();
+  }
+}
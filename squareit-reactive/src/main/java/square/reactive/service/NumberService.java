@@ -0,0 +1,22 @@
+package square.reactive.service;
+
+import java.util.List;
+
+import reactor.core.publisher.Mono;
+
+import square.reactive.domain.model.NumberRow;
+import square.reactive.domain.model.TokenUser;
+
+public interface NumberService {
+
+  Mono<NumberRow> saveNumber(final long number, final TokenUser user);
+
+  Mono<NumberRow> getNumberById(final long numberId, final TokenUser user);
+
+  Mono<Void> deleteIdNumber(final long numberId, final TokenUser user);
+
+  Mono<Long> countUserNumbers(final TokenUser user);
+
+  Mono<List<NumberRow>> getAllUserNumbers(final TokenUser user, final int indexPage);
+
+}
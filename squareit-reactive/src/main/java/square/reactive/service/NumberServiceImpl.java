@@ -0,0 +1,84 @@
+package square.reactive.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Mono;
+
+import square.api.domain.cache.NumberSetVersions;
+import square.api.domain.errors.ErrorCode;
+
+import square.reactive.domain.dao.NumberStore;
+import square.reactive.domain.model.NumberRow;
+import square.reactive.domain.model.TokenUser;
+import square.reactive.exceptions.NumberApiException;
+
+@Service
+public class NumberServiceImpl implements NumberService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NumberServiceImpl.class);
+
+  private final NumberStore numberStore;
+
+  private final NumberSetVersions numberSetVersions;
+
+  @Value("${database.default-fetch-limit}")
+  private int defaultFetchLimit;
+
+  /**
+   * NumberServiceImpl.
+   *
+   * @param numberStore       numberStore
+   * @param numberSetVersions numberSetVersions
+   */
+  @Autowired
+  public NumberServiceImpl(final NumberStore numberStore, final NumberSetVersions numberSetVersions) {
+    this.numberStore = numberStore;
+    this.numberSetVersions = numberSetVersions;
+  }
+
+  @Override
+  public Mono<NumberRow> saveNumber(final long number, final TokenUser user) {
+    return numberStore.saveNumber(user.getUserId(), number)
+        .doOnSuccess(saved -> numberSetVersions.bump(user.getUserId()));
+  }
+
+  @Override
+  public Mono<NumberRow> getNumberById(final long numberId, final TokenUser user) {
+    return numberStore.findNumber(numberId, user.getUserId())
+        .switchIfEmpty(Mono.defer(() -> numberNotFound(numberId, "NumberServiceImpl :: getNumberById")));
+  }
+
+  @Override
+  public Mono<Void> deleteIdNumber(final long numberId, final TokenUser user) {
+    return numberStore.softDeleteNumber(numberId, user.getUserId())
+        .flatMap(deletedRows -> deletedRows == 0
+            ? numberNotFound(numberId, "NumberServiceImpl :: deleteIdNumber")
+            : Mono.just(deletedRows))
+        .doOnSuccess(deletedRows -> numberSetVersions.bump(user.getUserId()))
+        .then();
+  }
+
+  @Override
+  public Mono<Long> countUserNumbers(final TokenUser user) {
+    return numberStore.countNumbers(user.getUserId());
+  }
+
+  @Override
+  public Mono<List<NumberRow>> getAllUserNumbers(final TokenUser user, final int indexPage) {
+    return numberStore.findNumbers(user.getUserId(), indexPage, defaultFetchLimit);
+  }
+
+  private static <T> Mono<T> numberNotFound(final long numberId, final String methodText) {
+    LOGGER.debug("-- {} :: Number object with id = {} does not exist --", methodText, numberId);
+    return Mono.error(new NumberApiException(ErrorCode.NUMBER_NOT_FOUND, HttpStatus.NOT_FOUND,
+        "Number with id = '" + numberId + "' does not exist"));
+  }
+}
@@ -0,0 +1,25 @@
+package square.reactive.service;
+
+import reactor.core.publisher.Mono;
+
+import square.reactive.domain.model.TokenUser;
+
+public interface TokenService {
+
+  /**
+   * Looks up and validates the user of a token: it exists, is activated and the token has not expired.
+   *
+   * @param token      request token
+   * @param methodName method name for the error messages
+   * @return validated user, an error with a NumberApiException otherwise
+   */
+  Mono<TokenUser> authenticate(String token, String methodName);
+
+  /**
+   * Replaces the token of a user, as every number service does.
+   *
+   * @param user user
+   * @return new token
+   */
+  Mono<String> rotateToken(TokenUser user);
+}
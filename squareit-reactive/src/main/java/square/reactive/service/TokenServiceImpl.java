@@ -0,0 +1,96 @@
+package square.reactive.service;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Mono;
+
+import square.api.domain.constants.Constraint;
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.util.LogArg;
+
+import square.reactive.domain.dao.NumberStore;
+import square.reactive.domain.model.TokenUser;
+import square.reactive.exceptions.NumberApiException;
+
+@Service
+public class TokenServiceImpl implements TokenService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TokenServiceImpl.class);
+
+  private static final long TOKEN_VALID_FOR_MS = TimeUnit.HOURS.toMillis(Constraint.TOKEN_VALID_FOR_2_HOURS);
+
+  private final NumberStore numberStore;
+
+  /**
+   * TokenServiceImpl.
+   *
+   * @param numberStore numberStore
+   */
+  @Autowired
+  public TokenServiceImpl(final NumberStore numberStore) {
+    this.numberStore = numberStore;
+  }
+
+  @Override
+  public Mono<TokenUser> authenticate(final String token, final String methodName) {
+    if (token == null || token.isEmpty() || token.equals("null")) {
+      LOGGER.debug("-- {} :: Token is null or empty with token: {} --", methodName, token);
+      return Mono.error(new NumberApiException(ErrorCode.TOKEN_NULL_OR_EMPTY, HttpStatus.BAD_REQUEST,
+          methodName + " :: Token is null or empty with token: " + token));
+    }
+
+    if (token.length() != Constraint.MAX_MIN_TOKEN) {
+      LOGGER.debug("-- {} :: Token must be {} characters with token: {} --", methodName, Constraint.MAX_MIN_TOKEN,
+          LogArg.token(token));
+      return Mono.error(new NumberApiException(ErrorCode.TOKEN_LENGTH_MISMATCH, HttpStatus.BAD_REQUEST,
+          methodName + " :: Token must be " + Constraint.MAX_MIN_TOKEN + " characters with token: " + token));
+    }
+
+    return numberStore.findUserByToken(token)
+        .switchIfEmpty(Mono.defer(() -> {
+          LOGGER.debug("-- {} :: User not found with token: {} --", methodName, LogArg.token(token));
+          return Mono.error(new NumberApiException(ErrorCode.USER_NOT_FOUND, HttpStatus.BAD_REQUEST,
+              methodName + " :: User not found with token: " + token));
+        }))
+        .flatMap(user -> validate(user, methodName));
+  }
+
+  private Mono<TokenUser> validate(final TokenUser user, final String methodName) {
+    if (!user.isEnabled()) {
+      LOGGER.debug("-- {} :: User not activated with token: {} --", methodName, LogArg.token(user.getToken()));
+      return Mono.error(new NumberApiException(ErrorCode.USER_NOT_ACTIVATED, HttpStatus.BAD_REQUEST,
+          methodName + " :: User not activated with token: " + user.getToken()));
+    }
+
+    if (user.getRefreshToken() == null) {
+      LOGGER.debug("-- {} :: User current time of token is null --", methodName);
+      return Mono.error(new NumberApiException(ErrorCode.TOKEN_TIME_NULL, HttpStatus.NO_CONTENT,
+          methodName + " :: User current time of token is null"));
+    }
+
+    if (user.getRefreshToken() + TOKEN_VALID_FOR_MS < System.currentTimeMillis()) {
+      LOGGER.debug("-- {} :: for email: {}, and token expired at {} --", methodName, user.getEmail(),
+          user.getRefreshToken());
+      return Mono.error(new NumberApiException(ErrorCode.TOKEN_EXPIRED, HttpStatus.NOT_ACCEPTABLE,
+          methodName + " :: User with email: " + user.getEmail() + ", token expired at: " + user.getRefreshToken()
+              + ". User must login again"));
+    }
+
+    return Mono.just(user);
+  }
+
+  @Override
+  public Mono<String> rotateToken(final TokenUser user) {
+    final String token = UUID.randomUUID().toString();
+    return numberStore.updateToken(user.getTokenId(), token, System.currentTimeMillis())
+        .thenReturn(token);
+  }
+}
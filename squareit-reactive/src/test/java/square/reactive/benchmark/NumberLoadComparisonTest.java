@@ -0,0 +1,187 @@
+package square.reactive.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.resources.PoolResources;
+
+import square.api.domain.headersdefinition.HeadersDefinition;
+import square.api.domain.models.number.CreateNumberRequest;
+
+import square.reactive.utils.TestUsers;
+
+/**
+ * Side by side load of the /rest/number services of squareit-app (servlet) and squareit-reactive (WebFlux). Start
+ * both against the same MySQL database, then run this test. Every client is one user that keeps its connection open
+ * and saves and lists numbers with the token of the last response, until the run ends.
+ *
+ * <p>System properties: squareit.servlet.url (default http://localhost:8082), squareit.reactive.url (default
+ * http://localhost:8083), squareit.jdbc.url, squareit.jdbc.username and squareit.jdbc.password of the database the
+ * users are inserted into.
+ */
+public class NumberLoadComparisonTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NumberLoadComparisonTest.class);
+
+  private static final int CLIENTS = 1_000;
+
+  private static final Duration WARM_UP = Duration.ofSeconds(15);
+
+  private static final Duration RUN = Duration.ofSeconds(60);
+
+  private static final String NUMBER_URL = "/rest/number";
+
+  // Long running. Run manually.
+  @Ignore
+  @Test
+  public void numberServices_Benchmark_ServletAgainstReactive() {
+    final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+        System.getProperty("squareit.jdbc.url", "jdbc:mysql://localhost:3306/squareit?useSSL=false&serverTimezone=UTC"),
+        System.getProperty("squareit.jdbc.username", ""), System.getProperty("squareit.jdbc.password", "")));
+
+    final Result servlet = run("servlet", System.getProperty("squareit.servlet.url", "http://localhost:8082"),
+        jdbcTemplate);
+    final Result reactive = run("reactive", System.getProperty("squareit.reactive.url", "http://localhost:8083"),
+        jdbcTemplate);
+
+    LOGGER.info("-- NumberLoadComparisonTest :: clients: {}, run: {} s --", CLIENTS, RUN.getSeconds());
+    LOGGER.info("-- {} --", servlet);
+    LOGGER.info("-- {} --", reactive);
+  }
+
+  private static Result run(final String name, final String baseUrl, final JdbcTemplate jdbcTemplate) {
+    final WebClient webClient = WebClient.builder()
+        .baseUrl(baseUrl)
+        .clientConnector(new ReactorClientHttpConnector(options -> options
+            .poolResources(PoolResources.fixed(name, CLIENTS))))
+        .build();
+
+    final List<String> tokens = new ArrayList<>();
+    for (int i = 0; i < CLIENTS; i++) {
+      tokens.add(TestUsers.insertUser(jdbcTemplate));
+    }
+
+    // Warm up with the same users, each continues with the token the warm up ended with.
+    final Result warmUp = new Result(name);
+    final List<String> warmTokens = load(webClient, tokens, WARM_UP, warmUp);
+
+    final Result result = new Result(name);
+    final long start = System.nanoTime();
+    load(webClient, warmTokens, RUN, result);
+    result.finish(System.nanoTime() - start, serverThreads(webClient));
+    return result;
+  }
+
+  private static List<String> load(final WebClient webClient, final List<String> tokens, final Duration duration,
+      final Result result) {
+    final long deadline = System.nanoTime() + duration.toNanos();
+
+    return Flux.fromIterable(tokens)
+        .flatMap(token -> Mono.just(token)
+            .expand(current -> System.nanoTime() < deadline ? saveAndList(webClient, current, result) : Mono.empty())
+            .last(), CLIENTS)
+        .collectList()
+        .block();
+  }
+
+  private static Mono<String> saveAndList(final WebClient webClient, final String token, final Result result) {
+    return timed(webClient.put()
+        .uri(NUMBER_URL + "/v1/saveNumber")
+        .contentType(MediaType.APPLICATION_JSON)
+        .syncBody(CreateNumberRequest.newBuilder().withNumber(7L).withToken(token).build())
+        .retrieve()
+        .bodyToMono(JsonNode.class), result)
+        .flatMap(saved -> timed(webClient.get()
+            .uri(NUMBER_URL + "/v1/getUserNumbers/{indexPage}", 0)
+            .header(HeadersDefinition.AUTH_TOKEN, saved.get("token").asText())
+            .retrieve()
+            .bodyToMono(JsonNode.class), result))
+        .map(numbers -> numbers.get(0).get("token").asText())
+        .onErrorResume(e -> {
+          // The token of a failed call is unknown, the client stops.
+          result.errors.incrementAndGet();
+          return Mono.empty();
+        });
+  }
+
+  private static <T> Mono<T> timed(final Mono<T> call, final Result result) {
+    return Mono.defer(() -> {
+      final long start = System.nanoTime();
+      return call.doOnSuccess(response -> result.record(System.nanoTime() - start));
+    });
+  }
+
+  private static String serverThreads(final WebClient webClient) {
+    return webClient.get()
+        .uri("/actuator/metrics/jvm.threads.live")
+        .retrieve()
+        .bodyToMono(JsonNode.class)
+        .map(metric -> metric.get("measurements").get(0).get("value").asText())
+        .onErrorReturn("unknown")
+        .block();
+  }
+
+  private static final class Result {
+
+    private final String name;
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private final List<Long> latencies = new ArrayList<>();
+
+    private long elapsed;
+
+    private String serverThreads;
+
+    private Result(final String name) {
+      this.name = name;
+    }
+
+    private synchronized void record(final long latency) {
+      latencies.add(latency);
+    }
+
+    private void finish(final long elapsed, final String serverThreads) {
+      this.elapsed = elapsed;
+      this.serverThreads = serverThreads;
+    }
+
+    private long percentileMicros(final long[] sorted, final double percentile) {
+      return sorted.length == 0 ? 0
+          : TimeUnit.NANOSECONDS.toMicros(sorted[(int) Math.min(sorted.length - 1, sorted.length * percentile)]);
+    }
+
+    @Override
+    public synchronized String toString() {
+      final long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+      Arrays.sort(sorted);
+
+      return name + " :: requests: " + sorted.length
+          + ", errors: " + errors.get()
+          + ", requests/s: " + sorted.length * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsed)
+          + ", p50: " + percentileMicros(sorted, 0.50) + " us"
+          + ", p99: " + percentileMicros(sorted, 0.99) + " us"
+          + ", server threads: " + serverThreads;
+    }
+  }
+}
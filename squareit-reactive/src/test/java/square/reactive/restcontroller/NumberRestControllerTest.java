@@ -0,0 +1,249 @@
+package square.reactive.restcontroller;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import square.api.domain.errors.ErrorCode;
+import square.api.domain.errors.ErrorInfo;
+import square.api.domain.headersdefinition.HeadersDefinition;
+import square.api.domain.models.GenericMessageResponse;
+import square.api.domain.models.number.CreateNumberRequest;
+import square.api.domain.models.number.NumberDto;
+import square.api.domain.util.BinaryCodecs;
+import square.api.domain.util.JsonUtil;
+
+import square.reactive.utils.TestUsers;
+
+@ActiveProfiles({"dev"})
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class NumberRestControllerTest {
+
+  private static final String NUMBER_URL = "/rest/number";
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /**
+   * After each test.
+   */
+  @After
+  public void tearDown() {
+    jdbcTemplate.update("DELETE FROM number");
+    jdbcTemplate.update("DELETE FROM user");
+    jdbcTemplate.update("DELETE FROM token");
+  }
+
+  @Test
+  public void saveNumber_ShouldWork_SaveAndGetANumber() {
+    final String token = TestUsers.insertUser(jdbcTemplate);
+
+    final NumberDto saved = saveNumber(7L, token);
+    Assertions.assertThat(saved.getNumber()).isEqualTo(7L);
+    Assertions.assertThat(saved.getNumberSquared()).isEqualTo(49L);
+    Assertions.assertThat(saved.getToken()).isNotEqualTo(token);
+
+    final NumberDto found = webTestClient.get()
+        .uri(NUMBER_URL + "/v1/getNumber/{numberId}", saved.getNumberId())
+        .header(HeadersDefinition.AUTH_TOKEN, saved.getToken())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(NumberDto.class).returnResult().getResponseBody();
+
+    Assertions.assertThat(found.getNumberId()).isEqualTo(saved.getNumberId());
+    Assertions.assertThat(found.getNumber()).isEqualTo(7L);
+    Assertions.assertThat(found.getToken()).isNotEqualTo(saved.getToken());
+  }
+
+  @Test
+  public void saveNumber_ShouldFail_OldTokenAfterRotation() {
+    final String token = TestUsers.insertUser(jdbcTemplate);
+    saveNumber(1L, token);
+
+    final ErrorInfo errorInfo = webTestClient.get()
+        .uri(NUMBER_URL + "/v1/countUserNumbers/{token}", token)
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody(ErrorInfo.class).returnResult().getResponseBody();
+
+    Assertions.assertThat(errorInfo.getErrorCode()).isEqualTo(ErrorCode.USER_NOT_FOUND);
+  }
+
+  @Test
+  public void getUserNumbers_ShouldWork_ListAndCountNumbers() {
+    String token = TestUsers.insertUser(jdbcTemplate);
+    token = saveNumber(1L, token).getToken();
+    token = saveNumber(2L, token).getToken();
+
+    final List<NumberDto> numbers = webTestClient.get()
+        .uri(NUMBER_URL + "/v1/getUserNumbers/{token}/{indexPage}", token, 0)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(new ParameterizedTypeReference<List<NumberDto>>() {
+        }).returnResult().getResponseBody();
+
+    Assertions.assertThat(numbers).extracting(NumberDto::getNumber).containsExactly(1L, 2L);
+
+    final GenericMessageResponse count = webTestClient.get()
+        .uri(NUMBER_URL + "/v1/countUserNumbers")
+        .header(HeadersDefinition.AUTH_TOKEN, numbers.get(0).getToken())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(GenericMessageResponse.class).returnResult().getResponseBody();
+
+    Assertions.assertThat(count.getMessage()).isEqualTo("2");
+  }
+
+  @Test
+  public void saveNumber_ShouldWork_CborRequestAndSmileList() throws IOException {
+    final String token = TestUsers.insertUser(jdbcTemplate);
+    final CreateNumberRequest request = CreateNumberRequest.newBuilder().withNumber(3L).withToken(token).build();
+
+    final EntityExchangeResult<byte[]> saved = webTestClient.put()
+        .uri(NUMBER_URL + "/v1/saveNumber")
+        .contentType(BinaryCodecs.CBOR)
+        .accept(BinaryCodecs.CBOR)
+        .syncBody(JsonUtil.getCborMapper().writeValueAsBytes(request))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(byte[].class).returnResult();
+    Assertions.assertThat(saved.getResponseHeaders().getContentType().isCompatibleWith(BinaryCodecs.CBOR)).isTrue();
+    final NumberDto number = JsonUtil.getCborMapper().readValue(saved.getResponseBody(), NumberDto.class);
+    Assertions.assertThat(number.getNumberSquared()).isEqualTo(9L);
+
+    final EntityExchangeResult<byte[]> page = webTestClient.get()
+        .uri(NUMBER_URL + "/v1/getUserNumbers/{indexPage}", 0)
+        .header(HeadersDefinition.AUTH_TOKEN, number.getToken())
+        .accept(BinaryCodecs.SMILE)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(byte[].class).returnResult();
+    Assertions.assertThat(page.getResponseHeaders().getContentType().isCompatibleWith(BinaryCodecs.SMILE)).isTrue();
+    Assertions.assertThat(page.getResponseHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT);
+    final NumberDto[] numbers = JsonUtil.getSmileMapper().readValue(page.getResponseBody(), NumberDto[].class);
+    Assertions.assertThat(numbers).extracting(NumberDto::getNumber).containsExactly(3L);
+  }
+
+  @Test
+  public void countUserNumbers_ShouldWork_NotModifiedWithETag() {
+    final String token = TestUsers.insertUser(jdbcTemplate);
+
+    final EntityExchangeResult<GenericMessageResponse> first = webTestClient.get()
+        .uri(NUMBER_URL + "/v1/countUserNumbers")
+        .header(HeadersDefinition.AUTH_TOKEN, token)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(GenericMessageResponse.class).returnResult();
+    final GenericMessageResponse response = first.getResponseBody();
+    final String etag = first.getResponseHeaders().getETag();
+
+    webTestClient.get()
+        .uri(NUMBER_URL + "/v1/countUserNumbers")
+        .header(HeadersDefinition.AUTH_TOKEN, response.getToken())
+        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        .exchange()
+        .expectStatus().isNotModified();
+  }
+
+  @Test
+  public void deleteNumber_ShouldWork_DeleteOnceThenNotFound() {
+    final String token = TestUsers.insertUser(jdbcTemplate);
+    final NumberDto saved = saveNumber(3L, token);
+
+    final GenericMessageResponse deleted = webTestClient.put()
+        .uri(NUMBER_URL + "/v1/deleteNumber")
+        .contentType(MediaType.APPLICATION_JSON)
+        .syncBody(CreateNumberRequest.newBuilder().withNumberId(saved.getNumberId()).withToken(saved.getToken())
+            .build())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(GenericMessageResponse.class).returnResult().getResponseBody();
+
+    final ErrorInfo errorInfo = webTestClient.put()
+        .uri(NUMBER_URL + "/v1/deleteNumber")
+        .contentType(MediaType.APPLICATION_JSON)
+        .syncBody(CreateNumberRequest.newBuilder().withNumberId(saved.getNumberId()).withToken(deleted.getToken())
+            .build())
+        .exchange()
+        .expectStatus().isNotFound()
+        .expectBody(ErrorInfo.class).returnResult().getResponseBody();
+
+    Assertions.assertThat(errorInfo.getErrorCode()).isEqualTo(ErrorCode.NUMBER_NOT_FOUND);
+  }
+
+  @Test
+  public void saveNumber_ShouldFail_ExpiredToken() {
+    final String token = TestUsers.insertUser(jdbcTemplate, true,
+        System.currentTimeMillis() - TimeUnit.HOURS.toMillis(3));
+
+    final ErrorInfo errorInfo = webTestClient.put()
+        .uri(NUMBER_URL + "/v1/saveNumber")
+        .contentType(MediaType.APPLICATION_JSON)
+        .syncBody(CreateNumberRequest.newBuilder().withNumber(1L).withToken(token).build())
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE)
+        .expectBody(ErrorInfo.class).returnResult().getResponseBody();
+
+    Assertions.assertThat(errorInfo.getErrorCode()).isEqualTo(ErrorCode.TOKEN_EXPIRED);
+  }
+
+  @Test
+  public void saveNumber_ShouldFail_UserNotActivated() {
+    final String token = TestUsers.insertUser(jdbcTemplate, false, System.currentTimeMillis());
+
+    final ErrorInfo errorInfo = webTestClient.put()
+        .uri(NUMBER_URL + "/v1/saveNumber")
+        .contentType(MediaType.APPLICATION_JSON)
+        .syncBody(CreateNumberRequest.newBuilder().withNumber(1L).withToken(token).build())
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody(ErrorInfo.class).returnResult().getResponseBody();
+
+    Assertions.assertThat(errorInfo.getErrorCode()).isEqualTo(ErrorCode.USER_NOT_ACTIVATED);
+  }
+
+  @Test
+  public void saveNumber_ShouldFail_MalformedToken() {
+    final ErrorInfo errorInfo = webTestClient.put()
+        .uri(NUMBER_URL + "/v1/saveNumber")
+        .contentType(MediaType.APPLICATION_JSON)
+        .syncBody(CreateNumberRequest.newBuilder().withNumber(1L).withToken("short").build())
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.LENGTH_REQUIRED)
+        .expectBody(ErrorInfo.class).returnResult().getResponseBody();
+
+    Assertions.assertThat(errorInfo.getErrorCode()).isEqualTo(ErrorCode.TOKEN_LENGTH_MISMATCH);
+  }
+
+  private NumberDto saveNumber(final long number, final String token) {
+    return webTestClient.put()
+        .uri(NUMBER_URL + "/v1/saveNumber")
+        .contentType(MediaType.APPLICATION_JSON)
+        .syncBody(CreateNumberRequest.newBuilder().withNumber(number).withToken(token).build())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(NumberDto.class).returnResult().getResponseBody();
+  }
+}
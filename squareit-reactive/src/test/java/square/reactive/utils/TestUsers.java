@@ -0,0 +1,51 @@
+package square.reactive.utils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import square.reactive.converters.TokenBytes;
+
+/**
+ * Inserts users with their token straight into the tables, there is no user service in this module.
+ */
+public final class TestUsers {
+
+  private static final AtomicLong NEXT_ID = new AtomicLong(1_000_000L);
+
+  private TestUsers() {
+    throw new IllegalStateException("TestUsers class :: Cannot be instantiated");
+  }
+
+  /**
+   * Inserts an activated user with a fresh token.
+   *
+   * @param jdbcTemplate jdbcTemplate
+   * @return token
+   */
+  public static String insertUser(final JdbcTemplate jdbcTemplate) {
+    return insertUser(jdbcTemplate, true, System.currentTimeMillis());
+  }
+
+  /**
+   * Inserts a user.
+   *
+   * @param jdbcTemplate jdbcTemplate
+   * @param enabled      user has been activated
+   * @param refreshToken last refresh of the token, epoch millis
+   * @return token
+   */
+  public static String insertUser(final JdbcTemplate jdbcTemplate, final boolean enabled, final long refreshToken) {
+    final long id = NEXT_ID.incrementAndGet();
+    final String token = UUID.randomUUID().toString();
+    final long now = System.currentTimeMillis();
+
+    jdbcTemplate.update("INSERT INTO token (id, token, expiryDate, refreshToken) VALUES (?, ?, ?, ?)", id,
+        TokenBytes.toBytes(token), now + 86_400_000L, refreshToken);
+    jdbcTemplate.update("INSERT INTO user (id, userName, firstName, lastName, email, password, role, enabled, "
+            + "createdDate, userDeleted, fk_verificationToken) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", id,
+        "user" + id, "First", "Last", "user" + id + "@email.com", "password", "USER_ROLE", enabled, now, false, id);
+    return token;
+  }
+}